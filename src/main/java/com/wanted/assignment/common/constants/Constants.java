@@ -7,4 +7,28 @@ public class Constants {
 
   // Hibernate에서 SQL 쿼리에 주석을 추가하기 위해 사용되는 주석 키
   public static final String HIBERNATE_SQL_COMMENT = "org.hibernate.comment";
+
+  // 시퀀스 채번 1회당 할당하는 아이디 개수 (schema.sql 시퀀스의 INCREMENT BY 와 동일해야 함)
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  // LLM 사용량 일괄 기록 시 한 번의 요청으로 받을 수 있는 최대 건수
+  public static final int USAGE_BATCH_MAX_SIZE = 10_000;
+
+  // 여러 사용자 LLM 사용량 조회 시 한 번의 요청으로 받을 수 있는 최대 사용자 수
+  public static final int USER_USAGE_BATCH_GET_MAX_SIZE = 1_000;
+
+  // LLM 사용량 멱등 키 요청 헤더
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  // LLM 사용량 멱등 키 최대 길이 (schema.sql llm_usage.idempotency_key 컬럼 길이와 동일)
+  public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+
+  // 원본 사용량 내보내기 경로 (응답 본문을 캐싱하지 않고 바로 스트리밍)
+  public static final String USAGE_EXPORT_PATH = "/usages/export";
+
+  // 사용자/LLM 목록 조회 시 한 페이지 기본 건수
+  public static final int PAGE_DEFAULT_LIMIT = 100;
+
+  // 사용자/LLM 목록 조회 시 한 페이지 최대 건수
+  public static final int PAGE_MAX_LIMIT = 1_000;
 }
@@ -0,0 +1,193 @@
+package com.wanted.assignment.common.index;
+
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.llm.repository.LlmQueryRepository;
+import com.wanted.assignment.users.repository.UsersQueryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 삭제되지 않은 사용자, LLM 아이디 메모리 인덱스
+ *
+ * <p>사용량 기록 전에 사용자/LLM 존재 여부를 DB 조회나 외래 키 검사 없이 확인하기 위해, 시작 시 DB에서
+ * 읽어 비트맵에 적재하고 이후에는 UsersService, LlmService의 추가/삭제와 함께 갱신한다.
+ *
+ * <p>추가는 트랜잭션이 커밋된 뒤에 비트맵에 반영하여, 커밋되지 않은 사용자/LLM에 대한 사용량 기록을 다른
+ * 트랜잭션이 받아들이지 않게 한다. 커밋 전까지는 추가한 트랜잭션의 리소스로만 보관하므로 같은 트랜잭션의
+ * 이후 처리에서는 보인다. 삭제는 즉시 반영하고 트랜잭션이 롤백되면 되돌린다.
+ */
+@Slf4j
+@Component
+public class ActiveIdIndex implements SmartInitializingSingleton {
+
+  private final UsersQueryRepository usersQueryRepository;
+  private final LlmQueryRepository llmQueryRepository;
+  private final IdBitmap userIds = new IdBitmap();
+  private final IdBitmap llmIds = new IdBitmap();
+
+  /**
+   * 아이디 인덱스 생성 및 메트릭 등록
+   *
+   * @param usersQueryRepository 사용자 조회 저장소
+   * @param llmQueryRepository   LLM 조회 저장소
+   * @param meterRegistry        메트릭 레지스트리
+   */
+  public ActiveIdIndex(
+      UsersQueryRepository usersQueryRepository,
+      LlmQueryRepository llmQueryRepository,
+      MeterRegistry meterRegistry) {
+    this.usersQueryRepository = usersQueryRepository;
+    this.llmQueryRepository = llmQueryRepository;
+
+    Gauge.builder("index.active.ids", userIds, IdBitmap::cardinality)
+        .description("아이디 인덱스에 기록된 아이디 개수")
+        .tag("type", "users")
+        .register(meterRegistry);
+    Gauge.builder("index.active.ids", llmIds, IdBitmap::cardinality)
+        .description("아이디 인덱스에 기록된 아이디 개수")
+        .tag("type", "llm")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) DB에서 아이디 적재
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  /**
+   * DB에서 삭제되지 않은 사용자, LLM 아이디를 다시 적재
+   */
+  public void reload() {
+    userIds.reset(usersQueryRepository.selectAllActiveUserIds());
+    llmIds.reset(llmQueryRepository.selectAllActiveLlmIds());
+    log.info("아이디 인덱스 적재 - users: {}, llm: {}",
+        userIds.cardinality(), llmIds.cardinality());
+  }
+
+  /**
+   * 삭제되지 않은 사용자인지 확인
+   *
+   * @param userId 사용자 아이디
+   * @return 존재하는 사용자이면 true
+   */
+  public boolean containsUser(Long userId) {
+    return contains(userIds, userId);
+  }
+
+  /**
+   * 삭제되지 않은 LLM인지 확인
+   *
+   * @param llmId LLM 아이디
+   * @return 존재하는 LLM이면 true
+   */
+  public boolean containsLlm(Long llmId) {
+    return contains(llmIds, llmId);
+  }
+
+  /**
+   * 추가된 사용자 기록 (트랜잭션 안이면 커밋 후 다른 트랜잭션에 보임)
+   *
+   * @param userId 사용자 아이디
+   */
+  public void addUser(long userId) {
+    add(userIds, userId);
+  }
+
+  /**
+   * 삭제된 사용자 기록 삭제
+   *
+   * @param userId 사용자 아이디
+   */
+  public void removeUser(long userId) {
+    remove(userIds, userId);
+  }
+
+  /**
+   * 추가된 LLM 기록 (트랜잭션 안이면 커밋 후 다른 트랜잭션에 보임)
+   *
+   * @param llmId LLM 아이디
+   */
+  public void addLlm(long llmId) {
+    add(llmIds, llmId);
+  }
+
+  /**
+   * 삭제된 LLM 기록 삭제
+   *
+   * @param llmId LLM 아이디
+   */
+  public void removeLlm(long llmId) {
+    remove(llmIds, llmId);
+  }
+
+  private static boolean contains(IdBitmap bitmap, Long id) {
+    if (bitmap.contains(id)) {
+      return true;
+    }
+    Set<Long> pendingIds = pendingIds(bitmap, false);
+    return pendingIds != null && pendingIds.contains(id);
+  }
+
+  private static void add(IdBitmap bitmap, long id) {
+    Set<Long> pendingIds = pendingIds(bitmap, true);
+    if (pendingIds == null) {
+      bitmap.add(id);
+      return;
+    }
+    pendingIds.add(id);
+  }
+
+  private static void remove(IdBitmap bitmap, long id) {
+    Set<Long> pendingIds = pendingIds(bitmap, false);
+    if (pendingIds != null && pendingIds.remove(id)) {
+      return;
+    }
+    bitmap.remove(id);
+    TransactionUndo.onRollback(() -> bitmap.add(id));
+  }
+
+  /**
+   * 현재 트랜잭션에서 추가하여 커밋을 기다리는 아이디 조회
+   *
+   * <p>처음 만들 때 트랜잭션 동기화를 등록하여 커밋되면 비트맵에 반영하고, 트랜잭션이 끝나면 리소스를
+   * 해제한다.
+   *
+   * @param bitmap 아이디 비트맵 (트랜잭션 리소스의 키)
+   * @param create 없으면 만들지 여부
+   * @return 커밋을 기다리는 아이디 (트랜잭션 밖이거나 create가 false이고 없으면 null)
+   */
+  @SuppressWarnings("unchecked")
+  private static Set<Long> pendingIds(IdBitmap bitmap, boolean create) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return null;
+    }
+    Set<Long> pendingIds = (Set<Long>) TransactionSynchronizationManager.getResource(bitmap);
+    if (pendingIds != null || !create) {
+      return pendingIds;
+    }
+    Set<Long> created = new HashSet<>();
+    TransactionSynchronizationManager.bindResource(bitmap, created);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        created.forEach(bitmap::add);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(bitmap);
+      }
+    });
+    return created;
+  }
+}
@@ -0,0 +1,145 @@
+package com.wanted.assignment.common.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최근 N시간의 시간 단위 {@link LogLinearHistogram} 구간별 개수를 고정 크기 배열에 순환 저장하는 링
+ *
+ * <p>시간(epoch hour)을 링 크기로 나눈 나머지 슬롯에 구간별 개수와 최댓값을 누적하고, 슬롯마다 현재 담고
+ * 있는 시간을 함께 기록한다. 기록할 시간과 슬롯의 시간이 다르면 슬롯이 N시간 전의 값을 담고 있으므로 비우고
+ * 새 시간으로 바꾼다. 모든 슬롯의 구간을 하나의 배열에 두어 생성 시 한 번만 할당하므로 메모리는
+ * (시간 수 x (구간 수 + 2)) x 8 byte로 고정되고, 조회 시 여러 시간의 슬롯을 합쳐 임의 기간의 분포를 만든다.
+ *
+ * <p>같은 시간 안의 기록은 {@link AtomicLongArray}에 잠금 없이 누적하며 객체를 만들지 않는다. 슬롯을 새
+ * 시간으로 바꾸는 작업만 Lock으로 직렬화하며, 값을 비운 뒤 시간을 기록하므로 새 시간을 확인한 기록은 항상
+ * 비운 뒤에 누적된다.
+ */
+public final class HistogramRing {
+
+  private static final long NO_HOUR = -1L;
+
+  private final int size;
+  private final AtomicLongArray hours;
+  private final AtomicLongArray maxValues;
+  // 슬롯 i의 구간 j 개수는 i x BUCKET_COUNT + j
+  private final AtomicLongArray counts;
+  // 슬롯 교체 직렬화
+  private final ReentrantLock rotateLock = new ReentrantLock();
+
+  /**
+   * 빈 링 생성
+   *
+   * @param size 보관할 시간 단위 슬롯 수
+   */
+  public HistogramRing(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("슬롯 수는 1 이상이어야 합니다: " + size);
+    }
+    this.size = size;
+    this.hours = new AtomicLongArray(size);
+    this.maxValues = new AtomicLongArray(size);
+    this.counts = new AtomicLongArray(size * LogLinearHistogram.BUCKET_COUNT);
+    for (int i = 0; i < size; i++) {
+      hours.set(i, NO_HOUR);
+    }
+  }
+
+  /**
+   * 시간 단위 슬롯에 값의 개수를 누적
+   *
+   * <p>음수 개수는 기록을 되돌릴 때 사용하며, 최댓값은 되돌리지 않는다. 슬롯이 이미 더 최근 시간을
+   * 담고 있으면(링 크기보다 오래된 기록) 누적하지 않는다.
+   *
+   * @param epochHour 기록할 시간 (epoch 기준 시간)
+   * @param value     값
+   * @param count     더할 개수
+   * @return 누적 여부
+   */
+  public boolean record(long epochHour, long value, long count) {
+    int slot = slot(epochHour);
+    long current = hours.get(slot);
+    if (current != epochHour) {
+      if (current > epochHour || !rotate(slot, epochHour)) {
+        return false;
+      }
+    }
+    counts.addAndGet(slot * LogLinearHistogram.BUCKET_COUNT
+        + LogLinearHistogram.bucketIndex(value), count);
+    if (count > 0) {
+      maxValues.accumulateAndGet(slot, value, Math::max);
+    }
+    return true;
+  }
+
+  /**
+   * 기간 내 시간 단위 슬롯의 구간별 개수와 최댓값을 히스토그램에 더함
+   *
+   * @param fromHour  시작 시간 (포함, epoch 기준 시간)
+   * @param toHour    종료 시간 (제외, epoch 기준 시간)
+   * @param histogram 더할 히스토그램
+   */
+  public void collect(long fromHour, long toHour, LogLinearHistogram histogram) {
+    for (long hour = Math.max(fromHour, toHour - size); hour < toHour; hour++) {
+      int slot = slot(hour);
+      if (hours.get(slot) != hour) {
+        continue;
+      }
+      int offset = slot * LogLinearHistogram.BUCKET_COUNT;
+      for (int index = 0; index < LogLinearHistogram.BUCKET_COUNT; index++) {
+        long count = counts.get(offset + index);
+        if (count != 0) {
+          histogram.addCount(index, count);
+        }
+      }
+      histogram.updateMax(maxValues.get(slot));
+    }
+  }
+
+  /**
+   * 보관하는 시간 단위 슬롯 수
+   *
+   * @return 슬롯 수
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 배열이 차지하는 메모리 (배열 헤더 제외)
+   *
+   * @return 바이트 수
+   */
+  public long memoryBytes() {
+    return (long) size * (LogLinearHistogram.BUCKET_COUNT + 2) * Long.BYTES;
+  }
+
+  private int slot(long epochHour) {
+    return (int) Math.floorMod(epochHour, (long) size);
+  }
+
+  /**
+   * 슬롯을 새 시간으로 교체 (다른 스레드가 먼저 더 최근 시간으로 바꾼 경우 실패)
+   */
+  private boolean rotate(int slot, long epochHour) {
+    rotateLock.lock();
+    try {
+      long current = hours.get(slot);
+      if (current == epochHour) {
+        return true;
+      }
+      if (current > epochHour) {
+        return false;
+      }
+      int offset = slot * LogLinearHistogram.BUCKET_COUNT;
+      for (int index = 0; index < LogLinearHistogram.BUCKET_COUNT; index++) {
+        counts.set(offset + index, 0L);
+      }
+      maxValues.set(slot, 0L);
+      hours.set(slot, epochHour);
+      return true;
+    } finally {
+      rotateLock.unlock();
+    }
+  }
+}
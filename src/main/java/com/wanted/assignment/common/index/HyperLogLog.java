@@ -0,0 +1,177 @@
+package com.wanted.assignment.common.index;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서로 다른 키 개수를 고정 크기 레지스터로 추정하는 HyperLogLog 스케치
+ *
+ * <p>키의 64bit 해시 상위 p bit로 레지스터(2^p개)를 고르고, 나머지 bit에서 처음 1이 나오는 위치(선행 0
+ * 개수 + 1)의 최댓값을 레지스터에 기록한다. 같은 키는 항상 같은 레지스터에 같은 값을 기록하므로 같은
+ * 키를 여러 번 더해도 결과가 같고, 두 스케치의 레지스터별 최댓값은 두 키 집합의 합집합 스케치와 같으므로
+ * 기간별 스케치를 합쳐 임의 기간의 추정값을 계산할 수 있다.
+ *
+ * <p>표준 오차는 약 1.04 / sqrt(2^p)이며(p = 12이면 약 1.6%), 메모리는 키 개수와 관계없이 2^p byte로
+ * 고정된다. 추정값이 작은 구간은 빈 레지스터 수로 계산(linear counting)하여 오차를 줄인다. 조회/변경은
+ * 하나의 Lock으로 직렬화한다.
+ */
+public final class HyperLogLog {
+
+  private static final int MIN_PRECISION = 4;
+  private static final int MAX_PRECISION = 16;
+
+  private final int precision;
+  private final byte[] registers;
+  // 조회/변경 직렬화
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * 빈 스케치 생성
+   *
+   * @param precision 레지스터 인덱스 bit 수 (4 ~ 16)
+   */
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("정밀도는 4 이상 16 이하여야 합니다: " + precision);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * 저장된 레지스터로 스케치 복원
+   *
+   * @param registers 레지스터 배열 (길이가 2^정밀도, 복사하여 사용)
+   * @return 복원된 스케치
+   */
+  public static HyperLogLog fromByteArray(byte[] registers) {
+    if (Integer.bitCount(registers.length) != 1) {
+      throw new IllegalArgumentException("레지스터 수는 2의 거듭제곱이어야 합니다: "
+          + registers.length);
+    }
+    HyperLogLog sketch = new HyperLogLog(Integer.numberOfTrailingZeros(registers.length));
+    System.arraycopy(registers, 0, sketch.registers, 0, registers.length);
+    return sketch;
+  }
+
+  /**
+   * 키 추가
+   *
+   * @param key 키
+   * @return 레지스터가 바뀌었는지 여부 (이미 더한 키이거나 추정값에 영향이 없으면 false)
+   */
+  public boolean add(long key) {
+    long hash = mix(key);
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    // 인덱스로 쓴 bit를 밀어내고, 나머지 bit가 모두 0이어도 순위가 (64 - p + 1)을 넘지 않도록 끝에 1을 둠
+    long remaining = (hash << precision) | (1L << (precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    lock.lock();
+    try {
+      if (registers[index] >= rank) {
+        return false;
+      }
+      registers[index] = rank;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 다른 스케치의 키 집합을 합침 (레지스터별 최댓값)
+   *
+   * @param other 합칠 스케치 (정밀도가 같아야 함)
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException("정밀도가 다른 스케치는 합칠 수 없습니다: "
+          + precision + ", " + other.precision);
+    }
+    byte[] otherRegisters = other.toByteArray();
+    lock.lock();
+    try {
+      for (int i = 0; i < registers.length; i++) {
+        if (registers[i] < otherRegisters[i]) {
+          registers[i] = otherRegisters[i];
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 서로 다른 키 개수 추정
+   *
+   * @return 추정값
+   */
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0.0;
+    int zeroCount = 0;
+    lock.lock();
+    try {
+      for (byte register : registers) {
+        sum += Math.scalb(1.0, -register);
+        if (register == 0) {
+          zeroCount++;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    double alpha = 0.7213 / (1.0 + 1.079 / m);
+    double estimate = alpha * m * m / sum;
+    // 64bit 해시를 사용하므로 큰 구간 보정은 필요 없음
+    if (estimate <= 2.5 * m && zeroCount > 0) {
+      estimate = m * Math.log((double) m / zeroCount);
+    }
+    return Math.round(estimate);
+  }
+
+  /**
+   * 저장용 레지스터 복사본
+   *
+   * @return 레지스터 배열 복사본
+   */
+  public byte[] toByteArray() {
+    lock.lock();
+    try {
+      return registers.clone();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 레지스터 인덱스 bit 수
+   *
+   * @return 정밀도
+   */
+  public int precision() {
+    return precision;
+  }
+
+  /**
+   * 레지스터 배열이 차지하는 메모리 (배열 헤더 제외)
+   *
+   * @return 바이트 수
+   */
+  public long memoryBytes() {
+    return registers.length;
+  }
+
+  /**
+   * 연속된 아이디도 해시 bit가 고르게 퍼지도록 키를 섞음 (MurmurHash3 fmix64)
+   */
+  private static long mix(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,135 @@
+package com.wanted.assignment.common.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 아이디 존재 여부를 아이디 하나당 1bit로 기록하는 비트맵
+ *
+ * <p>아이디는 시퀀스로 채번되어 촘촘하므로 최대 아이디 / 8 byte만 사용한다(아이디 100만 개 = 128KB).
+ * 조회는 잠금 없이 수행하고, 변경(추가, 삭제, 확장)은 Lock으로 직렬화한다. 배열을 확장할 때는 새 배열에
+ * 복사한 뒤 교체하므로 조회 중인 스레드는 교체 전 배열을 끝까지 읽는다.
+ */
+public final class IdBitmap {
+
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+  private static final int MAX_WORDS = Integer.MAX_VALUE - 8;
+
+  // 변경은 Lock으로 직렬화
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile AtomicLongArray words = new AtomicLongArray(1);
+
+  /**
+   * 아이디 존재 여부 확인
+   *
+   * @param id 아이디
+   * @return 기록된 아이디이면 true
+   */
+  public boolean contains(Long id) {
+    if (id == null || id < 0) {
+      return false;
+    }
+    long wordIndex = id >>> ADDRESS_BITS_PER_WORD;
+    AtomicLongArray current = words;
+    return wordIndex < current.length() && (current.get((int) wordIndex) & (1L << id)) != 0;
+  }
+
+  /**
+   * 아이디 기록
+   *
+   * @param id 아이디
+   */
+  public void add(long id) {
+    if (id < 0) {
+      throw new IllegalArgumentException("음수 아이디는 기록할 수 없습니다: " + id);
+    }
+    int wordIndex = toWordIndex(id);
+    lock.lock();
+    try {
+      AtomicLongArray current = ensureCapacity(wordIndex);
+      current.set(wordIndex, current.get(wordIndex) | (1L << id));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 아이디 기록 삭제
+   *
+   * @param id 아이디
+   */
+  public void remove(long id) {
+    if (id < 0) {
+      return;
+    }
+    long wordIndex = id >>> ADDRESS_BITS_PER_WORD;
+    lock.lock();
+    try {
+      AtomicLongArray current = words;
+      if (wordIndex < current.length()) {
+        current.set((int) wordIndex, current.get((int) wordIndex) & ~(1L << id));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 기록된 아이디를 모두 지우고 주어진 아이디로 다시 채움
+   *
+   * @param ids 기록할 아이디 목록
+   */
+  public void reset(Iterable<Long> ids) {
+    lock.lock();
+    try {
+      words = new AtomicLongArray(1);
+      for (Long id : ids) {
+        add(id);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 기록된 아이디 개수
+   *
+   * @return 아이디 개수
+   */
+  public int cardinality() {
+    AtomicLongArray current = words;
+    int count = 0;
+    for (int i = 0; i < current.length(); i++) {
+      count += Long.bitCount(current.get(i));
+    }
+    return count;
+  }
+
+  /**
+   * 주어진 위치까지 담을 수 있도록 배열 확장 (lock 보유 상태에서 호출)
+   *
+   * @param wordIndex 기록할 word 위치
+   * @return 확장된(또는 기존) 배열
+   */
+  private AtomicLongArray ensureCapacity(int wordIndex) {
+    AtomicLongArray current = words;
+    if (wordIndex < current.length()) {
+      return current;
+    }
+    int newLength = (int) Math.min(MAX_WORDS, Math.max(wordIndex + 1L, current.length() * 2L));
+    AtomicLongArray expanded = new AtomicLongArray(newLength);
+    for (int i = 0; i < current.length(); i++) {
+      expanded.set(i, current.get(i));
+    }
+    words = expanded;
+    return expanded;
+  }
+
+  private static int toWordIndex(long id) {
+    long wordIndex = id >>> ADDRESS_BITS_PER_WORD;
+    if (wordIndex >= MAX_WORDS) {
+      throw new IllegalArgumentException("비트맵에 기록할 수 없는 아이디입니다: " + id);
+    }
+    return (int) wordIndex;
+  }
+}
@@ -0,0 +1,127 @@
+package com.wanted.assignment.common.index;
+
+/**
+ * 값의 분포를 고정 개수의 로그-선형 구간으로 세는 히스토그램 (HdrHistogram 방식)
+ *
+ * <p>2^(p+1) 미만의 값은 값마다 구간을 두고, 그 이상은 2의 거듭제곱 구간마다 2^p개의 같은 너비 구간으로
+ * 나눈다. 따라서 구간의 상대 너비는 2^-p 이하이며(p = 5이면 약 3%), int 범위 값 전체를 864개 구간으로
+ * 표현한다. 구간 번호 계산은 bit 연산뿐이므로 기록 시 객체를 만들지 않는다.
+ *
+ * <p>이 클래스는 여러 기간의 구간별 개수를 합쳐 백분위수를 계산하는 조회용이며 스레드 안전하지 않다.
+ * 동시 기록은 {@link HistogramRing}이 담당한다.
+ */
+public final class LogLinearHistogram {
+
+  /**
+   * 2의 거듭제곱 구간마다 나누는 구간 수의 bit 수 (상대 오차 2^-p)
+   */
+  public static final int PRECISION_BITS = 5;
+
+  private static final int SUB_BUCKET_COUNT = 1 << PRECISION_BITS;
+  private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+  private static final int LINEAR_EXPONENT = PRECISION_BITS + 1;
+
+  /**
+   * 구간 개수 (int 범위 값 기준)
+   */
+  public static final int BUCKET_COUNT = bucketIndex(Integer.MAX_VALUE) + 1;
+
+  private final long[] counts = new long[BUCKET_COUNT];
+  private long totalCount;
+  private long maxValue;
+
+  /**
+   * 값이 속한 구간 번호 (음수는 0, int 범위를 넘는 값은 마지막 구간)
+   *
+   * @param value 값
+   * @return 구간 번호
+   */
+  public static int bucketIndex(long value) {
+    long clamped = Math.clamp(value, 0L, Integer.MAX_VALUE);
+    if (clamped < LINEAR_LIMIT) {
+      return (int) clamped;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(clamped);
+    int subBucket = (int) (clamped >>> (exponent - PRECISION_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * 구간에 속하는 가장 큰 값
+   *
+   * @param index 구간 번호
+   * @return 구간 상한 (포함)
+   */
+  public static long highestEquivalentValue(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    int exponent = LINEAR_EXPONENT + (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT;
+    int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+    int shift = exponent - PRECISION_BITS;
+    long lowest = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * 구간에 개수를 더함
+   *
+   * @param index 구간 번호
+   * @param count 더할 개수
+   */
+  public void addCount(int index, long count) {
+    counts[index] += count;
+    totalCount += count;
+  }
+
+  /**
+   * 최댓값 갱신
+   *
+   * @param value 기록된 값
+   */
+  public void updateMax(long value) {
+    maxValue = Math.max(maxValue, value);
+  }
+
+  /**
+   * 전체 기록 개수
+   *
+   * @return 기록 개수
+   */
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  /**
+   * 기록된 최댓값 (기록이 없으면 0)
+   *
+   * @return 최댓값
+   */
+  public long getMaxValue() {
+    return maxValue;
+  }
+
+  /**
+   * 백분위수에 해당하는 값
+   *
+   * <p>해당 순위의 값이 속한 구간의 상한을 응답하므로 실제 값보다 최대 2^-p 만큼 클 수 있으며, 기록된
+   * 최댓값을 넘지 않는다.
+   *
+   * @param percentile 백분위 (0 초과 100 이하)
+   * @return 백분위수 (기록이 없으면 0)
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (totalCount <= 0) {
+      return 0L;
+    }
+    long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * totalCount));
+    long cumulative = 0L;
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      cumulative += counts[index];
+      if (cumulative >= rank) {
+        return Math.min(highestEquivalentValue(index), maxValue);
+      }
+    }
+    return maxValue;
+  }
+}
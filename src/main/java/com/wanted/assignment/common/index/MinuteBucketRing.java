@@ -0,0 +1,133 @@
+package com.wanted.assignment.common.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최근 N분의 분 단위 합계(사용 토큰 수, 호출 수)를 고정 크기 배열에 순환 저장하는 링
+ *
+ * <p>분(epoch minute)을 링 크기로 나눈 나머지 슬롯에 누적하고, 슬롯마다 현재 담고 있는 분을 함께 기록한다.
+ * 기록할 분과 슬롯의 분이 다르면 슬롯이 N분 전의 값을 담고 있으므로 비우고 새 분으로 바꾼다. 배열은 생성
+ * 시 한 번만 할당하므로 기록 경로에서 객체를 만들지 않고, 메모리는 구간 수 x 24 byte로 고정된다.
+ *
+ * <p>같은 분 안의 기록은 {@link AtomicLongArray}에 잠금 없이 누적한다. 슬롯을 새 분으로 바꾸는 작업만
+ * Lock으로 직렬화하며, 값을 비운 뒤 분을 기록하므로 새 분을 확인한 기록은 항상 비운 뒤에 누적된다.
+ */
+public final class MinuteBucketRing {
+
+  private static final long NO_MINUTE = -1L;
+
+  private final int size;
+  private final AtomicLongArray minutes;
+  private final AtomicLongArray usedTokens;
+  private final AtomicLongArray callCounts;
+  // 슬롯 교체 직렬화
+  private final ReentrantLock rotateLock = new ReentrantLock();
+
+  /**
+   * 빈 링 생성
+   *
+   * @param size 보관할 분 단위 구간 수
+   */
+  public MinuteBucketRing(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("구간 수는 1 이상이어야 합니다: " + size);
+    }
+    this.size = size;
+    this.minutes = new AtomicLongArray(size);
+    this.usedTokens = new AtomicLongArray(size);
+    this.callCounts = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      minutes.set(i, NO_MINUTE);
+    }
+  }
+
+  /**
+   * 분 단위 구간에 사용 토큰 수와 호출 수를 누적
+   *
+   * <p>슬롯이 이미 더 최근 분을 담고 있으면(링 크기보다 오래된 기록) 누적하지 않는다.
+   *
+   * @param epochMinute 기록할 분 (epoch 기준 분)
+   * @param usedToken   더할 사용 토큰 수
+   * @param callCount   더할 호출 수
+   * @return 누적 여부
+   */
+  public boolean add(long epochMinute, long usedToken, long callCount) {
+    int slot = slot(epochMinute);
+    long current = minutes.get(slot);
+    if (current != epochMinute) {
+      if (current > epochMinute || !rotate(slot, epochMinute)) {
+        return false;
+      }
+    }
+    usedTokens.addAndGet(slot, usedToken);
+    callCounts.addAndGet(slot, callCount);
+    return true;
+  }
+
+  /**
+   * 분 단위 구간의 사용 토큰 수
+   *
+   * @param epochMinute 조회할 분 (epoch 기준 분)
+   * @return 사용 토큰 수 (링에 없는 분이면 0)
+   */
+  public long getUsedToken(long epochMinute) {
+    int slot = slot(epochMinute);
+    return minutes.get(slot) == epochMinute ? usedTokens.get(slot) : 0L;
+  }
+
+  /**
+   * 분 단위 구간의 호출 수
+   *
+   * @param epochMinute 조회할 분 (epoch 기준 분)
+   * @return 호출 수 (링에 없는 분이면 0)
+   */
+  public long getCallCount(long epochMinute) {
+    int slot = slot(epochMinute);
+    return minutes.get(slot) == epochMinute ? callCounts.get(slot) : 0L;
+  }
+
+  /**
+   * 보관하는 분 단위 구간 수
+   *
+   * @return 구간 수
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 배열이 차지하는 메모리 (배열 헤더 제외)
+   *
+   * @return 바이트 수
+   */
+  public long memoryBytes() {
+    return (long) size * Long.BYTES * 3;
+  }
+
+  private int slot(long epochMinute) {
+    return (int) Math.floorMod(epochMinute, (long) size);
+  }
+
+  /**
+   * 슬롯을 새 분으로 교체 (다른 스레드가 먼저 더 최근 분으로 바꾼 경우 실패)
+   */
+  private boolean rotate(int slot, long epochMinute) {
+    rotateLock.lock();
+    try {
+      long current = minutes.get(slot);
+      if (current == epochMinute) {
+        return true;
+      }
+      if (current > epochMinute) {
+        return false;
+      }
+      usedTokens.set(slot, 0L);
+      callCounts.set(slot, 0L);
+      minutes.set(slot, epochMinute);
+      return true;
+    } finally {
+      rotateLock.unlock();
+    }
+  }
+}
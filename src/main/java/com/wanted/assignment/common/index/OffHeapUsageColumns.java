@@ -0,0 +1,373 @@
+package com.wanted.assignment.common.index;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * 사용량 행을 열(column)별 direct buffer에 저장하는 힙 밖 열 저장소
+ *
+ * <p>사용자 아이디, LLM 위치, 집계 시간(epoch hour)은 int, 사용 토큰 수는 long 열로 나누어 저장하므로 행당
+ * 20 byte이며, 행을 객체로 만들지 않고 GC 대상 힙도 사용하지 않는다. 열은 고정 행 수의 청크로 나누어 필요할
+ * 때 할당하고, 전체 행 수는 생성 시 정한 최대 행 수로 제한한다. 아이디와 시간이 int 범위를 넘거나 최대 행
+ * 수에 도달하면 추가를 거부하므로, 호출 측은 이후 조회를 다른 경로로 처리해야 한다.
+ *
+ * <p>조회는 청크마다 열을 블록({@link #BLOCK_ROWS}행) 단위로 배열에 복사하고 {@link UsageSumKernel}로
+ * 조건에 맞는 행의 사용 토큰 수를 LLM 위치의 배열에 더하며, 청크별 결과를 병렬로 계산하여 합친다.
+ * 블록은 캐시에 머무는 크기이므로 복사 비용은 작고, 커널은 배열에서 벡터 단위로 읽을 수 있다.
+ *
+ * <p>LLM 열에는 아이디 대신 처음 추가된 순서로 부여한 0부터의 위치를 저장하므로, 합계 배열의 길이는 LLM
+ * 아이디의 최댓값이 아니라 저장된 LLM 수이다. 아이디가 커져도 청크마다 만드는 합계 배열이 작게 유지되고, LLM
+ * 수가 적으면 SIMD 커널이 벡터로 처리한다. 저장된 LLM 수가 {@link #MAX_LLM_COUNT}에 도달하면 새 LLM의
+ * 추가를 거부한다.
+ *
+ * <p>추가는 Lock으로 직렬화하고, 행을 기록한 뒤 행 수를 volatile로 늘리므로 조회는 잠금 없이 읽은 행 수까지의
+ * 행만 읽는다.
+ *
+ * <p>{@link #merge}는 가장 최근 집계 시간의 (사용자, LLM) 쌍별 행 위치를 {@link PairCounterTable}에 보관하고,
+ * 같은 쌍이 다시 기록되면 행을 추가하지 않고 사용 토큰 수 열만 갱신한다. 따라서 건별 사용량을 반영해도 행 수는
+ * 시간별 집계 행 수만큼만 늘어난다. 갱신은 정렬된 8 byte 쓰기 한 번이므로 조회는 갱신 전이나 후의 값을 읽으며,
+ * LLM별 행 수는 변하지 않는다.
+ */
+public final class OffHeapUsageColumns {
+
+  private static final int ROW_BYTES = Integer.BYTES * 3 + Long.BYTES;
+
+  // 조회 시 열을 배열로 복사하는 블록의 행 수 (블록당 최대 80KB)
+  private static final int BLOCK_ROWS = 4_096;
+
+  /**
+   * 저장할 수 있는 최대 LLM 수 (조회 시 LLM 위치의 배열을 만들기 위한 상한)
+   */
+  public static final int MAX_LLM_COUNT = 1 << 16;
+
+  private final int chunkRows;
+  private final long maxRows;
+  private final Chunk[] chunks;
+  private final UsageSumKernel kernel;
+  // 추가 직렬화
+  private final ReentrantLock appendLock = new ReentrantLock();
+  // 가장 최근 집계 시간의 (사용자 아이디, LLM 아이디)별 행 위치 + 1 (appendLock 안에서만 사용)
+  private final PairCounterTable openHourRows = new PairCounterTable();
+  private long openHour = Long.MIN_VALUE;
+  // LLM 아이디 -> LLM 위치 (appendLock 안에서만 추가)
+  private final Map<Long, Integer> llmIndexes = new ConcurrentHashMap<>();
+  // 부여한 LLM 위치 수 (위치를 추가한 뒤에 늘림)
+  private volatile int llmCount;
+  private volatile long size;
+
+  /**
+   * 사용 가능한 가장 빠른 커널로 조회하는 빈 저장소 생성 (청크는 행을 추가할 때 할당)
+   *
+   * @param chunkRows 청크당 행 수
+   * @param maxRows   최대 행 수
+   */
+  public OffHeapUsageColumns(int chunkRows, long maxRows) {
+    this(chunkRows, maxRows, UsageSumKernels.preferred());
+  }
+
+  /**
+   * 빈 저장소 생성 (청크는 행을 추가할 때 할당)
+   *
+   * @param chunkRows 청크당 행 수
+   * @param maxRows   최대 행 수
+   * @param kernel    조회에 사용할 합계 커널
+   */
+  public OffHeapUsageColumns(int chunkRows, long maxRows, UsageSumKernel kernel) {
+    if (chunkRows <= 0 || maxRows <= 0) {
+      throw new IllegalArgumentException(
+          "청크 행 수와 최대 행 수는 1 이상이어야 합니다: " + chunkRows + ", " + maxRows);
+    }
+    if (chunkRows > Integer.MAX_VALUE / Long.BYTES) {
+      throw new IllegalArgumentException("청크 행 수가 너무 큽니다: " + chunkRows);
+    }
+    long chunkCount = (maxRows + chunkRows - 1) / chunkRows;
+    if (chunkCount > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("청크 수가 너무 많습니다: " + chunkCount);
+    }
+    this.chunkRows = chunkRows;
+    this.maxRows = maxRows;
+    this.chunks = new Chunk[(int) chunkCount];
+    this.kernel = kernel;
+  }
+
+  /**
+   * 행 추가
+   *
+   * @param userId    사용자 아이디
+   * @param llmId     LLM 아이디
+   * @param epochHour 집계 시간 (epoch 기준 시간)
+   * @param usedToken 사용 토큰 수
+   * @return 추가 여부 (최대 행 수나 최대 LLM 수에 도달했거나 값이 열 범위를 넘으면 false)
+   */
+  public boolean append(long userId, long llmId, long epochHour, long usedToken) {
+    if (!isInt(userId) || !isInt(llmId) || !isInt(epochHour)) {
+      return false;
+    }
+    appendLock.lock();
+    try {
+      return appendRow(userId, llmId, epochHour, usedToken) >= 0;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * 같은 (사용자, LLM, 집계 시간)의 행이 있으면 사용 토큰 수를 더하고, 없으면 행 추가
+   *
+   * <p>가장 최근 집계 시간의 행만 찾으므로, 그보다 이전 시간의 사용량은 같은 행이 있어도 새 행으로 추가한다.
+   * 아이디가 1 미만이면 행 위치를 보관할 수 없으므로 항상 추가한다.
+   *
+   * @param userId    사용자 아이디
+   * @param llmId     LLM 아이디
+   * @param epochHour 집계 시간 (epoch 기준 시간)
+   * @param usedToken 사용 토큰 수
+   * @return 반영 여부 (행을 추가해야 하는데 최대 행 수나 최대 LLM 수에 도달했거나 값이 열 범위를 넘으면
+   *     false)
+   */
+  public boolean merge(long userId, long llmId, long epochHour, long usedToken) {
+    if (!isInt(userId) || !isInt(llmId) || !isInt(epochHour)) {
+      return false;
+    }
+    appendLock.lock();
+    try {
+      if (epochHour > openHour) {
+        openHour = epochHour;
+        openHourRows.clear();
+      }
+      boolean indexed = userId > 0 && llmId > 0 && epochHour == openHour;
+      if (indexed) {
+        long row = openHourRows.get(userId, llmId) - 1;
+        if (row >= 0) {
+          LongBuffer usedTokens = chunks[(int) (row / chunkRows)].usedTokens;
+          int offset = (int) (row % chunkRows);
+          usedTokens.put(offset, usedTokens.get(offset) + usedToken);
+          return true;
+        }
+      }
+      long row = appendRow(userId, llmId, epochHour, usedToken);
+      if (row < 0) {
+        return false;
+      }
+      if (indexed) {
+        openHourRows.add(userId, llmId, row + 1);
+      }
+      return true;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * 행 기록 (appendLock 안에서 호출)
+   *
+   * @return 추가한 행 위치 (최대 행 수나 최대 LLM 수에 도달했으면 -1)
+   */
+  private long appendRow(long userId, long llmId, long epochHour, long usedToken) {
+    long row = size;
+    if (row >= maxRows) {
+      return -1L;
+    }
+    int llmIndex = llmIndex(llmId);
+    if (llmIndex < 0) {
+      return -1L;
+    }
+    int chunkIndex = (int) (row / chunkRows);
+    int offset = (int) (row % chunkRows);
+    Chunk chunk = chunks[chunkIndex];
+    if (chunk == null) {
+      chunk = new Chunk(chunkRows);
+      chunks[chunkIndex] = chunk;
+    }
+    chunk.userIds.put(offset, (int) userId);
+    chunk.llmIds.put(offset, llmIndex);
+    chunk.hours.put(offset, (int) epochHour);
+    chunk.usedTokens.put(offset, usedToken);
+    size = row + 1;
+    return row;
+  }
+
+  /**
+   * LLM 위치 조회, 처음 추가되는 LLM이면 다음 위치 부여 (appendLock 안에서 호출)
+   *
+   * <p>위치를 부여한 뒤에 행 수를 늘리므로, 조회가 읽은 행 수까지의 행은 모두 읽은 LLM 수 안의 위치를 가진다.
+   * 조회 중에 추가된 LLM은 합계 배열 밖이므로 0으로 조회된다.
+   *
+   * @return LLM 위치 (최대 LLM 수에 도달했으면 -1)
+   */
+  private int llmIndex(long llmId) {
+    Integer llmIndex = llmIndexes.get(llmId);
+    if (llmIndex != null) {
+      return llmIndex;
+    }
+    int nextIndex = llmCount;
+    if (nextIndex >= MAX_LLM_COUNT) {
+      return -1;
+    }
+    llmIndexes.put(llmId, nextIndex);
+    llmCount = nextIndex + 1;
+    return nextIndex;
+  }
+
+  /**
+   * 기간 내 행의 LLM별 사용 토큰 수 합계와 행 수
+   *
+   * @param userId   사용자 아이디 (null이면 전체 사용자)
+   * @param fromHour 시작 시간 (포함, epoch 기준 시간)
+   * @param toHour   종료 시간 (제외, epoch 기준 시간)
+   * @return LLM별 합계
+   */
+  public LlmTotals sumByLlm(Long userId, long fromHour, long toHour) {
+    // 행 수를 먼저 읽어야 읽은 행의 LLM 위치가 모두 LLM 수 안에 있음
+    long rowCount = size;
+    int llms = llmCount;
+    int from = (int) Math.max(fromHour, Integer.MIN_VALUE);
+    int to = (int) Math.min(toHour, Integer.MAX_VALUE);
+    if (from >= to || (userId != null && !isInt(userId))) {
+      return new LlmTotals(llmIndexes, llms);
+    }
+    int chunkCount = (int) ((rowCount + chunkRows - 1) / chunkRows);
+    Integer user = userId == null ? null : userId.intValue();
+    return IntStream.range(0, chunkCount)
+        .parallel()
+        .mapToObj(chunkIndex -> {
+          int rows = (int) Math.min(chunkRows, rowCount - (long) chunkIndex * chunkRows);
+          LlmTotals totals = new LlmTotals(llmIndexes, llms);
+          chunks[chunkIndex].scan(rows, user, from, to, kernel, totals);
+          return totals;
+        })
+        .reduce(LlmTotals::merge)
+        .orElseGet(() -> new LlmTotals(llmIndexes, llms));
+  }
+
+  /**
+   * 조회에 사용하는 합계 커널
+   *
+   * @return 합계 커널
+   */
+  public UsageSumKernel kernel() {
+    return kernel;
+  }
+
+  /**
+   * 저장된 행 수
+   *
+   * @return 행 수
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * 할당된 청크가 차지하는 힙 밖 메모리
+   *
+   * @return 바이트 수
+   */
+  public long memoryBytes() {
+    long chunkCount = (size + chunkRows - 1) / chunkRows;
+    return chunkCount * chunkRows * ROW_BYTES;
+  }
+
+  private static boolean isInt(long value) {
+    return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+  }
+
+  /**
+   * 청크 하나의 열 (열마다 direct buffer 하나)
+   */
+  private static final class Chunk {
+
+    private final IntBuffer userIds;
+    private final IntBuffer llmIds;
+    private final IntBuffer hours;
+    private final LongBuffer usedTokens;
+
+    private Chunk(int rows) {
+      this.userIds = allocate(rows, Integer.BYTES).asIntBuffer();
+      this.llmIds = allocate(rows, Integer.BYTES).asIntBuffer();
+      this.hours = allocate(rows, Integer.BYTES).asIntBuffer();
+      this.usedTokens = allocate(rows, Long.BYTES).asLongBuffer();
+    }
+
+    private static ByteBuffer allocate(int rows, int bytes) {
+      return ByteBuffer.allocateDirect(rows * bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 열을 블록 단위로 배열에 복사하며 커널로 합계 (절대 위치로 읽으므로 여러 스레드가 동시에 읽어도 됨)
+     */
+    private void scan(
+        int rows, Integer userId, int from, int to, UsageSumKernel kernel, LlmTotals totals) {
+      int blockRows = Math.min(rows, BLOCK_ROWS);
+      int[] blockUserIds = userId == null ? null : new int[blockRows];
+      int[] blockHours = new int[blockRows];
+      int[] blockLlmIds = new int[blockRows];
+      long[] blockUsedTokens = new long[blockRows];
+      for (int start = 0; start < rows; start += blockRows) {
+        int length = Math.min(blockRows, rows - start);
+        hours.get(start, blockHours, 0, length);
+        llmIds.get(start, blockLlmIds, 0, length);
+        usedTokens.get(start, blockUsedTokens, 0, length);
+        if (userId == null) {
+          kernel.sumByLlm(length, blockHours, blockLlmIds, blockUsedTokens,
+              from, to, totals.usedTokens, totals.rowCounts);
+        } else {
+          userIds.get(start, blockUserIds, 0, length);
+          kernel.sumByLlmForUser(length, blockUserIds, userId, blockHours, blockLlmIds,
+              blockUsedTokens, from, to, totals.usedTokens, totals.rowCounts);
+        }
+      }
+    }
+  }
+
+  /**
+   * LLM별 사용 토큰 수 합계와 행 수 (LLM 위치 순 배열)
+   */
+  public static final class LlmTotals {
+
+    private final Map<Long, Integer> llmIndexes;
+    private final long[] usedTokens;
+    private final long[] rowCounts;
+
+    private LlmTotals(Map<Long, Integer> llmIndexes, int llmCount) {
+      this.llmIndexes = llmIndexes;
+      this.usedTokens = new long[llmCount];
+      this.rowCounts = new long[llmCount];
+    }
+
+    /**
+     * LLM의 사용 토큰 수 합계
+     *
+     * @param llmId LLM 아이디
+     * @return 합계 (행이 없으면 0)
+     */
+    public long getUsedToken(long llmId) {
+      Integer llmIndex = llmIndexes.get(llmId);
+      return llmIndex == null || llmIndex >= usedTokens.length ? 0L : usedTokens[llmIndex];
+    }
+
+    /**
+     * LLM의 행 수
+     *
+     * @param llmId LLM 아이디
+     * @return 행 수
+     */
+    public long getRowCount(long llmId) {
+      Integer llmIndex = llmIndexes.get(llmId);
+      return llmIndex == null || llmIndex >= rowCounts.length ? 0L : rowCounts[llmIndex];
+    }
+
+    private LlmTotals merge(LlmTotals other) {
+      for (int i = 0; i < usedTokens.length; i++) {
+        usedTokens[i] += other.usedTokens[i];
+        rowCounts[i] += other.rowCounts[i];
+      }
+      return this;
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package com.wanted.assignment.common.index;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * (첫 번째 아이디, 두 번째 아이디) 쌍별 long 카운터를 원시 배열에 저장하는 오픈 어드레싱 해시 테이블
+ *
+ * <p>두 아이디를 하나의 long 키로 합쳐(상위 32bit, 하위 32bit) 키 배열과 값 배열에 나란히 저장하므로,
+ * 박싱된 Long 키나 항목별 객체를 만들지 않는다. 충돌은 선형 탐사로 처리하고, 삭제는 뒤따르는 항목을 당겨
+ * 채워(backward shift) 삭제 표식 없이 탐사 경로를 유지한다.
+ *
+ * <p>메모리는 슬롯 하나당 16 byte(키 8 + 값 8)이고, 적재율이 0.75를 넘으면 두 배로 늘리므로 쌍 하나당
+ * 21~43 byte(평균 약 32 byte)를 사용한다. 1,000만 쌍 기준 약 256~512MB이며 측정값은
+ * {@code PairCounterTableBenchmarkTest}로 확인한다.
+ *
+ * <p>테이블은 해시 상위 bit로 나눈 여러 조각(stripe)으로 구성되며, 조각별 Lock으로 조회/변경을
+ * 직렬화한다. 서로 다른 조각의 변경은 경합하지 않고, 확장도 해당 조각만 복사한다.
+ */
+public final class PairCounterTable {
+
+  private static final int STRIPE_BITS = 6;
+  private static final int STRIPE_COUNT = 1 << STRIPE_BITS;
+  private static final int INITIAL_STRIPE_CAPACITY = 16;
+  private static final long MAX_ID = 0xFFFF_FFFFL;
+  private static final long EMPTY = 0L;
+
+  private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+  /**
+   * 빈 테이블 생성
+   */
+  public PairCounterTable() {
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * 쌍의 카운터에 값을 더함 (없으면 추가)
+   *
+   * <p>더한 결과가 0이 되어도 항목은 남겨 두며, 조회 시 0과 없는 항목은 구분하지 않는다.
+   *
+   * @param first  첫 번째 아이디 (1 이상 2^32 미만)
+   * @param second 두 번째 아이디 (1 이상 2^32 미만)
+   * @param delta  더할 값
+   */
+  public void add(long first, long second, long delta) {
+    long key = toKey(first, second);
+    long hash = mix(key);
+    Stripe stripe = stripes[stripeIndex(hash)];
+    stripe.lock.lock();
+    try {
+      stripe.add(key, hash, delta);
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  /**
+   * 쌍의 카운터 조회
+   *
+   * @param first  첫 번째 아이디
+   * @param second 두 번째 아이디
+   * @return 카운터 값 (없으면 0)
+   */
+  public long get(long first, long second) {
+    if (!isValidId(first) || !isValidId(second)) {
+      return 0L;
+    }
+    long key = toKey(first, second);
+    long hash = mix(key);
+    Stripe stripe = stripes[stripeIndex(hash)];
+    stripe.lock.lock();
+    try {
+      int slot = stripe.find(key, hash);
+      return slot < 0 ? 0L : stripe.values[slot];
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  /**
+   * 두 번째 아이디가 같은 모든 쌍 삭제
+   *
+   * <p>모든 조각을 순회하므로 항목 수에 비례하는 비용이 들며, LLM 삭제처럼 드문 작업에만 사용한다.
+   *
+   * @param second 두 번째 아이디
+   * @return 삭제한 항목의 [첫 번째 아이디, 값]을 이어 붙인 배열
+   */
+  public long[] removeBySecond(long second) {
+    if (!isValidId(second)) {
+      return new long[0];
+    }
+    long[] removed = new long[0];
+    int removedLength = 0;
+    for (Stripe stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        int slot = 0;
+        while (slot < stripe.keys.length) {
+          long key = stripe.keys[slot];
+          if (key == EMPTY || (key & MAX_ID) != second) {
+            slot++;
+            continue;
+          }
+          if (removedLength + 2 > removed.length) {
+            removed = Arrays.copyOf(removed, Math.max(8, removed.length * 2));
+          }
+          removed[removedLength++] = key >>> 32;
+          removed[removedLength++] = stripe.values[slot];
+          // 당겨 채운 항목이 현재 슬롯에 올 수 있으므로 같은 슬롯을 다시 확인
+          stripe.removeAt(slot);
+        }
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+    return Arrays.copyOf(removed, removedLength);
+  }
+
+  /**
+   * 모든 항목 삭제 (배열도 초기 크기로 줄임)
+   */
+  public void clear() {
+    for (Stripe stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        stripe.reset(INITIAL_STRIPE_CAPACITY);
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * 항목 수
+   *
+   * @return 저장된 쌍의 수
+   */
+  public long size() {
+    long size = 0;
+    for (Stripe stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        size += stripe.size;
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * 키/값 배열이 차지하는 메모리 (배열 헤더와 조각 객체 제외)
+   *
+   * @return 바이트 수
+   */
+  public long memoryBytes() {
+    long bytes = 0;
+    for (Stripe stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        bytes += (long) stripe.keys.length * Long.BYTES * 2;
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+    return bytes;
+  }
+
+  private static boolean isValidId(long id) {
+    return id > 0 && id <= MAX_ID;
+  }
+
+  private static long toKey(long first, long second) {
+    if (!isValidId(first) || !isValidId(second)) {
+      throw new IllegalArgumentException(
+          "아이디는 1 이상 2^32 미만이어야 합니다: " + first + ", " + second);
+    }
+    return (first << 32) | second;
+  }
+
+  private static int stripeIndex(long hash) {
+    return (int) (hash >>> (Long.SIZE - STRIPE_BITS));
+  }
+
+  /**
+   * 연속된 아이디가 같은 슬롯 근처에 몰리지 않도록 키를 섞음 (MurmurHash3 fmix64)
+   */
+  private static long mix(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * 조각 하나의 오픈 어드레싱 테이블 (호출 측에서 lock을 잡은 상태로 사용)
+   */
+  private static final class Stripe {
+
+    // 조회/변경 직렬화
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    private Stripe() {
+      reset(INITIAL_STRIPE_CAPACITY);
+    }
+
+    private void reset(int capacity) {
+      keys = new long[capacity];
+      values = new long[capacity];
+      size = 0;
+      mask = capacity - 1;
+      resizeThreshold = capacity - (capacity >>> 2);
+    }
+
+    private int find(long key, long hash) {
+      int slot = (int) hash & mask;
+      while (true) {
+        long current = keys[slot];
+        if (current == key) {
+          return slot;
+        }
+        if (current == EMPTY) {
+          return -1;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+
+    private void add(long key, long hash, long delta) {
+      int slot = (int) hash & mask;
+      while (true) {
+        long current = keys[slot];
+        if (current == key) {
+          values[slot] += delta;
+          return;
+        }
+        if (current == EMPTY) {
+          keys[slot] = key;
+          values[slot] = delta;
+          if (++size > resizeThreshold) {
+            resize();
+          }
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+
+    private void removeAt(int slot) {
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (keys[next] != EMPTY) {
+        int home = (int) mix(keys[next]) & mask;
+        // next 항목의 원래 위치가 (hole, next] 구간 밖이면 hole로 당겨도 탐사 경로가 유지됨
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          keys[hole] = keys[next];
+          values[hole] = values[next];
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      keys[hole] = EMPTY;
+      values[hole] = 0L;
+      size--;
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      long[] oldValues = values;
+      reset(oldKeys.length << 1);
+      for (int i = 0; i < oldKeys.length; i++) {
+        long key = oldKeys[i];
+        if (key != EMPTY) {
+          int slot = (int) mix(key) & mask;
+          while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+          }
+          keys[slot] = key;
+          values[slot] = oldValues[i];
+          size++;
+        }
+      }
+    }
+  }
+}
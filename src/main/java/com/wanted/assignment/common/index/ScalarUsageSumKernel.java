@@ -0,0 +1,70 @@
+package com.wanted.assignment.common.index;
+
+/**
+ * 행을 하나씩 비교하여 더하는 스칼라 커널
+ *
+ * <p>Vector API 모듈이 없는 경우의 기본 구현이며, {@link VectorUsageSumKernel}이 벡터 길이로 나누어지지 않는
+ * 나머지 행과 LLM 수가 많은 블록을 처리할 때도 사용한다.
+ */
+final class ScalarUsageSumKernel implements UsageSumKernel {
+
+  static final ScalarUsageSumKernel INSTANCE = new ScalarUsageSumKernel();
+
+  private ScalarUsageSumKernel() {
+  }
+
+  @Override
+  public String name() {
+    return "scalar";
+  }
+
+  @Override
+  public void sumByLlm(
+      int length, int[] hours, int[] llmIds, long[] usedTokens,
+      int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts) {
+    sumByLlm(0, length, hours, llmIds, usedTokens, fromHour, toHour, usedTokenSums, rowCounts);
+  }
+
+  @Override
+  public void sumByLlmForUser(
+      int length, int[] userIds, int userId, int[] hours, int[] llmIds, long[] usedTokens,
+      int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts) {
+    sumByLlmForUser(0, length, userIds, userId, hours, llmIds, usedTokens,
+        fromHour, toHour, usedTokenSums, rowCounts);
+  }
+
+  /**
+   * [start, end) 행의 LLM별 합계
+   */
+  static void sumByLlm(
+      int start, int end, int[] hours, int[] llmIds, long[] usedTokens,
+      int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts) {
+    for (int i = start; i < end; i++) {
+      int hour = hours[i];
+      if (hour >= fromHour && hour < toHour) {
+        int llmId = llmIds[i];
+        usedTokenSums[llmId] += usedTokens[i];
+        rowCounts[llmId]++;
+      }
+    }
+  }
+
+  /**
+   * [start, end) 행 중 특정 사용자 행의 LLM별 합계
+   */
+  static void sumByLlmForUser(
+      int start, int end, int[] userIds, int userId, int[] hours, int[] llmIds,
+      long[] usedTokens, int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts) {
+    for (int i = start; i < end; i++) {
+      if (userIds[i] != userId) {
+        continue;
+      }
+      int hour = hours[i];
+      if (hour >= fromHour && hour < toHour) {
+        int llmId = llmIds[i];
+        usedTokenSums[llmId] += usedTokens[i];
+        rowCounts[llmId]++;
+      }
+    }
+  }
+}
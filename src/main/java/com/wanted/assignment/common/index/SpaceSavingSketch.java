@@ -0,0 +1,288 @@
+package com.wanted.assignment.common.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 가중치가 있는 스트림에서 합계가 큰 키를 고정 개수의 카운터로 추적하는 Space-Saving 스케치
+ *
+ * <p>카운터가 가득 찬 상태에서 새 키가 들어오면 합계가 가장 작은 카운터를 새 키에 넘겨주고, 넘겨받은
+ * 합계(최소 합계)를 새 키의 오차로 기록한다. 따라서 추적 중인 키의 실제 합계는 [합계 - 오차, 합계] 범위에
+ * 있고, 실제 합계가 최소 합계보다 큰 키는 반드시 추적된다. 최소 합계는 전체 합계 / 카운터 수를 넘지 않는다.
+ *
+ * <p>키/합계/오차는 원시 배열에, 최소 합계 카운터는 최소 힙에, 키의 카운터 위치는 오픈 어드레싱 해시
+ * 테이블에 저장하므로 메모리는 키 개수와 관계없이 카운터 수로 고정되며 갱신 시 객체를 만들지 않는다.
+ * 조회/변경은 하나의 Lock으로 직렬화한다.
+ */
+public final class SpaceSavingSketch {
+
+  private static final Comparator<Entry> COUNT_DESCENDING =
+      Comparator.comparingLong(Entry::count).reversed().thenComparingLong(Entry::key);
+
+  private final int capacity;
+  private final long[] keys;
+  private final long[] counts;
+  private final long[] errors;
+  // 합계 기준 최소 힙 (카운터 위치), 카운터 위치 → 힙 위치
+  private final int[] heap;
+  private final int[] heapIndex;
+  // 키 해시 → 카운터 위치 + 1 (0이면 빈 칸)
+  private final int[] table;
+  private final int mask;
+  // 조회/변경 직렬화
+  private final ReentrantLock lock = new ReentrantLock();
+  private int size;
+  private long total;
+
+  /**
+   * 빈 스케치 생성
+   *
+   * @param capacity 카운터 수
+   */
+  public SpaceSavingSketch(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("카운터 수는 1 이상이어야 합니다: " + capacity);
+    }
+    this.capacity = capacity;
+    this.keys = new long[capacity];
+    this.counts = new long[capacity];
+    this.errors = new long[capacity];
+    this.heap = new int[capacity];
+    this.heapIndex = new int[capacity];
+    // 적재율 0.5 이하
+    int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+    this.table = new int[tableSize];
+    this.mask = tableSize - 1;
+  }
+
+  /**
+   * 키의 합계에 값을 더함
+   *
+   * <p>카운터를 넘겨받은 키의 합계에는 이전 키의 합계가 섞여 있어 뺄 수 없으므로 양수만 더할 수 있다.
+   * 롤백될 수 있는 값은 커밋된 뒤에 더한다.
+   *
+   * @param key   키
+   * @param delta 더할 값 (양수)
+   * @throws IllegalArgumentException 더할 값이 0 이하인 경우
+   */
+  public void add(long key, long delta) {
+    if (delta <= 0) {
+      throw new IllegalArgumentException("더할 값은 1 이상이어야 합니다: " + delta);
+    }
+    lock.lock();
+    try {
+      total += delta;
+      int position = find(key);
+      if (position >= 0) {
+        int slot = table[position] - 1;
+        counts[slot] += delta;
+        siftDown(heapIndex[slot]);
+      } else if (size < capacity) {
+        int slot = size++;
+        keys[slot] = key;
+        counts[slot] = delta;
+        errors[slot] = 0L;
+        heap[slot] = slot;
+        heapIndex[slot] = slot;
+        insertIndex(key, slot);
+        siftUp(slot);
+      } else {
+        // 합계가 가장 작은 카운터를 새 키에 넘겨줌
+        int slot = heap[0];
+        removeIndex(keys[slot]);
+        long minCount = counts[slot];
+        keys[slot] = key;
+        errors[slot] = minCount;
+        counts[slot] = minCount + delta;
+        insertIndex(key, slot);
+        siftDown(0);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 합계가 큰 순서로 키 조회
+   *
+   * @param limit   최대 개수
+   * @param include 포함할 키 조건
+   * @return 합계 내림차순 목록
+   */
+  public List<Entry> top(int limit, LongPredicate include) {
+    List<Entry> entries;
+    lock.lock();
+    try {
+      entries = new ArrayList<>(size);
+      for (int slot = 0; slot < size; slot++) {
+        entries.add(new Entry(keys[slot], counts[slot], errors[slot]));
+      }
+    } finally {
+      lock.unlock();
+    }
+    return entries.stream()
+        .filter(entry -> include.test(entry.key()))
+        .sorted(COUNT_DESCENDING)
+        .limit(limit)
+        .toList();
+  }
+
+  /**
+   * 지금까지 더한 값의 전체 합계
+   *
+   * @return 전체 합계
+   */
+  public long total() {
+    lock.lock();
+    try {
+      return total;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 추적하지 않는 키의 실제 합계 상한 (카운터가 남아 있으면 0)
+   *
+   * @return 최소 합계
+   */
+  public long minCount() {
+    lock.lock();
+    try {
+      return size < capacity ? 0L : counts[heap[0]];
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 추적 중인 키 개수
+   *
+   * @return 키 개수
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 카운터 수
+   *
+   * @return 카운터 수
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * 배열이 차지하는 메모리 (배열 헤더 제외)
+   *
+   * @return 바이트 수
+   */
+  public long memoryBytes() {
+    return (long) capacity * (Long.BYTES * 3 + Integer.BYTES * 2)
+        + (long) table.length * Integer.BYTES;
+  }
+
+  private int find(long key) {
+    int position = (int) mix(key) & mask;
+    while (table[position] != 0) {
+      if (keys[table[position] - 1] == key) {
+        return position;
+      }
+      position = (position + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void insertIndex(long key, int slot) {
+    int position = (int) mix(key) & mask;
+    while (table[position] != 0) {
+      position = (position + 1) & mask;
+    }
+    table[position] = slot + 1;
+  }
+
+  private void removeIndex(long key) {
+    int hole = find(key);
+    int next = (hole + 1) & mask;
+    while (table[next] != 0) {
+      int home = (int) mix(keys[table[next] - 1]) & mask;
+      // next 항목의 원래 위치가 (hole, next] 구간 밖이면 hole로 당겨도 탐사 경로가 유지됨
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        table[hole] = table[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    table[hole] = 0;
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (counts[heap[parent]] <= counts[heap[index]]) {
+        return;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    while (true) {
+      int smallest = index;
+      int left = index * 2 + 1;
+      int right = left + 1;
+      if (left < size && counts[heap[left]] < counts[heap[smallest]]) {
+        smallest = left;
+      }
+      if (right < size && counts[heap[right]] < counts[heap[smallest]]) {
+        smallest = right;
+      }
+      if (smallest == index) {
+        return;
+      }
+      swap(index, smallest);
+      index = smallest;
+    }
+  }
+
+  private void swap(int i, int j) {
+    int slot = heap[i];
+    heap[i] = heap[j];
+    heap[j] = slot;
+    heapIndex[heap[i]] = i;
+    heapIndex[heap[j]] = j;
+  }
+
+  /**
+   * 연속된 아이디가 같은 위치 근처에 몰리지 않도록 키를 섞음 (MurmurHash3 fmix64)
+   */
+  private static long mix(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * 추적 중인 키의 합계와 오차
+   *
+   * @param key   키
+   * @param count 합계 (실제 합계의 상한)
+   * @param error 오차 (합계 - 오차가 실제 합계의 하한)
+   */
+  public record Entry(long key, long count, long error) {
+  }
+}
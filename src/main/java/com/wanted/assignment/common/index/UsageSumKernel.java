@@ -0,0 +1,55 @@
+package com.wanted.assignment.common.index;
+
+/**
+ * 열 블록의 LLM별 사용 토큰 수 합계 커널
+ *
+ * <p>{@link OffHeapUsageColumns}가 청크의 열을 블록 단위로 배열에 복사한 뒤 호출한다. 집계 시간이 조회
+ * 기간에 속하는 행의 사용 토큰 수를 LLM 위치(열 저장소가 LLM마다 부여한 0부터의 번호)에 더하고 행 수를
+ * 센다. 토큰당 가격은 LLM마다 하나이므로 LLM별 금액은 합계에 가격을 곱해 구하며(SQL 조회와 같음), 커널은
+ * 합계와 행 수만 계산한다.
+ *
+ * <p>구현은 {@link UsageSumKernels}에서 얻는다.
+ */
+public interface UsageSumKernel {
+
+  /**
+   * 커널 이름 (로그, 벤치마크 출력용)
+   *
+   * @return 이름
+   */
+  String name();
+
+  /**
+   * 기간 내 행의 LLM별 합계
+   *
+   * @param length        블록의 행 수
+   * @param hours         집계 시간 열 (epoch 기준 시간)
+   * @param llmIds        LLM 위치 열
+   * @param usedTokens    사용 토큰 수 열
+   * @param fromHour      시작 시간 (포함)
+   * @param toHour        종료 시간 (제외)
+   * @param usedTokenSums LLM 위치에 사용 토큰 수를 더할 배열
+   * @param rowCounts     LLM 위치에 행 수를 더할 배열 (usedTokenSums와 길이가 같음)
+   */
+  void sumByLlm(
+      int length, int[] hours, int[] llmIds, long[] usedTokens,
+      int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts);
+
+  /**
+   * 기간 내 특정 사용자 행의 LLM별 합계
+   *
+   * @param length        블록의 행 수
+   * @param userIds       사용자 아이디 열
+   * @param userId        사용자 아이디
+   * @param hours         집계 시간 열 (epoch 기준 시간)
+   * @param llmIds        LLM 위치 열
+   * @param usedTokens    사용 토큰 수 열
+   * @param fromHour      시작 시간 (포함)
+   * @param toHour        종료 시간 (제외)
+   * @param usedTokenSums LLM 위치에 사용 토큰 수를 더할 배열
+   * @param rowCounts     LLM 위치에 행 수를 더할 배열 (usedTokenSums와 길이가 같음)
+   */
+  void sumByLlmForUser(
+      int length, int[] userIds, int userId, int[] hours, int[] llmIds, long[] usedTokens,
+      int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts);
+}
@@ -0,0 +1,67 @@
+package com.wanted.assignment.common.index;
+
+/**
+ * {@link UsageSumKernel} 구현 선택
+ *
+ * <p>Vector API는 Java 21에서 인큐베이터 모듈이므로 실행 시 {@code --add-modules jdk.incubator.vector}를
+ * 지정한 경우에만 SIMD 커널을 사용할 수 있다. 모듈이 없거나 벡터 레인이 하나뿐인 환경에서는 스칼라 커널을
+ * 사용한다.
+ */
+public final class UsageSumKernels {
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  private UsageSumKernels() {
+  }
+
+  /**
+   * 스칼라 커널
+   *
+   * @return 스칼라 커널
+   */
+  public static UsageSumKernel scalar() {
+    return ScalarUsageSumKernel.INSTANCE;
+  }
+
+  /**
+   * SIMD 커널
+   *
+   * @return SIMD 커널
+   * @throws IllegalStateException SIMD 커널을 사용할 수 없는 경우
+   */
+  public static UsageSumKernel vector() {
+    if (!isVectorSupported()) {
+      throw new IllegalStateException(
+          "Vector API를 사용할 수 없습니다 (--add-modules " + VECTOR_MODULE + " 필요)");
+    }
+    return VectorUsageSumKernel.INSTANCE;
+  }
+
+  /**
+   * SIMD 커널 사용 가능 여부
+   *
+   * @return jdk.incubator.vector 모듈이 있고 long 벡터 레인이 2개 이상이면 true
+   */
+  public static boolean isVectorSupported() {
+    return Holder.VECTOR_SUPPORTED;
+  }
+
+  /**
+   * 사용 가능한 가장 빠른 커널
+   *
+   * @return SIMD 커널을 사용할 수 있으면 SIMD 커널, 아니면 스칼라 커널
+   */
+  public static UsageSumKernel preferred() {
+    return isVectorSupported() ? vector() : scalar();
+  }
+
+  /**
+   * 모듈이 있을 때만 SIMD 커널 클래스를 로드하도록 처음 확인할 때 한 번 계산
+   */
+  private static final class Holder {
+
+    private static final boolean VECTOR_SUPPORTED =
+        ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+            && VectorUsageSumKernel.LANES > 1;
+  }
+}
@@ -0,0 +1,105 @@
+package com.wanted.assignment.common.index;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API(jdk.incubator.vector)로 여러 행을 한 번에 비교하여 더하는 SIMD 커널
+ *
+ * <p>사용 토큰 수(long) 벡터와 레인 수가 같도록 집계 시간과 아이디(int)를 읽어 long 벡터로 넓히고, LLM마다
+ * 블록을 한 번씩 읽으며 기간(과 사용자) 조건과 LLM 위치가 맞는 레인의 사용 토큰 수를 레지스터의 합계 벡터에
+ * 더한다. 마스크 연산(masked add)과 마스크 변환(mask cast)은 JDK 버전에 따라 벡터 명령으로 컴파일되지 않아
+ * 스칼라보다 느려지므로 비교 결과는 blend로만 사용한다.
+ *
+ * <p>LLM마다 블록(캐시에 머무는 크기)을 다시 읽으므로 LLM 수에 비례하여 느려진다. 열 저장소가 LLM 아이디
+ * 대신 조밀한 LLM 위치를 저장하므로 LLM 아이디 값과 관계없이 저장된 LLM 수로 판단하며, LLM 수가
+ * {@link #MAX_GROUPS}보다 많으면 스칼라 커널로 처리한다.
+ *
+ * <p>jdk.incubator.vector 모듈이 있어야 로드할 수 있으므로 {@link UsageSumKernels}에서 모듈을 확인한 뒤에만
+ * 참조한다.
+ */
+final class VectorUsageSumKernel implements UsageSumKernel {
+
+  static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+  // long 벡터와 레인 수가 같은 int 벡터 (비트 수는 절반)
+  static final VectorSpecies<Integer> INT_SPECIES = VectorSpecies.of(
+      int.class, VectorShape.forBitSize(LONG_SPECIES.vectorBitSize() / 2));
+
+  static final int LANES = LONG_SPECIES.length();
+
+  /**
+   * 벡터로 처리하는 최대 LLM 수 (합계 배열 길이)
+   */
+  static final int MAX_GROUPS = 16;
+
+  static final VectorUsageSumKernel INSTANCE = new VectorUsageSumKernel();
+
+  private VectorUsageSumKernel() {
+  }
+
+  @Override
+  public String name() {
+    return "vector(" + LONG_SPECIES.vectorBitSize() + "bit x " + LANES + ")";
+  }
+
+  @Override
+  public void sumByLlm(
+      int length, int[] hours, int[] llmIds, long[] usedTokens,
+      int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts) {
+    int upperBound = usedTokenSums.length > MAX_GROUPS ? 0 : INT_SPECIES.loopBound(length);
+    LongVector zero = LongVector.zero(LONG_SPECIES);
+    for (int group = 0; group < usedTokenSums.length && upperBound > 0; group++) {
+      LongVector usedTokenSum = zero;
+      LongVector rowCount = zero;
+      for (int i = 0; i < upperBound; i += LANES) {
+        LongVector hour = widen(hours, i);
+        VectorMask<Long> mask = hour.compare(VectorOperators.GE, fromHour)
+            .and(hour.compare(VectorOperators.LT, toHour))
+            .and(widen(llmIds, i).compare(VectorOperators.EQ, group));
+        LongVector usedToken = LongVector.fromArray(LONG_SPECIES, usedTokens, i);
+        usedTokenSum = usedTokenSum.add(zero.blend(usedToken, mask));
+        // 참인 레인은 -1이므로 빼서 행 수를 셈
+        rowCount = rowCount.sub((LongVector) mask.toVector());
+      }
+      usedTokenSums[group] += usedTokenSum.reduceLanes(VectorOperators.ADD);
+      rowCounts[group] += rowCount.reduceLanes(VectorOperators.ADD);
+    }
+    ScalarUsageSumKernel.sumByLlm(upperBound, length, hours, llmIds, usedTokens,
+        fromHour, toHour, usedTokenSums, rowCounts);
+  }
+
+  @Override
+  public void sumByLlmForUser(
+      int length, int[] userIds, int userId, int[] hours, int[] llmIds, long[] usedTokens,
+      int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts) {
+    int upperBound = usedTokenSums.length > MAX_GROUPS ? 0 : INT_SPECIES.loopBound(length);
+    LongVector zero = LongVector.zero(LONG_SPECIES);
+    for (int group = 0; group < usedTokenSums.length && upperBound > 0; group++) {
+      LongVector usedTokenSum = zero;
+      LongVector rowCount = zero;
+      for (int i = 0; i < upperBound; i += LANES) {
+        LongVector hour = widen(hours, i);
+        VectorMask<Long> mask = widen(userIds, i).compare(VectorOperators.EQ, userId)
+            .and(hour.compare(VectorOperators.GE, fromHour))
+            .and(hour.compare(VectorOperators.LT, toHour))
+            .and(widen(llmIds, i).compare(VectorOperators.EQ, group));
+        LongVector usedToken = LongVector.fromArray(LONG_SPECIES, usedTokens, i);
+        usedTokenSum = usedTokenSum.add(zero.blend(usedToken, mask));
+        rowCount = rowCount.sub((LongVector) mask.toVector());
+      }
+      usedTokenSums[group] += usedTokenSum.reduceLanes(VectorOperators.ADD);
+      rowCounts[group] += rowCount.reduceLanes(VectorOperators.ADD);
+    }
+    ScalarUsageSumKernel.sumByLlmForUser(upperBound, length, userIds, userId, hours, llmIds,
+        usedTokens, fromHour, toHour, usedTokenSums, rowCounts);
+  }
+
+  private static LongVector widen(int[] values, int i) {
+    return (LongVector) IntVector.fromArray(INT_SPECIES, values, i).castShape(LONG_SPECIES, 0);
+  }
+}
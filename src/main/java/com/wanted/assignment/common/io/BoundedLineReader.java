@@ -0,0 +1,142 @@
+package com.wanted.assignment.common.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * 줄 길이를 제한하여 입력 스트림을 한 줄씩 읽는 리더
+ *
+ * <p>{@link java.io.BufferedReader#readLine()}은 줄 바꿈이 없는 입력을 끝까지 하나의 문자열로 읽으므로, 줄의
+ * 바이트 수가 최대 길이를 넘으면 나머지를 버리면서 다음 줄 바꿈까지 건너뛰고 초과 여부만 기록한다. 따라서
+ * 메모리는 읽기 버퍼와 최대 줄 길이만큼으로 제한된다. 줄은 바이트로 보관하며(끝의 \r 제외), 호출 측에서
+ * 필요한 경우 직접 디코딩한다. 스레드 안전하지 않다.
+ */
+public final class BoundedLineReader implements Closeable {
+
+  private static final int READ_BUFFER_BYTES = 8_192;
+  private static final int INITIAL_LINE_BYTES = 256;
+
+  private final InputStream inputStream;
+  private final int maxLineBytes;
+  private final byte[] readBuffer = new byte[READ_BUFFER_BYTES];
+  private int readPosition;
+  private int readLimit;
+  private byte[] line;
+  private int lineLength;
+  private boolean tooLong;
+
+  /**
+   * 리더 생성
+   *
+   * @param inputStream  입력 스트림
+   * @param maxLineBytes 줄의 최대 바이트 수 (줄 바꿈 제외)
+   */
+  public BoundedLineReader(InputStream inputStream, int maxLineBytes) {
+    if (maxLineBytes <= 0) {
+      throw new IllegalArgumentException("최대 줄 길이는 1 이상이어야 합니다: " + maxLineBytes);
+    }
+    this.inputStream = inputStream;
+    this.maxLineBytes = maxLineBytes;
+    this.line = new byte[Math.min(INITIAL_LINE_BYTES, maxLineBytes)];
+  }
+
+  /**
+   * 다음 줄 읽기
+   *
+   * @return 읽은 줄이 있으면 true, 입력이 끝났으면 false
+   * @throws IOException 입력 스트림을 읽는 중 오류가 발생한 경우
+   */
+  public boolean readLine() throws IOException {
+    lineLength = 0;
+    tooLong = false;
+    boolean read = false;
+    while (true) {
+      if (readPosition == readLimit) {
+        readLimit = inputStream.read(readBuffer);
+        readPosition = 0;
+        if (readLimit <= 0) {
+          readLimit = 0;
+          return read;
+        }
+      }
+      read = true;
+      int start = readPosition;
+      while (readPosition < readLimit && readBuffer[readPosition] != '\n') {
+        readPosition++;
+      }
+      append(start, readPosition - start);
+      if (readPosition < readLimit) {
+        readPosition++;
+        if (!tooLong && lineLength > 0 && line[lineLength - 1] == '\r') {
+          lineLength--;
+        }
+        return true;
+      }
+    }
+  }
+
+  /**
+   * 마지막으로 읽은 줄이 최대 길이를 넘었는지 여부 (넘은 경우 줄 내용은 비어 있음)
+   *
+   * @return 최대 길이를 넘었으면 true
+   */
+  public boolean isTooLong() {
+    return tooLong;
+  }
+
+  /**
+   * 마지막으로 읽은 줄이 공백으로만 이루어졌는지 여부
+   *
+   * @return 비어 있거나 공백뿐이면 true
+   */
+  public boolean isBlank() {
+    for (int i = 0; i < lineLength; i++) {
+      if (!Character.isWhitespace(line[i])) {
+        return false;
+      }
+    }
+    return !tooLong;
+  }
+
+  /**
+   * 마지막으로 읽은 줄의 바이트 (길이는 {@link #lineLength()}까지만 유효)
+   *
+   * @return 줄 버퍼
+   */
+  public byte[] line() {
+    return line;
+  }
+
+  /**
+   * 마지막으로 읽은 줄의 바이트 수
+   *
+   * @return 바이트 수
+   */
+  public int lineLength() {
+    return lineLength;
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  private void append(int start, int length) {
+    if (tooLong || length == 0) {
+      return;
+    }
+    if (lineLength + length > maxLineBytes) {
+      tooLong = true;
+      lineLength = 0;
+      return;
+    }
+    if (lineLength + length > line.length) {
+      line = Arrays.copyOf(line, Math.min(maxLineBytes, Math.max(line.length * 2,
+          lineLength + length)));
+    }
+    System.arraycopy(readBuffer, start, line, lineLength, length);
+    lineLength += length;
+  }
+}
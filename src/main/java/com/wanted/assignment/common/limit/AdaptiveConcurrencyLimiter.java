@@ -0,0 +1,138 @@
+package com.wanted.assignment.common.limit;
+
+import com.wanted.assignment.config.AdmissionControlProperties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 응답 시간 기울기(gradient) 기반 동시 처리 한도
+ *
+ * <p>최근 응답 시간(short RTT)을 장기 평균 응답 시간(long RTT)과 비교하여, 응답이 느려지면 그 비율만큼
+ * 한도를 줄이고 응답 시간이 유지되면 큐 여유분(√limit)만큼 한도를 늘린다. 요청이 실패(5xx, 예외)하면
+ * 한도에 {@code backoff-ratio}를 곱해 즉시 줄인다(AIMD의 multiplicative decrease).
+ *
+ * <p>동시 처리 중인 요청이 한도의 절반에도 못 미치면 응답 시간이 한도와 무관하므로 한도를 바꾸지
+ * 않는다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double MAX_GRADIENT = 1.0;
+  // 장기 평균이 최근 응답 시간의 이 배수를 넘으면 부하가 해소된 것으로 보고 장기 평균을 낮춤
+  private static final double LONG_RTT_RECOVERY_RATIO = 2.0;
+  private static final double LONG_RTT_DECAY = 0.95;
+
+  private final AdmissionControlProperties.Group properties;
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  // 한도 갱신은 Lock으로 직렬화
+  private final ReentrantLock lock = new ReentrantLock();
+  private double estimatedLimit;
+  private double longRttNanos;
+  private volatile int limit;
+  private volatile long shortRttNanos;
+
+  /**
+   * 동시 처리 한도 생성
+   *
+   * @param properties 요청 그룹별 동시 처리 한도 설정
+   */
+  public AdaptiveConcurrencyLimiter(AdmissionControlProperties.Group properties) {
+    this.properties = properties;
+    this.estimatedLimit = properties.getInitialLimit();
+    this.limit = properties.getInitialLimit();
+  }
+
+  /**
+   * 동시 처리 슬롯 획득
+   *
+   * @return 한도 이내이면 true (이 경우 처리 후 반드시 {@link #release(long, boolean)} 호출)
+   */
+  public boolean tryAcquire() {
+    if (inflight.incrementAndGet() > limit) {
+      inflight.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * 동시 처리 슬롯 반환 및 응답 시간 표본 반영
+   *
+   * @param rttNanos 요청 처리 시간(ns)
+   * @param dropped  요청이 실패(5xx, 예외)했으면 true
+   */
+  public void release(long rttNanos, boolean dropped) {
+    int inflightAtRelease = inflight.getAndDecrement();
+    lock.lock();
+    try {
+      if (dropped) {
+        estimatedLimit = clamp(estimatedLimit * properties.getBackoffRatio());
+      } else {
+        onSample(rttNanos, inflightAtRelease);
+      }
+      limit = (int) estimatedLimit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 현재 동시 처리 한도
+   *
+   * @return 동시 처리 한도
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * 현재 처리 중인 요청 수
+   *
+   * @return 처리 중인 요청 수
+   */
+  public int getInflight() {
+    return inflight.get();
+  }
+
+  /**
+   * 거부된 요청에 안내할 재시도 대기 시간
+   *
+   * @return 최근 응답 시간을 올림한 초 (최소 1초)
+   */
+  public long getRetryAfterSeconds() {
+    return Math.max(1, (long) Math.ceil(shortRttNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+  }
+
+  /**
+   * 응답 시간 표본으로 한도 갱신 (lock 보유 상태에서 호출)
+   *
+   * @param rttNanos          요청 처리 시간(ns)
+   * @param inflightAtRelease 반환 직전 처리 중이던 요청 수
+   */
+  private void onSample(long rttNanos, int inflightAtRelease) {
+    double shortRtt = Math.max(1, rttNanos);
+    shortRttNanos = rttNanos;
+    longRttNanos = longRttNanos == 0
+        ? shortRtt
+        : longRttNanos + (shortRtt - longRttNanos) / properties.getLongWindow();
+    if (longRttNanos / shortRtt > LONG_RTT_RECOVERY_RATIO) {
+      longRttNanos *= LONG_RTT_DECAY;
+    }
+
+    if (inflightAtRelease < estimatedLimit / 2) {
+      return;
+    }
+
+    double gradient = Math.max(MIN_GRADIENT,
+        Math.min(MAX_GRADIENT, properties.getRttTolerance() * longRttNanos / shortRtt));
+    double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    estimatedLimit = clamp(estimatedLimit * (1 - properties.getSmoothing())
+        + newLimit * properties.getSmoothing());
+  }
+
+  private double clamp(double value) {
+    return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+  }
+}
@@ -0,0 +1,62 @@
+package com.wanted.assignment.common.pagination;
+
+import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.type.ApiStatus;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 아이디 기준 keyset 페이지 조회의 커서 변환
+ *
+ * <p>커서는 이전 페이지 마지막 아이디를 8 byte로 인코딩한 URL-safe Base64 문자열이다. 클라이언트는 값을
+ * 해석하지 않고 응답의 다음 커서를 그대로 전달하며, 조회는 OFFSET 대신 {@code id > 마지막 아이디}로
+ * 시작 위치를 찾으므로 페이지 깊이와 관계없이 인덱스 탐색 한 번으로 시작한다.
+ */
+@Slf4j
+public final class KeysetCursor {
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private KeysetCursor() {
+  }
+
+  /**
+   * 페이지 마지막 아이디를 다음 페이지 커서로 변환
+   *
+   * @param lastId 페이지 마지막 아이디
+   * @return 커서
+   */
+  public static String encode(long lastId) {
+    return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+  }
+
+  /**
+   * 커서를 이전 페이지 마지막 아이디로 변환
+   *
+   * @param cursor 커서 (null이면 첫 페이지)
+   * @return 이전 페이지 마지막 아이디 (첫 페이지이면 null)
+   * @throws ApiException 커서가 유효하지 않은 경우 (400)
+   */
+  public static Long decode(String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    byte[] bytes;
+    try {
+      bytes = DECODER.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      bytes = new byte[0];
+    }
+    if (bytes.length == Long.BYTES) {
+      long lastId = ByteBuffer.wrap(bytes).getLong();
+      if (lastId > 0) {
+        return lastId;
+      }
+    }
+    log.error("유효하지 않은 커서: {}", cursor);
+    throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+  }
+}
@@ -0,0 +1,57 @@
+package com.wanted.assignment.common.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션과 함께 갱신하는 메모리 인덱스/카운터의 커밋/롤백 처리
+ *
+ * <p>기록의 추가처럼 다른 요청에 커밋 전 상태가 보이면 안 되는 갱신은 {@link #afterCommit}으로 커밋된
+ * 뒤에 반영하고, 삭제처럼 즉시 숨겨야 하는 갱신은 바로 반영한 뒤 {@link #onRollback}으로 롤백 시
+ * 되돌린다.
+ */
+public final class TransactionUndo {
+
+  private TransactionUndo() {
+  }
+
+  /**
+   * 트랜잭션 안에서 호출된 경우 롤백 시 실행할 작업 등록 (트랜잭션 밖이면 아무것도 하지 않음)
+   *
+   * @param undo 롤백 시 실행할 작업
+   */
+  public static void onRollback(Runnable undo) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          undo.run();
+        }
+      }
+    });
+  }
+
+  /**
+   * 되돌릴 수 없는 갱신을 트랜잭션이 커밋된 뒤에 실행 (트랜잭션 밖이면 바로 실행)
+   *
+   * <p>커밋되지 않은 기록이 조회되지 않고, HyperLogLog처럼 더한 값을 빼낼 수 없는 구조도 롤백을 고려할
+   * 필요가 없다.
+   *
+   * @param update 커밋 후 실행할 작업
+   */
+  public static void afterCommit(Runnable update) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      update.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        update.run();
+      }
+    });
+  }
+}
@@ -19,6 +19,12 @@ public enum ApiStatus {
   UNAUTHORIZED("UNAUTHORIZED", "유효하지 않은 권한입니다."),
   USER_NOT_FOUND("USER_NOT_FOUND", "사용자가 존재하지 않습니다."),
   LLM_NOT_FOUND("LLM_NOT_FOUND", "LLM이 존재하지 않습니다."),
+  USAGE_DUPLICATED("USAGE_DUPLICATED", "이미 기록된 사용량입니다."),
+  USAGE_LINE_TOO_LONG("USAGE_LINE_TOO_LONG", "줄의 길이가 최대 길이를 초과했습니다."),
+  USAGE_JOURNAL_UNAVAILABLE("USAGE_JOURNAL_UNAVAILABLE",
+      "사용량 기록 저널에 기록할 수 없습니다. 잠시 후 다시 시도해주세요."),
+  USAGE_QUEUE_FULL("USAGE_QUEUE_FULL", "사용량 기록 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."),
+  TOO_MANY_REQUESTS("TOO_MANY_REQUESTS", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
 
   // Exception Handler 에러 코드
   INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR", "내부 오류가 발생했습니다. 확인 후 다시 시도해주세요."),
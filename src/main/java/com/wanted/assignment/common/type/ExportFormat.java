@@ -0,0 +1,21 @@
+package com.wanted.assignment.common.type;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public enum ExportFormat {
+
+  // 첫 줄이 컬럼명인 쉼표 구분 텍스트
+  CSV("text/csv", "csv"),
+
+  // 한 줄에 하나의 JSON 객체
+  NDJSON("application/x-ndjson", "ndjson");
+
+  // 응답 Content-Type
+  private final String mediaType;
+
+  // 내려받을 파일 확장자
+  private final String fileExtension;
+}
@@ -0,0 +1,16 @@
+package com.wanted.assignment.common.type;
+
+public enum IngestionMode {
+
+  // 요청 스레드에서 트랜잭션을 커밋한 뒤 응답
+  SYNC,
+
+  // 메모리 대기열에 적재 후 즉시 응답하고, 백그라운드에서 그룹 커밋
+  WRITE_BEHIND,
+
+  // 메모리 매핑된 저널 파일에 추가 후 즉시 응답하고, 백그라운드에서 DB에 반영
+  JOURNAL,
+
+  // 링 버퍼에 게시 후 즉시 응답하고, 단계별(검증 → 가격 조회 → 저장 → 집계) 소비자가 이어서 처리
+  RING
+}
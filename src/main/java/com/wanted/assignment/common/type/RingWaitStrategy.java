@@ -0,0 +1,16 @@
+package com.wanted.assignment.common.type;
+
+public enum RingWaitStrategy {
+
+  // 이벤트가 없으면 잠들고 게시 시 깨움 (CPU 사용 최소, 지연 가장 큼)
+  BLOCKING,
+
+  // 잠시 회전 후 yield, 이후 짧게 잠듦 (CPU 사용과 지연의 절충)
+  SLEEPING,
+
+  // 회전 후 yield 반복 (소비자 수만큼 코어를 점유, 지연 작음)
+  YIELDING,
+
+  // 계속 회전 (소비자마다 코어 하나를 전용으로 사용, 지연 가장 작음)
+  BUSY_SPIN
+}
@@ -0,0 +1,21 @@
+package com.wanted.assignment.common.type;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public enum SeriesInterval {
+
+  // 분 단위 (기본 조회 구간 최근 60분)
+  MINUTE(1, 60),
+
+  // 시간 단위 (기본 조회 구간 최근 24시간)
+  HOUR(60, 24);
+
+  // 구간 하나의 길이(분)
+  private final int minutes;
+
+  // 기간을 지정하지 않은 경우 조회하는 구간 수
+  private final int defaultPoints;
+}
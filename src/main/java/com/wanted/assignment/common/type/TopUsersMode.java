@@ -0,0 +1,10 @@
+package com.wanted.assignment.common.type;
+
+public enum TopUsersMode {
+
+  // 메모리의 LLM별 Space-Saving 스케치로 응답 (합계는 상한이며 오차를 함께 응답)
+  SKETCH,
+
+  // 집계 뷰를 사용자별로 GROUP BY 하여 정확한 합계로 응답
+  EXACT
+}
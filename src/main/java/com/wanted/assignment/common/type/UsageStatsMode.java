@@ -0,0 +1,13 @@
+package com.wanted.assignment.common.type;
+
+public enum UsageStatsMode {
+
+  // 매 요청마다 집계 테이블을 GROUP BY 하여 조회
+  SQL,
+
+  // 메모리의 LLM별 토큰 수 카운터로 응답 (DB는 LLM 목록만 조회)
+  MEMORY,
+
+  // 메모리 카운터와 SQL 결과를 비교하여 불일치를 기록하고 SQL 결과로 응답
+  VERIFY
+}
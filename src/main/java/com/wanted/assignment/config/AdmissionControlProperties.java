@@ -0,0 +1,65 @@
+package com.wanted.assignment.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "admission-control")
+public class AdmissionControlProperties {
+
+  // 동시 처리 한도 적용 여부
+  private boolean enabled = true;
+
+  // 사용량 기록 요청 그룹
+  private final Group ingestion = new Group(
+      List.of("/usages", "/usages/batch", "/usages/stream"), 20, 4, 200);
+
+  // 통계 조회 요청 그룹
+  private final Group analytics = new Group(
+      List.of("/llm/usages", "/users/*/usages", "/llm/*/usages/series", "/llm/*/top-users",
+          "/llm/usages/distribution", "/users/usages:batchGet"),
+      10, 2, 50);
+
+  /**
+   * 요청 그룹별 동시 처리 한도 설정
+   */
+  @Getter
+  @Setter
+  public static class Group {
+
+    // 그룹에 속하는 요청 경로 패턴
+    private List<String> paths;
+
+    // 시작 시 동시 처리 한도
+    private int initialLimit;
+
+    // 동시 처리 한도 하한
+    private int minLimit;
+
+    // 동시 처리 한도 상한
+    private int maxLimit;
+
+    // 최근 응답 시간이 기준 응답 시간의 이 배수 이내이면 한도를 줄이지 않음
+    private double rttTolerance = 1.5;
+
+    // 새로 계산한 한도를 반영하는 비율 (0~1)
+    private double smoothing = 0.2;
+
+    // 요청 실패(5xx, 예외) 시 한도에 곱하는 비율
+    private double backoffRatio = 0.9;
+
+    // 기준 응답 시간을 계산하는 표본 수
+    private int longWindow = 600;
+
+    public Group(List<String> paths, int initialLimit, int minLimit, int maxLimit) {
+      this.paths = new ArrayList<>(paths);
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+    }
+  }
+}
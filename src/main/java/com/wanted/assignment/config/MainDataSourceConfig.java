@@ -2,9 +2,13 @@ package com.wanted.assignment.config;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.wanted.assignment.common.constants.Constants;
+import com.wanted.assignment.llm.repository.LlmUsageSegmentJdbcRepository;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -22,6 +26,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.CompositeDatabasePopulator;
 import org.springframework.jdbc.datasource.init.DataSourceInitializer;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -70,9 +75,21 @@ public class MainDataSourceConfig {
   @Bean
   public DataSourceInitializer dataSourceInitializer(
       @Qualifier(DATASOURCE_BEAN_NAME) DataSource dataSource) {
-    ResourceDatabasePopulator databasePopulator = new ResourceDatabasePopulator();
-    databasePopulator.addScript(new ClassPathResource("script/schema.sql"));
-    databasePopulator.addScript(new ClassPathResource("script/data.sql"));
+    // 세그먼트는 이름이 월마다 달라 schema.sql 대신 코드로 삭제하고, 초기 LLM 사용량을 넣을 이번 달
+    // 세그먼트도 코드로 생성
+    YearMonth currentSegment = YearMonth.now();
+    CompositeDatabasePopulator databasePopulator = new CompositeDatabasePopulator();
+    databasePopulator.addPopulators(
+        LlmUsageSegmentJdbcRepository::dropAllSegments,
+        new ResourceDatabasePopulator(new ClassPathResource("script/schema.sql")),
+        connection -> {
+          try (Statement statement = connection.createStatement()) {
+            statement.execute(LlmUsageSegmentJdbcRepository.createSegmentSql(currentSegment));
+            statement.execute(
+                LlmUsageSegmentJdbcRepository.replaceViewSql(List.of(currentSegment)));
+          }
+        },
+        new ResourceDatabasePopulator(new ClassPathResource("script/data.sql")));
 
     DataSourceInitializer initializer = new DataSourceInitializer();
     initializer.setDataSource(dataSource);
@@ -0,0 +1,286 @@
+package com.wanted.assignment.config;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.wanted.assignment.common.type.IngestionMode;
+import com.wanted.assignment.common.type.RingWaitStrategy;
+import com.wanted.assignment.common.type.UsageStatsMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "usage")
+public class UsageProperties {
+
+  private final Ingestion ingestion = new Ingestion();
+  private final Batch batch = new Batch();
+  private final WriteBehind writeBehind = new WriteBehind();
+  private final Stream stream = new Stream();
+  private final Idempotency idempotency = new Idempotency();
+  private final Journal journal = new Journal();
+  private final Ring ring = new Ring();
+  private final Segment segment = new Segment();
+  private final Compaction compaction = new Compaction();
+  private final Stats stats = new Stats();
+  private final Series series = new Series();
+  private final TopUsers topUsers = new TopUsers();
+  private final Distinct distinct = new Distinct();
+  private final Distribution distribution = new Distribution();
+  private final Export export = new Export();
+  private final Columnar columnar = new Columnar();
+
+  /**
+   * LLM 사용량 기록 방식 설정
+   */
+  @Getter
+  @Setter
+  public static class Ingestion {
+
+    // 단건 기록(POST /usages) 처리 방식
+    private IngestionMode mode = IngestionMode.SYNC;
+  }
+
+  /**
+   * LLM 사용량 일괄 기록 설정
+   */
+  @Getter
+  @Setter
+  public static class Batch {
+
+    // JDBC 배치 INSERT 1회 실행 건수
+    private int jdbcBatchSize = 1_000;
+  }
+
+  /**
+   * 비동기(write-behind) 기록 설정
+   */
+  @Getter
+  @Setter
+  public static class WriteBehind {
+
+    // 메모리 대기열 최대 크기
+    private int queueCapacity = 100_000;
+
+    // 대기열이 가득 찬 경우 적재를 기다리는 최대 시간(ms)
+    private long offerTimeoutMs = 50;
+
+    // 한 번에 커밋할 최대 건수(N)
+    private int flushSize = 1_000;
+
+    // 최대 건수를 채우지 못해도 커밋하는 주기(T, ms)
+    private long flushIntervalMs = 100;
+
+    // 종료 시 대기열을 비우기 위해 기다리는 최대 시간(ms)
+    private long shutdownTimeoutMs = 30_000;
+  }
+
+  /**
+   * NDJSON 스트리밍 기록 설정
+   */
+  @Getter
+  @Setter
+  public static class Stream {
+
+    // 한 번에 검증하고 커밋하는 줄 수
+    private int chunkSize = 1_000;
+
+    // 응답에 포함할 실패한 줄의 최대 개수
+    private int maxFailureDetails = 1_000;
+
+    // 한 줄의 최대 바이트 수 (넘는 줄은 읽지 않고 실패로 응답)
+    private int maxLineBytes = 16_384;
+  }
+
+  /**
+   * 멱등 키 중복 제거 설정
+   */
+  @Getter
+  @Setter
+  public static class Idempotency {
+
+    // 메모리 인덱스에 보관하는 최대 키 개수
+    private int maxEntries = 100_000;
+
+    // 메모리 인덱스에 키를 보관하는 시간(ms)
+    private long ttlMs = 86_400_000;
+  }
+
+  /**
+   * 저널(journal) 기록 설정
+   */
+  @Getter
+  @Setter
+  public static class Journal {
+
+    // 저널 세그먼트 파일 디렉터리
+    private String directory = "data/usage-journal";
+
+    // 세그먼트 파일 크기(byte, 레코드 크기의 배수로 내림)
+    private int segmentSizeBytes = 64 * 1024 * 1024;
+
+    // 레코드 추가마다 디스크에 강제 기록(msync)할지 여부 (false면 프로세스 장애까지만 보장)
+    private boolean forceOnAppend = false;
+
+    // DB 반영 1회 최대 건수
+    private int applyBatchSize = 1_000;
+
+    // 반영할 레코드가 없을 때 대기 시간(ms)
+    private long applyIntervalMs = 100;
+
+    // 미반영 레코드가 이 건수 이상이면 추가 거부
+    private long maxLagRecords = 10_000_000;
+
+    // 종료 시 미반영 레코드를 반영하기 위해 기다리는 최대 시간(ms)
+    private long shutdownTimeoutMs = 30_000;
+  }
+
+  /**
+   * 링 버퍼 파이프라인 기록 설정
+   */
+  @Getter
+  @Setter
+  public static class Ring {
+
+    // 링 버퍼 슬롯 개수 (2의 거듭제곱)
+    private int bufferSize = 65_536;
+
+    // 게시하는 스레드 구성 (요청 스레드가 여러 개이면 MULTI)
+    private ProducerType producerType = ProducerType.MULTI;
+
+    // 소비자가 다음 이벤트를 기다리는 방식
+    private RingWaitStrategy waitStrategy = RingWaitStrategy.BLOCKING;
+
+    // 종료 시 링 버퍼에 남은 이벤트를 처리하기 위해 기다리는 최대 시간(ms)
+    private long shutdownTimeoutMs = 30_000;
+  }
+
+  /**
+   * 월별 세그먼트 저장 설정
+   */
+  @Getter
+  @Setter
+  public static class Segment {
+
+    // 원본 사용량 보관 개월 수 (이번 달 포함, 0이면 삭제하지 않음)
+    private int retentionMonths = 12;
+
+    // 세그먼트 생성/삭제 주기 (cron)
+    private String maintenanceCron = "0 0 * * * *";
+  }
+
+  /**
+   * 오래된 사용량 압축(compaction) 설정
+   */
+  @Getter
+  @Setter
+  public static class Compaction {
+
+    // 압축 사용 여부
+    private boolean enabled = true;
+
+    // 건별 원본과 시간별 집계를 보관하는 일수 (이전 일자는 일별 집계로 압축, 저널/비동기 기록 지연보다 길게)
+    private int horizonDays = 30;
+
+    // 한 트랜잭션(삭제 문)에서 처리하는 최대 건수
+    private int chunkSize = 1_000;
+
+    // 압축 실행 주기 (cron)
+    private String cron = "0 */10 * * * *";
+  }
+
+  /**
+   * LLM별 사용량 조회(GET /llm/usages) 설정
+   */
+  @Getter
+  @Setter
+  public static class Stats {
+
+    // LLM별 사용량 조회 방식
+    private UsageStatsMode mode = UsageStatsMode.MEMORY;
+  }
+
+  /**
+   * LLM별 사용량 시계열 조회(GET /llm/{llm_id}/usages/series) 설정
+   */
+  @Getter
+  @Setter
+  public static class Series {
+
+    // LLM별로 메모리에 보관하는 분 단위 구간 수 (LLM당 24 byte x 구간 수, 이전 구간은 DB에서 조회)
+    private int ringMinutes = 1_440;
+
+    // 한 번에 조회할 수 있는 최대 구간 수
+    private int maxPoints = 1_440;
+  }
+
+  /**
+   * LLM별 사용량 상위 사용자 조회(GET /llm/{llm_id}/top-users) 설정
+   */
+  @Getter
+  @Setter
+  public static class TopUsers {
+
+    // LLM별 스케치 카운터 수 (LLM당 약 40 byte x 카운터 수, 사용자 수와 관계없이 고정)
+    private int capacity = 1_000;
+
+    // 한 번에 조회할 수 있는 최대 사용자 수
+    private int maxLimit = 100;
+  }
+
+  /**
+   * LLM별 사용자 수 추정(HyperLogLog) 설정
+   */
+  @Getter
+  @Setter
+  public static class Distinct {
+
+    // 변경된 일별 스케치를 DB에 저장하는 주기 (cron, 재시작 시 마지막 저장 이후는 집계에서 복구)
+    private String flushCron = "0 * * * * *";
+  }
+
+  /**
+   * LLM별 사용 토큰 수 분포 조회(GET /llm/usages/distribution) 설정
+   */
+  @Getter
+  @Setter
+  public static class Distribution {
+
+    // LLM별로 메모리에 보관하는 시간 단위 히스토그램 수 (LLM당 약 6.9 KB x 시간 수, 조회 가능 기간)
+    private int windowHours = 24;
+  }
+
+  /**
+   * 원본 사용량 내보내기(GET /usages/export) 설정
+   */
+  @Getter
+  @Setter
+  public static class Export {
+
+    // DB 커서에서 한 번에 가져오는 행 수 (내보내기 1건의 메모리 상한)
+    private int fetchSize = 1_000;
+
+    // 동시에 실행할 수 있는 내보내기 수 (실행 중 커넥션 하나를 점유하므로 커넥션 풀 크기보다 작게)
+    private int maxConcurrent = 2;
+  }
+
+  /**
+   * 기간 통계 조회용 힙 밖 열 저장소 설정
+   */
+  @Getter
+  @Setter
+  public static class Columnar {
+
+    // 열 저장소 사용 여부 (사용하면 기간을 지정한 LLM별/사용자별 사용량 조회를 열 저장소로 응답)
+    private boolean enabled = false;
+
+    // 한 번에 할당하는 청크의 행 수 (청크당 20 byte x 행 수)
+    private int chunkRows = 1_048_576;
+
+    // 최대 행 수 (행당 20 byte, -XX:MaxDirectMemorySize 보다 작게, 초과하면 SQL로 조회)
+    private long maxRows = 50_000_000;
+
+    // Vector API SIMD 커널 사용 여부 (--add-modules jdk.incubator.vector 로 실행하지 않으면 스칼라 커널)
+    private boolean vectorEnabled = true;
+  }
+}
@@ -0,0 +1,141 @@
+package com.wanted.assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가상 스레드 고정(pinning) 진단
+ *
+ * <p>가상 스레드 모드에서만 동작하며, JFR의 {@code jdk.VirtualThreadPinned} 이벤트를 구독하여 가상
+ * 스레드가 {@code synchronized} 블록이나 네이티브 호출 안에서 대기하느라 캐리어 스레드를 점유한 경우
+ * 스택과 함께 경고 로그를 남기고 {@code jvm.threads.virtual.pinned} 카운터를 증가시킨다.
+ *
+ * <p>애플리케이션 시작 직후에는 커넥션 풀 크기보다 많은 가상 스레드로 JDBC 경로를 실행하여, 커넥션
+ * 대기나 드라이버 내부 잠금에서 발생하는 고정을 시작 로그에서 바로 확인할 수 있도록 한다.
+ *
+ * <p>요청 처리 경로에서 대기할 수 있는 임계 구역은 {@code synchronized} 대신
+ * {@link java.util.concurrent.locks.ReentrantLock}으로 직렬화하여 이 진단에 고정이 감지되지 않도록 한다.
+ */
+@Slf4j
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final String PROBE_SQL = "/* VirtualThreadPinningMonitor.probe */ SELECT 1";
+  private static final int MAX_LOGGED_FRAMES = 8;
+
+  private final VirtualThreadProperties.Pinning properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final Counter pinnedCounter;
+  private final AtomicLong pinnedCount = new AtomicLong();
+
+  private volatile boolean running;
+  private RecordingStream recordingStream;
+
+  /**
+   * 가상 스레드 고정 진단 생성 및 메트릭 등록
+   *
+   * @param virtualThreadProperties 가상 스레드 설정
+   * @param jdbcTemplate            시작 시 점검에 사용할 JdbcTemplate
+   * @param meterRegistry           메트릭 레지스트리
+   */
+  public VirtualThreadPinningMonitor(
+      VirtualThreadProperties virtualThreadProperties,
+      @Qualifier("mainJdbcTemplate") JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry) {
+    this.properties = virtualThreadProperties.getPinning();
+    this.jdbcTemplate = jdbcTemplate;
+    this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+        .description("가상 스레드가 캐리어 스레드에 고정된 횟수")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void start() {
+    recordingStream = new RecordingStream();
+    recordingStream.enable(PINNED_EVENT)
+        .withThreshold(Duration.ofMillis(properties.getThresholdMs()))
+        .withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    recordingStream.startAsync();
+    running = true;
+    log.info("가상 스레드 고정 진단 시작 - threshold: {}ms", properties.getThresholdMs());
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (recordingStream != null) {
+      recordingStream.close();
+    }
+    log.info("가상 스레드 고정 진단 종료 - 누적 고정 횟수: {}", pinnedCount.get());
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * 애플리케이션 시작 후 가상 스레드로 JDBC 경로 점검
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void probeJdbcPath() {
+    int probeThreads = properties.getStartupProbeThreads();
+    if (probeThreads <= 0) {
+      return;
+    }
+
+    long before = pinnedCount.get();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < probeThreads; i++) {
+        executor.submit(() -> jdbcTemplate.queryForObject(PROBE_SQL, Integer.class));
+      }
+    }
+    log.info("가상 스레드 JDBC 경로 점검 완료 - 스레드: {}, 점검 중 감지된 고정: {} "
+            + "(JFR 이벤트는 비동기로 전달되므로 이후 경고 로그도 확인)",
+        probeThreads, pinnedCount.get() - before);
+  }
+
+  /**
+   * 고정 이벤트 기록
+   *
+   * @param event JFR 고정 이벤트
+   */
+  private void onPinned(RecordedEvent event) {
+    pinnedCount.incrementAndGet();
+    pinnedCounter.increment();
+
+    String frames = "";
+    if (event.getStackTrace() != null) {
+      List<RecordedFrame> recordedFrames = event.getStackTrace().getFrames();
+      frames = recordedFrames.stream()
+          .limit(MAX_LOGGED_FRAMES)
+          .map(frame -> frame.getMethod().getType().getName() + "."
+              + frame.getMethod().getName() + ":" + frame.getLineNumber())
+          .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+    }
+    log.warn("가상 스레드 고정 감지 - thread: {}, duration: {}ms{}",
+        event.getThread() == null ? "-" : event.getThread().getJavaName(),
+        event.getDuration().toMillis(), frames);
+  }
+}
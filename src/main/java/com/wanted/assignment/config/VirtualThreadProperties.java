@@ -0,0 +1,27 @@
+package com.wanted.assignment.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+  private final Pinning pinning = new Pinning();
+
+  /**
+   * 가상 스레드 고정(pinning) 진단 설정
+   */
+  @Getter
+  @Setter
+  public static class Pinning {
+
+    // 이 시간 이상 고정된 경우만 기록(ms)
+    private long thresholdMs = 20;
+
+    // 시작 시 JDBC 경로 점검에 사용할 가상 스레드 수 (0이면 점검하지 않음)
+    private int startupProbeThreads = 32;
+  }
+}
@@ -0,0 +1,167 @@
+package com.wanted.assignment.config.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wanted.assignment.common.limit.AdaptiveConcurrencyLimiter;
+import com.wanted.assignment.common.response.ErrorResponse;
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 요청 그룹별 동시 처리 한도를 넘는 요청을 거부하는 필터
+ *
+ * <p>사용량 기록(ingestion)과 통계 조회(analytics)는 서로 다른 한도를 사용하므로, 조회 요청이 몰려도
+ * 사용량 기록은 자신의 한도 안에서 계속 처리된다. 한도는 {@link AdaptiveConcurrencyLimiter}가 응답
+ * 시간과 실패 여부로 계속 조정하며, 한도를 넘는 요청은 커넥션을 기다리지 않고 바로 429와
+ * {@code Retry-After}로 응답한다.
+ */
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+  private final AdmissionControlProperties properties;
+  private final ObjectMapper objectMapper;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final List<RequestGroup> requestGroups;
+
+  /**
+   * 필터 생성 및 요청 그룹별 메트릭 등록
+   *
+   * @param properties    동시 처리 한도 설정
+   * @param objectMapper  거부 응답 직렬화에 사용할 ObjectMapper
+   * @param meterRegistry 메트릭 레지스트리
+   */
+  public AdmissionControlFilter(
+      AdmissionControlProperties properties,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.requestGroups = List.of(
+        new RequestGroup("ingestion", properties.getIngestion(), meterRegistry),
+        new RequestGroup("analytics", properties.getAnalytics(), meterRegistry));
+  }
+
+  /**
+   * 요청이 속한 그룹의 동시 처리 슬롯을 얻은 경우에만 처리하고, 처리 시간과 실패 여부를 한도에 반영
+   *
+   * @param request     HTTP 요청 객체
+   * @param response    HTTP 응답 객체
+   * @param filterChain 필터 체인
+   * @throws ServletException 서블릿 예외 발생 시
+   * @throws IOException      입출력 예외 발생 시
+   */
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+
+    RequestGroup requestGroup = properties.isEnabled() ? findRequestGroup(request) : null;
+    if (requestGroup == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    AdaptiveConcurrencyLimiter limiter = requestGroup.limiter;
+    if (!limiter.tryAcquire()) {
+      requestGroup.rejectedCounter.increment();
+      log.warn("동시 처리 한도 초과 - group: {}, limit: {}, uri: {} {}",
+          requestGroup.name, limiter.getLimit(), request.getMethod(), request.getRequestURI());
+      reject(response, limiter.getRetryAfterSeconds());
+      return;
+    }
+
+    long startNanos = System.nanoTime();
+    boolean dropped = true;
+    try {
+      filterChain.doFilter(request, response);
+      dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    } finally {
+      limiter.release(System.nanoTime() - startNanos, dropped);
+    }
+  }
+
+  /**
+   * 요청 경로가 속한 그룹 조회
+   *
+   * @param request HTTP 요청 객체
+   * @return 요청 그룹 (어느 그룹에도 속하지 않으면 null)
+   */
+  private RequestGroup findRequestGroup(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (RequestGroup requestGroup : requestGroups) {
+      for (String pattern : requestGroup.properties.getPaths()) {
+        if (pathMatcher.match(pattern, path)) {
+          return requestGroup;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 429 Too Many Requests 응답 작성
+   *
+   * @param response          HTTP 응답 객체
+   * @param retryAfterSeconds 재시도 대기 시간(초)
+   * @throws IOException 입출력 예외 발생 시
+   */
+  private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    objectMapper.writeValue(response.getWriter(), ErrorResponse.builder()
+        .code(ApiStatus.TOO_MANY_REQUESTS.getCode())
+        .message(ApiStatus.TOO_MANY_REQUESTS.getMessage())
+        .build());
+  }
+
+  /**
+   * 동시 처리 한도를 공유하는 요청 그룹
+   */
+  private static final class RequestGroup {
+
+    private final String name;
+    private final AdmissionControlProperties.Group properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejectedCounter;
+
+    private RequestGroup(
+        String name, AdmissionControlProperties.Group properties, MeterRegistry meterRegistry) {
+      this.name = name;
+      this.properties = properties;
+      this.limiter = new AdaptiveConcurrencyLimiter(properties);
+
+      Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+          .description("요청 그룹별 현재 동시 처리 한도")
+          .tag("group", name)
+          .register(meterRegistry);
+      Gauge.builder("admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+          .description("요청 그룹별 처리 중인 요청 수")
+          .tag("group", name)
+          .register(meterRegistry);
+      this.rejectedCounter = Counter.builder("admission.rejected")
+          .description("동시 처리 한도 초과로 거부된 요청 수")
+          .tag("group", name)
+          .register(meterRegistry);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.wanted.assignment.config.security;
 
+import com.wanted.assignment.common.constants.Constants;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +8,8 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
@@ -19,6 +22,9 @@ public class LoggingFilter extends OncePerRequestFilter {
   /**
    * 요청 및 응답 내용을 캐싱하여 로그로 기록 후 응답 바디를 복사하여 다시 처리
    *
+   * <p>스트리밍 요청(NDJSON)은 본문 전체가 메모리에 캐싱되지 않도록 요청을 래핑하지 않는다. 원본 사용량
+   * 내보내기는 응답이 수백만 행이 될 수 있으므로 요청과 응답 모두 래핑하지 않고 응답을 바로 기록한다.
+   *
    * @param request     HTTP 요청 객체
    * @param response    HTTP 응답 객체
    * @param filterChain 필터 체인
@@ -31,9 +37,29 @@ public class LoggingFilter extends OncePerRequestFilter {
       HttpServletResponse response,
       FilterChain filterChain) throws ServletException, IOException {
 
-    ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
+    if (isStreamingResponse(request)) {
+      log.debug("Request URI: {} {}", request.getMethod(), request.getRequestURI());
+      filterChain.doFilter(request, response);
+      log.debug("Response Body: (streaming, not logged)");
+      return;
+    }
+
     ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
 
+    if (isStreamingRequest(request)) {
+      try {
+        filterChain.doFilter(request, responseWrapper);
+      } finally {
+        log.debug("Request URI: {} {}", request.getMethod(), request.getRequestURI());
+        log.debug("Request Body: (streaming, not logged)");
+        logResponse(responseWrapper);
+        responseWrapper.copyBodyToResponse();
+      }
+      return;
+    }
+
+    ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
+
     try {
       filterChain.doFilter(requestWrapper, responseWrapper);
     } finally {
@@ -43,6 +69,34 @@ public class LoggingFilter extends OncePerRequestFilter {
     }
   }
 
+  /**
+   * 요청 본문을 스트리밍으로 읽는 요청인지 확인
+   *
+   * @param request HTTP 요청 객체
+   * @return 스트리밍 요청 여부
+   */
+  private boolean isStreamingRequest(HttpServletRequest request) {
+    String contentType = request.getContentType();
+    if (contentType == null) {
+      return false;
+    }
+    try {
+      return MediaType.APPLICATION_NDJSON.includes(MediaType.parseMediaType(contentType));
+    } catch (InvalidMediaTypeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 응답 본문을 스트리밍으로 기록하는 요청인지 확인
+   *
+   * @param request HTTP 요청 객체
+   * @return 스트리밍 응답 여부
+   */
+  private boolean isStreamingResponse(HttpServletRequest request) {
+    return Constants.USAGE_EXPORT_PATH.equals(request.getRequestURI());
+  }
+
   /**
    * 요청의 URI 및 바디를 로그에 기록
    *
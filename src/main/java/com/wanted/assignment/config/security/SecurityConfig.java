@@ -26,6 +26,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
 
   private final LoggingFilter loggingFilter;
+  private final AdmissionControlFilter admissionControlFilter;
   private final CustomAccessDeniedHandler accessDeniedHandler;
   private final CustomAuthenticationEntryPoint authenticationEntryPoint;
 
@@ -51,6 +52,7 @@ public class SecurityConfig {
                 .requestMatchers(permitAllPattern()).permitAll()
                 .anyRequest().authenticated())
         .addFilterBefore(loggingFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(admissionControlFilter, LoggingFilter.class)
         .exceptionHandling(
             exception -> exception
                 .accessDeniedHandler(accessDeniedHandler)
@@ -70,6 +72,7 @@ public class SecurityConfig {
         new AntPathRequestMatcher("/users/**"),
         new AntPathRequestMatcher("/llm/**"),
         new AntPathRequestMatcher("/usages/**"),
+        new AntPathRequestMatcher("/actuator/**"),
         new AntPathRequestMatcher("/api-docs/**"),
         new AntPathRequestMatcher("/swagger-ui/**"),
         new AntPathRequestMatcher("/swagger-ui.html"),
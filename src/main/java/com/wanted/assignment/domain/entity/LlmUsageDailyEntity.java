@@ -0,0 +1,43 @@
+package com.wanted.assignment.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자, LLM, 일별 LLM 사용량 집계
+ *
+ * <p>보관 기간이 지난 시간별 집계를 압축(compaction) 작업이 {@code LlmUsageDailyJdbcRepository}로
+ * 옮겨 누적하며, 조회 전용으로 매핑한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(LlmUsageDailyId.class)
+@Table(name = "llm_usage_daily")
+@Entity
+public class LlmUsageDailyEntity {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Id
+  @Column(name = "llm_id")
+  private Long llmId;
+
+  @Id
+  @Column(name = "bucket_day")
+  private LocalDate bucketDay;
+
+  @Column(name = "used_token")
+  private Long usedToken;
+
+  @Column(name = "call_count")
+  private Long callCount;
+}
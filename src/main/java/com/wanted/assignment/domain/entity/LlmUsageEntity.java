@@ -1,10 +1,12 @@
 package com.wanted.assignment.domain.entity;
 
+import com.wanted.assignment.common.constants.Constants;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -12,18 +14,28 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
 
+/**
+ * LLM 사용량
+ *
+ * <p>llm_usage 는 월별 세그먼트 테이블을 합친 뷰이므로 조회 전용이며, 저장과 삭제(isDeleted)는
+ * {@code LlmUsageJdbcRepository}가 세그먼트 테이블에 직접 실행한다.
+ */
 @Getter
 @Setter
 @SuperBuilder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Immutable
 @Table(name = "llm_usage")
 @Entity
 public class LlmUsageEntity extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "llm_usage_seq_generator")
+  @SequenceGenerator(name = "llm_usage_seq_generator", sequenceName = "llm_usage_seq",
+      allocationSize = Constants.ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(name = "user_id")
@@ -34,4 +46,7 @@ public class LlmUsageEntity extends BaseEntity {
 
   @Column(name = "used_token")
   private Integer usedToken;
+
+  @Column(name = "idempotency_key")
+  private String idempotencyKey;
 }
@@ -0,0 +1,43 @@
+package com.wanted.assignment.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자, LLM, 시간별 LLM 사용량 집계
+ *
+ * <p>LLM 사용량 기록과 같은 트랜잭션에서 {@code LlmUsageHourlyJdbcRepository}로 누적되며, 조회 전용으로
+ * 매핑한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(LlmUsageHourlyId.class)
+@Table(name = "llm_usage_hourly")
+@Entity
+public class LlmUsageHourlyEntity {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Id
+  @Column(name = "llm_id")
+  private Long llmId;
+
+  @Id
+  @Column(name = "bucket_hour")
+  private LocalDateTime bucketHour;
+
+  @Column(name = "used_token")
+  private Long usedToken;
+
+  @Column(name = "call_count")
+  private Long callCount;
+}
@@ -0,0 +1,22 @@
+package com.wanted.assignment.domain.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 시간별 LLM 사용량 집계 복합 키 (사용자 아이디, LLM 아이디, 집계 시각)
+ */
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor(staticName = "of")
+public class LlmUsageHourlyId implements Serializable {
+
+  private Long userId;
+  private Long llmId;
+  private LocalDateTime bucketHour;
+}
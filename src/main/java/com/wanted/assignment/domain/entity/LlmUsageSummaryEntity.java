@@ -0,0 +1,50 @@
+package com.wanted.assignment.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * 시간별 집계와 일별 집계를 합친 LLM 사용량 집계
+ *
+ * <p>llm_usage_summary 는 최근 기간의 시간별 집계(llm_usage_hourly)와 압축된 일별 집계
+ * (llm_usage_daily)를 UNION ALL 한 뷰이며, 통계 조회는 압축 여부와 관계없이 이 뷰를 합산한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Immutable
+@IdClass(LlmUsageSummaryId.class)
+@Table(name = "llm_usage_summary")
+@Entity
+public class LlmUsageSummaryEntity {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Id
+  @Column(name = "llm_id")
+  private Long llmId;
+
+  @Id
+  @Column(name = "bucket_time")
+  private LocalDateTime bucketTime;
+
+  // 집계 단위 (HOUR: 시간별, DAY: 일별)
+  @Id
+  @Column(name = "granularity")
+  private String granularity;
+
+  @Column(name = "used_token")
+  private Long usedToken;
+
+  @Column(name = "call_count")
+  private Long callCount;
+}
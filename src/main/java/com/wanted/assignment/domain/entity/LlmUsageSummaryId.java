@@ -0,0 +1,23 @@
+package com.wanted.assignment.domain.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * LLM 사용량 집계 뷰 복합 키 (사용자 아이디, LLM 아이디, 집계 시각, 집계 단위)
+ */
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor(staticName = "of")
+public class LlmUsageSummaryId implements Serializable {
+
+  private Long userId;
+  private Long llmId;
+  private LocalDateTime bucketTime;
+  private String granularity;
+}
@@ -1,10 +1,12 @@
 package com.wanted.assignment.domain.entity;
 
+import com.wanted.assignment.common.constants.Constants;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -23,7 +25,9 @@ import lombok.experimental.SuperBuilder;
 public class UsersEntity extends BaseEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq_generator")
+  @SequenceGenerator(name = "users_seq_generator", sequenceName = "users_seq",
+      allocationSize = Constants.ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column
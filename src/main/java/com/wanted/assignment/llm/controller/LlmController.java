@@ -1,14 +1,18 @@
 package com.wanted.assignment.llm.controller;
 
+import com.wanted.assignment.common.type.SeriesInterval;
+import com.wanted.assignment.common.type.TopUsersMode;
 import com.wanted.assignment.llm.dto.LlmDto;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
 import com.wanted.assignment.llm.service.LlmService;
 import com.wanted.assignment.llm.service.LlmUsageService;
 import jakarta.validation.constraints.Positive;
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -46,17 +50,21 @@ public class LlmController implements LlmControllerDocs {
   /**
    * LLM 목록 조회
    *
-   * @param name 설명
-   * @return 200 OK 응답과 사용자 목록
+   * @param name   설명
+   * @param cursor 이전 응답의 다음 페이지 커서
+   * @param limit  한 페이지 최대 건수
+   * @return 200 OK 응답과 LLM 목록 페이지
    */
   @GetMapping("/llm")
   @Override
-  public ResponseEntity<List<LlmDto.SelectResponse>> getLlmList(
-      @RequestParam(value = "name", required = false) String name) {
-    List<LlmDto.SelectResponse> llmList = llmService.getLlmList(
-        LlmDto.SelectRequest.of(name)
+  public ResponseEntity<LlmDto.SelectPageResponse> getLlmList(
+      @RequestParam(value = "name", required = false) String name,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", defaultValue = "100") int limit) {
+    LlmDto.SelectPageResponse llmPage = llmService.getLlmList(
+        LlmDto.SelectRequest.of(name), cursor, limit
     );
-    return ResponseEntity.ok(llmList);
+    return ResponseEntity.ok(llmPage);
   }
 
   /**
@@ -94,11 +102,72 @@ public class LlmController implements LlmControllerDocs {
   /**
    * LLM별 사용량 조회
    *
+   * @param from 조회 시작 시각 (포함)
+   * @param to   조회 종료 시각 (제외)
    * @return 200 OK 응답과 사용자 목록
    */
   @GetMapping("/llm/usages")
   @Override
-  public ResponseEntity<List<LlmUsageDto.StatsResponse>> getLlmUsageStats() {
-    return ResponseEntity.ok(llmUsageService.getLlmUsageStats());
+  public ResponseEntity<List<LlmUsageDto.StatsResponse>> getLlmUsageStats(
+      @RequestParam(value = "from", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(value = "to", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    return ResponseEntity.ok(llmUsageService.getLlmUsageStats(from, to));
+  }
+
+  /**
+   * LLM별 사용 토큰 수 분포 조회
+   *
+   * @param from 조회 시작 시각 (포함)
+   * @param to   조회 종료 시각 (제외)
+   * @return 200 OK 응답과 LLM별 사용 토큰 수 분포
+   */
+  @GetMapping("/llm/usages/distribution")
+  @Override
+  public ResponseEntity<List<LlmUsageDto.DistributionResponse>> getLlmUsageDistributions(
+      @RequestParam(value = "from", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(value = "to", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    return ResponseEntity.ok(llmUsageService.getLlmUsageDistributions(from, to));
+  }
+
+  /**
+   * 특정 LLM의 분/시간 단위 사용량 시계열 조회
+   *
+   * @param llmId    LLM 아이디
+   * @param interval 구간 단위
+   * @param from     조회 시작 시각 (포함)
+   * @param to       조회 종료 시각 (제외)
+   * @return 200 OK 응답과 구간별 사용량
+   */
+  @GetMapping("/llm/{llm_id}/usages/series")
+  @Override
+  public ResponseEntity<LlmUsageDto.SeriesResponse> getLlmUsageSeries(
+      @PathVariable("llm_id") @Positive Long llmId,
+      @RequestParam(value = "interval", defaultValue = "MINUTE") SeriesInterval interval,
+      @RequestParam(value = "from", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(value = "to", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    return ResponseEntity.ok(llmUsageService.getLlmUsageSeries(llmId, interval, from, to));
+  }
+
+  /**
+   * 특정 LLM의 사용 토큰 수 상위 사용자 조회
+   *
+   * @param llmId LLM 아이디
+   * @param mode  조회 방식
+   * @param limit 최대 사용자 수
+   * @return 200 OK 응답과 상위 사용자 목록
+   */
+  @GetMapping("/llm/{llm_id}/top-users")
+  @Override
+  public ResponseEntity<LlmUsageDto.TopUsersResponse> getTopUsers(
+      @PathVariable("llm_id") @Positive Long llmId,
+      @RequestParam(value = "mode", defaultValue = "SKETCH") TopUsersMode mode,
+      @RequestParam(value = "limit", defaultValue = "20") int limit) {
+    return ResponseEntity.ok(llmUsageService.getTopUsers(llmId, mode, limit));
   }
 }
@@ -1,6 +1,8 @@
 package com.wanted.assignment.llm.controller;
 
 import com.wanted.assignment.common.response.ErrorResponse;
+import com.wanted.assignment.common.type.SeriesInterval;
+import com.wanted.assignment.common.type.TopUsersMode;
 import com.wanted.assignment.llm.dto.LlmDto;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +15,7 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Positive;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -47,23 +50,39 @@ public interface LlmControllerDocs {
 
   @Operation(
       summary = "LLM 목록 조회",
+      description = "아이디 순으로 한 페이지씩 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 전달하면 다음 페이지를 조회하며, 마지막 페이지이면 nextCursor가 null입니다.",
       parameters = {
-          @Parameter(name = "name", description = "LLM 이름으로 필터링 (선택)", example = "gpt")
+          @Parameter(name = "name", description = "LLM 이름으로 필터링 (선택)", example = "gpt"),
+          @Parameter(name = "cursor", description = "이전 응답의 다음 페이지 커서 (없으면 첫 페이지)", example = "AAAAAAAAAAM"),
+          @Parameter(name = "limit", description = "한 페이지 최대 건수 (1~1000, 기본 100)", example = "100")
       },
       responses = {
           @ApiResponse(responseCode = "200", description = "LLM 목록 조회 성공",
-              content = @Content(array = @ArraySchema(schema = @Schema(implementation = LlmDto.SelectResponse.class)),
+              content = @Content(schema = @Schema(implementation = LlmDto.SelectPageResponse.class),
                   examples = @ExampleObject(value = """
-                          [
-                            {"id": 1, "name": "gpt-4o", "pricePerToken": 20},
-                            {"id": 2, "name": "gpt-3.5-turbo", "pricePerToken": 10}
-                          ]
+                          {
+                            "items": [
+                              {"id": 1, "name": "gpt-4o", "pricePerToken": 20},
+                              {"id": 2, "name": "gpt-3.5-turbo", "pricePerToken": 10}
+                            ],
+                            "nextCursor": null
+                          }
+                      """)
+              )
+          ),
+          @ApiResponse(responseCode = "400", description = "조회 건수가 범위(1~1000)를 벗어나거나 커서가 유효하지 않음",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "METHOD_ARGUMENT_NOT_VALID",
+                            "message": "파라미터가 유효하지 않습니다."
+                          }
                       """)
               )
           )
       }
   )
-  ResponseEntity<List<LlmDto.SelectResponse>> getLlmList(String name);
+  ResponseEntity<LlmDto.SelectPageResponse> getLlmList(String name, String cursor, int limit);
 
   @Operation(
       summary = "LLM 수정",
@@ -118,19 +137,172 @@ public interface LlmControllerDocs {
 
   @Operation(
       summary = "LLM별 사용량 통계 조회",
+      description = "사용자 수(distinctUserCount)는 일별 HyperLogLog 스케치로 추정하며(표준 오차 약 1.6%), 기간을 지정하면 기간과 겹치는 일자 단위로 추정합니다.",
+      parameters = {
+          @Parameter(name = "from", description = "조회 시작 시각 (포함, ISO-8601, 시간 단위로 내림하며 압축된 기간(usage.compaction.horizon-days 이전)은 일 단위로 내림)", example = "2025-05-01T00:00:00"),
+          @Parameter(name = "to", description = "조회 종료 시각 (제외, ISO-8601, 시간 단위로 올림하며 압축된 기간(usage.compaction.horizon-days 이전)은 일 단위로 올림)", example = "2025-06-01T00:00:00")
+      },
       responses = {
           @ApiResponse(responseCode = "200", description = "LLM 사용량 통계 조회 성공",
               content = @Content(array = @ArraySchema(schema = @Schema(implementation = LlmUsageDto.StatsResponse.class)),
                   examples = @ExampleObject(value = """
                           [
-                            {"id": 1, "name": "gpt-4o-mini", "totalUsedToken": 1536, "totalPrice": 15360},
-                            {"id": 2, "name": "gpt-4o", "totalUsedToken": 3072, "totalPrice": 61440},
-                            {"id": 3, "name": "gpt-3.5-turbo", "totalUsedToken": 6144, "totalPrice": 184320}
+                            {"id": 1, "name": "gpt-4o-mini", "totalUsedToken": 1536, "totalPrice": 15360, "distinctUserCount": 1},
+                            {"id": 2, "name": "gpt-4o", "totalUsedToken": 3072, "totalPrice": 61440, "distinctUserCount": 2},
+                            {"id": 3, "name": "gpt-3.5-turbo", "totalUsedToken": 6144, "totalPrice": 184320, "distinctUserCount": 3}
                           ]
                       """)
               )
+          ),
+          @ApiResponse(responseCode = "400", description = "조회 시작 시각이 종료 시각보다 늦거나 같음",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "METHOD_ARGUMENT_NOT_VALID",
+                            "message": "파라미터가 유효하지 않습니다."
+                          }
+                      """)
+              )
+          )
+      }
+  )
+  ResponseEntity<List<LlmUsageDto.StatsResponse>> getLlmUsageStats(
+      LocalDateTime from, LocalDateTime to);
+
+  @Operation(
+      summary = "LLM별 사용 토큰 수 분포 조회",
+      description = "최근 시간(usage.distribution.window-hours)의 시간 단위 로그-선형 히스토그램을 합쳐 건별 사용 토큰 수의 백분위수를 계산합니다. 백분위수는 실제 값보다 최대 약 3% 클 수 있으며, 기간은 시간 단위로 맞춥니다(시작은 내림, 종료는 올림).",
+      parameters = {
+          @Parameter(name = "from", description = "조회 시작 시각 (포함, ISO-8601, 없으면 보관하는 가장 오래된 시간부터)", example = "2025-05-01T00:00:00"),
+          @Parameter(name = "to", description = "조회 종료 시각 (제외, ISO-8601, 없으면 현재 시간까지)", example = "2025-05-02T00:00:00")
+      },
+      responses = {
+          @ApiResponse(responseCode = "200", description = "LLM 사용 토큰 수 분포 조회 성공",
+              content = @Content(array = @ArraySchema(schema = @Schema(implementation = LlmUsageDto.DistributionResponse.class)),
+                  examples = @ExampleObject(value = """
+                          [
+                            {"id": 1, "name": "gpt-4o-mini", "from": "2025-05-01T00:00:00", "to": "2025-05-02T00:00:00", "count": 3, "p50": 512, "p90": 512, "p99": 512, "max": 512},
+                            {"id": 2, "name": "gpt-4o", "from": "2025-05-01T00:00:00", "to": "2025-05-02T00:00:00", "count": 3, "p50": 1023, "p90": 1024, "p99": 1024, "max": 1024}
+                          ]
+                      """)
+              )
+          ),
+          @ApiResponse(responseCode = "400", description = "조회 기간이 비었거나 메모리에 보관하는 기간(usage.distribution.window-hours) 이전부터 조회",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "METHOD_ARGUMENT_NOT_VALID",
+                            "message": "파라미터가 유효하지 않습니다."
+                          }
+                      """)
+              )
+          )
+      }
+  )
+  ResponseEntity<List<LlmUsageDto.DistributionResponse>> getLlmUsageDistributions(
+      LocalDateTime from, LocalDateTime to);
+
+  @Operation(
+      summary = "LLM 사용량 시계열 조회",
+      description = "최근 구간(usage.series.ring-minutes)은 메모리에서, 이전 구간은 DB에서 조회합니다.",
+      parameters = {
+          @Parameter(name = "interval", description = "구간 단위 (MINUTE, HOUR)", example = "MINUTE"),
+          @Parameter(name = "from", description = "조회 시작 시각 (포함, ISO-8601, 없으면 단위별 기본 구간 수만큼 이전부터)", example = "2025-05-01T12:00:00"),
+          @Parameter(name = "to", description = "조회 종료 시각 (제외, ISO-8601, 없으면 현재 구간까지)", example = "2025-05-01T13:00:00")
+      },
+      responses = {
+          @ApiResponse(responseCode = "200", description = "LLM 사용량 시계열 조회 성공",
+              content = @Content(schema = @Schema(implementation = LlmUsageDto.SeriesResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "id": 1,
+                            "name": "gpt-4o-mini",
+                            "interval": "MINUTE",
+                            "points": [
+                              {"bucketTime": "2025-05-01T12:00:00", "usedToken": 1536, "callCount": 3},
+                              {"bucketTime": "2025-05-01T12:01:00", "usedToken": 0, "callCount": 0}
+                            ]
+                          }
+                      """)
+              )
+          ),
+          @ApiResponse(responseCode = "400", description = "조회 기간이 비었거나 최대 구간 수(usage.series.max-points) 초과",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "METHOD_ARGUMENT_NOT_VALID",
+                            "message": "파라미터가 유효하지 않습니다."
+                          }
+                      """)
+              )
+          ),
+          @ApiResponse(responseCode = "404", description = "존재하지 않는 LLM",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "LLM_NOT_FOUND",
+                            "message": "LLM이 존재하지 않습니다."
+                          }
+                      """)
+              )
+          )
+      }
+  )
+  ResponseEntity<LlmUsageDto.SeriesResponse> getLlmUsageSeries(
+      @Positive @Parameter(name = "llm_id", description = "조회할 LLM ID", required = true, example = "1") Long llmId,
+      SeriesInterval interval,
+      LocalDateTime from,
+      LocalDateTime to);
+
+  @Operation(
+      summary = "LLM 사용량 상위 사용자 조회",
+      description = "SKETCH 모드의 usedToken은 실제 값의 상한이며, 실제 값은 usedToken - error 이상입니다. 결과에 없는 사용자의 사용량은 maxError 이하입니다.",
+      parameters = {
+          @Parameter(name = "mode", description = "조회 방식 (SKETCH: 메모리 스케치, EXACT: SQL)", example = "SKETCH"),
+          @Parameter(name = "limit", description = "최대 사용자 수 (usage.top-users.max-limit 이하)", example = "20")
+      },
+      responses = {
+          @ApiResponse(responseCode = "200", description = "LLM 사용량 상위 사용자 조회 성공",
+              content = @Content(schema = @Schema(implementation = LlmUsageDto.TopUsersResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "id": 1,
+                            "name": "gpt-4o-mini",
+                            "mode": "SKETCH",
+                            "totalUsedToken": 1536,
+                            "maxError": 0,
+                            "users": [
+                              {"userId": 1, "usedToken": 1024, "error": 0},
+                              {"userId": 2, "usedToken": 512, "error": 0}
+                            ]
+                          }
+                      """)
+              )
+          ),
+          @ApiResponse(responseCode = "400", description = "최대 사용자 수 범위 초과",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "METHOD_ARGUMENT_NOT_VALID",
+                            "message": "파라미터가 유효하지 않습니다."
+                          }
+                      """)
+              )
+          ),
+          @ApiResponse(responseCode = "404", description = "존재하지 않는 LLM",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "LLM_NOT_FOUND",
+                            "message": "LLM이 존재하지 않습니다."
+                          }
+                      """)
+              )
           )
       }
   )
-  ResponseEntity<List<LlmUsageDto.StatsResponse>> getLlmUsageStats();
+  ResponseEntity<LlmUsageDto.TopUsersResponse> getTopUsers(
+      @Positive @Parameter(name = "llm_id", description = "조회할 LLM ID", required = true, example = "1") Long llmId,
+      TopUsersMode mode,
+      int limit);
 }
@@ -1,15 +1,31 @@
 package com.wanted.assignment.llm.controller;
 
+import com.wanted.assignment.common.constants.Constants;
+import com.wanted.assignment.common.type.ExportFormat;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
 import com.wanted.assignment.llm.service.LlmUsageService;
+import jakarta.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -21,15 +37,85 @@ public class LlmUsageController implements LlmUsageControllerDocs {
   /**
    * LLM 호출량 기록
    *
-   * @param insertRequest 기록할 LLM 사용량 정보
-   * @return 201 Created 응답과 생성된 사용자 리소스 URI
+   * @param idempotencyKey 멱등 키 (요청 본문의 idempotencyKey 보다 우선)
+   * @param insertRequest  기록할 LLM 사용량 정보
+   * @return 201 Created 응답과 생성된 사용자 리소스 URI (비동기/저널/링 버퍼 기록 모드이거나 이미 기록된 멱등 키의
+   *     아이디를 알 수 없는 경우 202 Accepted 응답)
    */
   @PostMapping("/usages")
   @Override
   public ResponseEntity<Void> insertLlmUsage(
+      @RequestHeader(value = Constants.IDEMPOTENCY_KEY_HEADER, required = false)
+      String idempotencyKey,
       @Validated @RequestBody LlmUsageDto.InsertRequest insertRequest) {
-    Long llmUsageId = llmUsageService.insertLlmUsage(insertRequest);
+    LlmUsageDto.InsertRequest keyedInsertRequest = StringUtils.hasText(idempotencyKey)
+        ? LlmUsageDto.InsertRequest.of(insertRequest.getUserId(), insertRequest.getLlmId(),
+        insertRequest.getUsedToken(), idempotencyKey)
+        : insertRequest;
+    Long llmUsageId = llmUsageService.insertLlmUsage(keyedInsertRequest);
+    if (llmUsageId == null) {
+      return ResponseEntity.accepted().build();
+    }
     URI location = URI.create("/usages/" + llmUsageId);
     return ResponseEntity.created(location).build();
   }
+
+  /**
+   * LLM 호출량 일괄 기록
+   *
+   * @param batchInsertRequest 기록할 LLM 사용량 목록
+   * @return 200 OK 응답과 항목별 기록 결과
+   */
+  @PostMapping("/usages/batch")
+  @Override
+  public ResponseEntity<LlmUsageDto.BatchInsertResponse> insertLlmUsages(
+      @Validated @RequestBody LlmUsageDto.BatchInsertRequest batchInsertRequest) {
+    return ResponseEntity.ok(llmUsageService.insertLlmUsages(batchInsertRequest));
+  }
+
+  /**
+   * LLM 호출량 스트리밍 기록 (NDJSON)
+   *
+   * @param inputStream 한 줄에 하나의 LLM 사용량 정보가 담긴 NDJSON 요청 본문
+   * @return 200 OK 응답과 처리 건수 요약
+   * @throws IOException 요청 본문을 읽는 중 오류가 발생한 경우
+   */
+  @PostMapping(value = "/usages/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  @Override
+  public ResponseEntity<LlmUsageDto.StreamInsertResponse> insertLlmUsageStream(
+      InputStream inputStream) throws IOException {
+    return ResponseEntity.ok(llmUsageService.insertLlmUsageStream(inputStream));
+  }
+
+  /**
+   * 원본 사용량 내보내기 (CSV/NDJSON)
+   *
+   * @param userId 사용자 아이디
+   * @param llmId  LLM 아이디
+   * @param from   조회 시작 시각 (포함)
+   * @param to     조회 종료 시각 (제외)
+   * @param format 내보내기 형식
+   * @return 200 OK 응답과 응답 스트림에 바로 기록되는 원본 사용량
+   */
+  @GetMapping(Constants.USAGE_EXPORT_PATH)
+  @Override
+  public ResponseEntity<StreamingResponseBody> exportLlmUsages(
+      @RequestParam(value = "user_id", required = false) @Positive Long userId,
+      @RequestParam(value = "llm_id", required = false) @Positive Long llmId,
+      @RequestParam(value = "from", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(value = "to", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format) {
+    StreamingResponseBody body = llmUsageService.exportLlmUsages(
+        LlmUsageDto.ExportRequest.of(userId, llmId, from, to, format));
+    return ResponseEntity.ok()
+        .contentType(new MediaType(
+            MediaType.parseMediaType(format.getMediaType()), StandardCharsets.UTF_8))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("usages." + format.getFileExtension())
+            .build()
+            .toString())
+        .body(body);
+  }
 }
@@ -1,14 +1,22 @@
 package com.wanted.assignment.llm.controller;
 
+import com.wanted.assignment.common.response.ErrorResponse;
+import com.wanted.assignment.common.type.ExportFormat;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @SuppressWarnings("all")
 @Tag(name = "LLM 호출량 API", description = "LLM (Large Language Model) 호출량 기록 API를 제공")
@@ -25,14 +33,170 @@ public interface LlmUsageControllerDocs {
                 {
                   "userId": 1,
                   "llmId": 1,
-                  "usedToken": 512
+                  "usedToken": 512,
+                  "idempotencyKey": "gw-20250101-000001"
                 }
             """)
           )
       ),
       responses = {
-          @ApiResponse(responseCode = "201", description = "LLM 사용량 기록 성공")
+          @ApiResponse(responseCode = "201",
+              description = "LLM 사용량 기록 성공 (이미 기록된 멱등 키인 경우 처음 기록된 리소스 URI)"),
+          @ApiResponse(responseCode = "202",
+              description = "LLM 사용량 기록 접수 (비동기/저널/링 버퍼 기록 모드 또는 이미 기록된 멱등 키)"),
+          @ApiResponse(responseCode = "404", description = "존재하지 않거나 삭제된 사용자 또는 LLM",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                    {
+                      "code": "USER_NOT_FOUND",
+                      "message": "사용자가 존재하지 않습니다."
+                    }
+                """)
+              )
+          ),
+          @ApiResponse(responseCode = "503", description = "비동기 기록 대기열 또는 링 버퍼 가득 참, 저널 미반영 한도 초과",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                    {
+                      "code": "USAGE_QUEUE_FULL",
+                      "message": "사용량 기록 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."
+                    }
+                """)
+              )
+          )
+      }
+  )
+  ResponseEntity<Void> insertLlmUsage(
+      @Parameter(in = ParameterIn.HEADER, name = "Idempotency-Key",
+          description = "멱등 키 (같은 키로 재시도된 요청은 한 번만 기록)",
+          example = "gw-20250101-000001") String idempotencyKey,
+      LlmUsageDto.InsertRequest insertRequest);
+
+  @Operation(
+      summary = "LLM 호출량 일괄 기록",
+      description = "최대 10,000건의 사용량을 한 번에 기록하고 항목별 결과를 응답합니다.",
+      requestBody = @RequestBody(
+          required = true,
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = LlmUsageDto.BatchInsertRequest.class),
+              examples = @ExampleObject(value = """
+                {
+                  "usages": [
+                    {"userId": 1, "llmId": 1, "usedToken": 512},
+                    {"userId": 2, "llmId": 2, "usedToken": 256},
+                    {"userId": 0, "llmId": 1, "usedToken": 128}
+                  ]
+                }
+            """)
+          )
+      ),
+      responses = {
+          @ApiResponse(responseCode = "200", description = "LLM 사용량 일괄 기록 처리 완료",
+              content = @Content(
+                  schema = @Schema(implementation = LlmUsageDto.BatchInsertResponse.class),
+                  examples = @ExampleObject(value = """
+                    {
+                      "totalCount": 3,
+                      "successCount": 2,
+                      "failureCount": 1,
+                      "duplicateCount": 0,
+                      "results": [
+                        {"index": 0, "id": 6, "code": "OK", "message": "성공"},
+                        {"index": 1, "id": 7, "code": "OK", "message": "성공"},
+                        {"index": 2, "id": null, "code": "USER_NOT_FOUND", "message": "사용자가 존재하지 않습니다."}
+                      ]
+                    }
+                """)
+              )
+          ),
+          @ApiResponse(responseCode = "400", description = "유효하지 않은 요청",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+          )
+      }
+  )
+  ResponseEntity<LlmUsageDto.BatchInsertResponse> insertLlmUsages(
+      LlmUsageDto.BatchInsertRequest batchInsertRequest);
+
+  @Operation(
+      summary = "LLM 호출량 스트리밍 기록",
+      description = "한 줄에 하나의 사용량이 담긴 NDJSON 본문을 청크 단위로 읽어 기록합니다. "
+          + "청크마다 커밋되며 실패한 줄은 줄 번호와 결과 코드로 응답합니다. "
+          + "최대 길이(usage.stream.max-line-bytes)를 넘는 줄은 읽지 않고 USAGE_LINE_TOO_LONG 으로 응답합니다.",
+      requestBody = @RequestBody(
+          required = true,
+          content = @Content(
+              mediaType = "application/x-ndjson",
+              schema = @Schema(implementation = LlmUsageDto.InsertRequest.class),
+              examples = @ExampleObject(value = """
+                {"userId": 1, "llmId": 1, "usedToken": 512}
+                {"userId": 2, "llmId": 2, "usedToken": 256}
+                {"userId": 0, "llmId": 1, "usedToken": 128}
+            """)
+          )
+      ),
+      responses = {
+          @ApiResponse(responseCode = "200", description = "LLM 사용량 스트리밍 기록 처리 완료",
+              content = @Content(
+                  schema = @Schema(implementation = LlmUsageDto.StreamInsertResponse.class),
+                  examples = @ExampleObject(value = """
+                    {
+                      "totalCount": 3,
+                      "successCount": 2,
+                      "failureCount": 1,
+                      "duplicateCount": 0,
+                      "failures": [
+                        {"line": 3, "code": "USER_NOT_FOUND", "message": "사용자가 존재하지 않습니다."}
+                      ]
+                    }
+                """)
+              )
+          ),
+          @ApiResponse(responseCode = "415", description = "지원되지 않는 미디어 타입",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+          )
+      }
+  )
+  ResponseEntity<LlmUsageDto.StreamInsertResponse> insertLlmUsageStream(InputStream inputStream)
+      throws IOException;
+
+  @Operation(
+      summary = "원본 사용량 내보내기",
+      description = "조건에 맞는 원본 사용량을 CSV 또는 NDJSON으로 내려받습니다. DB 커서에서 읽는 대로 응답에 기록하므로 행 수와 관계없이 일정한 메모리로 동작하며, "
+          + "압축되어 일별 집계만 남은 기간(usage.compaction.horizon-days 이전)은 포함되지 않습니다. 월 세그먼트 순으로 기록하며 세그먼트 안의 순서는 보장하지 않습니다.",
+      parameters = {
+          @Parameter(name = "user_id", description = "사용자 아이디 (없으면 전체)", example = "1"),
+          @Parameter(name = "llm_id", description = "LLM 아이디 (없으면 전체)", example = "1"),
+          @Parameter(name = "from", description = "조회 시작 시각 (포함, ISO-8601, 없으면 처음부터)", example = "2025-05-01T00:00:00"),
+          @Parameter(name = "to", description = "조회 종료 시각 (제외, ISO-8601, 없으면 끝까지)", example = "2025-06-01T00:00:00"),
+          @Parameter(name = "format", description = "내보내기 형식 (CSV, NDJSON)", example = "CSV")
+      },
+      responses = {
+          @ApiResponse(responseCode = "200", description = "원본 사용량 내보내기 성공",
+              content = {
+                  @Content(mediaType = "text/csv",
+                      examples = @ExampleObject(value = """
+                        id,user_id,llm_id,used_token,created_at
+                        1,1,1,512,2025-05-01T12:00:00
+                        2,2,1,256,2025-05-01T12:00:01
+                    """)
+                  ),
+                  @Content(mediaType = "application/x-ndjson",
+                      examples = @ExampleObject(value = """
+                        {"id":1,"userId":1,"llmId":1,"usedToken":512,"createdAt":"2025-05-01T12:00:00"}
+                        {"id":2,"userId":2,"llmId":1,"usedToken":256,"createdAt":"2025-05-01T12:00:01"}
+                    """)
+                  )
+              }
+          ),
+          @ApiResponse(responseCode = "400", description = "조회 시작 시각이 종료 시각보다 늦거나 같음",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+          ),
+          @ApiResponse(responseCode = "429", description = "동시 실행 수(usage.export.max-concurrent) 초과",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+          )
       }
   )
-  ResponseEntity<Void> insertLlmUsage(LlmUsageDto.InsertRequest insertRequest);
+  ResponseEntity<StreamingResponseBody> exportLlmUsages(
+      Long userId, Long llmId, LocalDateTime from, LocalDateTime to, ExportFormat format);
 }
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -100,4 +101,18 @@ public class LlmDto {
         requiredMode = Schema.RequiredMode.REQUIRED)
     private int pricePerToken;
   }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class SelectPageResponse {
+
+    @Schema(description = "LLM 목록 (아이디 순)", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<SelectResponse> items;
+
+    @Schema(description = "다음 페이지 커서 (마지막 페이지이면 null)", example = "AAAAAAAAAAM")
+    private String nextCursor;
+  }
 }
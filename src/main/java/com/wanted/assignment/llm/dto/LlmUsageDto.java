@@ -1,8 +1,16 @@
 package com.wanted.assignment.llm.dto;
 
+import com.wanted.assignment.common.constants.Constants;
+import com.wanted.assignment.common.type.ExportFormat;
+import com.wanted.assignment.common.type.SeriesInterval;
+import com.wanted.assignment.common.type.TopUsersMode;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -32,6 +40,153 @@ public class LlmUsageDto {
         requiredMode = Schema.RequiredMode.REQUIRED)
     @Min(1)
     private Integer usedToken;
+
+    @Schema(description = "멱등 키 (같은 키로 재시도된 요청은 한 번만 기록)",
+        example = "gw-20250101-000001")
+    @Size(max = Constants.IDEMPOTENCY_KEY_MAX_LENGTH)
+    private String idempotencyKey;
+
+    public static InsertRequest of(Long userId, Long llmId, Integer usedToken) {
+      return new InsertRequest(userId, llmId, usedToken, null);
+    }
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class BatchInsertRequest {
+
+    @Schema(description = "기록할 LLM 사용량 목록",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty
+    @Size(max = Constants.USAGE_BATCH_MAX_SIZE)
+    private List<InsertRequest> usages;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class BatchInsertResponse {
+
+    @Schema(description = "요청 건수", example = "3",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private int totalCount;
+
+    @Schema(description = "기록 성공 건수", example = "2",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private int successCount;
+
+    @Schema(description = "기록 실패 건수", example = "1",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private int failureCount;
+
+    @Schema(description = "멱등 키 중복으로 기록하지 않은 건수", example = "0",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private int duplicateCount;
+
+    @Schema(description = "항목별 기록 결과 (요청 순서와 동일)",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<BatchInsertResult> results;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class BatchInsertResult {
+
+    @Schema(description = "요청 목록 내 순번 (0부터 시작)", example = "0",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private int index;
+
+    @Schema(description = "기록된 LLM 사용량 아이디 (실패했거나 중복인데 알 수 없는 경우 null)",
+        example = "6")
+    private Long id;
+
+    @Schema(description = "처리 결과 코드", example = "OK",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String code;
+
+    @Schema(description = "처리 결과 메시지", example = "성공",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String message;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class StreamInsertResponse {
+
+    @Schema(description = "처리한 전체 건수 (빈 줄 제외)", example = "3",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long totalCount;
+
+    @Schema(description = "기록 성공 건수", example = "2",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long successCount;
+
+    @Schema(description = "기록 실패 건수", example = "1",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long failureCount;
+
+    @Schema(description = "멱등 키 중복으로 기록하지 않은 건수", example = "0",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long duplicateCount;
+
+    @Schema(description = "실패한 줄 목록 (최대 건수까지만 포함)",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<StreamInsertFailure> failures;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class StreamInsertFailure {
+
+    @Schema(description = "요청 본문 내 줄 번호 (1부터 시작)", example = "3",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long line;
+
+    @Schema(description = "처리 결과 코드", example = "USER_NOT_FOUND",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String code;
+
+    @Schema(description = "처리 결과 메시지", example = "사용자가 존재하지 않습니다.",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String message;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class ExportRequest {
+
+    @Schema(description = "사용자 아이디 (없으면 전체)", example = "1")
+    private Long userId;
+
+    @Schema(description = "LLM 아이디 (없으면 전체)", example = "1")
+    private Long llmId;
+
+    @Schema(description = "조회 시작 시각 (포함, 없으면 처음부터)", example = "2025-05-01T00:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "조회 종료 시각 (제외, 없으면 끝까지)", example = "2025-06-01T00:00:00")
+    private LocalDateTime to;
+
+    @Schema(description = "내보내기 형식", example = "CSV",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private ExportFormat format;
   }
 
   @Getter
@@ -56,5 +211,149 @@ public class LlmUsageDto {
     @Schema(description = "총 사용 금액", example = "15360",
         requiredMode = Schema.RequiredMode.REQUIRED)
     private Long totalPrice;
+
+    @Schema(description = "사용자 수 (HyperLogLog 추정값, 표준 오차 약 1.6%)", example = "3",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long distinctUserCount;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class SeriesResponse {
+
+    @Schema(description = "LLM 아이디", example = "1",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long id;
+
+    @Schema(description = "LLM 이름", example = "gpt-4o-mini",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String name;
+
+    @Schema(description = "구간 단위", example = "MINUTE",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private SeriesInterval interval;
+
+    @Schema(description = "구간별 사용량 (시간 순, 사용량이 없는 구간 포함)",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<SeriesPoint> points;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class SeriesPoint {
+
+    @Schema(description = "구간 시작 시각", example = "2025-05-01T12:00:00",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDateTime bucketTime;
+
+    @Schema(description = "사용 토큰 수", example = "1536",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long usedToken;
+
+    @Schema(description = "호출 수", example = "3",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long callCount;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class TopUsersResponse {
+
+    @Schema(description = "LLM 아이디", example = "1",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long id;
+
+    @Schema(description = "LLM 이름", example = "gpt-4o-mini",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String name;
+
+    @Schema(description = "조회 방식", example = "SKETCH",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private TopUsersMode mode;
+
+    @Schema(description = "LLM 전체 사용 토큰 수", example = "1536",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long totalUsedToken;
+
+    @Schema(description = "결과에 없는 사용자의 사용 토큰 수 상한 (EXACT 모드는 0)", example = "0",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long maxError;
+
+    @Schema(description = "사용 토큰 수 내림차순 사용자 목록",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<TopUser> users;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class TopUser {
+
+    @Schema(description = "사용자 아이디", example = "1",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long userId;
+
+    @Schema(description = "사용 토큰 수 (SKETCH 모드는 실제 값의 상한)", example = "512",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long usedToken;
+
+    @Schema(description = "사용 토큰 수 오차 (실제 값은 usedToken - error 이상, EXACT 모드는 0)",
+        example = "0", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long error;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class DistributionResponse {
+
+    @Schema(description = "LLM 아이디", example = "1",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long id;
+
+    @Schema(description = "LLM 이름", example = "gpt-4o-mini",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String name;
+
+    @Schema(description = "집계 시작 시각 (시간 단위로 내림)", example = "2025-05-01T00:00:00",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDateTime from;
+
+    @Schema(description = "집계 종료 시각 (시간 단위로 올림, 제외)", example = "2025-05-02T00:00:00",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDateTime to;
+
+    @Schema(description = "사용량 건수", example = "3",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long count;
+
+    @Schema(description = "사용 토큰 수 50 백분위수 (상대 오차 약 3% 이내)", example = "512",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long p50;
+
+    @Schema(description = "사용 토큰 수 90 백분위수 (상대 오차 약 3% 이내)", example = "1023",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long p90;
+
+    @Schema(description = "사용 토큰 수 99 백분위수 (상대 오차 약 3% 이내)", example = "1024",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long p99;
+
+    @Schema(description = "최대 사용 토큰 수", example = "1024",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private long max;
   }
 }
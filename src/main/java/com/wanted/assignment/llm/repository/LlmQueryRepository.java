@@ -7,6 +7,7 @@ import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.domain.entity.QLlmEntity;
 import com.wanted.assignment.llm.dto.LlmDto;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,12 +22,18 @@ public class LlmQueryRepository {
   private final JPAQueryFactory jpaQueryFactory;
 
   /**
-   * LLM 목록 조회
+   * LLM 목록 한 페이지 조회 (아이디 순 keyset 페이지)
    *
-   * @param selectRequest 조회할 사용자 정보
-   * @return 사용자 목록
+   * <p>OFFSET 없이 이전 페이지 마지막 아이디보다 큰 아이디부터 조회하므로 (is_deleted, id) 인덱스에서 시작
+   * 위치를 바로 찾고, 페이지 깊이와 관계없이 한 페이지만큼만 읽는다.
+   *
+   * @param selectRequest 조회할 LLM 정보
+   * @param afterId       이전 페이지 마지막 아이디 (null이면 첫 페이지)
+   * @param limit         최대 조회 건수
+   * @return LLM 목록
    */
-  public List<LlmDto.SelectResponse> selectLlmList(LlmDto.SelectRequest selectRequest) {
+  public List<LlmDto.SelectResponse> selectLlmList(
+      LlmDto.SelectRequest selectRequest, Long afterId, int limit) {
 
     QLlmEntity llmEntity = QLlmEntity.llmEntity;
 
@@ -35,6 +42,9 @@ public class LlmQueryRepository {
       builder.and(llmEntity.name.contains(selectRequest.getName()));
     }
     builder.and(llmEntity.isDeleted.eq(false));
+    if (afterId != null) {
+      builder.and(llmEntity.id.gt(afterId));
+    }
 
     return jpaQueryFactory
         .select(
@@ -48,10 +58,70 @@ public class LlmQueryRepository {
         .from(llmEntity)
         .where(builder)
         .orderBy(llmEntity.id.asc())
+        .limit(limit)
         .setHint(Constants.HIBERNATE_SQL_COMMENT, "LlmQueryRepository.selectLlmList")
         .fetch();
   }
 
+  /**
+   * 주어진 아이디 중 삭제되지 않은 LLM 아이디 조회
+   *
+   * @param llmIds 확인할 LLM 아이디 목록
+   * @return 존재하는 LLM 아이디 목록
+   */
+  public List<Long> selectActiveLlmIds(Collection<Long> llmIds) {
+    if (llmIds.isEmpty()) {
+      return List.of();
+    }
+
+    QLlmEntity llmEntity = QLlmEntity.llmEntity;
+    return jpaQueryFactory
+        .select(llmEntity.id)
+        .from(llmEntity)
+        .where(llmEntity.id.in(llmIds)
+            .and(llmEntity.isDeleted.eq(false)))
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "LlmQueryRepository.selectActiveLlmIds")
+        .fetch();
+  }
+
+  /**
+   * 삭제되지 않은 모든 LLM 아이디 조회
+   *
+   * @return 존재하는 LLM 아이디 목록
+   */
+  public List<Long> selectAllActiveLlmIds() {
+    QLlmEntity llmEntity = QLlmEntity.llmEntity;
+    return jpaQueryFactory
+        .select(llmEntity.id)
+        .from(llmEntity)
+        .where(llmEntity.isDeleted.eq(false))
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "LlmQueryRepository.selectAllActiveLlmIds")
+        .fetch();
+  }
+
+  /**
+   * 삭제되지 않은 모든 LLM의 토큰당 가격 조회 (아이디 순)
+   *
+   * @return LLM 정보 목록
+   */
+  public List<LlmDto.SelectResponse> selectAllActiveLlmPrices() {
+    QLlmEntity llmEntity = QLlmEntity.llmEntity;
+    return jpaQueryFactory
+        .select(
+            Projections.fields(
+                LlmDto.SelectResponse.class,
+                llmEntity.id,
+                llmEntity.name,
+                llmEntity.pricePerToken
+            )
+        )
+        .from(llmEntity)
+        .where(llmEntity.isDeleted.eq(false))
+        .orderBy(llmEntity.id.asc())
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "LlmQueryRepository.selectAllActiveLlmPrices")
+        .fetch();
+  }
+
   /**
    * LLM 수정
    *
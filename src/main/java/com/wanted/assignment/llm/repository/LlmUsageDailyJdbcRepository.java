@@ -0,0 +1,87 @@
+package com.wanted.assignment.llm.repository;
+
+import com.wanted.assignment.domain.entity.LlmUsageDailyId;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@RequiredArgsConstructor
+@Repository
+public class LlmUsageDailyJdbcRepository {
+
+  private static final String MERGE_LLM_USAGE_DAILY_SQL = """
+      /* LlmUsageDailyJdbcRepository.mergeLlmUsageDaily */
+      MERGE INTO llm_usage_daily t
+      USING (SELECT CAST(? AS BIGINT) AS user_id,
+                    CAST(? AS BIGINT) AS llm_id,
+                    CAST(? AS DATE) AS bucket_day,
+                    CAST(? AS BIGINT) AS used_token,
+                    CAST(? AS BIGINT) AS call_count) s
+      ON t.user_id = s.user_id AND t.llm_id = s.llm_id AND t.bucket_day = s.bucket_day
+      WHEN MATCHED THEN
+        UPDATE SET t.used_token = t.used_token + s.used_token,
+                   t.call_count = t.call_count + s.call_count
+      WHEN NOT MATCHED THEN
+        INSERT (user_id, llm_id, bucket_day, used_token, call_count)
+        VALUES (s.user_id, s.llm_id, s.bucket_day, s.used_token, s.call_count)
+      """;
+
+  // 동시에 누적하는 트랜잭션끼리 같은 순서로 행 잠금을 잡도록 키를 정렬
+  private static final Comparator<LlmUsageDailyId> KEY_ORDER = Comparator
+      .comparing(LlmUsageDailyId::getUserId)
+      .thenComparing(LlmUsageDailyId::getLlmId)
+      .thenComparing(LlmUsageDailyId::getBucketDay);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 시간별 집계를 일별 집계에 누적
+   *
+   * <p>같은 사용자, LLM, 일자에 해당하는 시간별 집계는 먼저 메모리에서 합산하므로, 실행되는 MERGE 문은
+   * (사용자, LLM, 일자) 조합 수만큼이다. 호출한 트랜잭션에 참여하므로 시간별 집계 삭제와 함께 커밋되거나
+   * 롤백된다.
+   *
+   * @param hourlyTotals 일별 집계로 옮길 시간별 집계 목록
+   * @return 누적된 (사용자, LLM, 일자) 조합 수
+   */
+  public int mergeLlmUsageDaily(List<LlmUsageHourlyJdbcRepository.HourlyTotal> hourlyTotals) {
+    if (hourlyTotals.isEmpty()) {
+      return 0;
+    }
+
+    // 키별 [사용 토큰 수 합계, 호출 수]
+    Map<LlmUsageDailyId, long[]> totals = new TreeMap<>(KEY_ORDER);
+    for (LlmUsageHourlyJdbcRepository.HourlyTotal hourlyTotal : hourlyTotals) {
+      LlmUsageDailyId key = LlmUsageDailyId.of(
+          hourlyTotal.key().getUserId(),
+          hourlyTotal.key().getLlmId(),
+          hourlyTotal.key().getBucketHour().toLocalDate());
+      long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+      total[0] += hourlyTotal.usedToken();
+      total[1] += hourlyTotal.callCount();
+    }
+
+    List<Map.Entry<LlmUsageDailyId, long[]>> entries = new ArrayList<>(totals.entrySet());
+    jdbcTemplate.batchUpdate(
+        MERGE_LLM_USAGE_DAILY_SQL,
+        entries,
+        entries.size(),
+        (ps, entry) -> {
+          LlmUsageDailyId key = entry.getKey();
+          ps.setLong(1, key.getUserId());
+          ps.setLong(2, key.getLlmId());
+          ps.setDate(3, Date.valueOf(key.getBucketDay()));
+          ps.setLong(4, entry.getValue()[0]);
+          ps.setLong(5, entry.getValue()[1]);
+        });
+    return entries.size();
+  }
+}
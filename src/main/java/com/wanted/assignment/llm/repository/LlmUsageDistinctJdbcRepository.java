@@ -0,0 +1,138 @@
+package com.wanted.assignment.llm.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@RequiredArgsConstructor
+@Repository
+public class LlmUsageDistinctJdbcRepository {
+
+  private static final String SELECT_SKETCHES_SQL = """
+      /* LlmUsageDistinctJdbcRepository.selectSketches */
+      SELECT llm_id, bucket_day, registers FROM llm_usage_distinct_daily
+      """;
+
+  private static final String SELECT_LAST_UPDATED_AT_SQL = """
+      /* LlmUsageDistinctJdbcRepository.selectLastUpdatedAt */
+      SELECT MAX(updated_at) FROM llm_usage_distinct_daily
+      """;
+
+  private static final String MERGE_SKETCH_SQL = """
+      /* LlmUsageDistinctJdbcRepository.mergeSketches */
+      MERGE INTO llm_usage_distinct_daily t
+      USING (SELECT CAST(? AS BIGINT) AS llm_id,
+                    CAST(? AS DATE) AS bucket_day,
+                    CAST(? AS VARBINARY(4096)) AS registers,
+                    CAST(? AS TIMESTAMP) AS updated_at) s
+      ON t.llm_id = s.llm_id AND t.bucket_day = s.bucket_day
+      WHEN MATCHED THEN
+        UPDATE SET t.registers = s.registers, t.updated_at = s.updated_at
+      WHEN NOT MATCHED THEN
+        INSERT (llm_id, bucket_day, registers, updated_at)
+        VALUES (s.llm_id, s.bucket_day, s.registers, s.updated_at)
+      """;
+
+  private static final String DELETE_SKETCHES_BY_LLM_ID_SQL = """
+      /* LlmUsageDistinctJdbcRepository.deleteSketchesByLlmId */
+      DELETE FROM llm_usage_distinct_daily WHERE llm_id = ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 저장된 모든 (LLM, 일자)별 사용자 수 스케치 조회
+   *
+   * @param handler 행마다 호출할 처리기
+   */
+  public void selectSketches(SketchHandler handler) {
+    jdbcTemplate.query(
+        SELECT_SKETCHES_SQL,
+        rs -> {
+          handler.handle(
+              rs.getLong("llm_id"), rs.getDate("bucket_day").toLocalDate(),
+              rs.getBytes("registers"));
+        });
+  }
+
+  /**
+   * 마지막으로 스케치를 저장한 시각
+   *
+   * @return 저장 시각 (저장된 스케치가 없으면 null)
+   */
+  public LocalDateTime selectLastUpdatedAt() {
+    Timestamp updatedAt = jdbcTemplate.queryForObject(SELECT_LAST_UPDATED_AT_SQL, Timestamp.class);
+    return updatedAt == null ? null : updatedAt.toLocalDateTime();
+  }
+
+  /**
+   * 스케치 저장 (이미 있으면 덮어씀)
+   *
+   * <p>메모리 스케치는 저장된 스케치를 적재한 뒤 누적한 것이므로 항상 저장된 값을 포함한다. 목록 전체를
+   * 한 트랜잭션으로 저장하므로, 일부만 새 저장 시각으로 저장되어 재시작 시 복구 구간이 어긋나지 않는다.
+   *
+   * @param sketches  저장할 스케치 목록
+   * @param updatedAt 저장 시각 (재시작 시 이 시각 이후의 집계를 다시 더함)
+   */
+  @Transactional
+  public void mergeSketches(List<Sketch> sketches, LocalDateTime updatedAt) {
+    if (sketches.isEmpty()) {
+      return;
+    }
+    Timestamp updatedAtTimestamp = Timestamp.valueOf(updatedAt);
+    jdbcTemplate.batchUpdate(
+        MERGE_SKETCH_SQL,
+        sketches,
+        sketches.size(),
+        (ps, sketch) -> {
+          ps.setLong(1, sketch.llmId());
+          ps.setDate(2, Date.valueOf(sketch.bucketDay()));
+          ps.setBytes(3, sketch.registers());
+          ps.setTimestamp(4, updatedAtTimestamp);
+        });
+  }
+
+  /**
+   * LLM의 스케치 삭제
+   *
+   * @param llmId LLM 아이디
+   * @return 삭제된 스케치 수
+   */
+  public int deleteSketchesByLlmId(long llmId) {
+    return jdbcTemplate.update(DELETE_SKETCHES_BY_LLM_ID_SQL, llmId);
+  }
+
+  /**
+   * (LLM, 일자)별 스케치
+   *
+   * @param llmId     LLM 아이디
+   * @param bucketDay 집계 일자
+   * @param registers HyperLogLog 레지스터
+   */
+  public record Sketch(long llmId, LocalDate bucketDay, byte[] registers) {
+  }
+
+  /**
+   * 저장된 스케치 처리기
+   */
+  @FunctionalInterface
+  public interface SketchHandler {
+
+    /**
+     * 한 (LLM, 일자) 스케치 처리
+     *
+     * @param llmId     LLM 아이디
+     * @param bucketDay 집계 일자
+     * @param registers HyperLogLog 레지스터
+     */
+    void handle(long llmId, LocalDate bucketDay, byte[] registers);
+  }
+}
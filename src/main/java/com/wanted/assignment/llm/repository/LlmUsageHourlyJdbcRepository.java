@@ -0,0 +1,178 @@
+package com.wanted.assignment.llm.repository;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.domain.entity.LlmUsageHourlyId;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@RequiredArgsConstructor
+@Repository
+public class LlmUsageHourlyJdbcRepository {
+
+  private static final String MERGE_LLM_USAGE_HOURLY_SQL = """
+      /* LlmUsageHourlyJdbcRepository.mergeLlmUsageHourly */
+      MERGE INTO llm_usage_hourly t
+      USING (SELECT CAST(? AS BIGINT) AS user_id,
+                    CAST(? AS BIGINT) AS llm_id,
+                    CAST(? AS TIMESTAMP) AS bucket_hour,
+                    CAST(? AS BIGINT) AS used_token,
+                    CAST(? AS BIGINT) AS call_count) s
+      ON t.user_id = s.user_id AND t.llm_id = s.llm_id AND t.bucket_hour = s.bucket_hour
+      WHEN MATCHED THEN
+        UPDATE SET t.used_token = t.used_token + s.used_token,
+                   t.call_count = t.call_count + s.call_count
+      WHEN NOT MATCHED THEN
+        INSERT (user_id, llm_id, bucket_hour, used_token, call_count)
+        VALUES (s.user_id, s.llm_id, s.bucket_hour, s.used_token, s.call_count)
+      """;
+
+  private static final String SELECT_LLM_USAGE_HOURLY_BEFORE_SQL = """
+      /* LlmUsageHourlyJdbcRepository.selectLlmUsageHourlyBefore */
+      SELECT user_id, llm_id, bucket_hour, used_token, call_count
+      FROM llm_usage_hourly
+      WHERE bucket_hour < ?
+      ORDER BY bucket_hour, user_id, llm_id
+      FETCH FIRST ? ROWS ONLY
+      FOR UPDATE
+      """;
+
+  private static final String DELETE_LLM_USAGE_HOURLY_SQL = """
+      /* LlmUsageHourlyJdbcRepository.deleteLlmUsageHourly */
+      DELETE FROM llm_usage_hourly
+      WHERE user_id = ? AND llm_id = ? AND bucket_hour = ?
+      """;
+
+  // 동시에 누적하는 트랜잭션끼리 같은 순서로 행 잠금을 잡도록 키를 정렬
+  private static final Comparator<LlmUsageHourlyId> KEY_ORDER = Comparator
+      .comparing(LlmUsageHourlyId::getUserId)
+      .thenComparing(LlmUsageHourlyId::getLlmId)
+      .thenComparing(LlmUsageHourlyId::getBucketHour);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 기록된 LLM 사용량을 시간별 집계에 누적
+   *
+   * <p>같은 사용자, LLM, 시간에 해당하는 사용량은 먼저 메모리에서 합산하므로, 실행되는 MERGE 문은 기록
+   * 건수가 아닌 (사용자, LLM, 시간) 조합 수만큼이다. 호출한 트랜잭션에 참여하므로 사용량 기록이
+   * 롤백되면 집계도 함께 롤백된다.
+   *
+   * @param llmUsages 기록된 LLM 사용량 목록
+   * @return 누적된 (사용자, LLM, 시간) 조합 수
+   */
+  public int mergeLlmUsageHourly(List<LlmUsageEntity> llmUsages) {
+    if (llmUsages.isEmpty()) {
+      return 0;
+    }
+
+    // 키별 [사용 토큰 수 합계, 호출 수]
+    Map<LlmUsageHourlyId, long[]> totals = new TreeMap<>(KEY_ORDER);
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      LlmUsageHourlyId key = LlmUsageHourlyId.of(
+          llmUsage.getUserId(), llmUsage.getLlmId(), toBucketHour(llmUsage.getCreatedAt()));
+      long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+      total[0] += llmUsage.getUsedToken();
+      total[1]++;
+    }
+
+    List<Map.Entry<LlmUsageHourlyId, long[]>> entries = new ArrayList<>(totals.entrySet());
+    jdbcTemplate.batchUpdate(
+        MERGE_LLM_USAGE_HOURLY_SQL,
+        entries,
+        entries.size(),
+        (ps, entry) -> {
+          LlmUsageHourlyId key = entry.getKey();
+          ps.setLong(1, key.getUserId());
+          ps.setLong(2, key.getLlmId());
+          ps.setTimestamp(3, Timestamp.valueOf(key.getBucketHour()));
+          ps.setLong(4, entry.getValue()[0]);
+          ps.setLong(5, entry.getValue()[1]);
+        });
+    return entries.size();
+  }
+
+  /**
+   * 집계 시각이 기준 시각 이전인 시간별 집계를 잠그고 조회 (오래된 순)
+   *
+   * <p>조회한 행은 호출한 트랜잭션이 끝날 때까지 잠기므로, 압축 중에 같은 행이 누적되어 누락되는 일이
+   * 없다. 기준 시각 이전의 행은 새 사용량 기록이 거의 누적되지 않으므로 기록 경로와 잠금이 겹치지
+   * 않는다.
+   *
+   * @param before 기준 시각 (제외)
+   * @param limit  최대 조회 건수
+   * @return 시간별 집계 목록
+   */
+  public List<HourlyTotal> selectLlmUsageHourlyBefore(LocalDateTime before, int limit) {
+    return jdbcTemplate.query(
+        SELECT_LLM_USAGE_HOURLY_BEFORE_SQL,
+        (rs, rowNum) -> new HourlyTotal(
+            LlmUsageHourlyId.of(
+                rs.getLong("user_id"),
+                rs.getLong("llm_id"),
+                rs.getTimestamp("bucket_hour").toLocalDateTime()),
+            rs.getLong("used_token"),
+            rs.getLong("call_count")),
+        Timestamp.valueOf(before), limit);
+  }
+
+  /**
+   * 시간별 집계 삭제
+   *
+   * @param hourlyTotals 삭제할 시간별 집계 목록
+   * @return 삭제된 건수
+   */
+  public int deleteLlmUsageHourly(List<HourlyTotal> hourlyTotals) {
+    if (hourlyTotals.isEmpty()) {
+      return 0;
+    }
+
+    int[][] updateCounts = jdbcTemplate.batchUpdate(
+        DELETE_LLM_USAGE_HOURLY_SQL,
+        hourlyTotals,
+        hourlyTotals.size(),
+        (ps, hourlyTotal) -> {
+          ps.setLong(1, hourlyTotal.key().getUserId());
+          ps.setLong(2, hourlyTotal.key().getLlmId());
+          ps.setTimestamp(3, Timestamp.valueOf(hourlyTotal.key().getBucketHour()));
+        });
+    int deletedCount = 0;
+    for (int[] batchCounts : updateCounts) {
+      for (int count : batchCounts) {
+        deletedCount += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+      }
+    }
+    return deletedCount;
+  }
+
+  /**
+   * 사용량 추가 시각을 집계 시각(시 단위)으로 변환
+   *
+   * @param createdAt 사용량 추가 시각
+   * @return 집계 시각
+   */
+  private static LocalDateTime toBucketHour(LocalDateTime createdAt) {
+    return createdAt.truncatedTo(ChronoUnit.HOURS);
+  }
+
+  /**
+   * 시간별 집계 행
+   *
+   * @param key       집계 키 (사용자 아이디, LLM 아이디, 집계 시각)
+   * @param usedToken 사용 토큰 수 합계
+   * @param callCount 호출 수
+   */
+  public record HourlyTotal(LlmUsageHourlyId key, long usedToken, long callCount) {
+  }
+}
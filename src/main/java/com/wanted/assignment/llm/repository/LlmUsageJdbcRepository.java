@@ -0,0 +1,685 @@
+package com.wanted.assignment.llm.repository;
+
+import com.wanted.assignment.common.constants.Constants;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@RequiredArgsConstructor
+@Repository
+public class LlmUsageJdbcRepository {
+
+  private static final String INSERT_IDEMPOTENCY_KEY_SQL = """
+      /* LlmUsageJdbcRepository.insertIdempotencyKeys */
+      INSERT INTO llm_usage_idempotency (idempotency_key, llm_usage_id, created_at)
+      SELECT CAST(? AS VARCHAR(64)), CAST(? AS BIGINT), CAST(? AS TIMESTAMP)
+      WHERE NOT EXISTS (
+        SELECT 1 FROM llm_usage_idempotency WHERE idempotency_key = CAST(? AS VARCHAR(64)))
+      """;
+
+  private static final String SELECT_IDEMPOTENCY_KEY_SQL = """
+      /* LlmUsageJdbcRepository.selectIdempotencyKey */
+      SELECT llm_usage_id FROM llm_usage_idempotency WHERE idempotency_key = ?
+      """;
+
+  private static final String INSERT_LLM_USAGE_SQL = """
+      /* LlmUsageJdbcRepository.insertLlmUsages */
+      INSERT INTO %s (
+        id, user_id, llm_id, used_token, idempotency_key, created_at, updated_at, is_deleted)
+      VALUES (?, ?, ?, ?, ?, ?, ?, FALSE)
+      """;
+
+  private static final String DELETE_LLM_USAGE_BY_LLM_ID_SQL = """
+      /* LlmUsageJdbcRepository.deleteLlmUsageByLlmId */
+      UPDATE %s
+      SET is_deleted = TRUE, updated_at = ?
+      WHERE llm_id = ? AND is_deleted = FALSE
+      """;
+
+  private static final String DELETE_LLM_USAGES_BEFORE_SQL = """
+      /* LlmUsageJdbcRepository.deleteLlmUsagesBefore */
+      DELETE FROM %s
+      WHERE created_at < ?
+      FETCH FIRST ? ROWS ONLY
+      """;
+
+  private static final String SELECT_USED_TOKEN_BY_LLM_ID_SQL = """
+      /* LlmUsageJdbcRepository.selectUsedTokenByLlmId */
+      SELECT llm_id, SUM(used_token)
+      FROM (
+      %s
+      ) u
+      WHERE is_deleted = FALSE AND created_at >= ? AND created_at < ?
+      GROUP BY llm_id
+      """;
+
+  private static final String SELECT_USED_TOKEN_BY_USER_ID_AND_LLM_ID_SQL = """
+      /* LlmUsageJdbcRepository.selectUsedTokenByUserIdAndLlmId */
+      SELECT user_id, llm_id, SUM(used_token)
+      FROM llm_usage_summary
+      GROUP BY user_id, llm_id
+      """;
+
+  private static final String SELECT_SUMMARY_ROWS_SQL = """
+      /* LlmUsageJdbcRepository.selectSummaryRows */
+      SELECT user_id, llm_id, bucket_time, used_token
+      FROM llm_usage_summary
+      """;
+
+  private static final String SELECT_USER_ID_BY_LLM_ID_AND_DAY_SQL = """
+      /* LlmUsageJdbcRepository.selectUserIdByLlmIdAndDay */
+      SELECT DISTINCT llm_id, CAST(bucket_time AS DATE), user_id
+      FROM llm_usage_summary
+      WHERE CAST(? AS TIMESTAMP) IS NULL OR bucket_time >= CAST(? AS TIMESTAMP)
+      """;
+
+  private static final String SELECT_SERIES_BY_MINUTE_SQL = """
+      /* LlmUsageJdbcRepository.selectSeriesByMinute */
+      SELECT DATE_TRUNC('MINUTE', created_at), SUM(used_token), COUNT(*)
+      FROM (
+      %s
+      ) u
+      WHERE llm_id = ? AND is_deleted = FALSE AND created_at >= ? AND created_at < ?
+      GROUP BY DATE_TRUNC('MINUTE', created_at)
+      """;
+
+  private static final String SELECT_USED_TOKENS_SQL = """
+      /* LlmUsageJdbcRepository.selectUsedTokens */
+      SELECT llm_id, created_at, used_token
+      FROM (
+      %s
+      ) u
+      WHERE is_deleted = FALSE AND created_at >= ?
+      """;
+
+  private static final String SELECT_LLM_USAGES_FOR_EXPORT_SQL = """
+      /* LlmUsageJdbcRepository.selectLlmUsagesForExport */
+      SELECT id, user_id, llm_id, used_token, created_at
+      FROM %s
+      WHERE is_deleted = FALSE
+        AND (CAST(? AS BIGINT) IS NULL OR user_id = CAST(? AS BIGINT))
+        AND (CAST(? AS BIGINT) IS NULL OR llm_id = CAST(? AS BIGINT))
+        AND (CAST(? AS TIMESTAMP) IS NULL OR created_at >= CAST(? AS TIMESTAMP))
+        AND (CAST(? AS TIMESTAMP) IS NULL OR created_at < CAST(? AS TIMESTAMP))
+      """;
+
+  // H2는 기본적으로 결과 전체를 만든 뒤 반환하므로, 내보내기 커넥션에서만 행을 읽는 대로 만들도록 전환
+  private static final String ENABLE_LAZY_QUERY_SQL = "SET LAZY_QUERY_EXECUTION TRUE";
+  private static final String DISABLE_LAZY_QUERY_SQL = "SET LAZY_QUERY_EXECUTION FALSE";
+
+  private static final String SELECT_SERIES_BY_HOUR_SQL = """
+      /* LlmUsageJdbcRepository.selectSeriesByHour */
+      SELECT bucket_time, SUM(used_token), SUM(call_count)
+      FROM llm_usage_summary
+      WHERE llm_id = ? AND bucket_time >= ? AND bucket_time < ?
+      GROUP BY bucket_time
+      """;
+
+  private static final String NEXT_ID_SQL = """
+      /* LlmUsageJdbcRepository.allocateIds */
+      SELECT NEXT VALUE FOR llm_usage_seq
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final UsageProperties usageProperties;
+  private final LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+
+  // pooled-lo 아이디 구간 [nextId, idLimit)
+  private final ReentrantLock idLock = new ReentrantLock();
+  private long nextId;
+  private long idLimit;
+
+  /**
+   * LLM 사용량 일괄 기록 (JDBC 배치 INSERT)
+   *
+   * <p>아이디는 {@link #allocateIds(int)}로 미리 할당한 뒤 INSERT 문에 직접 지정하므로, 건별로
+   * 생성 키를 조회하지 않고 {@link JdbcTemplate#batchUpdate}로 설정된 건수만큼 묶어서 실행한다.
+   * 할당된 아이디는 전달받은 엔티티에 설정된다.
+   *
+   * <p>멱등 키가 있는 행은 같은 트랜잭션에서 먼저 멱등 키 테이블(llm_usage_idempotency)에 기록하며,
+   * 이미 기록된 키의 행은 INSERT 하지 않고 해당 엔티티의 아이디를 null로 되돌린다. 멱등 키 테이블은
+   * 세그먼트와 관계없이 키를 기본 키로 가지므로 사용량 추가 시각의 월이 달라도 중복 기록되지 않으며, 중복
+   * 확인은 INSERT 문 안에서 기본 키 인덱스로 처리되어 별도의 조회가 실행되지 않는다. 다른 트랜잭션이 같은
+   * 키를 동시에 기록하여 기본 키가 충돌하면 요청 전체를 실패시키지 않고 건별로 다시 확인하여 해당 행만
+   * 중복으로 처리한다.
+   *
+   * <p>각 행은 사용량 추가 시각(createdAt)의 월에 해당하는 세그먼트 테이블에 저장된다.
+   *
+   * @param llmUsages 기록할 LLM 사용량 목록
+   * @return 기록된 건수
+   */
+  public int insertLlmUsages(List<LlmUsageEntity> llmUsages) {
+    if (llmUsages.isEmpty()) {
+      return 0;
+    }
+
+    long[] ids = allocateIds(llmUsages.size());
+    for (int i = 0; i < ids.length; i++) {
+      llmUsages.get(i).setId(ids[i]);
+    }
+    insertIdempotencyKeys(llmUsages);
+
+    // 사용량 추가 시각의 월별 세그먼트로 나누어 저장 (대부분은 한 세그먼트)
+    Map<YearMonth, List<LlmUsageEntity>> llmUsagesBySegment = new TreeMap<>();
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() == null) {
+        continue;
+      }
+      llmUsagesBySegment
+          .computeIfAbsent(YearMonth.from(llmUsage.getCreatedAt()), k -> new ArrayList<>())
+          .add(llmUsage);
+    }
+
+    int insertedCount = 0;
+    for (Map.Entry<YearMonth, List<LlmUsageEntity>> entry : llmUsagesBySegment.entrySet()) {
+      insertedCount += insertLlmUsages(entry.getKey(), entry.getValue());
+    }
+    return insertedCount;
+  }
+
+  /**
+   * LLM 아이디를 기준으로 모든 세그먼트의 사용량 삭제(isDeleted)
+   *
+   * <p>llm_usage 는 세그먼트를 합친 뷰이므로 UPDATE 할 수 없어, 세그먼트마다 UPDATE 를 실행한다.
+   *
+   * @param llmId 삭제할 LLM 아이디
+   * @return LLM 사용량 삭제 여부
+   */
+  public boolean deleteLlmUsageByLlmId(Long llmId) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    int deletedCount = 0;
+    for (YearMonth segment : llmUsageSegmentJdbcRepository.selectSegments()) {
+      deletedCount += jdbcTemplate.update(
+          DELETE_LLM_USAGE_BY_LLM_ID_SQL.formatted(
+              LlmUsageSegmentJdbcRepository.toSegmentName(segment)),
+          now, llmId);
+    }
+    return deletedCount > 0;
+  }
+
+  /**
+   * 한 세그먼트에서 기준 시각 이전의 사용량을 최대 건수만큼 삭제
+   *
+   * <p>압축(compaction) 작업이 이미 집계에 반영된 오래된 원본을 정리할 때 사용하며, 한 번에 삭제하는
+   * 건수를 제한하여 잠금을 오래 잡지 않는다.
+   *
+   * @param segment 삭제할 세그먼트 월
+   * @param before  기준 시각 (제외)
+   * @param limit   최대 삭제 건수
+   * @return 삭제된 건수
+   */
+  public int deleteLlmUsagesBefore(YearMonth segment, LocalDateTime before, int limit) {
+    String segmentName = LlmUsageSegmentJdbcRepository.toSegmentName(segment);
+    return jdbcTemplate.update(
+        DELETE_LLM_USAGES_BEFORE_SQL.formatted(segmentName), Timestamp.valueOf(before), limit);
+  }
+
+  /**
+   * 기간 내 LLM별 사용 토큰 수 합계 (원본 사용량 기준)
+   *
+   * <p>기간과 겹치는 세그먼트만 UNION ALL 하여 조회하므로, 조회 비용은 전체 이력이 아닌 기간에
+   * 해당하는 세그먼트의 행 수에 비례한다.
+   *
+   * @param from 조회 시작 시각 (포함)
+   * @param to   조회 종료 시각 (제외)
+   * @return LLM 아이디별 사용 토큰 수 합계
+   */
+  public Map<Long, Long> selectUsedTokenByLlmId(LocalDateTime from, LocalDateTime to) {
+    List<YearMonth> segments = llmUsageSegmentJdbcRepository.selectSegmentsBetween(from, to);
+    if (segments.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<Long, Long> usedTokenByLlmId = new HashMap<>();
+    jdbcTemplate.query(
+        SELECT_USED_TOKEN_BY_LLM_ID_SQL.formatted(LlmUsageSegmentJdbcRepository.unionAll(segments)),
+        rs -> {
+          usedTokenByLlmId.put(rs.getLong(1), rs.getLong(2));
+        },
+        Timestamp.valueOf(from), Timestamp.valueOf(to));
+    return usedTokenByLlmId;
+  }
+
+  /**
+   * (사용자, LLM)별 전체 사용 토큰 수 합계 (집계 뷰 기준)
+   *
+   * <p>(사용자, LLM) 조합이 매우 많을 수 있으므로 결과를 목록으로 모으지 않고 한 행씩 전달한다.
+   *
+   * @param handler 행마다 호출할 처리기
+   */
+  public void selectUsedTokenByUserIdAndLlmId(UsedTokenHandler handler) {
+    jdbcTemplate.query(
+        SELECT_USED_TOKEN_BY_USER_ID_AND_LLM_ID_SQL,
+        rs -> {
+          handler.handle(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+        });
+  }
+
+  /**
+   * 집계 뷰의 모든 행 (시간별 집계와 압축된 일별 집계)
+   *
+   * <p>열 저장소를 시작 시 적재할 때 사용한다. 결과가 많을 수 있으므로 목록으로 모으지 않고 한 행씩
+   * 전달한다.
+   *
+   * @param handler 행마다 호출할 처리기
+   */
+  public void selectSummaryRows(SummaryHandler handler) {
+    jdbcTemplate.query(
+        SELECT_SUMMARY_ROWS_SQL,
+        rs -> {
+          handler.handle(rs.getLong(1), rs.getLong(2),
+              rs.getTimestamp(3).toLocalDateTime(), rs.getLong(4));
+        });
+  }
+
+  /**
+   * 시각 이후 (LLM, 일자)별 사용자 아이디 (집계 뷰 기준, 중복 제거)
+   *
+   * <p>사용자 수 스케치를 시작 시 복구할 때 사용한다. 결과가 많을 수 있으므로 목록으로 모으지 않고 한
+   * 행씩 전달한다.
+   *
+   * @param from    조회 시작 시각 (포함, null이면 처음부터)
+   * @param handler 행마다 호출할 처리기
+   */
+  public void selectUserIdByLlmIdAndDay(LocalDateTime from, UserDayHandler handler) {
+    Timestamp fromTimestamp = from == null ? null : Timestamp.valueOf(from);
+    jdbcTemplate.query(
+        SELECT_USER_ID_BY_LLM_ID_AND_DAY_SQL,
+        rs -> {
+          handler.handle(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getLong(3));
+        },
+        fromTimestamp, fromTimestamp);
+  }
+
+  /**
+   * 기간 내 특정 LLM의 분 단위 사용 토큰 수와 호출 수 (원본 사용량 기준)
+   *
+   * <p>기간과 겹치는 세그먼트만 조회하며, 압축 작업이 이미 삭제한 원본 기간은 결과가 없다. 사용량이 없는
+   * 분은 결과에 포함되지 않는다.
+   *
+   * @param llmId   LLM 아이디
+   * @param from    조회 시작 시각 (포함)
+   * @param to      조회 종료 시각 (제외)
+   * @param handler 분마다 호출할 처리기
+   */
+  public void selectSeriesByMinute(
+      long llmId, LocalDateTime from, LocalDateTime to, SeriesHandler handler) {
+    List<YearMonth> segments = llmUsageSegmentJdbcRepository.selectSegmentsBetween(from, to);
+    if (segments.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.query(
+        SELECT_SERIES_BY_MINUTE_SQL.formatted(LlmUsageSegmentJdbcRepository.unionAll(segments)),
+        rs -> {
+          handler.handle(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2), rs.getLong(3));
+        },
+        llmId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+  }
+
+  /**
+   * 시각 이후 건별 사용 토큰 수 (원본 사용량 기준)
+   *
+   * <p>사용 토큰 수 분포를 시작 시 적재할 때 사용한다. 시각 이후 세그먼트만 조회하며, 결과가 많을 수
+   * 있으므로 목록으로 모으지 않고 한 행씩 전달한다.
+   *
+   * @param from    조회 시작 시각 (포함)
+   * @param handler 행마다 호출할 처리기
+   */
+  public void selectUsedTokens(LocalDateTime from, UsageHandler handler) {
+    List<YearMonth> segments = llmUsageSegmentJdbcRepository.selectSegmentsBetween(from, null);
+    if (segments.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.query(
+        SELECT_USED_TOKENS_SQL.formatted(LlmUsageSegmentJdbcRepository.unionAll(segments)),
+        rs -> {
+          handler.handle(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getInt(3));
+        },
+        Timestamp.valueOf(from));
+  }
+
+  /**
+   * 조건에 맞는 원본 사용량을 한 행씩 전달 (내보내기)
+   *
+   * <p>하나의 커넥션에서 기간과 겹치는 세그먼트를 월 순서로 하나씩 조회하며, 전진 전용(forward-only) 읽기 전용
+   * 커서를 고정된 fetch size로 읽어 행을 모으지 않고 바로 전달한다. 결과 행 수와 관계없이 메모리에는 fetch
+   * size 만큼의 행만 있다. 세그먼트 안의 행 순서는 보장하지 않으며, 압축되어 일별 집계만 남은 기간은 포함되지
+   * 않는다.
+   *
+   * @param userId    사용자 아이디 (null이면 전체)
+   * @param llmId     LLM 아이디 (null이면 전체)
+   * @param from      조회 시작 시각 (포함, null이면 처음부터)
+   * @param to        조회 종료 시각 (제외, null이면 끝까지)
+   * @param fetchSize 한 번에 가져올 행 수
+   * @param handler   행마다 호출할 처리기
+   */
+  public void selectLlmUsagesForExport(Long userId, Long llmId, LocalDateTime from,
+      LocalDateTime to, int fetchSize, ExportHandler handler) {
+    List<YearMonth> segments = llmUsageSegmentJdbcRepository.selectSegmentsBetween(from, to);
+    if (segments.isEmpty()) {
+      return;
+    }
+
+    Timestamp fromTimestamp = from == null ? null : Timestamp.valueOf(from);
+    Timestamp toTimestamp = to == null ? null : Timestamp.valueOf(to);
+    Object[] args = {
+        userId, userId, llmId, llmId, fromTimestamp, fromTimestamp, toTimestamp, toTimestamp};
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute(ENABLE_LAZY_QUERY_SQL);
+      }
+      try {
+        for (YearMonth segment : segments) {
+          try (PreparedStatement ps = connection.prepareStatement(
+              SELECT_LLM_USAGES_FOR_EXPORT_SQL.formatted(
+                  LlmUsageSegmentJdbcRepository.toSegmentName(segment)),
+              ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+              ps.setObject(i + 1, args[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+              while (rs.next()) {
+                handler.handle(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getInt(4),
+                    rs.getTimestamp(5).toLocalDateTime());
+              }
+            }
+          }
+        }
+      } finally {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute(DISABLE_LAZY_QUERY_SQL);
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * 기간 내 특정 LLM의 시간 단위 사용 토큰 수와 호출 수 (집계 뷰 기준)
+   *
+   * <p>압축된 일별 집계는 해당 일자 0시 구간으로 조회된다. 사용량이 없는 시간은 결과에 포함되지 않는다.
+   *
+   * @param llmId   LLM 아이디
+   * @param from    조회 시작 시각 (포함)
+   * @param to      조회 종료 시각 (제외)
+   * @param handler 시간마다 호출할 처리기
+   */
+  public void selectSeriesByHour(
+      long llmId, LocalDateTime from, LocalDateTime to, SeriesHandler handler) {
+    jdbcTemplate.query(
+        SELECT_SERIES_BY_HOUR_SQL,
+        rs -> {
+          handler.handle(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2), rs.getLong(3));
+        },
+        llmId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+  }
+
+  /**
+   * 멱등 키가 있는 사용량의 키를 멱등 키 테이블에 일괄 기록
+   *
+   * <p>이미 기록된 키(같은 목록 안의 앞선 행 포함)의 사용량은 아이디를 null로 되돌린다.
+   *
+   * @param llmUsages 기록할 LLM 사용량 목록 (아이디 할당 완료)
+   */
+  private void insertIdempotencyKeys(List<LlmUsageEntity> llmUsages) {
+    List<LlmUsageEntity> keyedUsages = llmUsages.stream()
+        .filter(llmUsage -> llmUsage.getIdempotencyKey() != null)
+        .toList();
+    if (keyedUsages.isEmpty()) {
+      return;
+    }
+
+    int[][] updateCounts;
+    try {
+      updateCounts = jdbcTemplate.batchUpdate(
+          INSERT_IDEMPOTENCY_KEY_SQL,
+          keyedUsages,
+          usageProperties.getBatch().getJdbcBatchSize(),
+          (ps, llmUsage) -> {
+            ps.setString(1, llmUsage.getIdempotencyKey());
+            ps.setLong(2, llmUsage.getId());
+            ps.setTimestamp(3, Timestamp.valueOf(llmUsage.getCreatedAt()));
+            ps.setString(4, llmUsage.getIdempotencyKey());
+          });
+    } catch (DataIntegrityViolationException e) {
+      // NOT EXISTS 로는 커밋되지 않은 다른 트랜잭션의 같은 키를 볼 수 없어 기본 키가 충돌한 경우
+      log.warn("멱등 키 일괄 기록 중 키 충돌, 건별 확인 - 건수: {}", keyedUsages.size());
+      keyedUsages.forEach(this::insertIdempotencyKey);
+      return;
+    }
+
+    int index = 0;
+    for (int[] batchCounts : updateCounts) {
+      for (int count : batchCounts) {
+        if (count == 0) {
+          keyedUsages.get(index).setId(null);
+        }
+        index++;
+      }
+    }
+  }
+
+  /**
+   * 멱등 키 한 건 기록 (일괄 기록 중 키가 충돌한 경우)
+   *
+   * <p>실패한 일괄 기록에서 이미 기록된 키는 그대로 두고, 다른 사용량이 기록한 키이거나 동시에 기록되어
+   * 기본 키가 충돌하면 아이디를 null로 되돌린다.
+   *
+   * @param llmUsage 기록할 LLM 사용량 (아이디 할당 완료)
+   */
+  private void insertIdempotencyKey(LlmUsageEntity llmUsage) {
+    List<Long> storedIds = jdbcTemplate.queryForList(
+        SELECT_IDEMPOTENCY_KEY_SQL, Long.class, llmUsage.getIdempotencyKey());
+    if (!storedIds.isEmpty()) {
+      if (!storedIds.get(0).equals(llmUsage.getId())) {
+        llmUsage.setId(null);
+      }
+      return;
+    }
+    try {
+      int count = jdbcTemplate.update(
+          INSERT_IDEMPOTENCY_KEY_SQL,
+          llmUsage.getIdempotencyKey(),
+          llmUsage.getId(),
+          Timestamp.valueOf(llmUsage.getCreatedAt()),
+          llmUsage.getIdempotencyKey());
+      if (count == 0) {
+        llmUsage.setId(null);
+      }
+    } catch (DuplicateKeyException e) {
+      llmUsage.setId(null);
+    }
+  }
+
+  /**
+   * 한 세그먼트에 LLM 사용량 일괄 기록
+   *
+   * <p>세그먼트는 세그먼트 관리 작업(LlmUsageSegmentManager)이 다음 달까지 미리 생성한다. 기록 트랜잭션
+   * 안에서 세그먼트를 만들면 DDL을 위한 커넥션을 하나 더 잡아야 하므로, 월이 바뀌는 시점에 기록이 몰리면
+   * 커넥션 풀이 고갈되어 교착될 수 있다. 따라서 세그먼트가 없으면 생성하지 않고 바로 실패한다.
+   *
+   * @param segment   저장할 세그먼트 월
+   * @param llmUsages 기록할 LLM 사용량 목록 (아이디 할당 완료)
+   * @return 기록된 건수
+   * @throws IllegalStateException 세그먼트가 없는 경우 (보관 기간이 지났거나 아직 생성되지 않은 월)
+   */
+  private int insertLlmUsages(YearMonth segment, List<LlmUsageEntity> llmUsages) {
+    if (!llmUsageSegmentJdbcRepository.hasSegment(segment)) {
+      throw new IllegalStateException("LLM 사용량 세그먼트가 없습니다: "
+          + LlmUsageSegmentJdbcRepository.toSegmentName(segment));
+    }
+
+    int[][] updateCounts = jdbcTemplate.batchUpdate(
+        INSERT_LLM_USAGE_SQL.formatted(LlmUsageSegmentJdbcRepository.toSegmentName(segment)),
+        llmUsages,
+        usageProperties.getBatch().getJdbcBatchSize(),
+        (ps, llmUsage) -> {
+          ps.setLong(1, llmUsage.getId());
+          ps.setLong(2, llmUsage.getUserId());
+          ps.setLong(3, llmUsage.getLlmId());
+          ps.setInt(4, llmUsage.getUsedToken());
+          ps.setString(5, llmUsage.getIdempotencyKey());
+          ps.setTimestamp(6, Timestamp.valueOf(llmUsage.getCreatedAt()));
+          ps.setTimestamp(7, Timestamp.valueOf(llmUsage.getUpdatedAt()));
+        });
+
+    int insertedCount = 0;
+    for (int[] batchCounts : updateCounts) {
+      for (int count : batchCounts) {
+        // 드라이버가 건수를 알려주지 않는 경우(SUCCESS_NO_INFO)도 성공으로 간주
+        insertedCount += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+      }
+    }
+    return insertedCount;
+  }
+
+  /**
+   * llm_usage_seq 시퀀스에서 pooled-lo 방식으로 아이디 할당
+   *
+   * <p>시퀀스 값 하나가 [값, 값 + {@link Constants#ID_ALLOCATION_SIZE}) 구간을 의미하므로, 채번은
+   * 할당 크기만큼의 아이디를 소진했을 때만 실행된다. Hibernate의 pooled-lo 옵티마이저와 같은 방식이라
+   * JPA 저장과 아이디가 겹치지 않는다.
+   *
+   * @param count 할당할 아이디 개수
+   * @return 할당된 아이디 배열
+   */
+  public long[] allocateIds(int count) {
+    long[] ids = new long[count];
+    idLock.lock();
+    try {
+      for (int i = 0; i < count; i++) {
+        if (nextId >= idLimit) {
+          Long lo = jdbcTemplate.queryForObject(NEXT_ID_SQL, Long.class);
+          nextId = lo;
+          idLimit = lo + Constants.ID_ALLOCATION_SIZE;
+        }
+        ids[i] = nextId++;
+      }
+    } finally {
+      idLock.unlock();
+    }
+    return ids;
+  }
+
+  /**
+   * (사용자, LLM)별 사용 토큰 수 합계 처리기
+   */
+  @FunctionalInterface
+  public interface UsedTokenHandler {
+
+    /**
+     * 한 (사용자, LLM) 조합의 합계 처리
+     *
+     * @param userId    사용자 아이디
+     * @param llmId     LLM 아이디
+     * @param usedToken 사용 토큰 수 합계
+     */
+    void handle(long userId, long llmId, long usedToken);
+  }
+
+  /**
+   * (LLM, 일자)별 사용자 아이디 처리기
+   */
+  @FunctionalInterface
+  public interface UserDayHandler {
+
+    /**
+     * 한 (LLM, 일자, 사용자) 조합 처리
+     *
+     * @param llmId     LLM 아이디
+     * @param bucketDay 집계 일자
+     * @param userId    사용자 아이디
+     */
+    void handle(long llmId, LocalDate bucketDay, long userId);
+  }
+
+  /**
+   * 집계 뷰 행 처리기
+   */
+  @FunctionalInterface
+  public interface SummaryHandler {
+
+    /**
+     * 한 집계 행 처리
+     *
+     * @param userId     사용자 아이디
+     * @param llmId      LLM 아이디
+     * @param bucketTime 집계 시각 (시간 또는 일 시작)
+     * @param usedToken  사용 토큰 수 합계
+     */
+    void handle(long userId, long llmId, LocalDateTime bucketTime, long usedToken);
+  }
+
+  /**
+   * 건별 사용 토큰 수 처리기
+   */
+  @FunctionalInterface
+  public interface UsageHandler {
+
+    /**
+     * 한 건의 사용량 처리
+     *
+     * @param llmId     LLM 아이디
+     * @param createdAt 사용량 추가 시각
+     * @param usedToken 사용 토큰 수
+     */
+    void handle(long llmId, LocalDateTime createdAt, int usedToken);
+  }
+
+  /**
+   * 내보낼 원본 사용량 처리기
+   */
+  @FunctionalInterface
+  public interface ExportHandler {
+
+    /**
+     * 한 건의 원본 사용량 처리
+     *
+     * @param id        LLM 사용량 아이디
+     * @param userId    사용자 아이디
+     * @param llmId     LLM 아이디
+     * @param usedToken 사용 토큰 수
+     * @param createdAt 사용량 추가 시각
+     */
+    void handle(long id, long userId, long llmId, int usedToken, LocalDateTime createdAt);
+  }
+
+  /**
+   * 구간별 사용 토큰 수와 호출 수 처리기
+   */
+  @FunctionalInterface
+  public interface SeriesHandler {
+
+    /**
+     * 한 구간의 합계 처리
+     *
+     * @param bucketTime 구간 시작 시각
+     * @param usedToken  사용 토큰 수 합계
+     * @param callCount  호출 수
+     */
+    void handle(LocalDateTime bucketTime, long usedToken, long callCount);
+  }
+}
@@ -1,14 +1,21 @@
 package com.wanted.assignment.llm.repository;
 
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.domain.entity.QLlmEntity;
-import com.wanted.assignment.domain.entity.QLlmUsageEntity;
+import com.wanted.assignment.domain.entity.QLlmUsageDailyEntity;
+import com.wanted.assignment.domain.entity.QLlmUsageHourlyEntity;
+import com.wanted.assignment.domain.entity.QLlmUsageSummaryEntity;
+import com.wanted.assignment.domain.entity.QUsersEntity;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
@@ -21,30 +28,122 @@ public class LlmUsageQueryRepository {
   private final JPAQueryFactory jpaQueryFactory;
 
   /**
-   * LLM 아이디를 기준으로 삭제(isDeleted)
+   * LLM 아이디를 기준으로 시간별 사용량 집계 삭제
+   *
+   * <p>원본 사용량이 삭제(isDeleted)되면 집계에서도 제외되어야 하므로 함께 삭제한다.
+   *
+   * @param llmId 삭제할 LLM 아이디
+   * @return 삭제된 집계 건수
+   */
+  public long deleteLlmUsageHourlyByLlmId(Long llmId) {
+    QLlmUsageHourlyEntity llmUsageHourlyEntity = QLlmUsageHourlyEntity.llmUsageHourlyEntity;
+    return jpaQueryFactory
+        .delete(llmUsageHourlyEntity)
+        .where(llmUsageHourlyEntity.llmId.eq(llmId))
+        .execute();
+  }
+
+  /**
+   * LLM 아이디를 기준으로 일별 사용량 집계 삭제
+   *
+   * <p>원본 사용량이 삭제(isDeleted)되면 집계에서도 제외되어야 하므로 함께 삭제한다.
    *
    * @param llmId 삭제할 LLM 아이디
-   * @return LLM 삭제 여부
+   * @return 삭제된 집계 건수
    */
-  public boolean deleteLlmUsageByLlmId(Long llmId) {
-    QLlmUsageEntity llmUsageEntity = QLlmUsageEntity.llmUsageEntity;
+  public long deleteLlmUsageDailyByLlmId(Long llmId) {
+    QLlmUsageDailyEntity llmUsageDailyEntity = QLlmUsageDailyEntity.llmUsageDailyEntity;
     return jpaQueryFactory
-        .update(llmUsageEntity)
-        .set(llmUsageEntity.isDeleted, true)
-        .set(llmUsageEntity.updatedAt, LocalDateTime.now())
-        .where(llmUsageEntity.llmId.eq(llmId)
-            .and(llmUsageEntity.isDeleted.eq(false)))
-        .execute() > 0;
+        .delete(llmUsageDailyEntity)
+        .where(llmUsageDailyEntity.llmId.eq(llmId))
+        .execute();
+  }
+
+  /**
+   * LLM 아이디별 전체 사용 토큰 수 합계 (집계 뷰 기준)
+   *
+   * <p>메모리 카운터를 시작 시 적재하거나 다시 적재할 때 사용한다.
+   *
+   * @return LLM 아이디별 사용 토큰 수 합계
+   */
+  public Map<Long, Long> selectTotalUsedTokenByLlmId() {
+    QLlmUsageSummaryEntity llmUsageSummaryEntity = QLlmUsageSummaryEntity.llmUsageSummaryEntity;
+    NumberExpression<Long> usedTokenSum = llmUsageSummaryEntity.usedToken.sum();
+
+    Map<Long, Long> usedTokenByLlmId = new HashMap<>();
+    jpaQueryFactory
+        .select(llmUsageSummaryEntity.llmId, usedTokenSum)
+        .from(llmUsageSummaryEntity)
+        .groupBy(llmUsageSummaryEntity.llmId)
+        .setHint(Constants.HIBERNATE_SQL_COMMENT,
+            "LlmUsageQueryRepository.selectTotalUsedTokenByLlmId")
+        .fetch()
+        .forEach(tuple -> usedTokenByLlmId.put(
+            tuple.get(llmUsageSummaryEntity.llmId), tuple.get(usedTokenSum)));
+    return usedTokenByLlmId;
+  }
+
+  /**
+   * 특정 LLM의 전체 사용 토큰 수 합계 (집계 뷰 기준)
+   *
+   * <p>(llm_id, 집계 시각, used_token) 커버링 인덱스로 해당 LLM의 집계 행만 읽으므로 조회 비용은 다른
+   * LLM의 행 수와 관계없다.
+   *
+   * @param llmId LLM 아이디
+   * @return 사용 토큰 수 합계 (사용량이 없으면 0)
+   */
+  public long selectTotalUsedToken(Long llmId) {
+    QLlmUsageSummaryEntity llmUsageSummaryEntity = QLlmUsageSummaryEntity.llmUsageSummaryEntity;
+
+    Long usedTokenSum = jpaQueryFactory
+        .select(llmUsageSummaryEntity.usedToken.sum())
+        .from(llmUsageSummaryEntity)
+        .where(llmUsageSummaryEntity.llmId.eq(llmId))
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "LlmUsageQueryRepository.selectTotalUsedToken")
+        .fetchOne();
+    return usedTokenSum == null ? 0L : usedTokenSum;
+  }
+
+  /**
+   * 집계 시각 기간 조건 (기간이 없으면 null)
+   *
+   * <p>집계 뷰의 행은 시간(압축된 기간은 일) 단위이고 집계 시각(구간 시작)으로 포함 여부가 정해지므로, 경계가
+   * 집계 단위 중간에 있으면 구간 일부만 기간에 겹쳐도 빠지거나 포함된다. 호출하는 서비스는
+   * LlmUsageCompactor.alignFrom/alignTo 로 경계를 집계 단위에 맞춘 뒤 전달한다.
+   *
+   * @param llmUsageSummaryEntity 집계 뷰
+   * @param from                  조회 시작 시각 (포함, null이면 처음부터)
+   * @param to                    조회 종료 시각 (제외, null이면 끝까지)
+   * @return 기간 조건
+   */
+  public static BooleanExpression bucketTimeBetween(
+      QLlmUsageSummaryEntity llmUsageSummaryEntity, LocalDateTime from, LocalDateTime to) {
+    BooleanExpression fromCondition = from == null
+        ? null : llmUsageSummaryEntity.bucketTime.goe(from);
+    BooleanExpression toCondition = to == null
+        ? null : llmUsageSummaryEntity.bucketTime.lt(to);
+    if (fromCondition == null) {
+      return toCondition;
+    }
+    return fromCondition.and(toCondition);
   }
 
   /**
    * LLM별 사용량 조회
    *
+   * <p>원본 사용량 대신 시간별 집계와 압축된 일별 집계를 합친 집계 뷰를 합산하므로, 조회 비용은 호출 수가
+   * 아닌 집계 행 수에 비례하며 압축 여부와 관계없이 합계가 같다. 기간을 지정하면 (llm_id, 집계 시각,
+   * used_token) 커버링 인덱스로 기간에 해당하는 집계 행만 읽으므로, 조회 비용은 전체 행 수가 아닌 기간에
+   * 비례한다. 기간에 사용량이 없는 LLM은 합계와 금액이 null이다.
+   *
+   * @param from 조회 시작 시각 (포함, null이면 처음부터)
+   * @param to   조회 종료 시각 (제외, null이면 끝까지)
    * @return LLM별 사용량 정보
    */
-  public List<LlmUsageDto.StatsResponse> selectLlmUsageStats() {
+  public List<LlmUsageDto.StatsResponse> selectLlmUsageStats(
+      LocalDateTime from, LocalDateTime to) {
 
-    QLlmUsageEntity llmUsageEntity = QLlmUsageEntity.llmUsageEntity;
+    QLlmUsageSummaryEntity llmUsageSummaryEntity = QLlmUsageSummaryEntity.llmUsageSummaryEntity;
     QLlmEntity llmEntity = QLlmEntity.llmEntity;
 
     return jpaQueryFactory
@@ -54,18 +153,50 @@ public class LlmUsageQueryRepository {
                 llmEntity.id,
                 llmEntity.name,
                 Expressions.asNumber(
-                        llmUsageEntity.usedToken.sum())
+                        llmUsageSummaryEntity.usedToken.sum())
                     .castToNum(Long.class).as("totalUsedToken"),
                 Expressions.asNumber(
-                        llmUsageEntity.usedToken.sum().multiply(llmEntity.pricePerToken))
+                        llmUsageSummaryEntity.usedToken.sum().multiply(llmEntity.pricePerToken))
                     .castToNum(Long.class).as("totalPrice"))
         )
         .from(llmEntity)
-        .leftJoin(llmUsageEntity).on(llmEntity.id.eq(llmUsageEntity.llmId)
-            .and(llmUsageEntity.isDeleted.eq(false)))
+        .leftJoin(llmUsageSummaryEntity).on(llmEntity.id.eq(llmUsageSummaryEntity.llmId)
+            .and(bucketTimeBetween(llmUsageSummaryEntity, from, to)))
         .where(llmEntity.isDeleted.eq(false))
         .groupBy(llmEntity.id, llmEntity.name)
         .setHint(Constants.HIBERNATE_SQL_COMMENT, "LlmUsageQueryRepository.selectLlmUsageStats")
         .fetch();
   }
+
+  /**
+   * 특정 LLM의 사용 토큰 수 상위 사용자 조회 (집계 뷰 기준, 정확한 합계)
+   *
+   * <p>해당 LLM의 집계 행을 사용자별로 합산하여 정렬하므로 조회 비용은 LLM의 집계 행 수에 비례한다.
+   * 삭제된 사용자는 제외한다.
+   *
+   * @param llmId LLM 아이디
+   * @param limit 최대 사용자 수
+   * @return 사용 토큰 수 내림차순 사용자 목록 (오차 0)
+   */
+  public List<LlmUsageDto.TopUser> selectTopUsers(Long llmId, int limit) {
+    QLlmUsageSummaryEntity llmUsageSummaryEntity = QLlmUsageSummaryEntity.llmUsageSummaryEntity;
+    QUsersEntity usersEntity = QUsersEntity.usersEntity;
+    NumberExpression<Long> usedTokenSum = llmUsageSummaryEntity.usedToken.sum();
+
+    return jpaQueryFactory
+        .select(llmUsageSummaryEntity.userId, usedTokenSum)
+        .from(llmUsageSummaryEntity)
+        .join(usersEntity).on(usersEntity.id.eq(llmUsageSummaryEntity.userId))
+        .where(llmUsageSummaryEntity.llmId.eq(llmId),
+            usersEntity.isDeleted.eq(false))
+        .groupBy(llmUsageSummaryEntity.userId)
+        .orderBy(usedTokenSum.desc(), llmUsageSummaryEntity.userId.asc())
+        .limit(limit)
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "LlmUsageQueryRepository.selectTopUsers")
+        .fetch()
+        .stream()
+        .map(tuple -> LlmUsageDto.TopUser.of(
+            tuple.get(llmUsageSummaryEntity.userId), tuple.get(usedTokenSum), 0L))
+        .toList();
+  }
 }
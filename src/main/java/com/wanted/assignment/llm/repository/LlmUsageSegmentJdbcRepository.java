@@ -0,0 +1,303 @@
+package com.wanted.assignment.llm.repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 월별 LLM 사용량 세그먼트 테이블 관리
+ *
+ * <p>LLM 사용량 원본은 월별 물리 테이블(llm_usage_yyyyMM)에 나누어 저장하고, 전체 이력 조회는 모든
+ * 세그먼트를 UNION ALL 한 llm_usage 뷰로 처리한다. 기간 조회는 {@link #selectSegmentsBetween}으로
+ * 겹치는 세그먼트만 골라 조회하고, 보관 기간이 지난 이력은 행 단위 DELETE 대신 세그먼트 테이블 DROP 한
+ * 번으로 삭제한다.
+ *
+ * <p>H2에서 DDL은 실행 중인 트랜잭션을 커밋하므로, 세그먼트 생성/삭제는 호출한 트랜잭션과 분리된 새
+ * 트랜잭션(커넥션)에서 실행한다. 기록 트랜잭션 안에서 호출하면 커넥션을 하나 더 잡게 되므로, 세그먼트
+ * 생성은 세그먼트 관리 작업(LlmUsageSegmentManager)에서만 호출한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Repository
+public class LlmUsageSegmentJdbcRepository {
+
+  public static final String VIEW_NAME = "llm_usage";
+  private static final String SEGMENT_PREFIX = "llm_usage_";
+  private static final DateTimeFormatter SEGMENT_SUFFIX_FORMAT =
+      DateTimeFormatter.ofPattern("uuuuMM");
+  private static final Pattern SEGMENT_NAME_PATTERN = Pattern.compile("llm_usage_\\d{6}");
+  private static final DateTimeFormatter TIMESTAMP_LITERAL_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private static final String CREATE_SEGMENT_SQL = """
+      /* LlmUsageSegmentJdbcRepository.createSegment */
+      CREATE TABLE IF NOT EXISTS %1$s (
+        id BIGINT DEFAULT NEXT VALUE FOR llm_usage_seq PRIMARY KEY,
+        user_id BIGINT NOT NULL,
+        llm_id BIGINT NOT NULL,
+        used_token INT NOT NULL,
+        idempotency_key VARCHAR(64),
+        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+        is_deleted BOOLEAN DEFAULT FALSE,
+
+        CHECK (created_at >= TIMESTAMP '%2$s' AND created_at < TIMESTAMP '%3$s'),
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+        FOREIGN KEY (llm_id) REFERENCES llm(id) ON DELETE CASCADE
+      )
+      """;
+
+  private static final String REPLACE_VIEW_SQL = """
+      /* LlmUsageSegmentJdbcRepository.replaceView */
+      CREATE OR REPLACE VIEW %s AS
+      %s
+      """;
+
+  private static final String SELECT_SEGMENT_COLUMNS_SQL = """
+      SELECT id, user_id, llm_id, used_token, idempotency_key, created_at, updated_at, is_deleted
+      FROM %s""";
+
+  private static final String DROP_SEGMENT_SQL = """
+      /* LlmUsageSegmentJdbcRepository.dropSegment */
+      DROP TABLE IF EXISTS %s
+      """;
+
+  private static final String DROP_VIEW_SQL = """
+      /* LlmUsageSegmentJdbcRepository.dropAllSegments */
+      DROP VIEW IF EXISTS %s
+      """;
+
+  private static final String DELETE_IDEMPOTENCY_KEYS_BEFORE_SQL = """
+      /* LlmUsageSegmentJdbcRepository.dropSegment */
+      DELETE FROM llm_usage_idempotency
+      WHERE created_at < ?
+      """;
+
+  private static final String SELECT_SEGMENT_NAMES_SQL = """
+      /* LlmUsageSegmentJdbcRepository.refreshSegments */
+      SELECT LOWER(TABLE_NAME)
+      FROM INFORMATION_SCHEMA.TABLES
+      WHERE TABLE_SCHEMA = CURRENT_SCHEMA
+        AND TABLE_TYPE = 'BASE TABLE'
+        AND TABLE_NAME LIKE 'LLM_USAGE_%'
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // 존재하는 세그먼트 월 (쓰기 경로에서 카탈로그 조회 없이 확인하기 위해 보관)
+  private final NavigableSet<YearMonth> segments = new ConcurrentSkipListSet<>();
+  // 세그먼트 생성/삭제와 뷰 재생성을 직렬화
+  private final ReentrantLock ddlLock = new ReentrantLock();
+
+  /**
+   * 월에 해당하는 세그먼트 테이블 이름
+   *
+   * @param yearMonth 세그먼트 월
+   * @return 세그먼트 테이블 이름 (llm_usage_yyyyMM)
+   */
+  public static String toSegmentName(YearMonth yearMonth) {
+    return SEGMENT_PREFIX + yearMonth.format(SEGMENT_SUFFIX_FORMAT);
+  }
+
+  /**
+   * 세그먼트 테이블 생성 SQL
+   *
+   * <p>세그먼트에 저장되는 사용량 추가 시각의 범위를 CHECK 제약으로 고정하여, 잘못 라우팅된 행이
+   * 다른 월의 세그먼트에 저장되지 않도록 한다.
+   *
+   * @param yearMonth 세그먼트 월
+   * @return 세그먼트 테이블 생성 SQL
+   */
+  public static String createSegmentSql(YearMonth yearMonth) {
+    return CREATE_SEGMENT_SQL.formatted(
+        toSegmentName(yearMonth),
+        yearMonth.atDay(1).atStartOfDay().format(TIMESTAMP_LITERAL_FORMAT),
+        yearMonth.plusMonths(1).atDay(1).atStartOfDay().format(TIMESTAMP_LITERAL_FORMAT));
+  }
+
+  /**
+   * 세그먼트를 UNION ALL 하는 llm_usage 뷰 생성 SQL
+   *
+   * @param yearMonths 뷰에 포함할 세그먼트 월 목록 (1개 이상)
+   * @return 뷰 생성 SQL
+   */
+  public static String replaceViewSql(Collection<YearMonth> yearMonths) {
+    if (yearMonths.isEmpty()) {
+      throw new IllegalStateException("llm_usage 뷰에 포함할 세그먼트가 없습니다.");
+    }
+    return REPLACE_VIEW_SQL.formatted(VIEW_NAME, unionAll(yearMonths));
+  }
+
+  /**
+   * 세그먼트를 UNION ALL 하는 조회 SQL
+   *
+   * @param yearMonths 조회할 세그먼트 월 목록
+   * @return 세그먼트의 모든 컬럼을 조회하는 SQL
+   */
+  public static String unionAll(Collection<YearMonth> yearMonths) {
+    return yearMonths.stream()
+        .map(yearMonth -> SELECT_SEGMENT_COLUMNS_SQL.formatted(toSegmentName(yearMonth)))
+        .collect(Collectors.joining("\nUNION ALL\n"));
+  }
+
+  /**
+   * llm_usage 뷰와 모든 세그먼트 테이블 삭제
+   *
+   * <p>로컬 환경에서 schema.sql 로 스키마를 다시 만들기 전에 실행한다. 세그먼트는 이름이 고정되어 있지
+   * 않아 스크립트로 삭제할 수 없으므로 카탈로그에서 찾아 삭제한다.
+   *
+   * @param connection 커넥션
+   * @throws SQLException SQL 실행 중 오류가 발생한 경우
+   */
+  public static void dropAllSegments(Connection connection) throws SQLException {
+    List<String> segmentNames = new ArrayList<>();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(DROP_VIEW_SQL.formatted(VIEW_NAME));
+      try (ResultSet rs = statement.executeQuery(SELECT_SEGMENT_NAMES_SQL)) {
+        while (rs.next()) {
+          if (SEGMENT_NAME_PATTERN.matcher(rs.getString(1)).matches()) {
+            segmentNames.add(rs.getString(1));
+          }
+        }
+      }
+      for (String segmentName : segmentNames) {
+        statement.execute(DROP_SEGMENT_SQL.formatted(segmentName));
+      }
+    }
+  }
+
+  /**
+   * 세그먼트 존재 여부 (DB 조회 없음)
+   *
+   * @param yearMonth 세그먼트 월
+   * @return 세그먼트가 있으면 true
+   */
+  public boolean hasSegment(YearMonth yearMonth) {
+    return segments.contains(yearMonth);
+  }
+
+  /**
+   * 존재하는 세그먼트 월 목록 (오래된 순)
+   *
+   * @return 세그먼트 월 목록
+   */
+  public List<YearMonth> selectSegments() {
+    return new ArrayList<>(segments);
+  }
+
+  /**
+   * 기간과 겹치는 세그먼트 월 목록 (오래된 순)
+   *
+   * @param from 조회 시작 시각 (포함, null이면 처음부터)
+   * @param to   조회 종료 시각 (제외, null이면 끝까지)
+   * @return 기간과 겹치는 세그먼트 월 목록
+   */
+  public List<YearMonth> selectSegmentsBetween(LocalDateTime from, LocalDateTime to) {
+    if (segments.isEmpty()) {
+      return List.of();
+    }
+    YearMonth fromMonth = from == null ? segments.first() : YearMonth.from(from);
+    YearMonth toMonth = to == null ? segments.last() : YearMonth.from(to.minusNanos(1));
+    if (fromMonth.isAfter(toMonth)) {
+      return List.of();
+    }
+    return new ArrayList<>(segments.subSet(fromMonth, true, toMonth, true));
+  }
+
+  /**
+   * DB에 존재하는 세그먼트로 목록을 다시 읽고 llm_usage 뷰를 다시 생성
+   *
+   * @return 세그먼트 월 목록
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<YearMonth> refreshSegments() {
+    List<YearMonth> found = jdbcTemplate.queryForList(SELECT_SEGMENT_NAMES_SQL, String.class)
+        .stream()
+        .filter(name -> SEGMENT_NAME_PATTERN.matcher(name).matches())
+        .map(name -> YearMonth.parse(name.substring(SEGMENT_PREFIX.length()),
+            SEGMENT_SUFFIX_FORMAT))
+        .toList();
+    ddlLock.lock();
+    try {
+      segments.retainAll(found);
+      segments.addAll(found);
+      if (!segments.isEmpty()) {
+        jdbcTemplate.execute(replaceViewSql(segments));
+      }
+    } finally {
+      ddlLock.unlock();
+    }
+    return selectSegments();
+  }
+
+  /**
+   * 세그먼트가 없으면 생성하고 llm_usage 뷰에 추가
+   *
+   * @param yearMonth 세그먼트 월
+   * @return 새로 생성했으면 true
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public boolean ensureSegment(YearMonth yearMonth) {
+    ddlLock.lock();
+    try {
+      if (segments.contains(yearMonth)) {
+        return false;
+      }
+      jdbcTemplate.execute(createSegmentSql(yearMonth));
+      segments.add(yearMonth);
+      jdbcTemplate.execute(replaceViewSql(segments));
+      log.info("LLM 사용량 세그먼트 생성: {}", toSegmentName(yearMonth));
+      return true;
+    } finally {
+      ddlLock.unlock();
+    }
+  }
+
+  /**
+   * 세그먼트를 llm_usage 뷰에서 제외하고 테이블 삭제
+   *
+   * <p>뷰가 참조하는 테이블은 삭제할 수 없으므로 뷰를 먼저 다시 만든 뒤 테이블을 삭제한다. 마지막
+   * 남은 세그먼트는 삭제하지 않는다. 삭제한 세그먼트 월까지의 멱등 키도 함께 삭제하므로, 멱등 키는 원본
+   * 사용량과 같은 기간 동안 보관된다.
+   *
+   * @param yearMonth 삭제할 세그먼트 월
+   * @return 삭제했으면 true
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public boolean dropSegment(YearMonth yearMonth) {
+    ddlLock.lock();
+    try {
+      if (!segments.contains(yearMonth) || segments.size() == 1) {
+        return false;
+      }
+      segments.remove(yearMonth);
+      jdbcTemplate.execute(replaceViewSql(segments));
+      jdbcTemplate.execute(DROP_SEGMENT_SQL.formatted(toSegmentName(yearMonth)));
+      jdbcTemplate.update(DELETE_IDEMPOTENCY_KEYS_BEFORE_SQL,
+          Timestamp.valueOf(yearMonth.plusMonths(1).atDay(1).atStartOfDay()));
+      log.info("LLM 사용량 세그먼트 삭제: {}", toSegmentName(yearMonth));
+      return true;
+    } finally {
+      ddlLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.wanted.assignment.llm.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@RequiredArgsConstructor
+@Repository
+public class UsageJournalCheckpointJdbcRepository {
+
+  private static final String SELECT_CHECKPOINT_SQL = """
+      /* UsageJournalCheckpointJdbcRepository.selectCheckpoint */
+      SELECT segment_no, segment_offset FROM usage_journal_checkpoint WHERE id = 1
+      """;
+
+  private static final String UPDATE_CHECKPOINT_SQL = """
+      /* UsageJournalCheckpointJdbcRepository.updateCheckpoint */
+      UPDATE usage_journal_checkpoint
+      SET segment_no = ?, segment_offset = ?, updated_at = CURRENT_TIMESTAMP
+      WHERE id = 1
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 저널 반영 위치 조회
+   *
+   * @return 다음에 반영할 저널 위치
+   */
+  public Checkpoint selectCheckpoint() {
+    return jdbcTemplate.queryForObject(SELECT_CHECKPOINT_SQL,
+        (rs, rowNum) -> new Checkpoint(rs.getLong("segment_no"), rs.getLong("segment_offset")));
+  }
+
+  /**
+   * 저널 반영 위치 갱신
+   *
+   * <p>반영한 사용량과 같은 트랜잭션에서 호출되어야 재시작 시 중복 없이 이어서 반영할 수 있다.
+   *
+   * @param segmentNo 다음에 반영할 세그먼트 번호
+   * @param offset    다음에 반영할 세그먼트 내 위치(byte)
+   */
+  public void updateCheckpoint(long segmentNo, long offset) {
+    jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, segmentNo, offset);
+  }
+
+  /**
+   * 저널 반영 위치
+   *
+   * @param segmentNo 세그먼트 번호
+   * @param offset    세그먼트 내 위치(byte)
+   */
+  public record Checkpoint(long segmentNo, long offset) {
+  }
+}
@@ -0,0 +1,105 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.repository.LlmQueryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * 삭제되지 않은 LLM의 이름, 토큰당 가격 메모리 목록
+ *
+ * <p>사용량 조회 응답에 필요한 LLM 정보를 DB 조회 없이 얻기 위해, 시작 시 DB에서 읽어 적재하고 이후에는
+ * LlmService의 추가/수정/삭제와 함께 갱신한다. LLM 수는 적으므로 아이디 순으로 정렬된 맵에 보관한다.
+ *
+ * <p>변경은 호출한 트랜잭션 안에서 즉시 반영되고, 트랜잭션이 롤백되면 되돌린다.
+ */
+@Slf4j
+@Component
+public class LlmCatalog implements SmartInitializingSingleton {
+
+  private final LlmQueryRepository llmQueryRepository;
+  private final NavigableMap<Long, LlmDto.SelectResponse> llmById = new ConcurrentSkipListMap<>();
+
+  /**
+   * LLM 목록 생성
+   *
+   * @param llmQueryRepository LLM 조회 저장소
+   */
+  public LlmCatalog(LlmQueryRepository llmQueryRepository) {
+    this.llmQueryRepository = llmQueryRepository;
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) DB에서 LLM 목록 적재
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  /**
+   * DB에서 삭제되지 않은 LLM 목록을 다시 적재
+   */
+  public void reload() {
+    List<LlmDto.SelectResponse> llms = llmQueryRepository.selectAllActiveLlmPrices();
+    llmById.clear();
+    llms.forEach(llm -> llmById.put(llm.getId(), llm));
+    log.info("LLM 목록 적재 - llm: {}", llmById.size());
+  }
+
+  /**
+   * LLM 정보 조회
+   *
+   * @param llmId LLM 아이디
+   * @return LLM 정보 (없거나 삭제된 경우 null)
+   */
+  public LlmDto.SelectResponse get(long llmId) {
+    return llmById.get(llmId);
+  }
+
+  /**
+   * 삭제되지 않은 LLM 목록 (아이디 순)
+   *
+   * @return LLM 정보 목록
+   */
+  public List<LlmDto.SelectResponse> getAll() {
+    return new ArrayList<>(llmById.values());
+  }
+
+  /**
+   * 추가/수정된 LLM 정보 기록
+   *
+   * @param llmId         LLM 아이디
+   * @param name          LLM 이름
+   * @param pricePerToken 토큰당 가격
+   */
+  public void put(long llmId, String name, int pricePerToken) {
+    LlmDto.SelectResponse previous = llmById.put(
+        llmId, LlmDto.SelectResponse.of(llmId, name, pricePerToken));
+    TransactionUndo.onRollback(() -> restore(llmId, previous));
+  }
+
+  /**
+   * 삭제된 LLM 정보 삭제
+   *
+   * @param llmId LLM 아이디
+   */
+  public void remove(long llmId) {
+    LlmDto.SelectResponse previous = llmById.remove(llmId);
+    TransactionUndo.onRollback(() -> restore(llmId, previous));
+  }
+
+  private void restore(long llmId, LlmDto.SelectResponse previous) {
+    if (previous == null) {
+      llmById.remove(llmId);
+    } else {
+      llmById.put(llmId, previous);
+    }
+  }
+}
@@ -0,0 +1,318 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.index.HyperLogLog;
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageDistinctJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM별 일별 사용자 수 HyperLogLog 스케치
+ *
+ * <p>LLM별 사용량 조회(GET /llm/usages)의 사용자 수를 매번 COUNT(DISTINCT user_id)로 계산하지 않도록,
+ * 사용량 기록(LlmUsageWriter)과 함께 (LLM, 사용량 추가 일자)별 {@link HyperLogLog}에 사용자 아이디를
+ * 더한다. 일별 스케치는 합칠 수 있으므로 기간 조회는 기간과 겹치는 일자의 스케치를 합쳐 추정하고, 전체
+ * 기간은 LLM별 전체 스케치로 바로 추정한다. 스케치 하나는 사용자 수와 관계없이 4096 byte로 고정된다.
+ *
+ * <p>더한 사용자를 빼낼 수 없으므로 트랜잭션이 커밋된 뒤에 반영하며, 삭제된 사용자도 추정값에 남는다.
+ * 변경된 일별 스케치는 주기적으로(usage.distinct.flush-cron) 그리고 종료 시 DB에 저장하고, 시작 시 저장된
+ * 스케치를 적재한 뒤 마지막 저장 하루 전부터의 집계를 다시 더해 저장하지 못한 기록을 복구한다. 같은 사용자를
+ * 여러 번 더해도 결과가 같으므로 복구 구간이 겹쳐도 무방하다.
+ */
+@Slf4j
+@Component
+public class LlmDistinctUserCounter implements SmartInitializingSingleton, SmartLifecycle {
+
+  // 레지스터 4096개, 표준 오차 약 1.6% (llm_usage_distinct_daily.registers 크기와 같아야 함)
+  private static final int PRECISION = 12;
+  // 비동기/저널 기록이 전날 시각의 사용량을 늦게 반영할 수 있으므로 마지막 저장 하루 전부터 복구
+  private static final int REPLAY_MARGIN_DAYS = 1;
+  // 기록기 종료(DEFAULT_PHASE - 4096) 이후 마지막으로 저장
+  private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 8192;
+
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final LlmUsageDistinctJdbcRepository llmUsageDistinctJdbcRepository;
+  private final Map<Long, NavigableMap<LocalDate, HyperLogLog>> dailyByLlmId =
+      new ConcurrentHashMap<>();
+  private final Map<Long, HyperLogLog> totalByLlmId = new ConcurrentHashMap<>();
+  // 마지막 저장 이후 바뀐 일별 스케치
+  private final Set<DayKey> dirtyKeys = ConcurrentHashMap.newKeySet();
+  // 스케줄 저장과 종료 시 저장 직렬화
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final Counter flushedCounter;
+  private volatile boolean running;
+
+  /**
+   * 스케치 생성 및 메트릭 등록
+   *
+   * @param llmUsageJdbcRepository         LLM 사용량 저장소
+   * @param llmUsageDistinctJdbcRepository 사용자 수 스케치 저장소
+   * @param meterRegistry                  메트릭 레지스트리
+   */
+  public LlmDistinctUserCounter(
+      LlmUsageJdbcRepository llmUsageJdbcRepository,
+      LlmUsageDistinctJdbcRepository llmUsageDistinctJdbcRepository,
+      MeterRegistry meterRegistry) {
+    this.llmUsageJdbcRepository = llmUsageJdbcRepository;
+    this.llmUsageDistinctJdbcRepository = llmUsageDistinctJdbcRepository;
+
+    Gauge.builder("usage.distinct.sketches", this, LlmDistinctUserCounter::dailySketchCount)
+        .description("일별 사용자 수 스케치 개수")
+        .register(meterRegistry);
+    Gauge.builder("usage.distinct.bytes", this, LlmDistinctUserCounter::memoryBytes)
+        .description("사용자 수 스케치 레지스터 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.flushedCounter = Counter.builder("usage.distinct.flushed")
+        .description("DB에 저장한 일별 사용자 수 스케치 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) 저장된 스케치 적재 및 복구
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  /**
+   * 저장된 스케치를 다시 적재하고 마지막 저장 이후의 집계를 더함
+   *
+   * <p>저장된 스케치가 없으면 전체 집계로 만든다. 적재 중에 기록된 사용량은 누락될 수 있으므로 기록이 없는
+   * 시점에 호출한다.
+   */
+  public void reload() {
+    flushLock.lock();
+    try {
+      dailyByLlmId.clear();
+      totalByLlmId.clear();
+      dirtyKeys.clear();
+      llmUsageDistinctJdbcRepository.selectSketches((llmId, bucketDay, registers) -> {
+        HyperLogLog sketch = HyperLogLog.fromByteArray(registers);
+        daily(llmId).put(bucketDay, sketch);
+        total(llmId).merge(sketch);
+      });
+
+      LocalDateTime lastUpdatedAt = llmUsageDistinctJdbcRepository.selectLastUpdatedAt();
+      LocalDateTime replayFrom = lastUpdatedAt == null
+          ? null
+          : lastUpdatedAt.toLocalDate().minusDays(REPLAY_MARGIN_DAYS).atStartOfDay();
+      llmUsageJdbcRepository.selectUserIdByLlmIdAndDay(replayFrom, this::add);
+      log.info("사용자 수 스케치 적재 - llm: {}, 일별 스케치: {}, 복구 시작: {}",
+          dailyByLlmId.size(), dailySketchCount(), replayFrom);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * 기록된 사용량의 사용자를 (LLM, 사용량 추가 일자)별 스케치에 더함 (트랜잭션 커밋 후 반영)
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목(아이디가 null)은 제외한다.
+   *
+   * @param llmUsages 기록한 LLM 사용량 목록
+   */
+  public void add(List<LlmUsageEntity> llmUsages) {
+    List<LlmUsageEntity> added = new ArrayList<>(llmUsages.size());
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() != null) {
+        added.add(llmUsage);
+      }
+    }
+    if (!added.isEmpty()) {
+      TransactionUndo.afterCommit(() -> added.forEach(llmUsage -> add(
+          llmUsage.getLlmId(), llmUsage.getCreatedAt().toLocalDate(), llmUsage.getUserId())));
+    }
+  }
+
+  /**
+   * 사용량이 삭제된 LLM의 스케치 삭제 (저장된 스케치는 호출 측에서 같은 트랜잭션으로 삭제)
+   *
+   * @param llmId LLM 아이디
+   */
+  public void removeLlm(long llmId) {
+    NavigableMap<LocalDate, HyperLogLog> removedDaily = dailyByLlmId.remove(llmId);
+    HyperLogLog removedTotal = totalByLlmId.remove(llmId);
+    if (removedDaily != null) {
+      TransactionUndo.onRollback(() -> dailyByLlmId.putIfAbsent(llmId, removedDaily));
+    }
+    if (removedTotal != null) {
+      TransactionUndo.onRollback(() -> totalByLlmId.putIfAbsent(llmId, removedTotal));
+    }
+  }
+
+  /**
+   * LLM별 사용량에 사용자 수 추정값을 채움
+   *
+   * <p>기간이 있으면 기간과 겹치는 일자의 스케치를 합쳐 추정하므로, 기간 경계가 일자 중간이면 해당 일자
+   * 전체의 사용자가 포함된다. 사용량이 없는 LLM은 합계와 같이 null이다.
+   *
+   * @param statsResponses LLM별 사용량 정보
+   * @param from           조회 시작 시각 (포함, null이면 처음부터)
+   * @param to             조회 종료 시각 (제외, null이면 끝까지)
+   * @return 사용자 수를 채운 LLM별 사용량 정보
+   */
+  public List<LlmUsageDto.StatsResponse> withDistinctUserCount(
+      List<LlmUsageDto.StatsResponse> statsResponses, LocalDateTime from, LocalDateTime to) {
+    List<LlmUsageDto.StatsResponse> result = new ArrayList<>(statsResponses.size());
+    for (LlmUsageDto.StatsResponse statsResponse : statsResponses) {
+      result.add(LlmUsageDto.StatsResponse.of(
+          statsResponse.getId(),
+          statsResponse.getName(),
+          statsResponse.getTotalUsedToken(),
+          statsResponse.getTotalPrice(),
+          statsResponse.getTotalUsedToken() == null
+              ? null
+              : estimate(statsResponse.getId(), from, to)));
+    }
+    return result;
+  }
+
+  /**
+   * 기간 내 LLM의 사용자 수 추정
+   *
+   * @param llmId LLM 아이디
+   * @param from  조회 시작 시각 (포함, null이면 처음부터)
+   * @param to    조회 종료 시각 (제외, null이면 끝까지)
+   * @return 사용자 수 추정값
+   */
+  public long estimate(long llmId, LocalDateTime from, LocalDateTime to) {
+    if (from == null && to == null) {
+      HyperLogLog total = totalByLlmId.get(llmId);
+      return total == null ? 0L : total.estimate();
+    }
+    NavigableMap<LocalDate, HyperLogLog> days = dailyByLlmId.get(llmId);
+    if (days == null) {
+      return 0L;
+    }
+    if (from != null) {
+      days = days.tailMap(from.toLocalDate(), true);
+    }
+    if (to != null) {
+      days = days.headMap(to.minusNanos(1).toLocalDate(), true);
+    }
+    HyperLogLog merged = new HyperLogLog(PRECISION);
+    days.values().forEach(merged::merge);
+    return merged.estimate();
+  }
+
+  /**
+   * 마지막 저장 이후 바뀐 일별 스케치를 DB에 저장
+   */
+  @Scheduled(cron = "${usage.distinct.flush-cron:0 * * * * *}")
+  public void flush() {
+    flushLock.lock();
+    try {
+      if (dirtyKeys.isEmpty()) {
+        return;
+      }
+      // 복사 전에 저장 시각을 정해야 복사 이후의 기록이 재시작 시 복구 구간에 포함됨
+      LocalDateTime now = LocalDateTime.now();
+      List<DayKey> keys = new ArrayList<>(dirtyKeys);
+      List<LlmUsageDistinctJdbcRepository.Sketch> sketches = new ArrayList<>(keys.size());
+      for (DayKey key : keys) {
+        // 복사 전에 지워야 복사 이후에 바뀐 스케치가 다음 저장에 포함됨
+        dirtyKeys.remove(key);
+        NavigableMap<LocalDate, HyperLogLog> days = dailyByLlmId.get(key.llmId());
+        HyperLogLog sketch = days == null ? null : days.get(key.bucketDay());
+        if (sketch != null) {
+          sketches.add(new LlmUsageDistinctJdbcRepository.Sketch(
+              key.llmId(), key.bucketDay(), sketch.toByteArray()));
+        }
+      }
+      try {
+        llmUsageDistinctJdbcRepository.mergeSketches(sketches, now);
+      } catch (RuntimeException e) {
+        dirtyKeys.addAll(keys);
+        throw e;
+      }
+      flushedCounter.increment(sketches.size());
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.error("종료 시 사용자 수 스케치 저장 실패 (재시작 시 집계에서 복구)", e);
+    }
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  private void add(long llmId, LocalDate bucketDay, long userId) {
+    HyperLogLog sketch = daily(llmId).computeIfAbsent(bucketDay, k -> new HyperLogLog(PRECISION));
+    // 일별 스케치가 그대로면 전체 스케치(모든 일별 스케치의 합)도 바뀌지 않음
+    if (sketch.add(userId)) {
+      total(llmId).add(userId);
+      dirtyKeys.add(new DayKey(llmId, bucketDay));
+    }
+  }
+
+  private NavigableMap<LocalDate, HyperLogLog> daily(long llmId) {
+    NavigableMap<LocalDate, HyperLogLog> days = dailyByLlmId.get(llmId);
+    if (days == null) {
+      days = dailyByLlmId.computeIfAbsent(llmId, k -> new ConcurrentSkipListMap<>());
+    }
+    return days;
+  }
+
+  private HyperLogLog total(long llmId) {
+    HyperLogLog total = totalByLlmId.get(llmId);
+    if (total == null) {
+      total = totalByLlmId.computeIfAbsent(llmId, k -> new HyperLogLog(PRECISION));
+    }
+    return total;
+  }
+
+  private long dailySketchCount() {
+    return dailyByLlmId.values().stream().mapToLong(Map::size).sum();
+  }
+
+  private long memoryBytes() {
+    return (dailySketchCount() + totalByLlmId.size()) * (1L << PRECISION);
+  }
+
+  /**
+   * 일별 스케치 키
+   */
+  private record DayKey(long llmId, LocalDate bucketDay) {
+  }
+}
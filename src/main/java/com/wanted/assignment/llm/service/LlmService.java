@@ -1,11 +1,16 @@
 package com.wanted.assignment.llm.service;
 
+import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.index.ActiveIdIndex;
+import com.wanted.assignment.common.pagination.KeysetCursor;
 import com.wanted.assignment.common.type.ApiStatus;
 import com.wanted.assignment.domain.entity.LlmEntity;
 import com.wanted.assignment.domain.repository.LlmRepository;
 import com.wanted.assignment.llm.dto.LlmDto;
 import com.wanted.assignment.llm.repository.LlmQueryRepository;
+import com.wanted.assignment.llm.repository.LlmUsageDistinctJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
 import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -23,7 +28,17 @@ public class LlmService {
   private final LlmRepository llmRepository;
   private final LlmQueryRepository llmQueryRepository;
   private final LlmUsageQueryRepository llmUsageQueryRepository;
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final LlmUsageDistinctJdbcRepository llmUsageDistinctJdbcRepository;
   private final ModelMapper modelMapper;
+  private final ActiveIdIndex activeIdIndex;
+  private final LlmUsageStatsCounter llmUsageStatsCounter;
+  private final UserLlmUsageCounter userLlmUsageCounter;
+  private final LlmUsageSeriesCounter llmUsageSeriesCounter;
+  private final LlmTopUserCounter llmTopUserCounter;
+  private final LlmDistinctUserCounter llmDistinctUserCounter;
+  private final LlmUsageDistributionCounter llmUsageDistributionCounter;
+  private final LlmCatalog llmCatalog;
 
   /**
    * LLM 추가
@@ -41,18 +56,38 @@ public class LlmService {
     }
 
     LlmEntity savedLlm = llmRepository.save(modelMapper.map(insertRequest, LlmEntity.class));
+    activeIdIndex.addLlm(savedLlm.getId());
+    llmCatalog.put(savedLlm.getId(), savedLlm.getName(), savedLlm.getPricePerToken());
     return savedLlm.getId();
   }
 
   /**
-   * LLM 목록 조회
+   * LLM 목록 한 페이지 조회 (아이디 순)
+   *
+   * <p>한 건을 더 조회하여 다음 페이지가 있는지 확인하고, 있으면 페이지 마지막 아이디를 다음 커서로
+   * 응답한다.
    *
    * @param selectRequest 조회할 LLM 정보
-   * @return LLM 목록
+   * @param cursor        이전 응답의 다음 커서 (null이면 첫 페이지)
+   * @param limit         한 페이지 최대 건수
+   * @return LLM 목록 페이지
    */
   @Transactional(readOnly = true)
-  public List<LlmDto.SelectResponse> getLlmList(LlmDto.SelectRequest selectRequest) {
-    return llmQueryRepository.selectLlmList(selectRequest);
+  public LlmDto.SelectPageResponse getLlmList(
+      LlmDto.SelectRequest selectRequest, String cursor, int limit) {
+    if (limit <= 0 || limit > Constants.PAGE_MAX_LIMIT) {
+      log.error("유효하지 않은 LLM 목록 조회 건수: {}", limit);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+
+    List<LlmDto.SelectResponse> items =
+        llmQueryRepository.selectLlmList(selectRequest, KeysetCursor.decode(cursor), limit + 1);
+    if (items.size() <= limit) {
+      return LlmDto.SelectPageResponse.of(items, null);
+    }
+    items = items.subList(0, limit);
+    return LlmDto.SelectPageResponse.of(
+        items, KeysetCursor.encode(items.get(limit - 1).getId()));
   }
 
   /**
@@ -68,7 +103,11 @@ public class LlmService {
       log.error("존재하지 않는 LLM 아이디 수정 요청: {}", llmId);
       throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.LLM_NOT_FOUND);
     }
-    return llmQueryRepository.updateLlm(updateRequest);
+    boolean isUpdated = llmQueryRepository.updateLlm(updateRequest);
+    if (isUpdated) {
+      llmCatalog.put(llmId, updateRequest.getName(), updateRequest.getPricePerToken());
+    }
+    return isUpdated;
   }
 
   /**
@@ -85,7 +124,21 @@ public class LlmService {
       throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.LLM_NOT_FOUND);
     }
 
-    llmUsageQueryRepository.deleteLlmUsageByLlmId(llmId);
-    return llmQueryRepository.deleteLlmById(llmId);
+    llmUsageJdbcRepository.deleteLlmUsageByLlmId(llmId);
+    llmUsageQueryRepository.deleteLlmUsageHourlyByLlmId(llmId);
+    llmUsageQueryRepository.deleteLlmUsageDailyByLlmId(llmId);
+    llmUsageDistinctJdbcRepository.deleteSketchesByLlmId(llmId);
+    llmUsageStatsCounter.remove(llmId);
+    userLlmUsageCounter.removeLlm(llmId);
+    llmUsageSeriesCounter.removeLlm(llmId);
+    llmTopUserCounter.removeLlm(llmId);
+    llmDistinctUserCounter.removeLlm(llmId);
+    llmUsageDistributionCounter.removeLlm(llmId);
+    boolean isDeleted = llmQueryRepository.deleteLlmById(llmId);
+    if (isDeleted) {
+      activeIdIndex.removeLlm(llmId);
+      llmCatalog.remove(llmId);
+    }
+    return isDeleted;
   }
 }
@@ -0,0 +1,157 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.index.ActiveIdIndex;
+import com.wanted.assignment.common.index.SpaceSavingSketch;
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.common.type.TopUsersMode;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM별 사용 토큰 수 상위 사용자 메모리 스케치
+ *
+ * <p>LLM별 상위 사용자 조회(GET /llm/{llm_id}/top-users)가 매번 전체 사용자를 GROUP BY 하지 않도록, 시작
+ * 시 DB에서 (사용자, LLM)별 합계를 읽어 LLM별 {@link SpaceSavingSketch}에 적재하고 이후에는 사용량
+ * 기록(LlmUsageWriter)과 LLM 삭제(LlmService)와 함께 갱신한다. 스케치의 카운터 수는
+ * usage.top-users.capacity로 고정되므로 LLM별 메모리는 사용자 수와 관계없다.
+ *
+ * <p>Space-Saving 스케치는 더한 값을 뺄 수 없으므로 사용량은 트랜잭션이 커밋된 뒤에 반영한다. LLM
+ * 삭제는 즉시 반영하고 트랜잭션이 롤백되면 되돌린다.
+ */
+@Slf4j
+@Component
+public class LlmTopUserCounter implements SmartInitializingSingleton {
+
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final ActiveIdIndex activeIdIndex;
+  private final int capacity;
+  private final Map<Long, SpaceSavingSketch> sketchByLlmId = new ConcurrentHashMap<>();
+
+  /**
+   * 스케치 생성 및 메트릭 등록
+   *
+   * @param llmUsageJdbcRepository LLM 사용량 저장소
+   * @param activeIdIndex          아이디 인덱스
+   * @param usageProperties        사용량 설정
+   * @param meterRegistry          메트릭 레지스트리
+   */
+  public LlmTopUserCounter(
+      LlmUsageJdbcRepository llmUsageJdbcRepository,
+      ActiveIdIndex activeIdIndex,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageJdbcRepository = llmUsageJdbcRepository;
+    this.activeIdIndex = activeIdIndex;
+    this.capacity = usageProperties.getTopUsers().getCapacity();
+
+    Gauge.builder("usage.top-users.sketches", sketchByLlmId, Map::size)
+        .description("상위 사용자 스케치가 있는 LLM 수")
+        .register(meterRegistry);
+    Gauge.builder("usage.top-users.bytes", this, LlmTopUserCounter::memoryBytes)
+        .description("상위 사용자 스케치 배열 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) DB에서 합계 적재
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  /**
+   * DB의 (사용자, LLM)별 사용 토큰 수 합계로 스케치를 다시 적재
+   *
+   * <p>적재 중에 기록된 사용량은 누락되거나 중복될 수 있으므로 기록이 없는 시점에 호출한다.
+   */
+  public void reload() {
+    sketchByLlmId.clear();
+    llmUsageJdbcRepository.selectUsedTokenByUserIdAndLlmId((userId, llmId, usedToken) -> {
+      if (usedToken > 0) {
+        sketch(llmId).add(userId, usedToken);
+      }
+    });
+    log.info("상위 사용자 스케치 적재 - llm: {}", sketchByLlmId.size());
+  }
+
+  /**
+   * 기록된 사용량을 LLM별 스케치에 누적 (트랜잭션 커밋 후 반영)
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목(아이디가 null)과 사용 토큰 수가 0인 항목은 제외한다.
+   *
+   * @param llmUsages 기록한 LLM 사용량 목록
+   */
+  public void add(List<LlmUsageEntity> llmUsages) {
+    List<LlmUsageEntity> added = new ArrayList<>(llmUsages.size());
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() != null && llmUsage.getUsedToken() > 0) {
+        added.add(llmUsage);
+      }
+    }
+    if (!added.isEmpty()) {
+      TransactionUndo.afterCommit(() -> added.forEach(llmUsage ->
+          sketch(llmUsage.getLlmId()).add(llmUsage.getUserId(), llmUsage.getUsedToken())));
+    }
+  }
+
+  /**
+   * 사용량이 삭제된 LLM의 스케치 삭제
+   *
+   * @param llmId LLM 아이디
+   */
+  public void removeLlm(long llmId) {
+    SpaceSavingSketch removed = sketchByLlmId.remove(llmId);
+    if (removed != null) {
+      TransactionUndo.onRollback(() -> sketchByLlmId.putIfAbsent(llmId, removed));
+    }
+  }
+
+  /**
+   * 스케치 기준 LLM의 상위 사용자 조회
+   *
+   * <p>삭제된 사용자는 제외한다. 사용자별 합계는 실제 합계의 상한이며 실제 합계는 [합계 - 오차, 합계]
+   * 범위에 있다. 실제 합계가 maxError보다 큰 사용자는 반드시 결과 후보에 포함된다.
+   *
+   * @param llm   LLM 정보
+   * @param limit 최대 사용자 수
+   * @return 상위 사용자 목록과 오차 범위
+   */
+  public LlmUsageDto.TopUsersResponse getTopUsers(LlmDto.SelectResponse llm, int limit) {
+    SpaceSavingSketch sketch = sketchByLlmId.get(llm.getId());
+    if (sketch == null) {
+      return LlmUsageDto.TopUsersResponse.of(
+          llm.getId(), llm.getName(), TopUsersMode.SKETCH, 0L, 0L, List.of());
+    }
+    List<LlmUsageDto.TopUser> topUsers = sketch.top(limit, activeIdIndex::containsUser).stream()
+        .map(entry -> LlmUsageDto.TopUser.of(entry.key(), entry.count(), entry.error()))
+        .toList();
+    return LlmUsageDto.TopUsersResponse.of(llm.getId(), llm.getName(), TopUsersMode.SKETCH,
+        sketch.total(), sketch.minCount(), topUsers);
+  }
+
+  private SpaceSavingSketch sketch(long llmId) {
+    SpaceSavingSketch sketch = sketchByLlmId.get(llmId);
+    if (sketch == null) {
+      sketch = sketchByLlmId.computeIfAbsent(llmId, k -> new SpaceSavingSketch(capacity));
+    }
+    return sketch;
+  }
+
+  private long memoryBytes() {
+    return sketchByLlmId.values().stream().mapToLong(SpaceSavingSketch::memoryBytes).sum();
+  }
+}
@@ -0,0 +1,260 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.index.OffHeapUsageColumns;
+import com.wanted.assignment.common.index.UsageSumKernel;
+import com.wanted.assignment.common.index.UsageSumKernels;
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.users.dto.UsersDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기간 통계 조회용 힙 밖 열 저장소
+ *
+ * <p>기간을 지정한 LLM별 사용량 조회(GET /llm/usages)와 특정 사용자 LLM 사용량 조회
+ * (GET /users/{user_id}/usages)가 매번 집계 뷰를 GROUP BY 하지 않도록, 시작 시 집계 뷰의 행을
+ * {@link OffHeapUsageColumns}에 적재하고 이후에는 사용량 기록(LlmUsageWriter)이 커밋될 때 건별 사용량을
+ * 같은 (사용자, LLM, 시간)의 행에 더한다. 조회는 열을 순서대로 읽어 LLM별로 더하므로 DB에 접근하지 않으며, 행은 힙 밖
+ * 메모리에 있으므로 행 수가 많아도 GC 부담이 늘지 않는다.
+ *
+ * <p>원본 사용량은 압축 작업이 삭제하므로 원본 대신 SQL 조회와 같은 집계 뷰를 적재한다. 기간 조건도 SQL 조회와
+ * 같이 집계 시각(시간 또는 일 시작)으로 판단하며, 서비스가 기간 경계를 집계 단위에 맞춰 전달하므로(압축된
+ * 기간은 일 경계) 실행 중에 압축되어 시간 단위로 남은 행도 SQL 결과와 같게 합산된다.
+ *
+ * <p>커밋된 기록만 반영하며, 가장 최근 시간의 사용량은 기존 행에 더하므로 행 수는 건수가 아니라 집계 뷰의 행
+ * 수만큼 늘어난다. 삭제된 LLM의 행은 남아 있지만 조회 시 {@link LlmCatalog}에 없는 LLM을 제외한다. 최대 행
+ * 수(usage.columnar.max-rows)를 넘거나 열 범위를 넘는 아이디가 기록되면 이후 조회는 SQL로 처리하도록
+ * {@link #isAvailable()}이 false를 반환하며, 이 상태는 usage.columnar.available 메트릭으로 확인한다.
+ *
+ * <p>열 합계는 Vector API SIMD 커널로 계산하며, 사용 설정(usage.columnar.vector-enabled)이 꺼져 있거나
+ * jdk.incubator.vector 모듈 없이 실행한 경우 스칼라 커널로 계산한다. 열에는 LLM 아이디 대신 LLM마다 부여한
+ * 조밀한 위치가 저장되므로, SIMD 커널 사용 여부는 LLM 아이디 값이 아니라 적재된 LLM 수로 정해진다.
+ */
+@Slf4j
+@Component
+public class LlmUsageColumnStore implements SmartInitializingSingleton {
+
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final LlmCatalog llmCatalog;
+  private final UsageProperties.Columnar columnarProperties;
+  private volatile OffHeapUsageColumns columns;
+  private volatile boolean complete;
+
+  /**
+   * 열 저장소 생성 및 메트릭 등록 (열은 시작 시 적재할 때 할당)
+   *
+   * @param llmUsageJdbcRepository LLM 사용량 저장소
+   * @param llmCatalog             LLM 목록
+   * @param usageProperties        사용량 설정
+   * @param meterRegistry          메트릭 레지스트리
+   */
+  public LlmUsageColumnStore(
+      LlmUsageJdbcRepository llmUsageJdbcRepository,
+      LlmCatalog llmCatalog,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageJdbcRepository = llmUsageJdbcRepository;
+    this.llmCatalog = llmCatalog;
+    this.columnarProperties = usageProperties.getColumnar();
+
+    Gauge.builder("usage.columnar.rows", this, LlmUsageColumnStore::rowCount)
+        .description("열 저장소 행 수")
+        .register(meterRegistry);
+    Gauge.builder("usage.columnar.bytes", this, LlmUsageColumnStore::memoryBytes)
+        .description("열 저장소가 할당한 힙 밖 메모리")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("usage.columnar.available", this, store -> store.isAvailable() ? 1 : 0)
+        .description("열 저장소 사용 가능 여부 (0이면 SQL로 조회)")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) 집계 뷰 적재
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (columnarProperties.isEnabled()) {
+      reload();
+    }
+  }
+
+  /**
+   * 새 열 저장소에 집계 뷰의 모든 행을 적재하고 교체
+   *
+   * <p>적재 중에 기록된 사용량은 누락되거나 중복될 수 있으므로 기록이 없는 시점에 호출한다.
+   */
+  public void reload() {
+    OffHeapUsageColumns loaded = new OffHeapUsageColumns(
+        columnarProperties.getChunkRows(), columnarProperties.getMaxRows(), selectKernel());
+    boolean[] loadedAll = {true};
+    llmUsageJdbcRepository.selectSummaryRows((userId, llmId, bucketTime, usedToken) -> {
+      if (loadedAll[0] && !loaded.merge(
+          userId, llmId, LlmUsageDistributionCounter.toEpochHour(bucketTime), usedToken)) {
+        loadedAll[0] = false;
+      }
+    });
+    columns = loaded;
+    complete = loadedAll[0];
+    if (complete) {
+      log.info("열 저장소 적재 - 행: {}, 메모리: {} byte, 커널: {}",
+          loaded.size(), loaded.memoryBytes(), loaded.kernel().name());
+    } else {
+      log.error("열 저장소 적재 실패 (최대 행 수 초과 또는 열 범위 초과) - 행: {}, SQL로 조회",
+          loaded.size());
+    }
+  }
+
+  /**
+   * 열 저장소로 조회할 수 있는지 여부
+   *
+   * @return 사용 설정되어 있고 모든 행이 적재되었으면 true
+   */
+  public boolean isAvailable() {
+    return complete && columnarProperties.isEnabled();
+  }
+
+  /**
+   * 기록된 사용량을 트랜잭션이 커밋된 뒤 열 저장소에 추가
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목(아이디가 null)은 제외한다.
+   *
+   * @param llmUsages 기록한 LLM 사용량 목록
+   */
+  public void add(List<LlmUsageEntity> llmUsages) {
+    if (!isAvailable()) {
+      return;
+    }
+    List<LlmUsageEntity> added = new ArrayList<>(llmUsages.size());
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() != null) {
+        added.add(llmUsage);
+      }
+    }
+    if (!added.isEmpty()) {
+      TransactionUndo.afterCommit(() -> append(added));
+    }
+  }
+
+  /**
+   * 기간 내 LLM별 사용량 조회 (아이디 순)
+   *
+   * <p>SQL 조회(LEFT JOIN)와 같이 기간에 사용량이 없는 LLM은 합계와 금액이 null이며, 사용자 수는 비워 두고
+   * {@link LlmDistinctUserCounter}에서 채운다.
+   *
+   * @param from 조회 시작 시각 (포함, null이면 처음부터)
+   * @param to   조회 종료 시각 (제외, null이면 끝까지)
+   * @return LLM별 사용량 정보
+   */
+  public List<LlmUsageDto.StatsResponse> getLlmUsageStats(LocalDateTime from, LocalDateTime to) {
+    OffHeapUsageColumns.LlmTotals totals =
+        columns.sumByLlm(null, toFromHour(from), toToHour(to));
+    List<LlmDto.SelectResponse> llms = llmCatalog.getAll();
+    List<LlmUsageDto.StatsResponse> statsResponses = new ArrayList<>(llms.size());
+    for (LlmDto.SelectResponse llm : llms) {
+      Long totalUsedToken = totals.getRowCount(llm.getId()) == 0L
+          ? null
+          : totals.getUsedToken(llm.getId());
+      statsResponses.add(LlmUsageDto.StatsResponse.of(
+          llm.getId(),
+          llm.getName(),
+          totalUsedToken,
+          totalUsedToken == null ? null : totalUsedToken * llm.getPricePerToken(),
+          null));
+    }
+    return statsResponses;
+  }
+
+  /**
+   * 기간 내 특정 사용자 LLM별 사용량 조회 (LLM 아이디 순)
+   *
+   * <p>SQL 조회(내부 조인)와 같이 기간에 사용량이 없는 LLM은 제외한다.
+   *
+   * @param userId 사용자 아이디
+   * @param from   조회 시작 시각 (포함, null이면 처음부터)
+   * @param to     조회 종료 시각 (제외, null이면 끝까지)
+   * @return LLM별 사용량 목록
+   */
+  public List<UsersDto.LlmUsage> getUserLlmUsages(
+      long userId, LocalDateTime from, LocalDateTime to) {
+    OffHeapUsageColumns.LlmTotals totals =
+        columns.sumByLlm(userId, toFromHour(from), toToHour(to));
+    List<UsersDto.LlmUsage> llmUsages = new ArrayList<>();
+    for (LlmDto.SelectResponse llm : llmCatalog.getAll()) {
+      if (totals.getRowCount(llm.getId()) != 0L) {
+        long usedToken = totals.getUsedToken(llm.getId());
+        llmUsages.add(UsersDto.LlmUsage.of(
+            llm.getId(), llm.getName(), usedToken, usedToken * llm.getPricePerToken()));
+      }
+    }
+    return llmUsages;
+  }
+
+  private UsageSumKernel selectKernel() {
+    if (!columnarProperties.isVectorEnabled()) {
+      return UsageSumKernels.scalar();
+    }
+    if (!UsageSumKernels.isVectorSupported()) {
+      log.warn("Vector API를 사용할 수 없어 열 저장소 합계를 스칼라 커널로 계산 "
+          + "(--add-modules jdk.incubator.vector 로 실행 필요)");
+      return UsageSumKernels.scalar();
+    }
+    return UsageSumKernels.vector();
+  }
+
+  private void append(List<LlmUsageEntity> llmUsages) {
+    OffHeapUsageColumns current = columns;
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      boolean merged = current.merge(
+          llmUsage.getUserId(),
+          llmUsage.getLlmId(),
+          LlmUsageDistributionCounter.toEpochHour(llmUsage.getCreatedAt()),
+          llmUsage.getUsedToken());
+      if (!merged) {
+        complete = false;
+        log.error("열 저장소 추가 실패 (최대 행 수 초과 또는 열 범위 초과) - 행: {}, 이후 SQL로 조회",
+            current.size());
+        return;
+      }
+    }
+  }
+
+  /**
+   * 집계 시각이 조회 시작 시각 이후인 첫 시간 (집계 시각은 시간 시작이므로 올림)
+   */
+  private static long toFromHour(LocalDateTime from) {
+    return from == null ? Long.MIN_VALUE : ceilEpochHour(from);
+  }
+
+  /**
+   * 집계 시각이 조회 종료 시각 이후인 첫 시간 (종료 시간, 제외)
+   */
+  private static long toToHour(LocalDateTime to) {
+    return to == null ? Long.MAX_VALUE : ceilEpochHour(to);
+  }
+
+  private static long ceilEpochHour(LocalDateTime dateTime) {
+    return LlmUsageDistributionCounter.toEpochHour(dateTime.minusNanos(1)) + 1;
+  }
+
+  private long rowCount() {
+    OffHeapUsageColumns current = columns;
+    return current == null ? 0L : current.size();
+  }
+
+  private long memoryBytes() {
+    OffHeapUsageColumns current = columns;
+    return current == null ? 0L : current.memoryBytes();
+  }
+}
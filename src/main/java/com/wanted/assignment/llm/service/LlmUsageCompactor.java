@@ -0,0 +1,187 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageSegmentJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 오래된 LLM 사용량 압축(compaction)
+ *
+ * <p>사용량 기록 시 시간별 집계(llm_usage_hourly)는 이미 누적되므로, 압축 기준 일자 이전의 시간별 집계를
+ * 일별 집계(llm_usage_daily)로 옮기고, 같은 기간의 건별 원본을 삭제한다. 통계 조회는 시간별/일별 집계를
+ * 합친 llm_usage_summary 뷰를 읽으므로 압축 전후의 합계가 같다.
+ *
+ * <p>시간별 집계는 정해진 건수씩 별도 트랜잭션으로 옮기고, 원본은 기준 시각 이전에 끝나는 세그먼트는
+ * 테이블째 삭제하고 걸쳐 있는 세그먼트만 정해진 건수씩 삭제하여, 기록 경로와의 잠금 경합을 짧게 유지한다.
+ * 압축 기준은 저널/비동기 기록의 최대 지연보다 길어야 한다.
+ *
+ * <p>압축 후 집계 단위가 시간과 일로 나뉘므로, 기간 조회의 경계도 {@link #alignFrom}/{@link #alignTo}로
+ * 경계를 포함하는 집계 단위에 맞춘 뒤 조회한다.
+ */
+@Slf4j
+@Component
+public class LlmUsageCompactor {
+
+  private final LlmUsageWriter llmUsageWriter;
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+  private final UsageProperties.Compaction properties;
+  private final Counter hourlyCounter;
+  private final Counter rawCounter;
+  private final Timer compactionTimer;
+
+  // 스케줄 실행과 수동 실행이 겹치지 않도록 직렬화
+  private final ReentrantLock compactionLock = new ReentrantLock();
+
+  /**
+   * 압축기 생성 및 메트릭 등록
+   *
+   * @param llmUsageWriter                LLM 사용량 저장기
+   * @param llmUsageJdbcRepository        LLM 사용량 저장소
+   * @param llmUsageSegmentJdbcRepository 세그먼트 저장소
+   * @param usageProperties               LLM 사용량 설정
+   * @param meterRegistry                 메트릭 레지스트리
+   */
+  public LlmUsageCompactor(
+      LlmUsageWriter llmUsageWriter,
+      LlmUsageJdbcRepository llmUsageJdbcRepository,
+      LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageWriter = llmUsageWriter;
+    this.llmUsageJdbcRepository = llmUsageJdbcRepository;
+    this.llmUsageSegmentJdbcRepository = llmUsageSegmentJdbcRepository;
+    this.properties = usageProperties.getCompaction();
+
+    this.hourlyCounter = Counter.builder("usage.compaction.rows")
+        .tag("type", "hourly")
+        .description("일별 집계로 압축된 시간별 집계 행 수")
+        .register(meterRegistry);
+    this.rawCounter = Counter.builder("usage.compaction.rows")
+        .tag("type", "raw")
+        .description("압축 후 삭제된 LLM 사용량 원본 행 수")
+        .register(meterRegistry);
+    this.compactionTimer = Timer.builder("usage.compaction.duration")
+        .description("LLM 사용량 압축 소요 시간")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 설정된 보관 일수 이전의 사용량 압축 (스케줄 실행)
+   */
+  @Scheduled(cron = "${usage.compaction.cron:0 */10 * * * *}")
+  public void compact() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    compact(cutoff());
+  }
+
+  /**
+   * 조회 시작 시각을 경계가 속한 집계 단위의 시작으로 내림
+   *
+   * <p>집계 뷰의 행은 구간 시작 시각으로 기간 포함 여부가 정해지므로, 경계가 구간 중간이면 해당 구간이
+   * 빠지지 않도록 압축 기준 이전은 일, 이후는 시간 단위로 내린다.
+   *
+   * @param from 조회 시작 시각 (null이면 그대로)
+   * @return 집계 단위에 맞춘 조회 시작 시각
+   */
+  public LocalDateTime alignFrom(LocalDateTime from) {
+    if (from == null) {
+      return null;
+    }
+    return from.truncatedTo(isCompacted(from) ? ChronoUnit.DAYS : ChronoUnit.HOURS);
+  }
+
+  /**
+   * 조회 종료 시각(제외)을 경계가 속한 집계 단위의 끝으로 올림
+   *
+   * @param to 조회 종료 시각 (null이면 그대로)
+   * @return 집계 단위에 맞춘 조회 종료 시각
+   */
+  public LocalDateTime alignTo(LocalDateTime to) {
+    if (to == null) {
+      return null;
+    }
+    LocalDateTime last = to.minusNanos(1);
+    return isCompacted(last)
+        ? last.truncatedTo(ChronoUnit.DAYS).plusDays(1)
+        : last.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+  }
+
+  /**
+   * 기준 시각 이전의 사용량 압축
+   *
+   * @param before 기준 시각 (제외, 일 단위로 맞춰야 일별 집계가 나뉘지 않음)
+   * @return 압축된 시간별 집계 행 수와 삭제된 원본 행 수의 합
+   */
+  public long compact(LocalDateTime before) {
+    compactionLock.lock();
+    try {
+      return compactionTimer.record(() -> {
+        long hourlyCount = compactHourly(before);
+        long rawCount = purgeRaw(before);
+        if (hourlyCount + rawCount > 0) {
+          log.info("LLM 사용량 압축 완료 - 기준 {}, 시간별 집계 {}건, 원본 {}건",
+              before, hourlyCount, rawCount);
+        }
+        return hourlyCount + rawCount;
+      });
+    } finally {
+      compactionLock.unlock();
+    }
+  }
+
+  /**
+   * 현재 압축 기준 시각 (이전 기간은 일별 집계로 압축됨)
+   */
+  private LocalDateTime cutoff() {
+    LocalDate cutoffDay = LocalDate.now().minusDays(Math.max(1, properties.getHorizonDays()));
+    return cutoffDay.atStartOfDay();
+  }
+
+  private boolean isCompacted(LocalDateTime dateTime) {
+    return properties.isEnabled() && dateTime.isBefore(cutoff());
+  }
+
+  private long compactHourly(LocalDateTime before) {
+    int chunkSize = Math.max(1, properties.getChunkSize());
+    long total = 0;
+    int count;
+    do {
+      count = llmUsageWriter.compactLlmUsageHourly(before, chunkSize);
+      total += count;
+      hourlyCounter.increment(count);
+    } while (count == chunkSize);
+    return total;
+  }
+
+  private long purgeRaw(LocalDateTime before) {
+    int chunkSize = Math.max(1, properties.getChunkSize());
+    long total = 0;
+    for (YearMonth segment : llmUsageSegmentJdbcRepository.selectSegmentsBetween(null, before)) {
+      LocalDateTime segmentEnd = segment.plusMonths(1).atDay(1).atStartOfDay();
+      if (!segmentEnd.isAfter(before) && llmUsageSegmentJdbcRepository.dropSegment(segment)) {
+        continue;
+      }
+      int count;
+      do {
+        count = llmUsageJdbcRepository.deleteLlmUsagesBefore(segment, before, chunkSize);
+        total += count;
+        rawCounter.increment(count);
+      } while (count == chunkSize);
+    }
+    return total;
+  }
+}
@@ -0,0 +1,203 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.index.HistogramRing;
+import com.wanted.assignment.common.index.LogLinearHistogram;
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageSegmentJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM별 최근 사용 토큰 수 분포 메모리 히스토그램
+ *
+ * <p>LLM별 사용 토큰 수 분포 조회(GET /llm/usages/distribution)가 백분위수를 구하기 위해 건별 사용량을
+ * 정렬하지 않도록, 사용량 기록(LlmUsageWriter)과 함께 LLM별 {@link HistogramRing}의 사용량 추가 시각
+ * 슬롯에 사용 토큰 수를 센다. 링은 설정된 시간 수(usage.distribution.window-hours)만큼만 보관하므로
+ * 메모리는 LLM 수 x 시간 수 x 약 6.9 KB로 고정되고, 조회 시 기간에 해당하는 시간 슬롯을 합쳐 분포를
+ * 만든다.
+ *
+ * <p>시작 시 링 크기만큼의 원본 사용량으로 링을 채운다. 기록은 트랜잭션이 커밋된 뒤에 세므로 커밋되지 않은
+ * 사용량은 분포와 최댓값에 포함되지 않는다. LLM 삭제는 즉시 반영하고, 트랜잭션이 롤백되면 되돌린다.
+ */
+@Slf4j
+@Component
+public class LlmUsageDistributionCounter implements SmartInitializingSingleton {
+
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+  private final int windowHours;
+  private final Map<Long, HistogramRing> ringByLlmId = new ConcurrentHashMap<>();
+
+  /**
+   * 히스토그램 생성 및 메트릭 등록
+   *
+   * @param llmUsageJdbcRepository        LLM 사용량 저장소
+   * @param llmUsageSegmentJdbcRepository 월별 세그먼트 저장소
+   * @param usageProperties               사용량 설정
+   * @param meterRegistry                 메트릭 레지스트리
+   */
+  public LlmUsageDistributionCounter(
+      LlmUsageJdbcRepository llmUsageJdbcRepository,
+      LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageJdbcRepository = llmUsageJdbcRepository;
+    this.llmUsageSegmentJdbcRepository = llmUsageSegmentJdbcRepository;
+    this.windowHours = usageProperties.getDistribution().getWindowHours();
+
+    Gauge.builder("usage.distribution.rings", ringByLlmId, Map::size)
+        .description("사용 토큰 수 분포 링이 있는 LLM 수")
+        .register(meterRegistry);
+    Gauge.builder("usage.distribution.bytes", this, LlmUsageDistributionCounter::memoryBytes)
+        .description("사용 토큰 수 분포 링 배열 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 시각을 epoch 기준 시간으로 변환 (시각은 서버 로컬 시각 그대로 사용)
+   *
+   * @param dateTime 시각
+   * @return epoch 기준 시간
+   */
+  public static long toEpochHour(LocalDateTime dateTime) {
+    return Math.floorDiv(LlmUsageSeriesCounter.toEpochMinute(dateTime), 60L);
+  }
+
+  /**
+   * epoch 기준 시간을 시각으로 변환
+   *
+   * @param epochHour epoch 기준 시간
+   * @return 시각
+   */
+  public static LocalDateTime toDateTime(long epochHour) {
+    return LlmUsageSeriesCounter.toDateTime(epochHour * 60L);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) 최근 원본 사용량 적재
+   *
+   * <p>세그먼트 관리자보다 먼저 호출될 수 있으므로 세그먼트 목록을 먼저 읽는다.
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    llmUsageSegmentJdbcRepository.refreshSegments();
+    reload();
+  }
+
+  /**
+   * 링을 비우고 최근 링 크기만큼의 원본 사용량을 다시 적재
+   *
+   * <p>적재 중에 기록된 사용량은 누락될 수 있으므로 기록이 없는 시점에 호출한다.
+   */
+  public void reload() {
+    ringByLlmId.clear();
+    long fromHour = getCoverageStartHour();
+    long[] loaded = new long[1];
+    llmUsageJdbcRepository.selectUsedTokens(toDateTime(fromHour), (llmId, createdAt, usedToken) -> {
+      ring(llmId).record(toEpochHour(createdAt), usedToken, 1L);
+      loaded[0]++;
+    });
+    log.info("사용 토큰 수 분포 적재 - llm: {}, 사용량: {}, 시작: {}",
+        ringByLlmId.size(), loaded[0], toDateTime(fromHour));
+  }
+
+  /**
+   * 기록된 사용량의 사용 토큰 수를 트랜잭션이 커밋된 뒤 LLM별 시간 슬롯에 셈
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목(아이디가 null)은 제외한다.
+   *
+   * @param llmUsages 기록한 LLM 사용량 목록
+   */
+  public void add(List<LlmUsageEntity> llmUsages) {
+    List<LlmUsageEntity> added = new ArrayList<>(llmUsages.size());
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() != null) {
+        added.add(llmUsage);
+      }
+    }
+    if (!added.isEmpty()) {
+      TransactionUndo.afterCommit(() -> added.forEach(this::add));
+    }
+  }
+
+  /**
+   * 사용량이 삭제된 LLM의 링 삭제
+   *
+   * @param llmId LLM 아이디
+   */
+  public void removeLlm(long llmId) {
+    HistogramRing removed = ringByLlmId.remove(llmId);
+    if (removed != null) {
+      TransactionUndo.onRollback(() -> ringByLlmId.putIfAbsent(llmId, removed));
+    }
+  }
+
+  /**
+   * 링으로 응답할 수 있는 가장 오래된 시간 (현재 시간 포함 링 크기만큼)
+   *
+   * @return epoch 기준 시간
+   */
+  public long getCoverageStartHour() {
+    return toEpochHour(LocalDateTime.now()) - windowHours + 1;
+  }
+
+  /**
+   * 기간 내 LLM의 사용 토큰 수 분포
+   *
+   * <p>호출 측에서 기간이 {@link #getCoverageStartHour()} 이후인지 확인한다.
+   *
+   * @param llm      LLM 정보
+   * @param fromHour 시작 시간 (포함, epoch 기준 시간)
+   * @param toHour   종료 시간 (제외, epoch 기준 시간)
+   * @return 사용 토큰 수 분포
+   */
+  public LlmUsageDto.DistributionResponse getDistribution(
+      LlmDto.SelectResponse llm, long fromHour, long toHour) {
+    LogLinearHistogram histogram = new LogLinearHistogram();
+    HistogramRing ring = ringByLlmId.get(llm.getId());
+    if (ring != null) {
+      ring.collect(fromHour, toHour, histogram);
+    }
+    return LlmUsageDto.DistributionResponse.of(
+        llm.getId(),
+        llm.getName(),
+        toDateTime(fromHour),
+        toDateTime(toHour),
+        histogram.getTotalCount(),
+        histogram.getValueAtPercentile(50.0),
+        histogram.getValueAtPercentile(90.0),
+        histogram.getValueAtPercentile(99.0),
+        histogram.getMaxValue());
+  }
+
+  private void add(LlmUsageEntity llmUsage) {
+    ring(llmUsage.getLlmId())
+        .record(toEpochHour(llmUsage.getCreatedAt()), llmUsage.getUsedToken(), 1L);
+  }
+
+  private HistogramRing ring(long llmId) {
+    HistogramRing ring = ringByLlmId.get(llmId);
+    if (ring == null) {
+      ring = ringByLlmId.computeIfAbsent(llmId, k -> new HistogramRing(windowHours));
+    }
+    return ring;
+  }
+
+  private long memoryBytes() {
+    return ringByLlmId.values().stream().mapToLong(HistogramRing::memoryBytes).sum();
+  }
+}
@@ -0,0 +1,190 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.common.type.ExportFormat;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 원본 사용량 CSV/NDJSON 내보내기
+ *
+ * <p>DB 커서에서 읽은 행을 바로 응답 스트림에 기록하므로, 행 수와 관계없이 메모리에는 fetch size 만큼의 행과
+ * 쓰기 버퍼만 있다. 내보내기 하나가 끝날 때까지 커넥션 하나를 점유하므로 동시 실행 수를
+ * (usage.export.max-concurrent) 제한하고, 초과한 요청은 스트리밍을 시작하기 전에 429로 거부한다.
+ */
+@Slf4j
+@Component
+public class LlmUsageExporter {
+
+  private static final String CSV_HEADER = "id,user_id,llm_id,used_token,created_at\n";
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+  private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+  private static final String ASYNC_INTERCEPTOR_KEY = LlmUsageExporter.class.getName();
+
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final int fetchSize;
+  private final int maxConcurrent;
+  private final Semaphore permits;
+  private final Counter exportedCounter;
+
+  /**
+   * 내보내기 생성 및 메트릭 등록
+   *
+   * @param llmUsageJdbcRepository LLM 사용량 저장소
+   * @param usageProperties        사용량 설정
+   * @param meterRegistry          메트릭 레지스트리
+   */
+  public LlmUsageExporter(
+      LlmUsageJdbcRepository llmUsageJdbcRepository,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageJdbcRepository = llmUsageJdbcRepository;
+    this.fetchSize = usageProperties.getExport().getFetchSize();
+    this.maxConcurrent = usageProperties.getExport().getMaxConcurrent();
+    this.permits = new Semaphore(maxConcurrent);
+
+    Gauge.builder("usage.export.active", this, LlmUsageExporter::activeCount)
+        .description("실행 중인 원본 사용량 내보내기 수")
+        .register(meterRegistry);
+    this.exportedCounter = Counter.builder("usage.export.rows")
+        .description("내보낸 원본 사용량 행 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 실행 권한을 얻고 원본 사용량을 응답 스트림에 기록하는 본문 생성
+   *
+   * <p>실행 권한은 본문 기록이 끝나거나 실패하면 반환한다. 비동기 처리가 시간 초과나 클라이언트 연결 종료로
+   * 본문이 실행되지 않은 채 끝날 수 있으므로, 요청 처리 중에 호출된 경우 비동기 요청이 끝날 때에도
+   * 반환한다. 반환은 한 번만 실행된다.
+   *
+   * @param exportRequest 내보낼 조건
+   * @return 응답 본문
+   * @throws ApiException 동시 실행 수를 초과한 경우 (429)
+   */
+  public StreamingResponseBody export(LlmUsageDto.ExportRequest exportRequest) {
+    if (!permits.tryAcquire()) {
+      log.error("원본 사용량 내보내기 동시 실행 수 초과: {}", maxConcurrent);
+      throw new ApiException(HttpStatus.TOO_MANY_REQUESTS, ApiStatus.TOO_MANY_REQUESTS);
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    Runnable release = () -> {
+      if (released.compareAndSet(false, true)) {
+        permits.release();
+      }
+    };
+    releaseOnAsyncCompletion(release);
+    return outputStream -> {
+      try {
+        write(exportRequest, outputStream);
+      } finally {
+        release.run();
+      }
+    };
+  }
+
+  /**
+   * 현재 요청의 비동기 처리가 끝나면(완료, 시간 초과, 오류) 실행 권한 반환
+   *
+   * @param release 실행 권한 반환 작업
+   */
+  private void releaseOnAsyncCompletion(Runnable release) {
+    if (!(RequestContextHolder.getRequestAttributes()
+        instanceof ServletRequestAttributes requestAttributes)) {
+      return;
+    }
+    WebAsyncUtils.getAsyncManager(requestAttributes.getRequest())
+        .registerCallableInterceptor(ASYNC_INTERCEPTOR_KEY, new CallableProcessingInterceptor() {
+          @Override
+          public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            release.run();
+          }
+        });
+  }
+
+  private void write(LlmUsageDto.ExportRequest exportRequest, OutputStream outputStream)
+      throws IOException {
+    long startNanos = System.nanoTime();
+    ExportFormat format = exportRequest.getFormat();
+    Writer writer = new BufferedWriter(
+        new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    // 행마다 문자열을 만들지 않도록 한 줄을 담을 버퍼를 재사용
+    StringBuilder line = new StringBuilder(128);
+    long[] rowCount = new long[1];
+    if (format == ExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+    }
+    try {
+      llmUsageJdbcRepository.selectLlmUsagesForExport(
+          exportRequest.getUserId(),
+          exportRequest.getLlmId(),
+          exportRequest.getFrom(),
+          exportRequest.getTo(),
+          fetchSize,
+          (id, userId, llmId, usedToken, createdAt) -> {
+            line.setLength(0);
+            switch (format) {
+              case CSV -> {
+                line.append(id).append(',').append(userId).append(',').append(llmId)
+                    .append(',').append(usedToken).append(',');
+                CREATED_AT_FORMAT.formatTo(createdAt, line);
+              }
+              case NDJSON -> {
+                line.append("{\"id\":").append(id)
+                    .append(",\"userId\":").append(userId)
+                    .append(",\"llmId\":").append(llmId)
+                    .append(",\"usedToken\":").append(usedToken)
+                    .append(",\"createdAt\":\"");
+                CREATED_AT_FORMAT.formatTo(createdAt, line);
+                line.append("\"}");
+              }
+            }
+            line.append('\n');
+            try {
+              writer.append(line);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            rowCount[0]++;
+          });
+      writer.flush();
+    } catch (UncheckedIOException e) {
+      // 클라이언트 연결 종료 등 응답 기록 실패 (커서는 조회 중단과 함께 닫힘)
+      log.warn("원본 사용량 내보내기 중단 - 기록 행 수: {}", rowCount[0]);
+      throw e.getCause();
+    } finally {
+      exportedCounter.increment(rowCount[0]);
+    }
+    log.info("원본 사용량 내보내기 완료 - 형식: {}, 행 수: {}, 소요 시간: {}ms",
+        format, rowCount[0], (System.nanoTime() - startNanos) / 1_000_000L);
+  }
+
+  private int activeCount() {
+    return maxConcurrent - permits.availablePermits();
+  }
+}
@@ -0,0 +1,653 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.constants.Constants;
+import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.common.type.IngestionMode;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.UsageJournalCheckpointJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 사용량 메모리 매핑 저널
+ *
+ * <p>요청은 메모리 매핑된 세그먼트 파일에 고정 길이 레코드로 추가된 즉시 응답하고, 단일 백그라운드
+ * 스레드가 저널을 순서대로 읽어 {@code apply-batch-size}건 단위로 DB에 반영한다. 추가는 페이지 캐시에
+ * 쓰는 것으로 끝나므로 프로세스가 비정상 종료되어도 기록이 남으며, {@code force-on-append}를 켜면
+ * 레코드마다 디스크에 강제 기록하여 전원 장애에도 유실되지 않는다.
+ *
+ * <p>반영 위치(세그먼트 번호, 오프셋)는 사용량과 같은 트랜잭션으로 usage_journal_checkpoint에
+ * 저장되므로, 재시작 시 반영 위치부터 다시 읽어도 중복 기록되지 않는다. 모두 반영된 세그먼트 파일은
+ * 다음 세그먼트로 넘어갈 때 삭제된다.
+ *
+ * <p>레코드 구조 (128 byte, big-endian)
+ * <pre>
+ *   0  int     magic
+ *   4  long    userId
+ *  12  long    llmId
+ *  20  int     usedToken
+ *  24  long    createdAt (epoch ms)
+ *  32  byte    멱등 키 길이 (UTF-8 byte, 0이면 없음)
+ *  33  byte[]  멱등 키 (최대 64 byte)
+ * 124  int     CRC32 [0, 124)
+ * </pre>
+ */
+@Slf4j
+@Component
+public class LlmUsageJournal implements SmartLifecycle {
+
+  // 웹 서버 graceful shutdown(DEFAULT_PHASE - 1024), 웹 서버 종료(DEFAULT_PHASE - 2048) 이후 종료
+  private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  private static final int RECORD_SIZE = 128;
+  private static final int MAGIC = 0x55534A31;
+  private static final int USER_ID_OFFSET = 4;
+  private static final int LLM_ID_OFFSET = 12;
+  private static final int USED_TOKEN_OFFSET = 20;
+  private static final int CREATED_AT_OFFSET = 24;
+  private static final int KEY_LENGTH_OFFSET = 32;
+  private static final int KEY_OFFSET = 33;
+  private static final int CRC_OFFSET = 124;
+
+  private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("usage-(\\d{20})\\.journal");
+  private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+
+  private final LlmUsageWriter llmUsageWriter;
+  private final UsageJournalCheckpointJdbcRepository usageJournalCheckpointJdbcRepository;
+  private final UsageIdempotencyIndex usageIdempotencyIndex;
+  private final UsageProperties.Journal properties;
+  private final boolean enabled;
+  private final Path directory;
+  private final int segmentSize;
+
+  // 세그먼트 번호 -> 세그먼트 (추가 스레드가 생성하고 반영 스레드가 삭제)
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+  // 레코드 추가는 Lock으로 직렬화
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private final AtomicLong pendingRecords = new AtomicLong();
+
+  private final Timer applyTimer;
+  private final Counter appendedCounter;
+  private final Counter appliedCounter;
+  private final Counter failedCounter;
+  private final Counter rejectedCounter;
+
+  // 다음에 추가할 위치 (volatile 쓰기로 레코드 내용을 반영 스레드에 공개)
+  private volatile Position writePosition;
+  // 다음에 반영할 위치 (반영 스레드만 변경)
+  private volatile Position applyPosition;
+
+  private volatile boolean running;
+  private Thread applierThread;
+
+  /**
+   * 저널 생성 및 메트릭 등록
+   *
+   * @param llmUsageWriter                       LLM 사용량 저장 컴포넌트
+   * @param usageJournalCheckpointJdbcRepository 저널 반영 위치 저장소
+   * @param usageIdempotencyIndex                LLM 사용량 멱등 키 인덱스
+   * @param usageProperties                      LLM 사용량 수집 설정
+   * @param meterRegistry                        메트릭 레지스트리
+   */
+  public LlmUsageJournal(
+      LlmUsageWriter llmUsageWriter,
+      UsageJournalCheckpointJdbcRepository usageJournalCheckpointJdbcRepository,
+      UsageIdempotencyIndex usageIdempotencyIndex,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageWriter = llmUsageWriter;
+    this.usageJournalCheckpointJdbcRepository = usageJournalCheckpointJdbcRepository;
+    this.usageIdempotencyIndex = usageIdempotencyIndex;
+    this.properties = usageProperties.getJournal();
+    this.enabled = usageProperties.getIngestion().getMode() == IngestionMode.JOURNAL;
+    this.directory = Paths.get(properties.getDirectory());
+    this.segmentSize = Math.max(1, properties.getSegmentSizeBytes() / RECORD_SIZE) * RECORD_SIZE;
+
+    Gauge.builder("usage.journal.lag", pendingRecords, AtomicLong::get)
+        .description("저널에 추가되었지만 DB에 반영되지 않은 레코드 건수")
+        .register(meterRegistry);
+    this.applyTimer = Timer.builder("usage.journal.apply")
+        .description("저널 반영 1회 소요 시간")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.appendedCounter = recordCounter(meterRegistry, "appended");
+    this.appliedCounter = recordCounter(meterRegistry, "applied");
+    this.failedCounter = recordCounter(meterRegistry, "failed");
+    this.rejectedCounter = recordCounter(meterRegistry, "rejected");
+  }
+
+  /**
+   * 저널 기록 모드 사용 여부
+   *
+   * @return 저널 기록 모드이면 true
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 저널에 반영되지 않은 레코드 건수
+   *
+   * @return 미반영 레코드 건수
+   */
+  public long getLag() {
+    return pendingRecords.get();
+  }
+
+  /**
+   * LLM 사용량을 저널에 추가
+   *
+   * <p>사용 시각은 DB 반영 시점이 아니라 추가 시점으로 기록한다.
+   *
+   * @param insertRequest 기록할 LLM 사용량 정보
+   */
+  public void append(LlmUsageDto.InsertRequest insertRequest) {
+
+    byte[] idempotencyKey = insertRequest.getIdempotencyKey() == null
+        ? new byte[0]
+        : insertRequest.getIdempotencyKey().getBytes(StandardCharsets.UTF_8);
+    if (idempotencyKey.length > Constants.IDEMPOTENCY_KEY_MAX_LENGTH) {
+      log.error("멱등 키 길이 초과 (UTF-8 byte): {}", idempotencyKey.length);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+    if (!running) {
+      rejectedCounter.increment();
+      log.error("저널이 동작 중이 아님: {}", insertRequest);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ApiStatus.USAGE_JOURNAL_UNAVAILABLE);
+    }
+    if (pendingRecords.get() >= properties.getMaxLagRecords()) {
+      rejectedCounter.increment();
+      log.error("저널 추가 거부 (미반영 레코드 한도 초과): {}", insertRequest);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ApiStatus.USAGE_QUEUE_FULL);
+    }
+
+    long createdAt = System.currentTimeMillis();
+    appendLock.lock();
+    try {
+      Position position = writePosition;
+      Segment segment = segments.get(position.segmentNo());
+      long offset = position.offset();
+      if (offset + RECORD_SIZE > segment.capacity) {
+        segment = createSegment(position.segmentNo() + 1);
+        offset = 0;
+      }
+
+      writeRecord(segment.buffer, (int) offset, insertRequest, createdAt, idempotencyKey);
+      if (properties.isForceOnAppend()) {
+        segment.buffer.force((int) offset, RECORD_SIZE);
+      }
+      writePosition = new Position(segment.segmentNo, offset + RECORD_SIZE);
+      pendingRecords.incrementAndGet();
+    } catch (IOException | UncheckedIOException e) {
+      rejectedCounter.increment();
+      log.error("저널 추가 실패: {}", insertRequest, e);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ApiStatus.USAGE_JOURNAL_UNAVAILABLE);
+    } finally {
+      appendLock.unlock();
+    }
+    appendedCounter.increment();
+  }
+
+  @Override
+  public void start() {
+    try {
+      recover();
+    } catch (IOException e) {
+      throw new IllegalStateException("저널 복구 실패: " + directory.toAbsolutePath(), e);
+    }
+    running = true;
+    applierThread = new Thread(this::runApplier, "usage-journal-applier");
+    applierThread.setDaemon(true);
+    applierThread.start();
+    log.info("저널 시작 - directory: {}, segmentSize: {}, 반영 위치: {}, 추가 위치: {}, 미반영: {}",
+        directory.toAbsolutePath(), segmentSize, applyPosition, writePosition,
+        pendingRecords.get());
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      applierThread.join(properties.getShutdownTimeoutMs());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (applierThread.isAlive()) {
+      log.warn("저널 반영 스레드가 제한 시간 내 종료되지 않음 - 미반영: {} (재시작 시 이어서 반영)",
+          pendingRecords.get());
+      return;
+    }
+
+    for (Segment segment : segments.values()) {
+      forceQuietly(segment);
+    }
+    segments.clear();
+    log.info("저널 종료 - 반영 위치: {}", applyPosition);
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return enabled;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  /**
+   * 세그먼트 파일과 DB의 반영 위치로 추가 위치, 반영 위치, 미반영 건수 복구
+   *
+   * <p>마지막 세그먼트는 처음부터 magic과 CRC가 올바른 레코드까지를 추가된 것으로 본다. 비정상 종료로
+   * 일부만 기록된 마지막 레코드는 이후 추가되는 레코드로 덮어쓴다.
+   *
+   * @throws IOException 세그먼트 파일을 열 수 없는 경우
+   */
+  private void recover() throws IOException {
+    Files.createDirectories(directory);
+    segments.clear();
+
+    UsageJournalCheckpointJdbcRepository.Checkpoint checkpoint =
+        usageJournalCheckpointJdbcRepository.selectCheckpoint();
+
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+      for (Path path : stream) {
+        Matcher matcher = SEGMENT_FILE_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+          continue;
+        }
+        long segmentNo = Long.parseLong(matcher.group(1));
+        if (segmentNo < checkpoint.segmentNo()) {
+          // 다음 세그먼트로 넘어간 뒤 삭제되지 못한 세그먼트
+          Files.deleteIfExists(path);
+          continue;
+        }
+        segments.put(segmentNo, openSegment(segmentNo, path));
+      }
+    }
+
+    if (segments.isEmpty()) {
+      long segmentNo = checkpoint.offset() > 0
+          ? checkpoint.segmentNo() + 1
+          : checkpoint.segmentNo();
+      createSegment(segmentNo);
+      applyPosition = new Position(segmentNo, 0);
+      writePosition = new Position(segmentNo, 0);
+      pendingRecords.set(0);
+      return;
+    }
+
+    Map.Entry<Long, Segment> first = segments.firstEntry();
+    applyPosition = first.getKey() == checkpoint.segmentNo()
+        ? new Position(checkpoint.segmentNo(), checkpoint.offset())
+        : new Position(first.getKey(), 0);
+
+    Segment last = segments.lastEntry().getValue();
+    long writeOffset = 0;
+    while (writeOffset + RECORD_SIZE <= last.capacity
+        && isValidRecord(last.buffer, (int) writeOffset)) {
+      writeOffset += RECORD_SIZE;
+    }
+    if (last.segmentNo == applyPosition.segmentNo()) {
+      writeOffset = Math.max(writeOffset, applyPosition.offset());
+    }
+    writePosition = new Position(last.segmentNo, writeOffset);
+
+    long pending = 0;
+    for (Segment segment : segments.values()) {
+      long from = segment.segmentNo == applyPosition.segmentNo() ? applyPosition.offset() : 0;
+      long to = segment.segmentNo == writePosition.segmentNo()
+          ? writePosition.offset()
+          : segment.capacity;
+      pending += Math.max(0, to - from) / RECORD_SIZE;
+    }
+    pendingRecords.set(pending);
+  }
+
+  /**
+   * 저널을 반영하며 대기 반복 (종료 요청 후에도 반영할 레코드가 없을 때까지 계속)
+   */
+  private void runApplier() {
+    while (true) {
+      boolean applied;
+      try {
+        applied = applyNext();
+      } catch (RuntimeException e) {
+        log.error("저널 반영 실패, {}ms 후 재시도", properties.getApplyIntervalMs(), e);
+        applied = false;
+      }
+      if (applied) {
+        continue;
+      }
+      if (!running) {
+        break;
+      }
+      try {
+        Thread.sleep(properties.getApplyIntervalMs());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+  }
+
+  /**
+   * 반영 위치부터 최대 apply-batch-size건을 읽어 한 트랜잭션으로 반영하고, 실패 시 건별로 재시도
+   *
+   * @return 반영 위치가 앞으로 이동했으면 true
+   */
+  private boolean applyNext() {
+    Position written = writePosition;
+    Position position = applyPosition;
+    Segment segment = segments.get(position.segmentNo());
+
+    long limit = position.segmentNo() == written.segmentNo() ? written.offset() : segment.capacity;
+    if (position.offset() >= limit) {
+      if (position.segmentNo() < written.segmentNo()) {
+        advanceSegment(segment);
+        return true;
+      }
+      return false;
+    }
+
+    int count = (int) Math.min(properties.getApplyBatchSize(),
+        (limit - position.offset()) / RECORD_SIZE);
+    List<LlmUsageEntity> llmUsages = new ArrayList<>(count);
+    long endOffset = position.offset();
+    for (int i = 0; i < count; i++) {
+      LlmUsageEntity llmUsage = readRecord(segment.buffer, (int) endOffset);
+      if (llmUsage != null) {
+        llmUsages.add(llmUsage);
+      }
+      endOffset += RECORD_SIZE;
+    }
+
+    long startNanos = System.nanoTime();
+    try {
+      llmUsageWriter.applyJournal(llmUsages, position.segmentNo(), endOffset);
+      applyPosition = new Position(position.segmentNo(), endOffset);
+      pendingRecords.addAndGet(-count);
+      appliedCounter.increment(llmUsages.size());
+      failedCounter.increment(count - llmUsages.size());
+      llmUsages.forEach(this::complete);
+      return true;
+    } catch (RuntimeException e) {
+      log.error("저널 반영 실패, 건별 재시도 - 위치: {}, 건수: {}", position, count, e);
+      return retry(segment, endOffset);
+    } finally {
+      applyTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * 한 번에 반영하지 못한 구간을 건별로 반영하고, 기록할 수 없는 레코드는 건너뜀
+   *
+   * <p>실패한 트랜잭션에서 아이디가 설정된 엔티티를 재사용하지 않도록 레코드를 다시 읽는다. 건너뛰기
+   * (반영 위치만 갱신)도 실패하면 DB를 사용할 수 없는 것으로 보고 다음 주기에 다시 시도한다.
+   *
+   * @param segment   반영 중인 세그먼트
+   * @param endOffset 재시도할 구간의 끝 위치
+   * @return 반영 위치가 앞으로 이동했으면 true
+   */
+  private boolean retry(Segment segment, long endOffset) {
+    long startOffset = applyPosition.offset();
+    for (long offset = startOffset; offset < endOffset; offset += RECORD_SIZE) {
+      long nextOffset = offset + RECORD_SIZE;
+      LlmUsageEntity llmUsage = readRecord(segment.buffer, (int) offset);
+      try {
+        llmUsageWriter.applyJournal(
+            llmUsage == null ? List.of() : List.of(llmUsage), segment.segmentNo, nextOffset);
+        if (llmUsage == null) {
+          failedCounter.increment();
+        } else {
+          appliedCounter.increment();
+          complete(llmUsage);
+        }
+      } catch (RuntimeException e) {
+        if (!skip(segment, nextOffset, llmUsage, e)) {
+          return offset > startOffset;
+        }
+      }
+      applyPosition = new Position(segment.segmentNo, nextOffset);
+      pendingRecords.decrementAndGet();
+    }
+    return true;
+  }
+
+  /**
+   * 기록할 수 없는 레코드를 건너뛰도록 반영 위치만 갱신
+   *
+   * @param segment    반영 중인 세그먼트
+   * @param nextOffset 건너뛴 뒤 반영할 위치
+   * @param llmUsage   기록하지 못한 사용량
+   * @param cause      기록 실패 원인
+   * @return 반영 위치를 갱신했으면 true
+   */
+  private boolean skip(
+      Segment segment, long nextOffset, LlmUsageEntity llmUsage, RuntimeException cause) {
+    try {
+      llmUsageWriter.applyJournal(List.of(), segment.segmentNo, nextOffset);
+    } catch (RuntimeException e) {
+      log.error("저널 반영 위치 갱신 실패 - 세그먼트: {}, 위치: {}",
+          segment.segmentNo, nextOffset - RECORD_SIZE, e);
+      return false;
+    }
+    failedCounter.increment();
+    if (llmUsage != null) {
+      usageIdempotencyIndex.release(llmUsage.getIdempotencyKey());
+      log.error("LLM 사용량 기록 실패 - userId: {}, llmId: {}, usedToken: {}",
+          llmUsage.getUserId(), llmUsage.getLlmId(), llmUsage.getUsedToken(), cause);
+    }
+    return true;
+  }
+
+  /**
+   * 모두 반영된 세그먼트에서 다음 세그먼트로 반영 위치를 옮긴 뒤 세그먼트 파일 삭제
+   *
+   * @param segment 모두 반영된 세그먼트
+   */
+  private void advanceSegment(Segment segment) {
+    long nextSegmentNo = segments.higherKey(segment.segmentNo);
+    llmUsageWriter.applyJournal(List.of(), nextSegmentNo, 0);
+    applyPosition = new Position(nextSegmentNo, 0);
+
+    segments.remove(segment.segmentNo);
+    forceQuietly(segment);
+    try {
+      Files.deleteIfExists(segment.path);
+    } catch (IOException e) {
+      log.warn("반영된 저널 세그먼트 삭제 실패: {}", segment.path, e);
+    }
+  }
+
+  /**
+   * 반영된 사용량의 아이디를 멱등 키 인덱스에 반영
+   *
+   * @param llmUsage 반영된 사용량 (DB에 이미 기록된 멱등 키였다면 아이디가 null)
+   */
+  private void complete(LlmUsageEntity llmUsage) {
+    if (llmUsage.getId() == null) {
+      usageIdempotencyIndex.recordStoreHit(llmUsage.getIdempotencyKey());
+    } else {
+      usageIdempotencyIndex.complete(llmUsage.getIdempotencyKey(), llmUsage.getId());
+    }
+  }
+
+  /**
+   * 새 세그먼트 파일을 만들고 전체 크기로 매핑 (추가 잠금 보유 상태 또는 시작 시 호출)
+   *
+   * @param segmentNo 세그먼트 번호
+   * @return 생성된 세그먼트
+   * @throws IOException 파일을 만들거나 매핑할 수 없는 경우
+   */
+  private Segment createSegment(long segmentNo) throws IOException {
+    Path path = directory.resolve(String.format("usage-%020d.journal", segmentNo));
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      Segment segment = new Segment(segmentNo, path,
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize), segmentSize);
+      segments.put(segmentNo, segment);
+      return segment;
+    }
+  }
+
+  /**
+   * 기존 세그먼트 파일을 매핑
+   *
+   * @param segmentNo 세그먼트 번호
+   * @param path      세그먼트 파일 경로
+   * @return 매핑된 세그먼트
+   * @throws IOException 파일을 열거나 매핑할 수 없는 경우
+   */
+  private static Segment openSegment(long segmentNo, Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(
+        path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      int capacity = (int) (channel.size() / RECORD_SIZE * RECORD_SIZE);
+      return new Segment(segmentNo, path,
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+    }
+  }
+
+  private static void writeRecord(MappedByteBuffer buffer, int offset,
+      LlmUsageDto.InsertRequest insertRequest, long createdAt, byte[] idempotencyKey) {
+    buffer.putLong(offset + USER_ID_OFFSET, insertRequest.getUserId());
+    buffer.putLong(offset + LLM_ID_OFFSET, insertRequest.getLlmId());
+    buffer.putInt(offset + USED_TOKEN_OFFSET, insertRequest.getUsedToken());
+    buffer.putLong(offset + CREATED_AT_OFFSET, createdAt);
+    buffer.put(offset + KEY_LENGTH_OFFSET, (byte) idempotencyKey.length);
+    buffer.put(offset + KEY_OFFSET, idempotencyKey);
+    // 같은 위치에 남아 있던 일부만 기록된 레코드의 키가 CRC에 섞이지 않도록 나머지를 비움
+    for (int i = KEY_OFFSET + idempotencyKey.length; i < CRC_OFFSET; i++) {
+      buffer.put(offset + i, (byte) 0);
+    }
+    buffer.putInt(offset, MAGIC);
+    buffer.putInt(offset + CRC_OFFSET, checksum(buffer, offset));
+  }
+
+  /**
+   * 레코드를 읽어 엔티티로 변환
+   *
+   * @param buffer 세그먼트 버퍼
+   * @param offset 레코드 위치
+   * @return 변환된 엔티티 (손상된 레코드이면 null)
+   */
+  private static LlmUsageEntity readRecord(MappedByteBuffer buffer, int offset) {
+    if (!isValidRecord(buffer, offset)) {
+      log.error("손상된 저널 레코드 - 위치: {}", offset);
+      return null;
+    }
+
+    int keyLength = buffer.get(offset + KEY_LENGTH_OFFSET);
+    String idempotencyKey = null;
+    if (keyLength > 0) {
+      byte[] key = new byte[keyLength];
+      buffer.get(offset + KEY_OFFSET, key);
+      idempotencyKey = new String(key, StandardCharsets.UTF_8);
+    }
+    LocalDateTime createdAt = LocalDateTime.ofInstant(
+        Instant.ofEpochMilli(buffer.getLong(offset + CREATED_AT_OFFSET)), ZONE_ID);
+
+    return LlmUsageEntity.builder()
+        .userId(buffer.getLong(offset + USER_ID_OFFSET))
+        .llmId(buffer.getLong(offset + LLM_ID_OFFSET))
+        .usedToken(buffer.getInt(offset + USED_TOKEN_OFFSET))
+        .idempotencyKey(idempotencyKey)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .isDeleted(false)
+        .build();
+  }
+
+  private static boolean isValidRecord(MappedByteBuffer buffer, int offset) {
+    int keyLength = buffer.get(offset + KEY_LENGTH_OFFSET);
+    return buffer.getInt(offset) == MAGIC
+        && keyLength >= 0 && keyLength <= Constants.IDEMPOTENCY_KEY_MAX_LENGTH
+        && buffer.getInt(offset + CRC_OFFSET) == checksum(buffer, offset);
+  }
+
+  private static int checksum(MappedByteBuffer buffer, int offset) {
+    CRC32 crc32 = new CRC32();
+    crc32.update(buffer.slice(offset, CRC_OFFSET));
+    return (int) crc32.getValue();
+  }
+
+  private static void forceQuietly(Segment segment) {
+    try {
+      segment.buffer.force();
+    } catch (UncheckedIOException e) {
+      log.warn("저널 세그먼트 디스크 기록 실패: {}", segment.path, e);
+    }
+  }
+
+  private static Counter recordCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("usage.journal.records")
+        .description("저널 처리 레코드 건수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 저널 내 위치
+   *
+   * @param segmentNo 세그먼트 번호
+   * @param offset    세그먼트 내 위치(byte)
+   */
+  private record Position(long segmentNo, long offset) {
+  }
+
+  /**
+   * 매핑된 세그먼트 파일 (매핑은 채널을 닫은 뒤에도 유지됨)
+   */
+  private static final class Segment {
+
+    private final long segmentNo;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long capacity;
+
+    private Segment(long segmentNo, Path path, MappedByteBuffer buffer, long capacity) {
+      this.segmentNo = segmentNo;
+      this.path = path;
+      this.buffer = buffer;
+      this.capacity = capacity;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import java.time.LocalDateTime;
+
+/**
+ * 링 버퍼 슬롯에 담기는 LLM 사용량 이벤트
+ *
+ * <p>슬롯은 미리 할당되어 재사용되므로, 게시할 때 값을 채우고 마지막 단계가 처리를 마치면 비운다. 각
+ * 단계는 앞 단계가 처리를 마친 슬롯만 읽으므로 필드에 별도의 동기화가 필요하지 않다.
+ */
+final class LlmUsageRingEvent {
+
+  Long userId;
+  Long llmId;
+  Integer usedToken;
+  String idempotencyKey;
+  LocalDateTime createdAt;
+  long publishedNanos;
+
+  // 처리 결과 (null이면 아직 실패하지 않음)
+  ApiStatus status;
+  // 가격 조회 단계에서 설정
+  int pricePerToken;
+  // 저장 단계에서 설정
+  LlmUsageEntity llmUsage;
+
+  /**
+   * 게시할 사용량으로 슬롯 채움
+   *
+   * @param insertRequest 기록할 LLM 사용량 정보
+   */
+  void set(LlmUsageDto.InsertRequest insertRequest) {
+    this.userId = insertRequest.getUserId();
+    this.llmId = insertRequest.getLlmId();
+    this.usedToken = insertRequest.getUsedToken();
+    this.idempotencyKey = insertRequest.getIdempotencyKey();
+    this.createdAt = LocalDateTime.now();
+    this.publishedNanos = System.nanoTime();
+  }
+
+  /**
+   * 처리를 마친 슬롯 비움
+   */
+  void clear() {
+    this.userId = null;
+    this.llmId = null;
+    this.usedToken = null;
+    this.idempotencyKey = null;
+    this.createdAt = null;
+    this.status = null;
+    this.pricePerToken = 0;
+    this.llmUsage = null;
+  }
+}
@@ -0,0 +1,480 @@
+package com.wanted.assignment.llm.service;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.index.ActiveIdIndex;
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.common.type.IngestionMode;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 사용량 링 버퍼 파이프라인
+ *
+ * <p>요청 스레드는 미리 할당된 링 버퍼 슬롯을 하나 차지해 값을 채우는 것으로 끝나며, 락이나 대기열
+ * 노드 할당 없이 즉시 응답한다. 링 버퍼 뒤에는 검증(사용자 삭제 여부) → 가격 조회(LLM 존재 여부,
+ * 토큰당 가격, {@link LlmCatalog}) → 저장(llm_usage, llm_usage_hourly) → 집계(LLM별 토큰/비용, 멱등 키 반영) 단계가 각각
+ * 전용 스레드로 이어지며, 각 단계는 앞 단계가 처리를 마친 이벤트를 한꺼번에 가져가므로 부하가 몰릴수록
+ * 자연스럽게 큰 묶음으로 처리한다.
+ *
+ * <p>웹 서버가 요청 수신을 멈춘 뒤 종료되도록 웹 서버보다 낮은 phase로 등록하며, 종료 시 링 버퍼에
+ * 남은 이벤트를 모두 처리한다. 종료 제한 시간 안에 처리하지 못하면 소비자를 멈추고, 저장되지 않은
+ * 이벤트의 sequence 범위와 건수를 오류 로그와 usage.ring.events(result=dropped) 메트릭으로 남긴다.
+ */
+@Slf4j
+@Component
+public class LlmUsageRingPipeline implements SmartLifecycle {
+
+  // 웹 서버 graceful shutdown(DEFAULT_PHASE - 1024), 웹 서버 종료(DEFAULT_PHASE - 2048) 이후 종료
+  private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  private static final EventTranslatorOneArg<LlmUsageRingEvent, LlmUsageDto.InsertRequest>
+      TRANSLATOR = (event, sequence, insertRequest) -> event.set(insertRequest);
+
+  private final ActiveIdIndex activeIdIndex;
+  private final LlmCatalog llmCatalog;
+  private final LlmUsageWriter llmUsageWriter;
+  private final UsageIdempotencyIndex usageIdempotencyIndex;
+  private final UsageProperties.Ring properties;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+
+  private final Timer latencyTimer;
+  private final Counter persistedCounter;
+  private final Counter duplicatedCounter;
+  private final Counter invalidCounter;
+  private final Counter failedCounter;
+  private final Counter rejectedCounter;
+  private final Counter droppedCounter;
+
+  private Disruptor<LlmUsageRingEvent> disruptor;
+  private PersistStage persistStage;
+  private volatile RingBuffer<LlmUsageRingEvent> ringBuffer;
+  private volatile boolean running;
+
+  /**
+   * 링 버퍼 파이프라인 생성 및 메트릭 등록
+   *
+   * @param activeIdIndex         사용자, LLM 아이디 인덱스
+   * @param llmCatalog            LLM 목록
+   * @param llmUsageWriter        LLM 사용량 저장 컴포넌트
+   * @param usageIdempotencyIndex LLM 사용량 멱등 키 인덱스
+   * @param usageProperties       LLM 사용량 수집 설정
+   * @param meterRegistry         메트릭 레지스트리
+   */
+  public LlmUsageRingPipeline(
+      ActiveIdIndex activeIdIndex,
+      LlmCatalog llmCatalog,
+      LlmUsageWriter llmUsageWriter,
+      UsageIdempotencyIndex usageIdempotencyIndex,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.activeIdIndex = activeIdIndex;
+    this.llmCatalog = llmCatalog;
+    this.llmUsageWriter = llmUsageWriter;
+    this.usageIdempotencyIndex = usageIdempotencyIndex;
+    this.properties = usageProperties.getRing();
+    this.meterRegistry = meterRegistry;
+    this.enabled = usageProperties.getIngestion().getMode() == IngestionMode.RING;
+
+    Gauge.builder("usage.ring.occupancy", this, LlmUsageRingPipeline::getOccupancy)
+        .description("링 버퍼에서 처리 중인 이벤트 건수")
+        .register(meterRegistry);
+    Gauge.builder("usage.ring.capacity", properties, UsageProperties.Ring::getBufferSize)
+        .description("링 버퍼 슬롯 개수")
+        .register(meterRegistry);
+    this.latencyTimer = Timer.builder("usage.ring.latency")
+        .description("게시부터 집계 단계 완료까지 소요 시간")
+        .publishPercentiles(0.5, 0.99, 0.999)
+        .register(meterRegistry);
+    this.persistedCounter = eventCounter(meterRegistry, "persisted");
+    this.duplicatedCounter = eventCounter(meterRegistry, "duplicated");
+    this.invalidCounter = eventCounter(meterRegistry, "invalid");
+    this.failedCounter = eventCounter(meterRegistry, "failed");
+    this.rejectedCounter = eventCounter(meterRegistry, "rejected");
+    this.droppedCounter = eventCounter(meterRegistry, "dropped");
+  }
+
+  /**
+   * 링 버퍼 파이프라인 모드 사용 여부
+   *
+   * @return 링 버퍼 파이프라인 모드이면 true
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 링 버퍼에서 처리 중인 이벤트 건수
+   *
+   * @return 게시되었지만 집계 단계를 마치지 않은 이벤트 건수
+   */
+  public long getOccupancy() {
+    RingBuffer<LlmUsageRingEvent> buffer = ringBuffer;
+    return buffer == null ? 0 : buffer.getBufferSize() - buffer.remainingCapacity();
+  }
+
+  /**
+   * LLM 사용량을 링 버퍼에 게시
+   *
+   * <p>빈 슬롯이 없으면 기다리지 않고 바로 거부한다. 사용 시각은 저장 시점이 아니라 게시 시점으로
+   * 기록한다.
+   *
+   * @param insertRequest 기록할 LLM 사용량 정보
+   */
+  public void publish(LlmUsageDto.InsertRequest insertRequest) {
+    RingBuffer<LlmUsageRingEvent> buffer = ringBuffer;
+    if (!running || buffer == null) {
+      rejectedCounter.increment();
+      log.error("링 버퍼 파이프라인이 동작 중이 아님: {}", insertRequest);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ApiStatus.USAGE_QUEUE_FULL);
+    }
+    if (!buffer.tryPublishEvent(TRANSLATOR, insertRequest)) {
+      rejectedCounter.increment();
+      log.error("링 버퍼 게시 실패 (빈 슬롯 없음): {}", insertRequest);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ApiStatus.USAGE_QUEUE_FULL);
+    }
+  }
+
+  @Override
+  public void start() {
+    disruptor = new Disruptor<>(
+        LlmUsageRingEvent::new,
+        properties.getBufferSize(),
+        new StageThreadFactory(),
+        properties.getProducerType(),
+        createWaitStrategy());
+    disruptor.setDefaultExceptionHandler(new LoggingExceptionHandler());
+    persistStage = new PersistStage();
+    disruptor
+        .handleEventsWith(new ValidateStage())
+        .then(new EnrichStage())
+        .then(persistStage)
+        .then(new AggregateStage());
+    ringBuffer = disruptor.start();
+    running = true;
+    log.info("링 버퍼 파이프라인 시작 - bufferSize: {}, producerType: {}, waitStrategy: {}",
+        properties.getBufferSize(), properties.getProducerType(), properties.getWaitStrategy());
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      // 게시된 이벤트가 모두 집계 단계를 마칠 때까지 기다린 뒤 소비자 스레드 종료
+      disruptor.shutdown(properties.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // 이미 접수(202)한 이벤트를 버리므로 저장되지 않은 범위를 남긴 뒤 소비자 스레드 종료
+      long persistedSequence = disruptor.getSequenceValueFor(persistStage);
+      long publishedSequence = ringBuffer.getCursor();
+      long droppedCount = publishedSequence - persistedSequence;
+      disruptor.halt();
+      droppedCounter.increment(droppedCount);
+      log.error("링 버퍼 파이프라인이 제한 시간 내 비워지지 않아 저장되지 않은 이벤트를 버림 "
+              + "- sequence: {}~{}, 건수: {}",
+          persistedSequence + 1, publishedSequence, droppedCount);
+    }
+    log.info("링 버퍼 파이프라인 종료");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return enabled;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  private WaitStrategy createWaitStrategy() {
+    return switch (properties.getWaitStrategy()) {
+      case BLOCKING -> new BlockingWaitStrategy();
+      case SLEEPING -> new SleepingWaitStrategy();
+      case YIELDING -> new YieldingWaitStrategy();
+      case BUSY_SPIN -> new BusySpinWaitStrategy();
+    };
+  }
+
+  private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("usage.ring.events")
+        .description("링 버퍼 파이프라인 처리 건수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 링 버퍼 소비 단계
+   *
+   * <p>소비자가 한 번에 가져간 이벤트(endOfBatch까지)를 모아 한꺼번에 처리한다. 소비자의 처리 위치는
+   * 묶음을 모두 처리한 뒤에 갱신되므로, 다음 단계는 이 단계가 처리를 마친 이벤트만 보게 된다.
+   */
+  private abstract static class Stage implements EventHandler<LlmUsageRingEvent> {
+
+    private final List<LlmUsageRingEvent> batch = new ArrayList<>();
+    private final Timer stageTimer;
+
+    private Stage(MeterRegistry meterRegistry, String stage) {
+      this.stageTimer = Timer.builder("usage.ring.stage")
+          .description("단계별 묶음 처리 소요 시간")
+          .tag("stage", stage)
+          .publishPercentiles(0.5, 0.99)
+          .register(meterRegistry);
+    }
+
+    @Override
+    public void onEvent(LlmUsageRingEvent event, long sequence, boolean endOfBatch) {
+      batch.add(event);
+      if (!endOfBatch) {
+        return;
+      }
+      long startNanos = System.nanoTime();
+      try {
+        process(batch);
+      } finally {
+        stageTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        batch.clear();
+      }
+    }
+
+    /**
+     * 이벤트 묶음 처리
+     *
+     * @param batch 이벤트 묶음
+     */
+    abstract void process(List<LlmUsageRingEvent> batch);
+  }
+
+  /**
+   * 검증 단계 - 게시 후 삭제된 사용자의 사용량을 아이디 인덱스로 걸러냄 (DB 조회 없음)
+   */
+  private final class ValidateStage extends Stage {
+
+    private ValidateStage() {
+      super(meterRegistry, "validate");
+    }
+
+    @Override
+    void process(List<LlmUsageRingEvent> batch) {
+      for (LlmUsageRingEvent event : batch) {
+        if (!activeIdIndex.containsUser(event.userId)) {
+          event.status = ApiStatus.USER_NOT_FOUND;
+        }
+      }
+    }
+  }
+
+  /**
+   * 가격 조회 단계 - LLM 존재 여부와 토큰당 가격을 LLM 목록에서 조회 (DB 조회 없음)
+   */
+  private final class EnrichStage extends Stage {
+
+    private EnrichStage() {
+      super(meterRegistry, "enrich");
+    }
+
+    @Override
+    void process(List<LlmUsageRingEvent> batch) {
+      for (LlmUsageRingEvent event : batch) {
+        if (event.status != null) {
+          continue;
+        }
+        LlmDto.SelectResponse llm = llmCatalog.get(event.llmId);
+        if (llm == null) {
+          event.status = ApiStatus.LLM_NOT_FOUND;
+        } else {
+          event.pricePerToken = llm.getPricePerToken();
+        }
+      }
+    }
+  }
+
+  /**
+   * 저장 단계 - 묶음을 한 트랜잭션으로 저장하고, 실패 시 건별로 재시도
+   */
+  private final class PersistStage extends Stage {
+
+    private PersistStage() {
+      super(meterRegistry, "persist");
+    }
+
+    @Override
+    void process(List<LlmUsageRingEvent> batch) {
+      List<LlmUsageRingEvent> pending = new ArrayList<>(batch.size());
+      List<LlmUsageEntity> llmUsages = new ArrayList<>(batch.size());
+      for (LlmUsageRingEvent event : batch) {
+        if (event.status == null) {
+          event.llmUsage = toLlmUsage(event);
+          pending.add(event);
+          llmUsages.add(event.llmUsage);
+        }
+      }
+      if (pending.isEmpty()) {
+        return;
+      }
+
+      try {
+        llmUsageWriter.insertLlmUsages(llmUsages);
+        pending.forEach(PersistStage::markPersisted);
+      } catch (RuntimeException e) {
+        log.error("링 버퍼 저장 단계 묶음 커밋 실패, 건별 재시도 - 건수: {}", pending.size(), e);
+        for (LlmUsageRingEvent event : pending) {
+          retry(event);
+        }
+      }
+    }
+
+    private void retry(LlmUsageRingEvent event) {
+      // 실패한 트랜잭션에서 아이디가 설정된 엔티티를 재사용하지 않도록 새로 생성
+      event.llmUsage = toLlmUsage(event);
+      try {
+        llmUsageWriter.insertLlmUsages(List.of(event.llmUsage));
+        markPersisted(event);
+      } catch (RuntimeException e) {
+        event.status = ApiStatus.INTERNAL_SERVER_ERROR;
+        log.error("LLM 사용량 기록 실패 - userId: {}, llmId: {}, usedToken: {}",
+            event.userId, event.llmId, event.usedToken, e);
+      }
+    }
+
+    private static void markPersisted(LlmUsageRingEvent event) {
+      event.status = event.llmUsage.getId() == null ? ApiStatus.USAGE_DUPLICATED : ApiStatus.OK;
+    }
+
+    private static LlmUsageEntity toLlmUsage(LlmUsageRingEvent event) {
+      return LlmUsageEntity.builder()
+          .userId(event.userId)
+          .llmId(event.llmId)
+          .usedToken(event.usedToken)
+          .idempotencyKey(event.idempotencyKey)
+          .createdAt(event.createdAt)
+          .updatedAt(event.createdAt)
+          .isDeleted(false)
+          .build();
+    }
+  }
+
+  /**
+   * 집계 단계 - LLM별 토큰/비용 누적, 멱등 키 반영, 처리 결과 기록 후 슬롯 비움
+   */
+  private final class AggregateStage extends Stage {
+
+    // LLM 아이디 -> [사용 토큰 수, 비용] 카운터 (집계 단계 스레드만 접근)
+    private final Map<Long, Counter[]> countersByLlmId = new HashMap<>();
+
+    private AggregateStage() {
+      super(meterRegistry, "aggregate");
+    }
+
+    @Override
+    void process(List<LlmUsageRingEvent> batch) {
+      long nowNanos = System.nanoTime();
+      for (LlmUsageRingEvent event : batch) {
+        if (event.status == ApiStatus.OK) {
+          Counter[] counters = countersByLlmId.computeIfAbsent(event.llmId, this::llmCounters);
+          counters[0].increment(event.usedToken);
+          counters[1].increment((double) event.usedToken * event.pricePerToken);
+          usageIdempotencyIndex.complete(event.idempotencyKey, event.llmUsage.getId());
+          persistedCounter.increment();
+        } else if (event.status == ApiStatus.USAGE_DUPLICATED) {
+          usageIdempotencyIndex.recordStoreHit(event.idempotencyKey);
+          duplicatedCounter.increment();
+        } else {
+          usageIdempotencyIndex.release(event.idempotencyKey);
+          if (event.status == ApiStatus.INTERNAL_SERVER_ERROR) {
+            failedCounter.increment();
+          } else {
+            invalidCounter.increment();
+            log.warn("링 버퍼 이벤트 거부 - status: {}, userId: {}, llmId: {}",
+                event.status, event.userId, event.llmId);
+          }
+        }
+        latencyTimer.record(nowNanos - event.publishedNanos, TimeUnit.NANOSECONDS);
+        event.clear();
+      }
+    }
+
+    private Counter[] llmCounters(Long llmId) {
+      String tagValue = String.valueOf(llmId);
+      return new Counter[]{
+          Counter.builder("usage.llm.tokens")
+              .description("LLM별 기록된 사용 토큰 수")
+              .tag("llmId", tagValue)
+              .register(meterRegistry),
+          Counter.builder("usage.llm.cost")
+              .description("LLM별 기록된 비용 (사용 토큰 수 x 토큰당 가격)")
+              .tag("llmId", tagValue)
+              .register(meterRegistry)
+      };
+    }
+  }
+
+  /**
+   * 단계별 소비자 스레드 생성 (단계마다 전용 플랫폼 스레드 하나)
+   */
+  private static final class StageThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "usage-ring-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  /**
+   * 단계에서 처리하지 못한 예외를 기록하고 소비를 계속
+   */
+  private static final class LoggingExceptionHandler
+      implements ExceptionHandler<LlmUsageRingEvent> {
+
+    @Override
+    public void handleEventException(Throwable ex, long sequence, LlmUsageRingEvent event) {
+      log.error("링 버퍼 이벤트 처리 실패 - sequence: {}", sequence, ex);
+    }
+
+    @Override
+    public void handleOnStartException(Throwable ex) {
+      log.error("링 버퍼 소비자 시작 실패", ex);
+    }
+
+    @Override
+    public void handleOnShutdownException(Throwable ex) {
+      log.error("링 버퍼 소비자 종료 실패", ex);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.llm.repository.LlmUsageSegmentJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.YearMonth;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 월별 LLM 사용량 세그먼트 교체(rotation) 및 보관 기간 관리
+ *
+ * <p>이번 달과 다음 달 세그먼트를 미리 만들어 두어, 월이 바뀌는 시점에도 기록 경로에서 DDL이 실행되지
+ * 않도록 한다. 기록 경로는 세그먼트를 만들지 않고 없으면 실패하므로, 관리 주기(usage.segment.maintenance-cron)는
+ * 한 달보다 짧아야 한다. 보관 기간이 지난 세그먼트는 테이블째 삭제(DROP)하므로 삭제 비용이 행 수와 무관하다.
+ *
+ * <p>통계 조회에 사용하는 시간별 집계(llm_usage_hourly)는 원본 세그먼트를 삭제해도 유지된다.
+ */
+@Slf4j
+@Component
+public class LlmUsageSegmentManager implements SmartInitializingSingleton {
+
+  private final LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+  private final UsageProperties.Segment properties;
+  private final Counter droppedCounter;
+
+  /**
+   * 세그먼트 관리자 생성 및 메트릭 등록
+   *
+   * @param llmUsageSegmentJdbcRepository 세그먼트 저장소
+   * @param usageProperties               LLM 사용량 설정
+   * @param meterRegistry                 메트릭 레지스트리
+   */
+  public LlmUsageSegmentManager(
+      LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageSegmentJdbcRepository = llmUsageSegmentJdbcRepository;
+    this.properties = usageProperties.getSegment();
+
+    Gauge.builder("usage.segment.count", llmUsageSegmentJdbcRepository,
+            repository -> repository.selectSegments().size())
+        .description("LLM 사용량 세그먼트 테이블 개수")
+        .register(meterRegistry);
+    this.droppedCounter = Counter.builder("usage.segment.dropped")
+        .description("보관 기간이 지나 삭제된 LLM 사용량 세그먼트 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) 세그먼트 준비
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    llmUsageSegmentJdbcRepository.refreshSegments();
+    maintainSegments();
+  }
+
+  /**
+   * 다음 달 세그먼트를 미리 만들고 보관 기간이 지난 세그먼트 삭제
+   */
+  @Scheduled(cron = "${usage.segment.maintenance-cron:0 0 * * * *}")
+  public void maintainSegments() {
+    YearMonth current = YearMonth.now();
+    prepareSegments(current);
+
+    if (properties.getRetentionMonths() <= 0) {
+      return;
+    }
+    YearMonth oldestRetained = current.minusMonths(properties.getRetentionMonths() - 1L);
+    List<YearMonth> segments = llmUsageSegmentJdbcRepository.selectSegments();
+    for (YearMonth segment : segments) {
+      if (segment.isBefore(oldestRetained)
+          && llmUsageSegmentJdbcRepository.dropSegment(segment)) {
+        droppedCounter.increment();
+      }
+    }
+  }
+
+  /**
+   * 기준 월과 다음 달 세그먼트 생성 (이미 있으면 무시)
+   *
+   * @param current 기준 월
+   */
+  public void prepareSegments(YearMonth current) {
+    llmUsageSegmentJdbcRepository.ensureSegment(current);
+    llmUsageSegmentJdbcRepository.ensureSegment(current.plusMonths(1));
+  }
+}
@@ -0,0 +1,159 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.index.MinuteBucketRing;
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM별 최근 사용량 분 단위 시계열 메모리 카운터
+ *
+ * <p>LLM별 사용량 시계열 조회(GET /llm/{llm_id}/usages/series)가 최근 구간을 DB에서 GROUP BY 하지
+ * 않도록, 사용량 기록(LlmUsageWriter)과 함께 LLM별 {@link MinuteBucketRing}에 사용량 추가 시각의 분
+ * 단위로 누적한다. 링은 설정된 분 수(usage.series.ring-minutes)만큼만 보관하므로 메모리는 LLM 수 x
+ * 구간 수 x 24 byte로 고정된다. 링 갱신은 배열 원소만 더하므로 기록 건마다 객체를 만들지 않는다.
+ *
+ * <p>시작 시 DB에서 적재하지 않으므로, 링이 응답할 수 있는 구간은 시작 다음 분부터 최근 링 크기만큼이며
+ * 이전 구간은 DB에서 조회한다. 기록은 트랜잭션이 커밋된 뒤에 더하므로 커밋되지 않은 사용량은 조회되지
+ * 않는다. LLM 삭제는 즉시 반영하고, 트랜잭션이 롤백되면 되돌린다.
+ */
+@Slf4j
+@Component
+public class LlmUsageSeriesCounter {
+
+  private final int ringMinutes;
+  private final Map<Long, MinuteBucketRing> ringByLlmId = new ConcurrentHashMap<>();
+  // 시작한 분의 기록은 일부만 링에 있으므로 다음 분부터 링으로 응답
+  private final long coverageStartMinute;
+
+  /**
+   * 카운터 생성 및 메트릭 등록
+   *
+   * @param usageProperties 사용량 설정
+   * @param meterRegistry   메트릭 레지스트리
+   */
+  public LlmUsageSeriesCounter(UsageProperties usageProperties, MeterRegistry meterRegistry) {
+    this.ringMinutes = usageProperties.getSeries().getRingMinutes();
+    this.coverageStartMinute = toEpochMinute(LocalDateTime.now()) + 1;
+
+    Gauge.builder("usage.series.rings", ringByLlmId, Map::size)
+        .description("분 단위 사용량 링이 있는 LLM 수")
+        .register(meterRegistry);
+    Gauge.builder("usage.series.bytes", this, LlmUsageSeriesCounter::memoryBytes)
+        .description("분 단위 사용량 링 배열 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 시각을 epoch 기준 분으로 변환 (시각은 서버 로컬 시각 그대로 사용)
+   *
+   * @param dateTime 시각
+   * @return epoch 기준 분
+   */
+  public static long toEpochMinute(LocalDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60L);
+  }
+
+  /**
+   * epoch 기준 분을 시각으로 변환
+   *
+   * @param epochMinute epoch 기준 분
+   * @return 시각
+   */
+  public static LocalDateTime toDateTime(long epochMinute) {
+    return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * 기록된 사용량을 트랜잭션이 커밋된 뒤 LLM별 분 단위 구간에 누적
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목(아이디가 null)은 제외한다.
+   *
+   * @param llmUsages 기록한 LLM 사용량 목록
+   */
+  public void add(List<LlmUsageEntity> llmUsages) {
+    List<LlmUsageEntity> added = new ArrayList<>(llmUsages.size());
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() != null) {
+        added.add(llmUsage);
+      }
+    }
+    if (!added.isEmpty()) {
+      TransactionUndo.afterCommit(() -> added.forEach(this::add));
+    }
+  }
+
+  /**
+   * 사용량이 삭제된 LLM의 링 삭제
+   *
+   * @param llmId LLM 아이디
+   */
+  public void removeLlm(long llmId) {
+    MinuteBucketRing removed = ringByLlmId.remove(llmId);
+    if (removed != null) {
+      TransactionUndo.onRollback(() -> ringByLlmId.putIfAbsent(llmId, removed));
+    }
+  }
+
+  /**
+   * 링으로 응답할 수 있는 가장 오래된 분 (이전 분은 DB에서 조회)
+   *
+   * @return epoch 기준 분
+   */
+  public long getCoverageStartMinute() {
+    return Math.max(coverageStartMinute, toEpochMinute(LocalDateTime.now()) - ringMinutes + 1);
+  }
+
+  /**
+   * 일정 길이 구간들의 사용 토큰 수와 호출 수를 링에서 읽어 배열에 더함
+   *
+   * <p>구간 i는 [fromMinute + i x intervalMinutes, fromMinute + (i + 1) x intervalMinutes) 이며,
+   * startIndex 이전 구간은 건너뛴다. 호출 측에서 startIndex 이후 구간이 모두
+   * {@link #getCoverageStartMinute()} 이후인지 확인한다.
+   *
+   * @param llmId           LLM 아이디
+   * @param fromMinute      첫 구간 시작 분
+   * @param intervalMinutes 구간 길이(분)
+   * @param startIndex      읽기 시작할 구간 번호
+   * @param usedTokens      구간별 사용 토큰 수 (길이가 구간 수)
+   * @param callCounts      구간별 호출 수 (길이가 구간 수)
+   */
+  public void collect(long llmId, long fromMinute, int intervalMinutes, int startIndex,
+      long[] usedTokens, long[] callCounts) {
+    MinuteBucketRing ring = ringByLlmId.get(llmId);
+    if (ring == null) {
+      return;
+    }
+    for (int i = startIndex; i < usedTokens.length; i++) {
+      long bucketStart = fromMinute + (long) i * intervalMinutes;
+      for (long minute = bucketStart; minute < bucketStart + intervalMinutes; minute++) {
+        usedTokens[i] += ring.getUsedToken(minute);
+        callCounts[i] += ring.getCallCount(minute);
+      }
+    }
+  }
+
+  private void add(LlmUsageEntity llmUsage) {
+    MinuteBucketRing ring = ringByLlmId.get(llmUsage.getLlmId());
+    if (ring == null) {
+      ring = ringByLlmId.computeIfAbsent(
+          llmUsage.getLlmId(), k -> new MinuteBucketRing(ringMinutes));
+    }
+    ring.add(toEpochMinute(llmUsage.getCreatedAt()), llmUsage.getUsedToken(), 1L);
+  }
+
+  private long memoryBytes() {
+    return (long) ringByLlmId.size() * ringMinutes * Long.BYTES * 3;
+  }
+}
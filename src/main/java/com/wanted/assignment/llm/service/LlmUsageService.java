@@ -1,45 +1,589 @@
 package com.wanted.assignment.llm.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.wanted.assignment.common.constants.Constants;
+import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.index.ActiveIdIndex;
+import com.wanted.assignment.common.io.BoundedLineReader;
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.common.type.SeriesInterval;
+import com.wanted.assignment.common.type.TopUsersMode;
+import com.wanted.assignment.config.UsageProperties;
 import com.wanted.assignment.domain.entity.LlmUsageEntity;
-import com.wanted.assignment.domain.repository.LlmUsageRepository;
+import com.wanted.assignment.llm.dto.LlmDto;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
 import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class LlmUsageService {
 
-  private final LlmUsageRepository llmUsageRepository;
   private final LlmUsageQueryRepository llmUsageQueryRepository;
-  private final ModelMapper modelMapper;
+  private final ActiveIdIndex activeIdIndex;
+  private final LlmUsageWriter llmUsageWriter;
+  private final LlmUsageWriteBehindBuffer llmUsageWriteBehindBuffer;
+  private final LlmUsageJournal llmUsageJournal;
+  private final LlmUsageRingPipeline llmUsageRingPipeline;
+  private final UsageIdempotencyIndex usageIdempotencyIndex;
+  private final LlmUsageStatsCounter llmUsageStatsCounter;
+  private final LlmUsageSeriesCounter llmUsageSeriesCounter;
+  private final LlmTopUserCounter llmTopUserCounter;
+  private final LlmDistinctUserCounter llmDistinctUserCounter;
+  private final LlmUsageDistributionCounter llmUsageDistributionCounter;
+  private final LlmUsageExporter llmUsageExporter;
+  private final LlmUsageColumnStore llmUsageColumnStore;
+  private final LlmUsageCompactor llmUsageCompactor;
+  private final LlmCatalog llmCatalog;
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final UsageProperties usageProperties;
 
   /**
    * LLM 호출량 기록
    *
+   * <p>비동기(write-behind) 모드에서는 트랜잭션을 시작하지 않고 대기열에만 적재하므로 커넥션을
+   * 점유하지 않는다. 저널 모드에서는 저널 파일에만 추가하고, 링 버퍼 모드에서는 링 버퍼에 게시만
+   * 한다. 이 경우 모두 아직 아이디가 발급되지 않았으므로 null을 반환한다.
+   *
+   * <p>이미 기록된 멱등 키로 재시도된 요청은 다시 기록하지 않고, 처음 기록된 아이디를 알고 있으면 그
+   * 아이디를, 모르면 null을 반환한다.
+   *
+   * <p>존재하지 않거나 삭제된 사용자/LLM은 아이디 인덱스로 확인하여 DB에 접근하기 전에 404로 거부한다.
+   *
    * @param insertRequest 기록할 LLM 사용량 정보
-   * @return 기록된 LLM 사용량 아이디
+   * @return 기록된 LLM 사용량 아이디 (비동기/저널/링 버퍼 모드이거나 기록된 아이디를 알 수 없는 경우 null)
    */
-  @Transactional
   public Long insertLlmUsage(LlmUsageDto.InsertRequest insertRequest) {
-    LlmUsageEntity savedLlmUsage = llmUsageRepository.save(
-        modelMapper.map(insertRequest, LlmUsageEntity.class));
-    return savedLlmUsage.getId();
+    String idempotencyKey = insertRequest.getIdempotencyKey();
+    if (idempotencyKey != null && idempotencyKey.length() > Constants.IDEMPOTENCY_KEY_MAX_LENGTH) {
+      log.error("멱등 키 길이 초과: {}", idempotencyKey.length());
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+    if (!activeIdIndex.containsUser(insertRequest.getUserId())) {
+      log.error("존재하지 않는 사용자 아이디로 사용량 기록 요청: {}", insertRequest.getUserId());
+      throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.USER_NOT_FOUND);
+    }
+    if (!activeIdIndex.containsLlm(insertRequest.getLlmId())) {
+      log.error("존재하지 않는 LLM 아이디로 사용량 기록 요청: {}", insertRequest.getLlmId());
+      throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.LLM_NOT_FOUND);
+    }
+    if (!usageIdempotencyIndex.reserve(idempotencyKey)) {
+      log.debug("멱등 키 중복 요청: {}", idempotencyKey);
+      return usageIdempotencyIndex.getLlmUsageId(idempotencyKey);
+    }
+
+    try {
+      if (llmUsageWriteBehindBuffer.isEnabled()) {
+        llmUsageWriteBehindBuffer.enqueue(insertRequest);
+        return null;
+      }
+      if (llmUsageJournal.isEnabled()) {
+        llmUsageJournal.append(insertRequest);
+        return null;
+      }
+      if (llmUsageRingPipeline.isEnabled()) {
+        llmUsageRingPipeline.publish(insertRequest);
+        return null;
+      }
+      Long llmUsageId = llmUsageWriter.insertLlmUsage(insertRequest);
+      if (llmUsageId == null) {
+        usageIdempotencyIndex.recordStoreHit(idempotencyKey);
+      } else {
+        usageIdempotencyIndex.complete(idempotencyKey, llmUsageId);
+      }
+      return llmUsageId;
+    } catch (RuntimeException e) {
+      usageIdempotencyIndex.release(idempotencyKey);
+      throw e;
+    }
+  }
+
+  /**
+   * LLM 호출량 일괄 기록
+   *
+   * <p>항목별로 유효성 검사와 사용자/LLM 존재 여부를 확인한 뒤, 통과한 항목만 JDBC 배치 INSERT로
+   * 기록한다. 실패한 항목은 요청 전체를 실패시키지 않고 항목별 결과 코드로 응답한다. 이미 기록된
+   * 멱등 키는 USAGE_DUPLICATED로 응답한다.
+   *
+   * @param batchInsertRequest 기록할 LLM 사용량 목록
+   * @return 항목별 기록 결과
+   */
+  @Transactional
+  public LlmUsageDto.BatchInsertResponse insertLlmUsages(
+      LlmUsageDto.BatchInsertRequest batchInsertRequest) {
+
+    List<LlmUsageDto.InsertRequest> usages = batchInsertRequest.getUsages();
+    ApiStatus[] statuses = new ApiStatus[usages.size()];
+    LlmUsageEntity[] llmUsageByIndex = new LlmUsageEntity[usages.size()];
+    List<LlmUsageEntity> llmUsages = toLlmUsages(usages, statuses, llmUsageByIndex);
+
+    int insertedCount = llmUsageWriter.insertLlmUsages(llmUsages);
+    completeLlmUsages(statuses, llmUsageByIndex);
+    log.debug("LLM 사용량 일괄 기록 - 요청: {}, 기록: {}", usages.size(), insertedCount);
+
+    int duplicateCount = 0;
+    List<LlmUsageDto.BatchInsertResult> results = new ArrayList<>(usages.size());
+    for (int i = 0; i < statuses.length; i++) {
+      Long llmUsageId = null;
+      if (statuses[i] == ApiStatus.OK) {
+        llmUsageId = llmUsageByIndex[i].getId();
+      } else if (statuses[i] == ApiStatus.USAGE_DUPLICATED) {
+        llmUsageId = usageIdempotencyIndex.getLlmUsageId(usages.get(i).getIdempotencyKey());
+        duplicateCount++;
+      }
+      results.add(LlmUsageDto.BatchInsertResult.of(
+          i, llmUsageId, statuses[i].getCode(), statuses[i].getMessage()));
+    }
+
+    return LlmUsageDto.BatchInsertResponse.of(
+        usages.size(), insertedCount, usages.size() - insertedCount - duplicateCount,
+        duplicateCount, results);
+  }
+
+  /**
+   * LLM 호출량 스트리밍 기록 (NDJSON)
+   *
+   * <p>요청 본문을 한 줄씩 읽어 설정된 줄 수 단위로 검증하고 기록하므로, 본문 전체를 메모리에 올리지
+   * 않는다. 줄 길이는 usage.stream.max-line-bytes로 제한하며, 넘는 줄은 읽지 않고 건너뛰어
+   * 실패(USAGE_LINE_TOO_LONG)로 응답한다. 청크마다 별도의 트랜잭션으로 커밋되며, 형식이 잘못되었거나
+   * 유효하지 않은 줄은 건너뛰고 줄 번호와 결과 코드를 응답한다.
+   *
+   * @param inputStream NDJSON 요청 본문
+   * @return 처리 건수 요약과 실패한 줄 목록
+   * @throws IOException 요청 본문을 읽는 중 오류가 발생한 경우
+   */
+  public LlmUsageDto.StreamInsertResponse insertLlmUsageStream(InputStream inputStream)
+      throws IOException {
+
+    UsageProperties.Stream streamProperties = usageProperties.getStream();
+    ObjectReader objectReader = objectMapper.readerFor(LlmUsageDto.InsertRequest.class);
+    StreamChunk chunk = new StreamChunk(
+        streamProperties.getChunkSize(), streamProperties.getMaxFailureDetails());
+
+    try (BoundedLineReader reader =
+        new BoundedLineReader(inputStream, streamProperties.getMaxLineBytes())) {
+      long lineNumber = 0;
+      while (reader.readLine()) {
+        lineNumber++;
+        if (reader.isTooLong()) {
+          chunk.addRejected(lineNumber, ApiStatus.USAGE_LINE_TOO_LONG);
+        } else if (reader.isBlank()) {
+          continue;
+        } else {
+          try {
+            chunk.add(lineNumber,
+                objectReader.readValue(reader.line(), 0, reader.lineLength()));
+          } catch (JsonProcessingException e) {
+            chunk.addRejected(lineNumber, ApiStatus.HTTP_MESSAGE_NOT_READABLE_EXCEPTION);
+          }
+        }
+        if (chunk.isFull()) {
+          writeChunk(chunk);
+        }
+      }
+    }
+    writeChunk(chunk);
+
+    log.debug("LLM 사용량 스트리밍 기록 - 요청: {}, 기록: {}",
+        chunk.totalCount, chunk.successCount);
+    return LlmUsageDto.StreamInsertResponse.of(
+        chunk.totalCount, chunk.successCount,
+        chunk.totalCount - chunk.successCount - chunk.duplicateCount, chunk.duplicateCount,
+        chunk.failures);
+  }
+
+  /**
+   * 원본 사용량 내보내기
+   *
+   * <p>조건 검사와 동시 실행 수 확인은 스트리밍을 시작하기 전에 하여 오류를 JSON으로 응답하고, 본문은 응답
+   * 스트림에 바로 기록한다. 트랜잭션 없이 커넥션 하나로 세그먼트를 차례로 읽으므로 내보내는 동안 기록된
+   * 사용량은 포함되지 않을 수 있다.
+   *
+   * @param exportRequest 내보낼 조건
+   * @return 응답 본문
+   */
+  public StreamingResponseBody exportLlmUsages(LlmUsageDto.ExportRequest exportRequest) {
+    LocalDateTime from = exportRequest.getFrom();
+    LocalDateTime to = exportRequest.getTo();
+    if (from != null && to != null && !from.isBefore(to)) {
+      log.error("내보내기 시작 시각이 종료 시각보다 늦음: {} ~ {}", from, to);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+    return llmUsageExporter.export(exportRequest);
   }
 
   /**
    * LLM별 사용량 조회
    *
+   * <p>MEMORY 모드에서는 LLM별 사용 토큰 수를 메모리 카운터에서 읽어 집계 테이블을 조회하지 않는다.
+   * VERIFY 모드에서는 SQL 결과와 메모리 카운터를 비교하여 불일치를 기록하고 SQL 결과로 응답한다.
+   * 메모리 카운터는 전체 기간 합계만 가지므로, 기간을 지정하면 모드와 관계없이 열 저장소
+   * ({@link LlmUsageColumnStore})를 사용할 수 있으면 열 저장소로, 아니면 SQL로 조회한다. 기간 경계는
+   * 경계가 속한 집계 단위(시간, 압축된 기간은 일)로 맞춘다(시작은 내림, 종료는 올림).
+   *
+   * <p>사용자 수는 모드와 관계없이 {@link LlmDistinctUserCounter}의 HyperLogLog 스케치로 추정하여
+   * COUNT(DISTINCT user_id)를 실행하지 않는다. 기간을 지정하면 기간과 겹치는 일자 단위로 추정한다.
+   *
+   * @param from 조회 시작 시각 (포함, null이면 처음부터)
+   * @param to   조회 종료 시각 (제외, null이면 끝까지)
    * @return LLM별 사용량 정보
    */
   @Transactional(readOnly = true)
-  public List<LlmUsageDto.StatsResponse> getLlmUsageStats() {
-    return llmUsageQueryRepository.selectLlmUsageStats();
+  public List<LlmUsageDto.StatsResponse> getLlmUsageStats(LocalDateTime from, LocalDateTime to) {
+    if (from != null && to != null && !from.isBefore(to)) {
+      log.error("조회 시작 시각이 종료 시각보다 늦음: {} ~ {}", from, to);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+    if (from != null || to != null) {
+      LocalDateTime alignedFrom = llmUsageCompactor.alignFrom(from);
+      LocalDateTime alignedTo = llmUsageCompactor.alignTo(to);
+      List<LlmUsageDto.StatsResponse> statsResponses = llmUsageColumnStore.isAvailable()
+          ? llmUsageColumnStore.getLlmUsageStats(alignedFrom, alignedTo)
+          : llmUsageQueryRepository.selectLlmUsageStats(alignedFrom, alignedTo);
+      return llmDistinctUserCounter.withDistinctUserCount(statsResponses, alignedFrom, alignedTo);
+    }
+
+    List<LlmUsageDto.StatsResponse> statsResponses = switch (usageProperties.getStats().getMode()) {
+      case SQL -> llmUsageQueryRepository.selectLlmUsageStats(null, null);
+      case MEMORY -> llmUsageStatsCounter.getLlmUsageStats();
+      case VERIFY -> {
+        List<LlmUsageDto.StatsResponse> sqlStatsResponses =
+            llmUsageQueryRepository.selectLlmUsageStats(null, null);
+        llmUsageStatsCounter.verify(sqlStatsResponses);
+        yield sqlStatsResponses;
+      }
+    };
+    return llmDistinctUserCounter.withDistinctUserCount(statsResponses, null, null);
+  }
+
+  /**
+   * LLM별 건당 사용 토큰 수 분포 조회
+   *
+   * <p>메모리의 시간 단위 히스토그램({@link LlmUsageDistributionCounter})을 기간만큼 합쳐 백분위수를
+   * 계산하므로 DB에 접근하지 않는다. 기간은 시간 단위로 맞추며(시작은 내림, 종료는 올림), 히스토그램을
+   * 보관하는 최근 시간(usage.distribution.window-hours) 이전부터는 조회할 수 없다.
+   *
+   * @param from 조회 시작 시각 (포함, null이면 보관하는 가장 오래된 시간부터)
+   * @param to   조회 종료 시각 (제외, null이면 현재 시간까지)
+   * @return LLM별 사용 토큰 수 분포
+   */
+  public List<LlmUsageDto.DistributionResponse> getLlmUsageDistributions(
+      LocalDateTime from, LocalDateTime to) {
+    long coverageStartHour = llmUsageDistributionCounter.getCoverageStartHour();
+    long fromHour = from == null
+        ? coverageStartHour
+        : LlmUsageDistributionCounter.toEpochHour(from);
+    long toHour = LlmUsageDistributionCounter.toEpochHour(
+        to == null ? LocalDateTime.now() : to.minusNanos(1)) + 1;
+    if (fromHour >= toHour || fromHour < coverageStartHour) {
+      log.error("유효하지 않은 사용 토큰 수 분포 조회 기간: {} ~ {}", from, to);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+
+    List<LlmUsageDto.DistributionResponse> distributionResponses = new ArrayList<>();
+    for (LlmDto.SelectResponse llm : llmCatalog.getAll()) {
+      distributionResponses.add(llmUsageDistributionCounter.getDistribution(llm, fromHour, toHour));
+    }
+    return distributionResponses;
+  }
+
+  /**
+   * 특정 LLM의 분/시간 단위 사용량 시계열 조회
+   *
+   * <p>기간은 구간 단위로 맞춰(시작은 내림, 종료는 올림) 사용량이 없는 구간을 포함한 모든 구간을 시간
+   * 순으로 응답한다. 기간을 지정하지 않으면 현재 구간까지 단위별 기본 구간 수만큼 조회한다.
+   *
+   * <p>메모리 링({@link LlmUsageSeriesCounter})이 보관하는 최근 구간은 DB에 접근하지 않고 링에서 읽고,
+   * 이전 구간만 DB에서 조회한다. 분 단위는 원본 사용량을, 시간 단위는 집계 뷰를 조회하므로 압축된 기간의
+   * 분 단위 사용량은 0이고 시간 단위 사용량은 해당 일자 0시 구간에 합산된다.
+   *
+   * @param llmId    LLM 아이디
+   * @param interval 구간 단위
+   * @param from     조회 시작 시각 (포함, null이면 기본 구간 수만큼 이전부터)
+   * @param to       조회 종료 시각 (제외, null이면 현재 구간까지)
+   * @return 구간별 사용량
+   */
+  @Transactional(readOnly = true)
+  public LlmUsageDto.SeriesResponse getLlmUsageSeries(
+      Long llmId, SeriesInterval interval, LocalDateTime from, LocalDateTime to) {
+    LlmDto.SelectResponse llm = llmCatalog.get(llmId);
+    if (llm == null) {
+      log.error("존재하지 않는 LLM 아이디 시계열 조회 요청: {}", llmId);
+      throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.LLM_NOT_FOUND);
+    }
+
+    int intervalMinutes = interval.getMinutes();
+    long toMinute = alignUp(to == null
+        ? LlmUsageSeriesCounter.toEpochMinute(LocalDateTime.now()) + 1
+        : LlmUsageSeriesCounter.toEpochMinute(to), intervalMinutes);
+    long fromMinute = from == null
+        ? toMinute - (long) interval.getDefaultPoints() * intervalMinutes
+        : alignDown(LlmUsageSeriesCounter.toEpochMinute(from), intervalMinutes);
+    long pointCount = (toMinute - fromMinute) / intervalMinutes;
+    if (pointCount <= 0 || pointCount > usageProperties.getSeries().getMaxPoints()) {
+      log.error("유효하지 않은 시계열 조회 기간: {} ~ {}, 구간 수: {}", from, to, pointCount);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+
+    long[] usedTokens = new long[(int) pointCount];
+    long[] callCounts = new long[(int) pointCount];
+
+    // 구간 전체가 링 범위 안에 있는 첫 구간부터 링에서 읽고, 이전 구간은 DB에서 조회
+    long coverageStartMinute =
+        alignUp(llmUsageSeriesCounter.getCoverageStartMinute(), intervalMinutes);
+    int ringStartIndex = (int) Math.clamp(
+        (coverageStartMinute - fromMinute) / intervalMinutes, 0L, pointCount);
+    if (ringStartIndex > 0) {
+      LocalDateTime dbFrom = LlmUsageSeriesCounter.toDateTime(fromMinute);
+      LocalDateTime dbTo = LlmUsageSeriesCounter.toDateTime(
+          fromMinute + (long) ringStartIndex * intervalMinutes);
+      LlmUsageJdbcRepository.SeriesHandler handler = (bucketTime, usedToken, callCount) -> {
+        long index =
+            (LlmUsageSeriesCounter.toEpochMinute(bucketTime) - fromMinute) / intervalMinutes;
+        if (index >= 0 && index < ringStartIndex) {
+          usedTokens[(int) index] += usedToken;
+          callCounts[(int) index] += callCount;
+        }
+      };
+      switch (interval) {
+        case MINUTE -> llmUsageJdbcRepository.selectSeriesByMinute(llmId, dbFrom, dbTo, handler);
+        case HOUR -> llmUsageJdbcRepository.selectSeriesByHour(llmId, dbFrom, dbTo, handler);
+      }
+    }
+    llmUsageSeriesCounter.collect(
+        llmId, fromMinute, intervalMinutes, ringStartIndex, usedTokens, callCounts);
+
+    List<LlmUsageDto.SeriesPoint> points = new ArrayList<>((int) pointCount);
+    for (int i = 0; i < pointCount; i++) {
+      points.add(LlmUsageDto.SeriesPoint.of(
+          LlmUsageSeriesCounter.toDateTime(fromMinute + (long) i * intervalMinutes),
+          usedTokens[i],
+          callCounts[i]));
+    }
+    return LlmUsageDto.SeriesResponse.of(llm.getId(), llm.getName(), interval, points);
+  }
+
+  /**
+   * 특정 LLM의 사용 토큰 수 상위 사용자 조회
+   *
+   * <p>SKETCH 모드는 메모리의 Space-Saving 스케치로 DB에 접근하지 않고 응답하며, 사용자별 합계는 실제
+   * 값의 상한이므로 오차와 결과에 없는 사용자의 상한(maxError)을 함께 응답한다. EXACT 모드는 집계 뷰를
+   * 사용자별로 합산하여 정확한 합계로 응답한다.
+   *
+   * @param llmId LLM 아이디
+   * @param mode  조회 방식
+   * @param limit 최대 사용자 수
+   * @return 상위 사용자 목록
+   */
+  @Transactional(readOnly = true)
+  public LlmUsageDto.TopUsersResponse getTopUsers(Long llmId, TopUsersMode mode, int limit) {
+    LlmDto.SelectResponse llm = llmCatalog.get(llmId);
+    if (llm == null) {
+      log.error("존재하지 않는 LLM 아이디 상위 사용자 조회 요청: {}", llmId);
+      throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.LLM_NOT_FOUND);
+    }
+    if (limit <= 0 || limit > usageProperties.getTopUsers().getMaxLimit()) {
+      log.error("유효하지 않은 상위 사용자 조회 개수: {}", limit);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+
+    return switch (mode) {
+      case SKETCH -> llmTopUserCounter.getTopUsers(llm, limit);
+      case EXACT -> LlmUsageDto.TopUsersResponse.of(
+          llm.getId(),
+          llm.getName(),
+          TopUsersMode.EXACT,
+          llmUsageQueryRepository.selectTotalUsedToken(llmId),
+          0L,
+          llmUsageQueryRepository.selectTopUsers(llmId, limit));
+    };
+  }
+
+  /**
+   * 항목별 유효성 검사와 사용자/LLM 존재 여부를 확인하고 기록할 엔티티 생성
+   *
+   * <p>이미 결과 코드가 지정된 항목은 검사하지 않는다. 통과한 항목은 멱등 키를 예약한 뒤
+   * {@code statuses}에 OK가, {@code llmUsageByIndex}에 생성된 엔티티가 설정된다. 이미 예약된 멱등
+   * 키는 USAGE_DUPLICATED로 처리한다.
+   *
+   * @param usages          기록할 LLM 사용량 목록
+   * @param statuses        항목별 결과 코드
+   * @param llmUsageByIndex 항목별 생성된 엔티티
+   * @return 기록할 엔티티 목록
+   */
+  private List<LlmUsageEntity> toLlmUsages(
+      List<LlmUsageDto.InsertRequest> usages,
+      ApiStatus[] statuses,
+      LlmUsageEntity[] llmUsageByIndex) {
+
+    // 항목별 유효성 검사 후 사용자, LLM 존재 여부는 DB 조회 없이 아이디 인덱스로 확인
+    LocalDateTime now = LocalDateTime.now();
+    List<LlmUsageEntity> llmUsages = new ArrayList<>(usages.size());
+    for (int i = 0; i < usages.size(); i++) {
+      if (statuses[i] != null) {
+        continue;
+      }
+      LlmUsageDto.InsertRequest usage = usages.get(i);
+      if (usage == null || !validator.validate(usage).isEmpty()) {
+        statuses[i] = ApiStatus.METHOD_ARGUMENT_NOT_VALID;
+      } else if (!activeIdIndex.containsUser(usage.getUserId())) {
+        statuses[i] = ApiStatus.USER_NOT_FOUND;
+      } else if (!activeIdIndex.containsLlm(usage.getLlmId())) {
+        statuses[i] = ApiStatus.LLM_NOT_FOUND;
+      } else if (!usageIdempotencyIndex.reserve(usage.getIdempotencyKey())) {
+        statuses[i] = ApiStatus.USAGE_DUPLICATED;
+      } else {
+        statuses[i] = ApiStatus.OK;
+        llmUsageByIndex[i] = LlmUsageEntity.builder()
+            .userId(usage.getUserId())
+            .llmId(usage.getLlmId())
+            .usedToken(usage.getUsedToken())
+            .idempotencyKey(usage.getIdempotencyKey())
+            .createdAt(now)
+            .updatedAt(now)
+            .isDeleted(false)
+            .build();
+        llmUsages.add(llmUsageByIndex[i]);
+      }
+    }
+    return llmUsages;
+  }
+
+  /**
+   * 기록 결과를 멱등 키 인덱스에 반영
+   *
+   * <p>메모리 인덱스를 통과했지만 DB에 이미 기록된 멱등 키였던 항목(아이디가 null)은 USAGE_DUPLICATED로
+   * 바꾼다.
+   *
+   * @param statuses        항목별 결과 코드
+   * @param llmUsageByIndex 항목별 기록한 엔티티
+   */
+  private void completeLlmUsages(ApiStatus[] statuses, LlmUsageEntity[] llmUsageByIndex) {
+    for (int i = 0; i < llmUsageByIndex.length; i++) {
+      LlmUsageEntity llmUsage = llmUsageByIndex[i];
+      if (llmUsage == null) {
+        continue;
+      }
+      if (llmUsage.getId() == null) {
+        statuses[i] = ApiStatus.USAGE_DUPLICATED;
+        usageIdempotencyIndex.recordStoreHit(llmUsage.getIdempotencyKey());
+      } else {
+        usageIdempotencyIndex.complete(llmUsage.getIdempotencyKey(), llmUsage.getId());
+      }
+    }
+  }
+
+  /**
+   * 기록에 실패한 항목의 멱등 키 예약 해제
+   *
+   * @param llmUsageByIndex 항목별 기록하려던 엔티티
+   */
+  private void releaseLlmUsages(LlmUsageEntity[] llmUsageByIndex) {
+    for (LlmUsageEntity llmUsage : llmUsageByIndex) {
+      if (llmUsage != null) {
+        usageIdempotencyIndex.release(llmUsage.getIdempotencyKey());
+      }
+    }
+  }
+
+  /**
+   * 스트리밍 기록 청크를 검증하고 기록한 뒤 다음 청크를 위해 비움
+   *
+   * @param chunk 스트리밍 기록 청크
+   */
+  private void writeChunk(StreamChunk chunk) {
+    if (chunk.usages.isEmpty()) {
+      return;
+    }
+
+    int size = chunk.usages.size();
+    LlmUsageEntity[] llmUsageByIndex = new LlmUsageEntity[size];
+    List<LlmUsageEntity> llmUsages = toLlmUsages(chunk.usages, chunk.statuses, llmUsageByIndex);
+    try {
+      chunk.successCount += llmUsageWriter.insertLlmUsages(llmUsages);
+    } catch (RuntimeException e) {
+      releaseLlmUsages(llmUsageByIndex);
+      throw e;
+    }
+    completeLlmUsages(chunk.statuses, llmUsageByIndex);
+
+    for (int i = 0; i < size; i++) {
+      ApiStatus status = chunk.statuses[i];
+      if (status == ApiStatus.USAGE_DUPLICATED) {
+        chunk.duplicateCount++;
+      } else if (status != ApiStatus.OK && chunk.failures.size() < chunk.maxFailureDetails) {
+        chunk.failures.add(LlmUsageDto.StreamInsertFailure.of(
+            chunk.lineNumbers[i], status.getCode(), status.getMessage()));
+      }
+    }
+    chunk.clear();
+  }
+
+  private static long alignDown(long epochMinute, int intervalMinutes) {
+    return epochMinute - Math.floorMod(epochMinute, intervalMinutes);
+  }
+
+  private static long alignUp(long epochMinute, int intervalMinutes) {
+    return alignDown(epochMinute + intervalMinutes - 1, intervalMinutes);
+  }
+
+  /**
+   * 스트리밍 기록 중 아직 기록하지 않은 줄과 누적 처리 결과
+   */
+  private static final class StreamChunk {
+
+    private final List<LlmUsageDto.InsertRequest> usages;
+    private final ApiStatus[] statuses;
+    private final long[] lineNumbers;
+    private final int maxFailureDetails;
+    private final List<LlmUsageDto.StreamInsertFailure> failures = new ArrayList<>();
+    private long totalCount;
+    private long successCount;
+    private long duplicateCount;
+
+    private StreamChunk(int chunkSize, int maxFailureDetails) {
+      this.usages = new ArrayList<>(chunkSize);
+      this.statuses = new ApiStatus[chunkSize];
+      this.lineNumbers = new long[chunkSize];
+      this.maxFailureDetails = maxFailureDetails;
+    }
+
+    private void add(long lineNumber, LlmUsageDto.InsertRequest usage) {
+      lineNumbers[usages.size()] = lineNumber;
+      usages.add(usage);
+      totalCount++;
+    }
+
+    private void addRejected(long lineNumber, ApiStatus status) {
+      statuses[usages.size()] = status;
+      add(lineNumber, null);
+    }
+
+    private boolean isFull() {
+      return usages.size() == statuses.length;
+    }
+
+    private void clear() {
+      usages.clear();
+      Arrays.fill(statuses, null);
+    }
   }
 }
@@ -0,0 +1,177 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM별 사용 토큰 수 메모리 카운터
+ *
+ * <p>LLM별 사용량 조회(GET /llm/usages)가 매번 집계 테이블을 GROUP BY 하지 않도록, 시작 시 DB에서 LLM별
+ * 합계를 읽어 적재하고 이후에는 사용량 기록(LlmUsageWriter)과 LLM 삭제(LlmService)와 함께 갱신한다.
+ * LLM 이름과 토큰당 가격은 {@link LlmCatalog}에서 읽으므로 조회 시 DB에 접근하지 않는다.
+ *
+ * <p>LLM별 카운터는 {@link LongAdder}로, 여러 코어에서 동시에 기록해도 같은 캐시 라인을 두고 CAS 경합하지
+ * 않는다. 기록은 트랜잭션이 커밋된 뒤에 더하므로 커밋되지 않은 사용량은 조회되지 않는다. LLM 삭제는 즉시
+ * 반영하고, 트랜잭션이 롤백되면 되돌린다.
+ */
+@Slf4j
+@Component
+public class LlmUsageStatsCounter implements SmartInitializingSingleton {
+
+  private final LlmUsageQueryRepository llmUsageQueryRepository;
+  private final LlmCatalog llmCatalog;
+  private final Map<Long, LongAdder> usedTokenByLlmId = new ConcurrentHashMap<>();
+  private final Counter mismatchCounter;
+
+  /**
+   * 카운터 생성 및 메트릭 등록
+   *
+   * @param llmUsageQueryRepository LLM 사용량 조회 저장소
+   * @param llmCatalog              LLM 목록
+   * @param meterRegistry           메트릭 레지스트리
+   */
+  public LlmUsageStatsCounter(
+      LlmUsageQueryRepository llmUsageQueryRepository,
+      LlmCatalog llmCatalog,
+      MeterRegistry meterRegistry) {
+    this.llmUsageQueryRepository = llmUsageQueryRepository;
+    this.llmCatalog = llmCatalog;
+
+    Gauge.builder("usage.stats.counters", usedTokenByLlmId, Map::size)
+        .description("사용 토큰 수 카운터가 있는 LLM 개수")
+        .register(meterRegistry);
+    this.mismatchCounter = Counter.builder("usage.stats.mismatch")
+        .description("메모리 카운터와 SQL 결과가 다른 LLM 수 (VERIFY 모드)")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) DB에서 합계 적재
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  /**
+   * DB의 LLM별 사용 토큰 수 합계를 다시 적재
+   *
+   * <p>적재 중에 기록된 사용량은 누락되거나 중복될 수 있으므로 기록이 없는 시점에 호출한다.
+   */
+  public void reload() {
+    Map<Long, Long> totals = llmUsageQueryRepository.selectTotalUsedTokenByLlmId();
+    usedTokenByLlmId.keySet().retainAll(totals.keySet());
+    totals.forEach((llmId, usedToken) -> {
+      LongAdder adder = new LongAdder();
+      adder.add(usedToken == null ? 0L : usedToken);
+      usedTokenByLlmId.put(llmId, adder);
+    });
+    log.info("LLM 사용량 카운터 적재 - llm: {}", usedTokenByLlmId.size());
+  }
+
+  /**
+   * 기록된 사용량을 트랜잭션이 커밋된 뒤 LLM별 카운터에 누적
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목(아이디가 null)은 제외한다.
+   *
+   * @param llmUsages 기록한 LLM 사용량 목록
+   */
+  public void add(List<LlmUsageEntity> llmUsages) {
+    Map<Long, Long> deltas = new HashMap<>();
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() != null) {
+        deltas.merge(llmUsage.getLlmId(), (long) llmUsage.getUsedToken(), Long::sum);
+      }
+    }
+    if (deltas.isEmpty()) {
+      return;
+    }
+    TransactionUndo.afterCommit(() -> deltas.forEach(this::add));
+  }
+
+  /**
+   * 사용량이 삭제된 LLM의 카운터 삭제
+   *
+   * @param llmId LLM 아이디
+   */
+  public void remove(long llmId) {
+    LongAdder removed = usedTokenByLlmId.remove(llmId);
+    if (removed != null) {
+      long usedToken = removed.sum();
+      TransactionUndo.onRollback(() -> add(llmId, usedToken));
+    }
+  }
+
+  /**
+   * 메모리 카운터 기준 LLM별 사용량 조회 (아이디 순)
+   *
+   * <p>사용량이 없는 LLM은 SQL 조회(LEFT JOIN)와 같이 합계와 금액이 null이다. 사용자 수는 SQL 조회와
+   * 같이 비워 두고 {@link LlmDistinctUserCounter}에서 채운다.
+   *
+   * @return LLM별 사용량 정보
+   */
+  public List<LlmUsageDto.StatsResponse> getLlmUsageStats() {
+    List<LlmDto.SelectResponse> llms = llmCatalog.getAll();
+    List<LlmUsageDto.StatsResponse> statsResponses = new ArrayList<>(llms.size());
+    for (LlmDto.SelectResponse llm : llms) {
+      LongAdder adder = usedTokenByLlmId.get(llm.getId());
+      Long totalUsedToken = adder == null ? null : adder.sum();
+      statsResponses.add(LlmUsageDto.StatsResponse.of(
+          llm.getId(),
+          llm.getName(),
+          totalUsedToken,
+          totalUsedToken == null ? null : totalUsedToken * llm.getPricePerToken(),
+          null));
+    }
+    return statsResponses;
+  }
+
+  /**
+   * SQL 조회 결과와 메모리 카운터를 비교하여 다른 LLM을 기록
+   *
+   * <p>비교하는 사이에 커밋된 기록이 있으면 일시적으로 다를 수 있으므로, 불일치는 경고 로그와 메트릭으로만
+   * 남기고 카운터를 고치지 않는다.
+   *
+   * @param sqlStatsResponses SQL로 조회한 LLM별 사용량 정보
+   * @return 불일치한 LLM 수
+   */
+  public int verify(List<LlmUsageDto.StatsResponse> sqlStatsResponses) {
+    int mismatchCount = 0;
+    for (LlmUsageDto.StatsResponse sqlStatsResponse : sqlStatsResponses) {
+      LongAdder adder = usedTokenByLlmId.get(sqlStatsResponse.getId());
+      long memoryUsedToken = adder == null ? 0L : adder.sum();
+      long sqlUsedToken = Objects.requireNonNullElse(sqlStatsResponse.getTotalUsedToken(), 0L);
+      if (memoryUsedToken != sqlUsedToken) {
+        log.warn("LLM 사용량 카운터 불일치 - llmId: {}, memory: {}, sql: {}",
+            sqlStatsResponse.getId(), memoryUsedToken, sqlUsedToken);
+        mismatchCount++;
+      }
+    }
+    mismatchCounter.increment(mismatchCount);
+    return mismatchCount;
+  }
+
+  private void add(long llmId, long usedToken) {
+    LongAdder adder = usedTokenByLlmId.get(llmId);
+    if (adder == null) {
+      adder = usedTokenByLlmId.computeIfAbsent(llmId, k -> new LongAdder());
+    }
+    adder.add(usedToken);
+  }
+}
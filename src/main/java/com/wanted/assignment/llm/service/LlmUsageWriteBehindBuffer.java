@@ -0,0 +1,303 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.common.type.IngestionMode;
+import com.wanted.assignment.config.UsageProperties;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 사용량 비동기(write-behind) 기록 버퍼
+ *
+ * <p>요청은 제한된 크기의 메모리 대기열에 적재된 즉시 응답하고, 단일 백그라운드 스레드가 대기열을
+ * {@code flush-size}건 또는 {@code flush-interval-ms} 단위로 묶어 한 트랜잭션으로 커밋한다.
+ * 커넥션은 요청 수가 아니라 그룹 커밋 횟수만큼만 사용된다.
+ *
+ * <p>웹 서버가 요청 수신을 멈춘 뒤 종료되도록 웹 서버보다 낮은 phase로 등록하며, 종료 시 대기열에
+ * 남은 사용량을 모두 커밋한다. 커밋은 항상 한 스레드만 하므로, 기록 스레드가 종료 제한 시간
+ * (shutdown-timeout-ms) 안에 끝나지 않으면 남은 건도 기록 스레드가 계속 커밋한다.
+ */
+@Slf4j
+@Component
+public class LlmUsageWriteBehindBuffer implements SmartLifecycle {
+
+  // 웹 서버 graceful shutdown(DEFAULT_PHASE - 1024), 웹 서버 종료(DEFAULT_PHASE - 2048) 이후 종료
+  private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  private final LlmUsageWriter llmUsageWriter;
+  private final UsageIdempotencyIndex usageIdempotencyIndex;
+  private final UsageProperties.WriteBehind properties;
+  private final boolean enabled;
+  private final BlockingQueue<LlmUsageEntity> queue;
+
+  private final Timer flushTimer;
+  private final DistributionSummary flushSizeSummary;
+  private final Counter flushedCounter;
+  private final Counter failedCounter;
+  private final Counter rejectedCounter;
+
+  private volatile boolean running;
+  private Thread writerThread;
+
+  /**
+   * 비동기 기록 버퍼 생성 및 메트릭 등록
+   *
+   * @param llmUsageWriter        LLM 사용량 저장 컴포넌트
+   * @param usageIdempotencyIndex LLM 사용량 멱등 키 인덱스
+   * @param usageProperties       LLM 사용량 수집 설정
+   * @param meterRegistry         메트릭 레지스트리
+   */
+  public LlmUsageWriteBehindBuffer(
+      LlmUsageWriter llmUsageWriter,
+      UsageIdempotencyIndex usageIdempotencyIndex,
+      UsageProperties usageProperties,
+      MeterRegistry meterRegistry) {
+    this.llmUsageWriter = llmUsageWriter;
+    this.usageIdempotencyIndex = usageIdempotencyIndex;
+    this.properties = usageProperties.getWriteBehind();
+    this.enabled = usageProperties.getIngestion().getMode() == IngestionMode.WRITE_BEHIND;
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+    Gauge.builder("usage.buffer.queue.size", queue, Collection::size)
+        .description("비동기 기록 대기열에 적재된 사용량 건수")
+        .register(meterRegistry);
+    Gauge.builder("usage.buffer.queue.capacity", queue, BlockingQueue::remainingCapacity)
+        .description("비동기 기록 대기열의 남은 용량")
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("usage.buffer.flush")
+        .description("그룹 커밋 소요 시간")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.flushSizeSummary = DistributionSummary.builder("usage.buffer.flush.size")
+        .description("그룹 커밋 1회당 건수")
+        .register(meterRegistry);
+    this.flushedCounter = rowCounter(meterRegistry, "flushed");
+    this.failedCounter = rowCounter(meterRegistry, "failed");
+    this.rejectedCounter = rowCounter(meterRegistry, "rejected");
+  }
+
+  /**
+   * 비동기 기록 모드 사용 여부
+   *
+   * @return 비동기 기록 모드이면 true
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * LLM 사용량을 대기열에 적재
+   *
+   * <p>사용 시각은 커밋 시점이 아니라 적재 시점으로 기록한다.
+   *
+   * @param insertRequest 기록할 LLM 사용량 정보
+   */
+  public void enqueue(LlmUsageDto.InsertRequest insertRequest) {
+
+    if (!running) {
+      log.error("비동기 기록 버퍼가 동작 중이 아님: {}", insertRequest);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ApiStatus.USAGE_QUEUE_FULL);
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    LlmUsageEntity llmUsage = LlmUsageEntity.builder()
+        .userId(insertRequest.getUserId())
+        .llmId(insertRequest.getLlmId())
+        .usedToken(insertRequest.getUsedToken())
+        .idempotencyKey(insertRequest.getIdempotencyKey())
+        .createdAt(now)
+        .updatedAt(now)
+        .isDeleted(false)
+        .build();
+
+    boolean accepted;
+    try {
+      accepted = queue.offer(llmUsage, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      accepted = false;
+    }
+
+    if (!accepted) {
+      rejectedCounter.increment();
+      log.error("비동기 기록 대기열 적재 실패 (대기열 가득 참): {}", insertRequest);
+      throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, ApiStatus.USAGE_QUEUE_FULL);
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    writerThread = new Thread(this::runWriter, "usage-write-behind");
+    writerThread.setDaemon(true);
+    writerThread.start();
+    log.info("비동기 기록 버퍼 시작 - capacity: {}, flushSize: {}, flushIntervalMs: {}",
+        properties.getQueueCapacity(), properties.getFlushSize(), properties.getFlushIntervalMs());
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      writerThread.join(properties.getShutdownTimeoutMs());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (writerThread.isAlive()) {
+      // 두 스레드가 동시에 커밋하지 않도록 잔여 건은 기록 스레드에 맡김
+      log.warn("비동기 기록 스레드가 제한 시간 내 종료되지 않아 잔여 건은 기록 스레드가 계속 커밋 "
+          + "- 남은 건수: {}", queue.size());
+      return;
+    }
+
+    // 기록 스레드가 인터럽트로 먼저 끝난 경우 남은 건을 마지막으로 커밋
+    List<LlmUsageEntity> remaining = new ArrayList<>(properties.getFlushSize());
+    while (queue.drainTo(remaining, properties.getFlushSize()) > 0) {
+      flush(remaining);
+      remaining.clear();
+    }
+    log.info("비동기 기록 버퍼 종료");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return enabled;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  /**
+   * 대기열을 소비하며 그룹 커밋 반복 (종료 요청 후에도 대기열이 빌 때까지 계속)
+   */
+  private void runWriter() {
+    List<LlmUsageEntity> chunk = new ArrayList<>(properties.getFlushSize());
+    while (running || !queue.isEmpty()) {
+      try {
+        collect(chunk);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      if (!chunk.isEmpty()) {
+        flush(chunk);
+        chunk.clear();
+      }
+    }
+  }
+
+  /**
+   * 첫 건이 도착한 시점부터 flush-interval-ms 동안 최대 flush-size건까지 수집
+   *
+   * @param chunk 수집한 사용량을 담을 목록
+   * @throws InterruptedException 대기 중 인터럽트 발생 시
+   */
+  private void collect(List<LlmUsageEntity> chunk) throws InterruptedException {
+    int flushSize = properties.getFlushSize();
+    long intervalMs = properties.getFlushIntervalMs();
+
+    LlmUsageEntity first = queue.poll(intervalMs, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    chunk.add(first);
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    while (chunk.size() < flushSize) {
+      queue.drainTo(chunk, flushSize - chunk.size());
+      long remainingNanos = deadline - System.nanoTime();
+      if (chunk.size() >= flushSize || remainingNanos <= 0) {
+        break;
+      }
+      LlmUsageEntity next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        break;
+      }
+      chunk.add(next);
+    }
+  }
+
+  /**
+   * 수집한 사용량을 한 트랜잭션으로 커밋하고, 실패 시 건별로 재시도
+   *
+   * @param chunk 커밋할 사용량 목록
+   */
+  private void flush(List<LlmUsageEntity> chunk) {
+    long startNanos = System.nanoTime();
+    try {
+      llmUsageWriter.insertLlmUsages(chunk);
+      flushedCounter.increment(chunk.size());
+      chunk.forEach(this::complete);
+    } catch (RuntimeException e) {
+      log.error("LLM 사용량 그룹 커밋 실패, 건별 재시도 - 건수: {}", chunk.size(), e);
+      for (LlmUsageEntity llmUsage : chunk) {
+        retry(llmUsage);
+      }
+    } finally {
+      flushTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      flushSizeSummary.record(chunk.size());
+    }
+  }
+
+  /**
+   * 그룹 커밋에 실패한 사용량을 단건으로 재시도
+   *
+   * @param llmUsage 재시도할 사용량
+   */
+  private void retry(LlmUsageEntity llmUsage) {
+    try {
+      llmUsageWriter.insertLlmUsages(List.of(llmUsage));
+      flushedCounter.increment();
+      complete(llmUsage);
+    } catch (RuntimeException e) {
+      failedCounter.increment();
+      usageIdempotencyIndex.release(llmUsage.getIdempotencyKey());
+      log.error("LLM 사용량 기록 실패 - userId: {}, llmId: {}, usedToken: {}",
+          llmUsage.getUserId(), llmUsage.getLlmId(), llmUsage.getUsedToken(), e);
+    }
+  }
+
+  /**
+   * 커밋된 사용량의 아이디를 멱등 키 인덱스에 반영
+   *
+   * @param llmUsage 커밋된 사용량 (DB에 이미 기록된 멱등 키였다면 아이디가 null)
+   */
+  private void complete(LlmUsageEntity llmUsage) {
+    if (llmUsage.getId() == null) {
+      usageIdempotencyIndex.recordStoreHit(llmUsage.getIdempotencyKey());
+    } else {
+      usageIdempotencyIndex.complete(llmUsage.getIdempotencyKey(), llmUsage.getId());
+    }
+  }
+
+  private static Counter rowCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("usage.buffer.rows")
+        .description("비동기 기록 버퍼 처리 건수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,130 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageDailyJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageHourlyJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.llm.repository.UsageJournalCheckpointJdbcRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * LLM 사용량 저장 전용 컴포넌트
+ *
+ * <p>동기 기록, 일괄 기록, 비동기(write-behind) 기록, 저널 반영이 모두 이 컴포넌트를 통해 저장되도록 하여
+ * 기록 방식과 관계없이 저장 로직을 한 곳에서 관리한다. 시간별 집계(llm_usage_hourly)도 여기서 같은
+ * 트랜잭션으로 누적하며, 오래된 시간별 집계를 일별 집계로 옮기는 압축도 여기서 처리한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class LlmUsageWriter {
+
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final LlmUsageHourlyJdbcRepository llmUsageHourlyJdbcRepository;
+  private final LlmUsageDailyJdbcRepository llmUsageDailyJdbcRepository;
+  private final UsageJournalCheckpointJdbcRepository usageJournalCheckpointJdbcRepository;
+  private final LlmUsageStatsCounter llmUsageStatsCounter;
+  private final UserLlmUsageCounter userLlmUsageCounter;
+  private final LlmUsageSeriesCounter llmUsageSeriesCounter;
+  private final LlmTopUserCounter llmTopUserCounter;
+  private final LlmDistinctUserCounter llmDistinctUserCounter;
+  private final LlmUsageDistributionCounter llmUsageDistributionCounter;
+  private final LlmUsageColumnStore llmUsageColumnStore;
+
+  /**
+   * LLM 사용량 단건 저장
+   *
+   * <p>llm_usage 는 월별 세그먼트를 합친 뷰이므로 JPA 대신 JDBC로 해당 월의 세그먼트에 저장하며, 멱등
+   * 키가 있는 경우에는 이미 기록된 키인지 INSERT 문 안에서 함께 확인한다.
+   *
+   * @param insertRequest 기록할 LLM 사용량 정보
+   * @return 기록된 LLM 사용량 아이디 (멱등 키가 이미 기록된 경우 null)
+   */
+  @Transactional
+  public Long insertLlmUsage(LlmUsageDto.InsertRequest insertRequest) {
+    LocalDateTime now = LocalDateTime.now();
+    LlmUsageEntity llmUsage = LlmUsageEntity.builder()
+        .userId(insertRequest.getUserId())
+        .llmId(insertRequest.getLlmId())
+        .usedToken(insertRequest.getUsedToken())
+        .idempotencyKey(StringUtils.hasText(insertRequest.getIdempotencyKey())
+            ? insertRequest.getIdempotencyKey()
+            : null)
+        .createdAt(now)
+        .updatedAt(now)
+        .isDeleted(false)
+        .build();
+    insertLlmUsages(List.of(llmUsage));
+    return llmUsage.getId();
+  }
+
+  /**
+   * LLM 사용량 일괄 저장 (JDBC 배치 INSERT)
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목은 아이디가 null로 남으며 집계와 LLM별 사용량
+   * 카운터에서도 제외된다.
+   *
+   * @param llmUsages 기록할 LLM 사용량 목록
+   * @return 기록된 건수
+   */
+  @Transactional
+  public int insertLlmUsages(List<LlmUsageEntity> llmUsages) {
+    int insertedCount = llmUsageJdbcRepository.insertLlmUsages(llmUsages);
+    List<LlmUsageEntity> insertedLlmUsages = insertedCount == llmUsages.size()
+        ? llmUsages
+        : llmUsages.stream().filter(llmUsage -> llmUsage.getId() != null).toList();
+    llmUsageHourlyJdbcRepository.mergeLlmUsageHourly(insertedLlmUsages);
+    llmUsageStatsCounter.add(insertedLlmUsages);
+    userLlmUsageCounter.add(insertedLlmUsages);
+    llmUsageSeriesCounter.add(insertedLlmUsages);
+    llmTopUserCounter.add(insertedLlmUsages);
+    llmDistinctUserCounter.add(insertedLlmUsages);
+    llmUsageDistributionCounter.add(insertedLlmUsages);
+    llmUsageColumnStore.add(insertedLlmUsages);
+    return insertedCount;
+  }
+
+  /**
+   * 저널 레코드를 저장하고 반영 위치를 같은 트랜잭션으로 갱신
+   *
+   * <p>사용량과 반영 위치가 함께 커밋되거나 함께 롤백되므로, 재시작 후 저널을 다시 읽어도 이미 반영된
+   * 레코드가 중복 기록되지 않는다.
+   *
+   * @param llmUsages 저장할 LLM 사용량 목록 (반영 위치만 옮기는 경우 빈 목록)
+   * @param segmentNo 다음에 반영할 세그먼트 번호
+   * @param offset    다음에 반영할 세그먼트 내 위치(byte)
+   * @return 기록된 건수
+   */
+  @Transactional
+  public int applyJournal(List<LlmUsageEntity> llmUsages, long segmentNo, long offset) {
+    int insertedCount = insertLlmUsages(llmUsages);
+    usageJournalCheckpointJdbcRepository.updateCheckpoint(segmentNo, offset);
+    return insertedCount;
+  }
+
+  /**
+   * 기준 시각 이전의 시간별 집계를 최대 건수만큼 일별 집계로 옮김
+   *
+   * <p>옮길 시간별 집계 행을 잠그고 읽은 뒤, 일별 집계 누적과 시간별 집계 삭제를 같은 트랜잭션으로
+   * 커밋하므로 중간에 실패해도 합계가 달라지지 않는다. 한 번에 옮기는 건수를 제한하여 트랜잭션과 잠금을
+   * 짧게 유지한다.
+   *
+   * @param before 기준 시각 (제외)
+   * @param limit  최대 건수
+   * @return 옮긴 시간별 집계 건수
+   */
+  @Transactional
+  public int compactLlmUsageHourly(LocalDateTime before, int limit) {
+    List<LlmUsageHourlyJdbcRepository.HourlyTotal> hourlyTotals =
+        llmUsageHourlyJdbcRepository.selectLlmUsageHourlyBefore(before, limit);
+    llmUsageDailyJdbcRepository.mergeLlmUsageDaily(hourlyTotals);
+    return llmUsageHourlyJdbcRepository.deleteLlmUsageHourly(hourlyTotals);
+  }
+}
@@ -0,0 +1,219 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.config.UsageProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * LLM 사용량 멱등 키 메모리 인덱스
+ *
+ * <p>최근 {@code ttl-ms} 동안 기록된 멱등 키를 최대 {@code max-entries}개까지 기억하여, 재시도 요청의
+ * 중복 여부를 DB 조회 없이 판단한다. 인덱스에서 밀려났거나 재시작으로 사라진 키는 llm_usage의
+ * idempotency_key 유니크 컬럼이 최종적으로 중복을 막는다.
+ *
+ * <p>키는 기록 전에 예약되며, 기록 트랜잭션이 롤백되면 예약이 해제되어 재시도가 다시 기록될 수 있다.
+ */
+@Slf4j
+@Component
+public class UsageIdempotencyIndex {
+
+  private final UsageProperties.Idempotency properties;
+
+  // 예약 순서(= 만료 순서)를 유지하는 키 -> 예약 정보
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Reservation> reservations = new LinkedHashMap<>();
+
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter storeHitCounter;
+
+  /**
+   * 멱등 키 인덱스 생성 및 메트릭 등록
+   *
+   * @param usageProperties LLM 사용량 수집 설정
+   * @param meterRegistry   메트릭 레지스트리
+   */
+  public UsageIdempotencyIndex(UsageProperties usageProperties, MeterRegistry meterRegistry) {
+    this.properties = usageProperties.getIdempotency();
+
+    Gauge.builder("usage.idempotency.index.size", this, UsageIdempotencyIndex::size)
+        .description("멱등 키 인덱스에 보관 중인 키 개수")
+        .register(meterRegistry);
+    this.hitCounter = lookupCounter(meterRegistry, "hit");
+    this.missCounter = lookupCounter(meterRegistry, "miss");
+    this.storeHitCounter = lookupCounter(meterRegistry, "store-hit");
+  }
+
+  /**
+   * 멱등 키 예약
+   *
+   * <p>만료되지 않은 같은 키가 있으면 중복(hit)으로 판단한다. 트랜잭션 안에서 호출된 경우 롤백 시
+   * 예약이 자동으로 해제된다.
+   *
+   * @param idempotencyKey 멱등 키 (없으면 항상 예약 성공)
+   * @return 새로 예약되었으면 true, 이미 기록된 키이면 false
+   */
+  public boolean reserve(String idempotencyKey) {
+    if (!StringUtils.hasText(idempotencyKey)) {
+      return true;
+    }
+
+    long now = System.currentTimeMillis();
+    lock.lock();
+    try {
+      evict(now);
+      Reservation reservation = reservations.get(idempotencyKey);
+      if (reservation != null) {
+        hitCounter.increment();
+        return false;
+      }
+      reservations.put(idempotencyKey, new Reservation(now));
+    } finally {
+      lock.unlock();
+    }
+    missCounter.increment();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          if (status != STATUS_COMMITTED) {
+            release(idempotencyKey);
+          }
+        }
+      });
+    }
+    return true;
+  }
+
+  /**
+   * 예약된 멱등 키에 기록된 LLM 사용량 아이디 설정
+   *
+   * @param idempotencyKey 멱등 키
+   * @param llmUsageId     기록된 LLM 사용량 아이디
+   */
+  public void complete(String idempotencyKey, Long llmUsageId) {
+    if (!StringUtils.hasText(idempotencyKey)) {
+      return;
+    }
+    lock.lock();
+    try {
+      Reservation reservation = reservations.get(idempotencyKey);
+      if (reservation != null) {
+        reservation.llmUsageId = llmUsageId;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 메모리 인덱스에는 없었지만 DB의 유니크 컬럼에서 중복으로 확인된 키 기록
+   *
+   * <p>예약은 유지되므로 이후 같은 키는 메모리 인덱스에서 중복으로 판단된다.
+   *
+   * @param idempotencyKey 멱등 키
+   */
+  public void recordStoreHit(String idempotencyKey) {
+    if (StringUtils.hasText(idempotencyKey)) {
+      storeHitCounter.increment();
+    }
+  }
+
+  /**
+   * 멱등 키로 기록된 LLM 사용량 아이디 조회
+   *
+   * @param idempotencyKey 멱등 키
+   * @return 기록된 LLM 사용량 아이디 (알 수 없는 경우 null)
+   */
+  public Long getLlmUsageId(String idempotencyKey) {
+    if (!StringUtils.hasText(idempotencyKey)) {
+      return null;
+    }
+    lock.lock();
+    try {
+      Reservation reservation = reservations.get(idempotencyKey);
+      return reservation == null ? null : reservation.llmUsageId;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 기록에 실패한 멱등 키의 예약 해제
+   *
+   * @param idempotencyKey 멱등 키
+   */
+  public void release(String idempotencyKey) {
+    if (!StringUtils.hasText(idempotencyKey)) {
+      return;
+    }
+    lock.lock();
+    try {
+      reservations.remove(idempotencyKey);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 인덱스에 보관 중인 키 개수
+   *
+   * @return 키 개수
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return reservations.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 만료되었거나 최대 개수를 초과한 키를 오래된 순서로 제거 (lock 보유 상태에서 호출)
+   *
+   * @param now 현재 시각(ms)
+   */
+  private void evict(long now) {
+    long expiredBefore = now - properties.getTtlMs();
+    Iterator<Map.Entry<String, Reservation>> iterator = reservations.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Reservation eldest = iterator.next().getValue();
+      if (eldest.reservedAt >= expiredBefore && reservations.size() < properties.getMaxEntries()) {
+        break;
+      }
+      iterator.remove();
+    }
+  }
+
+  private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("usage.idempotency.lookups")
+        .description("멱등 키 중복 확인 건수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 멱등 키 예약 정보
+   */
+  private static final class Reservation {
+
+    private final long reservedAt;
+    private Long llmUsageId;
+
+    private Reservation(long reservedAt) {
+      this.reservedAt = reservedAt;
+    }
+  }
+}
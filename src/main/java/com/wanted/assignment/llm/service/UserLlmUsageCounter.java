@@ -0,0 +1,177 @@
+package com.wanted.assignment.llm.service;
+
+import com.wanted.assignment.common.index.PairCounterTable;
+import com.wanted.assignment.common.transaction.TransactionUndo;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.users.dto.UsersDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * (사용자, LLM)별 사용 토큰 수 메모리 카운터
+ *
+ * <p>특정 사용자 LLM 사용량 조회(GET /users/{user_id}/usages)가 매번 집계 테이블을 조인하지 않도록, 시작
+ * 시 DB에서 (사용자, LLM)별 합계를 읽어 {@link PairCounterTable}에 적재하고 이후에는 사용량
+ * 기록(LlmUsageWriter)과 LLM 삭제(LlmService)와 함께 갱신한다. 조회는 {@link LlmCatalog}의 LLM마다
+ * 카운터를 한 번씩 찾으므로 DB에 접근하지 않고 LLM 수에 비례하는 시간이 걸린다.
+ *
+ * <p>기록은 트랜잭션이 커밋된 뒤에 더하므로 커밋되지 않은 사용량은 조회되지 않는다. LLM 삭제는 즉시
+ * 반영하고, 트랜잭션이 롤백되면 되돌린다.
+ */
+@Slf4j
+@Component
+public class UserLlmUsageCounter implements SmartInitializingSingleton {
+
+  private final LlmUsageJdbcRepository llmUsageJdbcRepository;
+  private final LlmCatalog llmCatalog;
+  private final PairCounterTable usedTokens = new PairCounterTable();
+  private final Counter mismatchCounter;
+
+  /**
+   * 카운터 생성 및 메트릭 등록
+   *
+   * @param llmUsageJdbcRepository LLM 사용량 저장소
+   * @param llmCatalog             LLM 목록
+   * @param meterRegistry          메트릭 레지스트리
+   */
+  public UserLlmUsageCounter(
+      LlmUsageJdbcRepository llmUsageJdbcRepository,
+      LlmCatalog llmCatalog,
+      MeterRegistry meterRegistry) {
+    this.llmUsageJdbcRepository = llmUsageJdbcRepository;
+    this.llmCatalog = llmCatalog;
+
+    Gauge.builder("usage.user.counters", usedTokens, PairCounterTable::size)
+        .description("사용 토큰 수 카운터가 있는 (사용자, LLM) 조합 수")
+        .register(meterRegistry);
+    Gauge.builder("usage.user.counters.bytes", usedTokens, PairCounterTable::memoryBytes)
+        .description("(사용자, LLM) 카운터 테이블 배열 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.mismatchCounter = Counter.builder("usage.user.mismatch")
+        .description("메모리 카운터와 SQL 결과가 다른 (사용자, LLM) 조합 수 (VERIFY 모드)")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 모든 빈이 생성된 뒤(웹 서버와 백그라운드 기록기가 시작되기 전) DB에서 합계 적재
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  /**
+   * DB의 (사용자, LLM)별 사용 토큰 수 합계를 다시 적재
+   *
+   * <p>적재 중에 기록된 사용량은 누락되거나 중복될 수 있으므로 기록이 없는 시점에 호출한다.
+   */
+  public void reload() {
+    usedTokens.clear();
+    llmUsageJdbcRepository.selectUsedTokenByUserIdAndLlmId(usedTokens::add);
+    log.info("(사용자, LLM) 사용량 카운터 적재 - pairs: {}", usedTokens.size());
+  }
+
+  /**
+   * 기록된 사용량을 트랜잭션이 커밋된 뒤 (사용자, LLM)별 카운터에 누적
+   *
+   * <p>멱등 키가 이미 기록되어 저장되지 않은 항목(아이디가 null)은 제외한다.
+   *
+   * @param llmUsages 기록한 LLM 사용량 목록
+   */
+  public void add(List<LlmUsageEntity> llmUsages) {
+    List<LlmUsageEntity> added = new ArrayList<>(llmUsages.size());
+    for (LlmUsageEntity llmUsage : llmUsages) {
+      if (llmUsage.getId() != null) {
+        added.add(llmUsage);
+      }
+    }
+    if (!added.isEmpty()) {
+      TransactionUndo.afterCommit(() -> added.forEach(llmUsage -> usedTokens.add(
+          llmUsage.getUserId(), llmUsage.getLlmId(), llmUsage.getUsedToken())));
+    }
+  }
+
+  /**
+   * 사용량이 삭제된 LLM의 카운터 삭제
+   *
+   * @param llmId LLM 아이디
+   */
+  public void removeLlm(long llmId) {
+    long[] removed = usedTokens.removeBySecond(llmId);
+    if (removed.length > 0) {
+      TransactionUndo.onRollback(() -> {
+        for (int i = 0; i < removed.length; i += 2) {
+          usedTokens.add(removed[i], llmId, removed[i + 1]);
+        }
+      });
+    }
+  }
+
+  /**
+   * 메모리 카운터 기준 특정 사용자 LLM별 사용량 조회 (LLM 아이디 순)
+   *
+   * <p>SQL 조회(내부 조인)와 같이 사용량이 없는 LLM은 제외한다.
+   *
+   * @param userId 사용자 아이디
+   * @return LLM별 사용량 목록
+   */
+  public List<UsersDto.LlmUsage> getUserLlmUsages(long userId) {
+    List<UsersDto.LlmUsage> llmUsages = new ArrayList<>();
+    for (LlmDto.SelectResponse llm : llmCatalog.getAll()) {
+      long usedToken = usedTokens.get(userId, llm.getId());
+      if (usedToken != 0L) {
+        llmUsages.add(UsersDto.LlmUsage.of(
+            llm.getId(), llm.getName(), usedToken, usedToken * llm.getPricePerToken()));
+      }
+    }
+    return llmUsages;
+  }
+
+  /**
+   * SQL 조회 결과와 메모리 카운터를 비교하여 다른 LLM을 기록
+   *
+   * <p>비교하는 사이에 커밋된 기록이 있으면 일시적으로 다를 수 있으므로, 불일치는 경고 로그와 메트릭으로만
+   * 남기고 카운터를 고치지 않는다.
+   *
+   * @param userId       사용자 아이디
+   * @param sqlLlmUsages SQL로 조회한 LLM별 사용량 목록
+   * @return 불일치한 LLM 수
+   */
+  public int verify(long userId, List<UsersDto.LlmUsage> sqlLlmUsages) {
+    Map<Long, Long> memoryUsedTokenByLlmId = new HashMap<>();
+    getUserLlmUsages(userId).forEach(llmUsage ->
+        memoryUsedTokenByLlmId.put(llmUsage.getId(), llmUsage.getTotalUsedToken()));
+
+    int mismatchCount = 0;
+    for (UsersDto.LlmUsage sqlLlmUsage : sqlLlmUsages) {
+      long memoryUsedToken = memoryUsedTokenByLlmId.getOrDefault(sqlLlmUsage.getId(), 0L);
+      long sqlUsedToken = sqlLlmUsage.getTotalUsedToken() == null
+          ? 0L : sqlLlmUsage.getTotalUsedToken();
+      memoryUsedTokenByLlmId.remove(sqlLlmUsage.getId());
+      if (memoryUsedToken != sqlUsedToken) {
+        log.warn("사용자 LLM 사용량 카운터 불일치 - userId: {}, llmId: {}, memory: {}, sql: {}",
+            userId, sqlLlmUsage.getId(), memoryUsedToken, sqlUsedToken);
+        mismatchCount++;
+      }
+    }
+    // SQL 결과에 없는 LLM이 메모리에만 남아 있는 경우
+    for (Map.Entry<Long, Long> entry : memoryUsedTokenByLlmId.entrySet()) {
+      log.warn("사용자 LLM 사용량 카운터 불일치 - userId: {}, llmId: {}, memory: {}, sql: 0",
+          userId, entry.getKey(), entry.getValue());
+      mismatchCount++;
+    }
+    mismatchCounter.increment(mismatchCount);
+    return mismatchCount;
+  }
+}
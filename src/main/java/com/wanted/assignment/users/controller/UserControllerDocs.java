@@ -3,10 +3,8 @@ package com.wanted.assignment.users.controller;
 import com.wanted.assignment.common.response.ErrorResponse;
 import com.wanted.assignment.users.dto.UsersDto;
 import com.wanted.assignment.users.dto.UsersDto.LlmResponse;
-import com.wanted.assignment.users.dto.UsersDto.SelectResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,7 +12,7 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Positive;
-import java.util.List;
+import java.time.LocalDateTime;
 import org.springframework.http.ResponseEntity;
 
 @SuppressWarnings("all")
@@ -57,25 +55,42 @@ public interface UserControllerDocs {
 
   @Operation(
       summary = "사용자 목록 조회",
+      description = "아이디 순으로 한 페이지씩 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 전달하면 다음 페이지를 조회하며, 마지막 페이지이면 nextCursor가 null입니다.",
       parameters = {
           @Parameter(name = "name", description = "사용자명", example = "김티드"),
-          @Parameter(name = "email", description = "사용자 이메일", example = "kimted@wantedlab.com")
+          @Parameter(name = "email", description = "사용자 이메일", example = "kimted@wantedlab.com"),
+          @Parameter(name = "cursor", description = "이전 응답의 다음 페이지 커서 (없으면 첫 페이지)", example = "AAAAAAAAAAM"),
+          @Parameter(name = "limit", description = "한 페이지 최대 건수 (1~1000, 기본 100)", example = "100")
       },
       responses = {
           @ApiResponse(responseCode = "200", description = "사용자 목록 조회 성공",
-              content = @Content(array = @ArraySchema(schema = @Schema(
+              content = @Content(schema = @Schema(implementation = UsersDto.SelectPageResponse.class,
                   example = """
-                        [
-                          {"id": 1, "name": "김티드", "email": "kimted@wantedlab.com"},
-                          {"id": 2, "name": "지티드", "email": "jited@wantedlab.com"},
-                          {"id": 3, "name": "이티드", "email": "leeted@wantedlab.com"}
-                        ]
+                        {
+                          "items": [
+                            {"id": 1, "name": "김티드", "email": "kimted@wantedlab.com"},
+                            {"id": 2, "name": "지티드", "email": "jited@wantedlab.com"},
+                            {"id": 3, "name": "이티드", "email": "leeted@wantedlab.com"}
+                          ],
+                          "nextCursor": "AAAAAAAAAAM"
+                        }
                     """
-              )))
+              ))
+          ),
+          @ApiResponse(responseCode = "400", description = "조회 건수가 범위(1~1000)를 벗어나거나 커서가 유효하지 않음",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                          {
+                            "code": "METHOD_ARGUMENT_NOT_VALID",
+                            "message": "파라미터가 유효하지 않습니다."
+                          }
+                      """)
+              )
           )
       }
   )
-  ResponseEntity<List<SelectResponse>> getUserList(String name, String email);
+  ResponseEntity<UsersDto.SelectPageResponse> getUserList(
+      String name, String email, String cursor, int limit);
 
   @Operation(
       summary = "사용자 삭제",
@@ -88,7 +103,9 @@ public interface UserControllerDocs {
   @Operation(
       summary = "사용자 사용량 조회",
       parameters = {
-          @Parameter(name = "userId", description = "사용량을 조회할 사용자 ID", required = true, example = "1")
+          @Parameter(name = "userId", description = "사용량을 조회할 사용자 ID", required = true, example = "1"),
+          @Parameter(name = "from", description = "조회 시작 시각 (포함, ISO-8601, 시간 단위로 내림하며 압축된 기간(usage.compaction.horizon-days 이전)은 일 단위로 내림)", example = "2025-05-01T00:00:00"),
+          @Parameter(name = "to", description = "조회 종료 시각 (제외, ISO-8601, 시간 단위로 올림하며 압축된 기간(usage.compaction.horizon-days 이전)은 일 단위로 올림)", example = "2025-06-01T00:00:00")
       },
       responses = {
           @ApiResponse(responseCode = "200", description = "사용자 사용량 조회 성공",
@@ -108,6 +125,16 @@ public interface UserControllerDocs {
                     """)
               )
           ),
+          @ApiResponse(responseCode = "400", description = "조회 시작 시각이 종료 시각보다 늦거나 같음",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                        {
+                          "code": "METHOD_ARGUMENT_NOT_VALID",
+                          "message": "파라미터가 유효하지 않습니다."
+                        }
+                    """)
+              )
+          ),
           @ApiResponse(responseCode = "404", description = "사용자 없음",
               content = @Content(schema = @Schema(implementation = ErrorResponse.class),
                   examples = @ExampleObject(value = """
@@ -121,5 +148,73 @@ public interface UserControllerDocs {
       }
   )
   ResponseEntity<LlmResponse> getUserLlmResponse(
-      @Positive @Parameter(name = "user_id", description = "특정 사용자 ID", required = true, example = "1") Long userId);
+      @Positive @Parameter(name = "user_id", description = "특정 사용자 ID", required = true, example = "1") Long userId,
+      LocalDateTime from,
+      LocalDateTime to);
+
+  @Operation(
+      summary = "여러 사용자 사용량 조회",
+      description = "최대 1000명의 LLM 사용량을 한 번에 조회합니다. 사용자별 결과의 usage는 사용자 사용량 조회(GET /users/{user_id}/usages) 응답과 같으며, 존재하지 않거나 삭제된 사용자는 요청 전체를 실패시키지 않고 해당 항목만 USER_NOT_FOUND로 응답합니다.",
+      requestBody = @RequestBody(
+          required = true,
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = UsersDto.BatchGetUsageRequest.class),
+              examples = @ExampleObject(value = """
+                    {
+                      "userIds": [1, 2, 99],
+                      "from": "2025-05-01T00:00:00",
+                      "to": "2025-06-01T00:00:00"
+                    }
+                """)
+          )
+      ),
+      responses = {
+          @ApiResponse(responseCode = "200", description = "여러 사용자 사용량 조회 성공",
+              content = @Content(schema = @Schema(implementation = UsersDto.BatchGetUsageResponse.class),
+                  examples = @ExampleObject(value = """
+                        {
+                          "totalCount": 3,
+                          "notFoundCount": 1,
+                          "results": [
+                            {
+                              "userId": 1, "code": "OK", "message": "성공",
+                              "usage": {
+                                "userUsages": {"totalUsedToken": 1536, "totalPrice": 30720},
+                                "llmUsages": [
+                                  {"id": 1, "name": "gpt-4o-mini", "totalUsedToken": 512, "totalPrice": 5120},
+                                  {"id": 2, "name": "gpt-4o", "totalUsedToken": 512, "totalPrice": 10240},
+                                  {"id": 3, "name": "gpt-3.5-turbo", "totalUsedToken": 512, "totalPrice": 15360}
+                                ]
+                              }
+                            },
+                            {
+                              "userId": 2, "code": "OK", "message": "성공",
+                              "usage": {
+                                "userUsages": {"totalUsedToken": 256, "totalPrice": 2560},
+                                "llmUsages": [
+                                  {"id": 1, "name": "gpt-4o-mini", "totalUsedToken": 256, "totalPrice": 2560}
+                                ]
+                              }
+                            },
+                            {"userId": 99, "code": "USER_NOT_FOUND", "message": "사용자가 존재하지 않습니다.", "usage": null}
+                          ]
+                        }
+                    """)
+              )
+          ),
+          @ApiResponse(responseCode = "400", description = "사용자 목록이 비었거나 1000명을 넘거나, 조회 시작 시각이 종료 시각보다 늦거나 같음",
+              content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                  examples = @ExampleObject(value = """
+                        {
+                          "code": "METHOD_ARGUMENT_NOT_VALID",
+                          "message": "파라미터가 유효하지 않습니다."
+                        }
+                    """)
+              )
+          )
+      }
+  )
+  ResponseEntity<UsersDto.BatchGetUsageResponse> getUsersLlmResponses(
+      UsersDto.BatchGetUsageRequest batchGetUsageRequest);
 }
@@ -2,13 +2,13 @@ package com.wanted.assignment.users.controller;
 
 import com.wanted.assignment.users.dto.UsersDto;
 import com.wanted.assignment.users.dto.UsersDto.LlmResponse;
-import com.wanted.assignment.users.dto.UsersDto.SelectResponse;
 import com.wanted.assignment.users.service.UsersService;
 import jakarta.validation.constraints.Positive;
 import java.net.URI;
-import java.util.List;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -44,19 +44,23 @@ public class UsersController implements UserControllerDocs {
   /**
    * 사용자 목록 조회
    *
-   * @param name  설명
-   * @param email 설명
-   * @return 200 OK 응답과 사용자 목록
+   * @param name   설명
+   * @param email  설명
+   * @param cursor 이전 응답의 다음 페이지 커서
+   * @param limit  한 페이지 최대 건수
+   * @return 200 OK 응답과 사용자 목록 페이지
    */
   @GetMapping("/users")
   @Override
-  public ResponseEntity<List<SelectResponse>> getUserList(
+  public ResponseEntity<UsersDto.SelectPageResponse> getUserList(
       @RequestParam(value = "name", required = false) String name,
-      @RequestParam(value = "email", required = false) String email) {
-    List<SelectResponse> userList = usersService.getUserList(
-        UsersDto.SelectRequest.of(name, email)
+      @RequestParam(value = "email", required = false) String email,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", defaultValue = "100") int limit) {
+    UsersDto.SelectPageResponse userPage = usersService.getUserList(
+        UsersDto.SelectRequest.of(name, email), cursor, limit
     );
-    return ResponseEntity.ok(userList);
+    return ResponseEntity.ok(userPage);
   }
 
   /**
@@ -76,12 +80,31 @@ public class UsersController implements UserControllerDocs {
    * 특정 사용자 LLM 사용량 조회
    *
    * @param userId 사용자 아이디
+   * @param from   조회 시작 시각 (포함)
+   * @param to     조회 종료 시각 (제외)
    * @return 특정 사용자 LLM 사용량 정보
    */
   @GetMapping("/users/{user_id}/usages")
   @Override
   public ResponseEntity<LlmResponse> getUserLlmResponse(
-      @PathVariable("user_id") @Positive Long userId) {
-    return ResponseEntity.ok(usersService.getUserLlmResponse(userId));
+      @PathVariable("user_id") @Positive Long userId,
+      @RequestParam(value = "from", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(value = "to", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    return ResponseEntity.ok(usersService.getUserLlmResponse(userId, from, to));
+  }
+
+  /**
+   * 여러 사용자 LLM 사용량 조회
+   *
+   * @param batchGetUsageRequest 조회할 사용자 아이디 목록과 기간
+   * @return 사용자별 LLM 사용량 정보
+   */
+  @PostMapping("/users/usages:batchGet")
+  @Override
+  public ResponseEntity<UsersDto.BatchGetUsageResponse> getUsersLlmResponses(
+      @Validated @RequestBody UsersDto.BatchGetUsageRequest batchGetUsageRequest) {
+    return ResponseEntity.ok(usersService.getUsersLlmResponses(batchGetUsageRequest));
   }
 }
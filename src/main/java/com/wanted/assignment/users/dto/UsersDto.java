@@ -1,11 +1,16 @@
 package com.wanted.assignment.users.dto;
 
+import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.common.validator.Password;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -75,6 +80,20 @@ public class UsersDto {
     private String email;
   }
 
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class SelectPageResponse {
+
+    @Schema(description = "사용자 목록 (아이디 순)", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<SelectResponse> items;
+
+    @Schema(description = "다음 페이지 커서 (마지막 페이지이면 null)", example = "AAAAAAAAAAM")
+    private String nextCursor;
+  }
+
   @Getter
   @Builder
   @AllArgsConstructor(staticName = "of")
@@ -89,6 +108,69 @@ public class UsersDto {
     private List<LlmUsage> llmUsages;
   }
 
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class BatchGetUsageRequest {
+
+    @Schema(description = "조회할 사용자 아이디 목록", example = "[1, 2, 3]",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty
+    @Size(max = Constants.USER_USAGE_BATCH_GET_MAX_SIZE)
+    private List<@NotNull @Positive Long> userIds;
+
+    @Schema(description = "조회 시작 시각 (포함, 없으면 처음부터)", example = "2025-05-01T00:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "조회 종료 시각 (제외, 없으면 끝까지)", example = "2025-06-01T00:00:00")
+    private LocalDateTime to;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class BatchGetUsageResponse {
+
+    @Schema(description = "요청 사용자 수", example = "3",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private int totalCount;
+
+    @Schema(description = "존재하지 않거나 삭제된 사용자 수", example = "0",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private int notFoundCount;
+
+    @Schema(description = "사용자별 조회 결과 (요청 순서와 동일)",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<BatchGetUsageResult> results;
+  }
+
+  @Getter
+  @Builder
+  @AllArgsConstructor(staticName = "of")
+  @NoArgsConstructor
+  @ToString
+  public static class BatchGetUsageResult {
+
+    @Schema(description = "사용자 아이디", example = "1",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long userId;
+
+    @Schema(description = "처리 결과 코드", example = "OK",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String code;
+
+    @Schema(description = "처리 결과 메시지", example = "성공",
+        requiredMode = Schema.RequiredMode.REQUIRED)
+    private String message;
+
+    @Schema(description = "사용자 LLM 사용량 정보 (GET /users/{user_id}/usages 응답과 동일, 실패한 경우 null)")
+    private LlmResponse usage;
+  }
+
   @Getter
   @Builder
   @AllArgsConstructor(staticName = "of")
@@ -98,11 +180,11 @@ public class UsersDto {
 
     @Schema(description = "총 사용 토큰 수", example = "1536",
         requiredMode = Schema.RequiredMode.REQUIRED)
-    private int totalUsedToken;
+    private long totalUsedToken;
 
     @Schema(description = "총 사용 금액", example = "30720",
         requiredMode = Schema.RequiredMode.REQUIRED)
-    private int totalPrice;
+    private long totalPrice;
   }
 
   @Getter
@@ -3,14 +3,20 @@ package com.wanted.assignment.users.repository;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.domain.entity.QLlmEntity;
-import com.wanted.assignment.domain.entity.QLlmUsageEntity;
+import com.wanted.assignment.domain.entity.QLlmUsageSummaryEntity;
 import com.wanted.assignment.domain.entity.QUsersEntity;
+import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
 import com.wanted.assignment.users.dto.UsersDto;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
@@ -24,12 +30,18 @@ public class UsersQueryRepository {
   private final JPAQueryFactory jpaQueryFactory;
 
   /**
-   * 사용자 목록 조회
+   * 사용자 목록 한 페이지 조회 (아이디 순 keyset 페이지)
+   *
+   * <p>OFFSET 없이 이전 페이지 마지막 아이디보다 큰 아이디부터 조회하므로 (is_deleted, id) 인덱스에서 시작
+   * 위치를 바로 찾고, 페이지 깊이와 관계없이 한 페이지만큼만 읽는다.
    *
    * @param selectRequest 조회할 사용자 정보
+   * @param afterId       이전 페이지 마지막 아이디 (null이면 첫 페이지)
+   * @param limit         최대 조회 건수
    * @return 사용자 목록
    */
-  public List<UsersDto.SelectResponse> selectUserList(UsersDto.SelectRequest selectRequest) {
+  public List<UsersDto.SelectResponse> selectUserList(
+      UsersDto.SelectRequest selectRequest, Long afterId, int limit) {
 
     QUsersEntity usersEntity = QUsersEntity.usersEntity;
 
@@ -41,6 +53,9 @@ public class UsersQueryRepository {
       builder.and(usersEntity.email.contains(selectRequest.getEmail()));
     }
     builder.and(usersEntity.isDeleted.eq(false));
+    if (afterId != null) {
+      builder.and(usersEntity.id.gt(afterId));
+    }
 
     return jpaQueryFactory
         .select(
@@ -54,10 +69,47 @@ public class UsersQueryRepository {
         .from(usersEntity)
         .where(builder)
         .orderBy(usersEntity.id.asc())
+        .limit(limit)
         .setHint(Constants.HIBERNATE_SQL_COMMENT, "UsersQueryRepository.selectUserList")
         .fetch();
   }
 
+  /**
+   * 주어진 아이디 중 삭제되지 않은 사용자 아이디 조회
+   *
+   * @param userIds 확인할 사용자 아이디 목록
+   * @return 존재하는 사용자 아이디 목록
+   */
+  public List<Long> selectActiveUserIds(Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return List.of();
+    }
+
+    QUsersEntity usersEntity = QUsersEntity.usersEntity;
+    return jpaQueryFactory
+        .select(usersEntity.id)
+        .from(usersEntity)
+        .where(usersEntity.id.in(userIds)
+            .and(usersEntity.isDeleted.eq(false)))
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "UsersQueryRepository.selectActiveUserIds")
+        .fetch();
+  }
+
+  /**
+   * 삭제되지 않은 모든 사용자 아이디 조회
+   *
+   * @return 존재하는 사용자 아이디 목록
+   */
+  public List<Long> selectAllActiveUserIds() {
+    QUsersEntity usersEntity = QUsersEntity.usersEntity;
+    return jpaQueryFactory
+        .select(usersEntity.id)
+        .from(usersEntity)
+        .where(usersEntity.isDeleted.eq(false))
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "UsersQueryRepository.selectAllActiveUserIds")
+        .fetch();
+  }
+
   /**
    * 사용자 아이디를 기준으로 삭제(isDeleted)
    *
@@ -78,12 +130,18 @@ public class UsersQueryRepository {
   /**
    * 특정 사용자별 LLM 사용량 조회
    *
+   * <p>원본 사용량 대신 시간별 집계와 압축된 일별 집계를 합친 집계 뷰를 합산한다. 기간을 지정하면
+   * (user_id, 집계 시각, llm_id, used_token) 커버링 인덱스로 해당 사용자의 기간 내 집계 행만 읽는다.
+   *
    * @param userId 사용자 아이디
+   * @param from   조회 시작 시각 (포함, null이면 처음부터)
+   * @param to     조회 종료 시각 (제외, null이면 끝까지)
    * @return 특정 사용자별 LLM 사용량 정보 목록
    */
-  public List<UsersDto.LlmUsage> selectUserLlmUsage(Long userId) {
+  public List<UsersDto.LlmUsage> selectUserLlmUsage(
+      Long userId, LocalDateTime from, LocalDateTime to) {
     QLlmEntity llmEntity = QLlmEntity.llmEntity;
-    QLlmUsageEntity llmUsageEntity = QLlmUsageEntity.llmUsageEntity;
+    QLlmUsageSummaryEntity llmUsageSummaryEntity = QLlmUsageSummaryEntity.llmUsageSummaryEntity;
     return jpaQueryFactory
         .select(
             Projections.fields(
@@ -91,19 +149,66 @@ public class UsersQueryRepository {
                 llmEntity.id,
                 llmEntity.name,
                 Expressions.asNumber(
-                        llmUsageEntity.usedToken.sum())
+                        llmUsageSummaryEntity.usedToken.sum())
                     .castToNum(Long.class).as("totalUsedToken"),
                 Expressions.asNumber(
-                        llmEntity.pricePerToken.multiply(llmUsageEntity.usedToken.sum()))
+                        llmEntity.pricePerToken.multiply(llmUsageSummaryEntity.usedToken.sum()))
                     .castToNum(Long.class).as("totalPrice")
             ))
-        .from(llmUsageEntity)
-        .join(llmEntity).on(llmEntity.id.eq(llmUsageEntity.llmId))
-        .where(llmUsageEntity.userId.eq(userId)
-            .and(llmUsageEntity.isDeleted.eq(false))
-            .and(llmEntity.isDeleted.eq(false)))
+        .from(llmUsageSummaryEntity)
+        .join(llmEntity).on(llmEntity.id.eq(llmUsageSummaryEntity.llmId))
+        .where(llmUsageSummaryEntity.userId.eq(userId),
+            LlmUsageQueryRepository.bucketTimeBetween(llmUsageSummaryEntity, from, to),
+            llmEntity.isDeleted.eq(false))
         .groupBy(llmEntity.id, llmEntity.name, llmEntity.pricePerToken)
         .setHint(Constants.HIBERNATE_SQL_COMMENT, "UsersQueryRepository.selectUserLlmUsage")
         .fetch();
   }
+
+  /**
+   * 여러 사용자의 LLM별 사용량을 한 번에 조회 (사용자별 LLM 아이디 순)
+   *
+   * <p>{@link #selectUserLlmUsage}를 사용자마다 실행하지 않도록 집계 뷰를 (사용자, LLM)별로 한 번에
+   * 합산한다. 사용량이 없는 사용자는 결과에 없다.
+   *
+   * @param userIds 사용자 아이디 목록
+   * @param from    조회 시작 시각 (포함, null이면 처음부터)
+   * @param to      조회 종료 시각 (제외, null이면 끝까지)
+   * @return 사용자 아이디별 LLM 사용량 정보 목록
+   */
+  public Map<Long, List<UsersDto.LlmUsage>> selectUsersLlmUsage(
+      Collection<Long> userIds, LocalDateTime from, LocalDateTime to) {
+    QLlmEntity llmEntity = QLlmEntity.llmEntity;
+    QLlmUsageSummaryEntity llmUsageSummaryEntity = QLlmUsageSummaryEntity.llmUsageSummaryEntity;
+    NumberExpression<Long> usedTokenSum = llmUsageSummaryEntity.usedToken.sum();
+
+    Map<Long, List<UsersDto.LlmUsage>> llmUsagesByUserId = new HashMap<>();
+    if (userIds.isEmpty()) {
+      return llmUsagesByUserId;
+    }
+    jpaQueryFactory
+        .select(llmUsageSummaryEntity.userId, llmEntity.id, llmEntity.name,
+            llmEntity.pricePerToken, usedTokenSum)
+        .from(llmUsageSummaryEntity)
+        .join(llmEntity).on(llmEntity.id.eq(llmUsageSummaryEntity.llmId))
+        .where(llmUsageSummaryEntity.userId.in(userIds),
+            LlmUsageQueryRepository.bucketTimeBetween(llmUsageSummaryEntity, from, to),
+            llmEntity.isDeleted.eq(false))
+        .groupBy(llmUsageSummaryEntity.userId, llmEntity.id, llmEntity.name,
+            llmEntity.pricePerToken)
+        .orderBy(llmUsageSummaryEntity.userId.asc(), llmEntity.id.asc())
+        .setHint(Constants.HIBERNATE_SQL_COMMENT, "UsersQueryRepository.selectUsersLlmUsage")
+        .fetch()
+        .forEach(tuple -> {
+          long usedToken = tuple.get(usedTokenSum);
+          llmUsagesByUserId
+              .computeIfAbsent(tuple.get(llmUsageSummaryEntity.userId), k -> new ArrayList<>())
+              .add(UsersDto.LlmUsage.of(
+                  tuple.get(llmEntity.id),
+                  tuple.get(llmEntity.name),
+                  usedToken,
+                  usedToken * tuple.get(llmEntity.pricePerToken)));
+        });
+    return llmUsagesByUserId;
+  }
 }
@@ -1,13 +1,26 @@
 package com.wanted.assignment.users.service;
 
+import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.index.ActiveIdIndex;
+import com.wanted.assignment.common.pagination.KeysetCursor;
 import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.config.UsageProperties;
 import com.wanted.assignment.domain.entity.UsersEntity;
 import com.wanted.assignment.domain.repository.UsersRepository;
+import com.wanted.assignment.llm.service.LlmUsageColumnStore;
+import com.wanted.assignment.llm.service.LlmUsageCompactor;
+import com.wanted.assignment.llm.service.UserLlmUsageCounter;
 import com.wanted.assignment.users.dto.UsersDto;
 import com.wanted.assignment.users.dto.UsersDto.LlmResponse;
 import com.wanted.assignment.users.repository.UsersQueryRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -25,6 +38,11 @@ public class UsersService {
   private final UsersQueryRepository usersQueryRepository;
   private final PasswordEncoder passwordEncoder;
   private final ModelMapper modelMapper;
+  private final ActiveIdIndex activeIdIndex;
+  private final UserLlmUsageCounter userLlmUsageCounter;
+  private final LlmUsageColumnStore llmUsageColumnStore;
+  private final LlmUsageCompactor llmUsageCompactor;
+  private final UsageProperties usageProperties;
 
   /**
    * 사용자 추가
@@ -45,18 +63,37 @@ public class UsersService {
     userEntity.setPassword(passwordEncoder.encode(insertRequest.getPassword()));
 
     UsersEntity savedUser = usersRepository.save(userEntity);
+    activeIdIndex.addUser(savedUser.getId());
     return savedUser.getId();
   }
 
   /**
-   * 사용자 목록 조회
+   * 사용자 목록 한 페이지 조회 (아이디 순)
+   *
+   * <p>한 건을 더 조회하여 다음 페이지가 있는지 확인하고, 있으면 페이지 마지막 아이디를 다음 커서로
+   * 응답한다.
    *
    * @param selectRequest 조회할 사용자 정보
-   * @return 사용자 목록
+   * @param cursor        이전 응답의 다음 커서 (null이면 첫 페이지)
+   * @param limit         한 페이지 최대 건수
+   * @return 사용자 목록 페이지
    */
   @Transactional(readOnly = true)
-  public List<UsersDto.SelectResponse> getUserList(UsersDto.SelectRequest selectRequest) {
-    return usersQueryRepository.selectUserList(selectRequest);
+  public UsersDto.SelectPageResponse getUserList(
+      UsersDto.SelectRequest selectRequest, String cursor, int limit) {
+    if (limit <= 0 || limit > Constants.PAGE_MAX_LIMIT) {
+      log.error("유효하지 않은 사용자 목록 조회 건수: {}", limit);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+
+    List<UsersDto.SelectResponse> items =
+        usersQueryRepository.selectUserList(selectRequest, KeysetCursor.decode(cursor), limit + 1);
+    if (items.size() <= limit) {
+      return UsersDto.SelectPageResponse.of(items, null);
+    }
+    items = items.subList(0, limit);
+    return UsersDto.SelectPageResponse.of(
+        items, KeysetCursor.encode(items.get(limit - 1).getId()));
   }
 
   /**
@@ -71,26 +108,144 @@ public class UsersService {
       log.error("존재하지 않는 사용자 아이디 삭제 요청: {}", userId);
       throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.USER_NOT_FOUND);
     }
-    return usersQueryRepository.deleteUserById(userId);
+    boolean isDeleted = usersQueryRepository.deleteUserById(userId);
+    if (isDeleted) {
+      activeIdIndex.removeUser(userId);
+    }
+    return isDeleted;
   }
 
   /**
    * 특정 사용자 LLM 사용량 조회
    *
-   * @param userId 삭제할 사용자 아이디
+   * <p>사용자 존재 여부는 아이디 인덱스로 확인한다. MEMORY 모드에서는 (사용자, LLM)별 메모리 카운터로
+   * 응답하여 DB에 접근하지 않고, VERIFY 모드에서는 SQL 결과와 메모리 카운터를 비교하여 불일치를 기록하고
+   * SQL 결과로 응답한다. 메모리 카운터는 전체 기간 합계만 가지므로, 기간을 지정하면 모드와 관계없이 열
+   * 저장소({@link LlmUsageColumnStore})를 사용할 수 있으면 열 저장소로, 아니면 SQL로 조회한다. 기간 경계는
+   * 경계가 속한 집계 단위(시간, 압축된 기간은 일)로 맞춘다(시작은 내림, 종료는 올림). 합계는 int 범위를
+   * 넘을 수 있으므로 long으로 누적한다.
+   *
+   * @param userId 조회할 사용자 아이디
+   * @param from   조회 시작 시각 (포함, null이면 처음부터)
+   * @param to     조회 종료 시각 (제외, null이면 끝까지)
    * @return 특정 사용자 LLM 사용량 정보
    */
-  public LlmResponse getUserLlmResponse(Long userId) {
+  public LlmResponse getUserLlmResponse(Long userId, LocalDateTime from, LocalDateTime to) {
 
-    if (!usersRepository.existsById(userId)) {
+    if (!activeIdIndex.containsUser(userId)) {
       log.error("존재하지 않는 사용자 아이디 조회 요청: {}", userId);
       throw new ApiException(HttpStatus.NOT_FOUND, ApiStatus.USER_NOT_FOUND);
     }
+    if (from != null && to != null && !from.isBefore(to)) {
+      log.error("조회 시작 시각이 종료 시각보다 늦음: {} ~ {}", from, to);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+
+    List<UsersDto.LlmUsage> llmUsages;
+    if (from != null || to != null) {
+      LocalDateTime alignedFrom = llmUsageCompactor.alignFrom(from);
+      LocalDateTime alignedTo = llmUsageCompactor.alignTo(to);
+      llmUsages = llmUsageColumnStore.isAvailable()
+          ? llmUsageColumnStore.getUserLlmUsages(userId, alignedFrom, alignedTo)
+          : usersQueryRepository.selectUserLlmUsage(userId, alignedFrom, alignedTo);
+    } else {
+      llmUsages = switch (usageProperties.getStats().getMode()) {
+        case SQL -> usersQueryRepository.selectUserLlmUsage(userId, null, null);
+        case MEMORY -> userLlmUsageCounter.getUserLlmUsages(userId);
+        case VERIFY -> {
+          List<UsersDto.LlmUsage> sqlLlmUsages =
+              usersQueryRepository.selectUserLlmUsage(userId, null, null);
+          userLlmUsageCounter.verify(userId, sqlLlmUsages);
+          yield sqlLlmUsages;
+        }
+      };
+    }
 
-    List<UsersDto.LlmUsage> llmUsages = usersQueryRepository.selectUserLlmUsage(userId);
+    return toLlmResponse(llmUsages);
+  }
 
-    int totalPrice = 0;
-    int totalUsedToken = 0;
+  /**
+   * 여러 사용자 LLM 사용량 조회
+   *
+   * <p>사용자마다 {@link #getUserLlmResponse}를 호출하는 대신 한 번에 조회한다. 기간을 지정하거나 SQL/VERIFY
+   * 모드이면 요청한 사용자 전체의 (사용자, LLM)별 합계를 GROUP BY 한 번으로 조회하고, MEMORY 모드에서 기간이
+   * 없으면 (사용자, LLM)별 메모리 카운터로 응답하여 DB에 접근하지 않는다. 기간 조회는 사용자마다 전체 행을
+   * 읽는 열 저장소 대신 SQL로 조회한다.
+   *
+   * <p>존재하지 않거나 삭제된 사용자는 요청 전체를 실패시키지 않고 해당 항목만 USER_NOT_FOUND로 응답한다.
+   * 같은 사용자가 여러 번 포함되면 요청 순서대로 같은 결과를 여러 번 응답한다.
+   *
+   * @param batchGetUsageRequest 조회할 사용자 아이디 목록과 기간
+   * @return 사용자별 LLM 사용량 정보 (요청 순서와 동일)
+   */
+  public UsersDto.BatchGetUsageResponse getUsersLlmResponses(
+      UsersDto.BatchGetUsageRequest batchGetUsageRequest) {
+
+    LocalDateTime from = batchGetUsageRequest.getFrom();
+    LocalDateTime to = batchGetUsageRequest.getTo();
+    if (from != null && to != null && !from.isBefore(to)) {
+      log.error("조회 시작 시각이 종료 시각보다 늦음: {} ~ {}", from, to);
+      throw new ApiException(HttpStatus.BAD_REQUEST, ApiStatus.METHOD_ARGUMENT_NOT_VALID);
+    }
+
+    List<Long> userIds = batchGetUsageRequest.getUserIds();
+    Set<Long> activeUserIds = new LinkedHashSet<>();
+    for (Long userId : userIds) {
+      if (activeIdIndex.containsUser(userId)) {
+        activeUserIds.add(userId);
+      }
+    }
+    Map<Long, List<UsersDto.LlmUsage>> llmUsagesByUserId =
+        selectUsersLlmUsage(activeUserIds, from, to);
+
+    int notFoundCount = 0;
+    List<UsersDto.BatchGetUsageResult> results = new ArrayList<>(userIds.size());
+    for (Long userId : userIds) {
+      if (activeUserIds.contains(userId)) {
+        results.add(UsersDto.BatchGetUsageResult.of(
+            userId, ApiStatus.OK.getCode(), ApiStatus.OK.getMessage(),
+            toLlmResponse(llmUsagesByUserId.getOrDefault(userId, List.of()))));
+      } else {
+        notFoundCount++;
+        results.add(UsersDto.BatchGetUsageResult.of(
+            userId, ApiStatus.USER_NOT_FOUND.getCode(), ApiStatus.USER_NOT_FOUND.getMessage(),
+            null));
+      }
+    }
+    log.debug("여러 사용자 LLM 사용량 조회 - 요청: {}, 미존재: {}", userIds.size(), notFoundCount);
+
+    return UsersDto.BatchGetUsageResponse.of(userIds.size(), notFoundCount, results);
+  }
+
+  private Map<Long, List<UsersDto.LlmUsage>> selectUsersLlmUsage(
+      Set<Long> userIds, LocalDateTime from, LocalDateTime to) {
+    if (from != null || to != null) {
+      return usersQueryRepository.selectUsersLlmUsage(userIds, from, to);
+    }
+    return switch (usageProperties.getStats().getMode()) {
+      case SQL -> usersQueryRepository.selectUsersLlmUsage(userIds, null, null);
+      case MEMORY -> {
+        Map<Long, List<UsersDto.LlmUsage>> llmUsagesByUserId = new HashMap<>();
+        userIds.forEach(userId ->
+            llmUsagesByUserId.put(userId, userLlmUsageCounter.getUserLlmUsages(userId)));
+        yield llmUsagesByUserId;
+      }
+      case VERIFY -> {
+        Map<Long, List<UsersDto.LlmUsage>> sqlLlmUsagesByUserId =
+            usersQueryRepository.selectUsersLlmUsage(userIds, null, null);
+        userIds.forEach(userId -> userLlmUsageCounter.verify(
+            userId, sqlLlmUsagesByUserId.getOrDefault(userId, List.of())));
+        yield sqlLlmUsagesByUserId;
+      }
+    };
+  }
+
+  /**
+   * LLM별 사용량 목록과 전체 합계로 응답 생성 (합계는 int 범위를 넘을 수 있으므로 long으로 누적)
+   */
+  private LlmResponse toLlmResponse(List<UsersDto.LlmUsage> llmUsages) {
+    long totalPrice = 0;
+    long totalUsedToken = 0;
     for (UsersDto.LlmUsage usage : llmUsages) {
       totalPrice += usage.getTotalPrice();
       totalUsedToken += usage.getTotalUsedToken();
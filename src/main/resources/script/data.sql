@@ -1,20 +1,38 @@
 -- 초기 사용자 데이터 삽입
-INSERT INTO users (name, email, password, created_at, updated_at, is_deleted)
-VALUES ('김티드', 'kimted@wantedlab.com', '$2a$10$T36keW5PPiwSwCprd7D5EetPn9rh3yTPEBiDOjU9HkbBFeM/YNCXu', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP,
+INSERT INTO users (id, name, email, password, created_at, updated_at, is_deleted)
+VALUES (1, '김티드', 'kimted@wantedlab.com', '$2a$10$T36keW5PPiwSwCprd7D5EetPn9rh3yTPEBiDOjU9HkbBFeM/YNCXu', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP,
         FALSE),
-       ('지티드', 'jited@wantedlab.com', '$2a$10$UUCxFQtTS3Hqz5YnKH7creH3czQqRvSHP28KQyXHaCLtw0gvAUz8a', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
-       ('이티드', 'leeted@wantedlab.com', '$2a$10$5RyNoJCrYxHcYP9.173AQORm566LTwHTZyJqXFVX7i3q2k/P2HiwS', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE);
+       (2, '지티드', 'jited@wantedlab.com', '$2a$10$UUCxFQtTS3Hqz5YnKH7creH3czQqRvSHP28KQyXHaCLtw0gvAUz8a', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
+       (3, '이티드', 'leeted@wantedlab.com', '$2a$10$5RyNoJCrYxHcYP9.173AQORm566LTwHTZyJqXFVX7i3q2k/P2HiwS', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE);
 
 -- 초기 LLM 데이터 삽입
-INSERT INTO llm (name, price_per_token, created_at, updated_at, is_deleted)
-VALUES ('gpt-4o-mini', 10, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
-       ('gpt-4o', 20, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
-       ('gpt-3.5-turbo', 30, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE);
+INSERT INTO llm (id, name, price_per_token, created_at, updated_at, is_deleted)
+VALUES (1, 'gpt-4o-mini', 10, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
+       (2, 'gpt-4o', 20, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
+       (3, 'gpt-3.5-turbo', 30, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE);
 
 -- 초기 LLM 사용량 데이터 삽입
-INSERT INTO llm_usage (user_id, llm_id, used_token, created_at, updated_at, is_deleted)
-VALUES (1, 1, 512, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
-       (1, 2, 512, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
-       (1, 3, 512, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
-       (2, 1, 256, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
-       (3, 2, 1024, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE);
+-- llm_usage 는 조회 전용 뷰이므로 이번 달 세그먼트 테이블(llm_usage_yyyyMM)에 삽입
+EXECUTE IMMEDIATE 'INSERT INTO llm_usage_' || FORMATDATETIME(CURRENT_TIMESTAMP, 'yyyyMM') || '
+    (id, user_id, llm_id, used_token, created_at, updated_at, is_deleted)
+VALUES (1, 1, 1, 512, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
+       (2, 1, 2, 512, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
+       (3, 1, 3, 512, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
+       (4, 2, 1, 256, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE),
+       (5, 3, 2, 1024, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, FALSE)';
+
+-- 초기 LLM 사용량 데이터를 시간별 집계 테이블에 반영
+INSERT INTO llm_usage_hourly (user_id, llm_id, bucket_hour, used_token, call_count)
+SELECT user_id, llm_id, DATE_TRUNC('HOUR', created_at), SUM(used_token), COUNT(*)
+FROM llm_usage
+WHERE is_deleted = FALSE
+GROUP BY user_id, llm_id, DATE_TRUNC('HOUR', created_at);
+
+-- LLM 사용량 저널 반영 위치 초기화
+INSERT INTO usage_journal_checkpoint (id, segment_no, segment_offset)
+VALUES (1, 0, 0);
+
+-- 초기 데이터에 직접 지정한 아이디 이후부터 채번되도록 시퀀스 재설정
+ALTER SEQUENCE users_seq RESTART WITH 4;
+ALTER SEQUENCE llm_seq RESTART WITH 4;
+ALTER SEQUENCE llm_usage_seq RESTART WITH 6;
@@ -1,10 +1,28 @@
-DROP TABLE IF EXISTS llm_usage;
+-- 이 스크립트가 만드는 객체만 삭제 (참조하는 객체부터)
+-- 월별 LLM 사용량 세그먼트 테이블(llm_usage_yyyyMM)과 llm_usage 뷰는 이름이 고정되어 있지 않으므로 이 스크립트 전에
+-- 애플리케이션(LlmUsageSegmentJdbcRepository.dropAllSegments)이 삭제
+DROP VIEW IF EXISTS llm_usage_summary;
+DROP TABLE IF EXISTS llm_usage_distinct_daily;
+DROP TABLE IF EXISTS usage_journal_checkpoint;
+DROP TABLE IF EXISTS llm_usage_idempotency;
+DROP TABLE IF EXISTS llm_usage_daily;
+DROP TABLE IF EXISTS llm_usage_hourly;
 DROP TABLE IF EXISTS llm;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS llm_usage_seq;
+DROP SEQUENCE IF EXISTS llm_seq;
+DROP SEQUENCE IF EXISTS users_seq;
+
+-- 아이디 시퀀스
+-- pooled-lo 방식으로 한 번의 채번(NEXT VALUE)마다 INCREMENT BY 만큼의 아이디 구간을 애플리케이션에 할당
+-- INCREMENT BY 값은 Constants.ID_ALLOCATION_SIZE 와 반드시 같아야 함
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE llm_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE llm_usage_seq START WITH 1 INCREMENT BY 50;
 
 -- 사용자 테이블
 CREATE TABLE users (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR users_seq PRIMARY KEY,
     name VARCHAR(16) NOT NULL,
     email VARCHAR(100) NOT NULL UNIQUE,
     password VARCHAR(100) NOT NULL,
@@ -13,17 +31,19 @@ CREATE TABLE users (
     is_deleted BOOLEAN DEFAULT FALSE
 );
 COMMENT ON TABLE users IS '사용자 정보를 저장하는 테이블';
-COMMENT ON COLUMN users.id IS '사용자 아아디 (자동 증가)';
+COMMENT ON COLUMN users.id IS '사용자 아아디 (users_seq)';
 COMMENT ON COLUMN users.name IS '사용자 이름 (최대 16자)';
 COMMENT ON COLUMN users.email IS '사용자 이메일 주소 (고유값)';
 COMMENT ON COLUMN users.password IS '사용자 비밀번호 (암호화)';
 COMMENT ON COLUMN users.created_at IS '사용자 추가 시각';
 COMMENT ON COLUMN users.updated_at IS '사용자 수정 시각';
 COMMENT ON COLUMN users.is_deleted IS '사용자 삭제 여부';
+-- 목록 조회(keyset 페이지)의 is_deleted = FALSE AND id > 커서 조건을 인덱스 범위 탐색으로 시작하기 위한 인덱스
+CREATE INDEX idx_users_is_deleted_id ON users (is_deleted, id);
 
 -- LLM 테이블
 CREATE TABLE llm (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR llm_seq PRIMARY KEY,
     name VARCHAR(20) NOT NULL UNIQUE,
     price_per_token INT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -31,31 +51,127 @@ CREATE TABLE llm (
     is_deleted BOOLEAN DEFAULT FALSE
 );
 COMMENT ON TABLE llm IS 'LLM 정보를 저장하는 테이블';
-COMMENT ON COLUMN llm.id IS 'LLM 고유 아이디 (자동 증가)';
+COMMENT ON COLUMN llm.id IS 'LLM 고유 아이디 (llm_seq)';
 COMMENT ON COLUMN llm.name IS 'LLM 이름 (최대 20자)';
 COMMENT ON COLUMN llm.price_per_token IS '해당 LLM의 토큰당 가격';
 COMMENT ON COLUMN llm.created_at IS 'LLM 추가 시각';
 COMMENT ON COLUMN llm.updated_at IS 'LLM 수정 시각';
 COMMENT ON COLUMN llm.is_deleted IS 'LLM 삭제 여부';
+-- 목록 조회(keyset 페이지)의 is_deleted = FALSE AND id > 커서 조건을 인덱스 범위 탐색으로 시작하기 위한 인덱스
+CREATE INDEX idx_llm_is_deleted_id ON llm (is_deleted, id);
+
+-- LLM 사용량 테이블 (월별 세그먼트)
+-- 원본 사용량은 사용량 추가 시각(created_at)의 월별 물리 테이블 llm_usage_yyyyMM 에 저장하며, llm_usage 는 모든 세그먼트를
+-- UNION ALL 한 조회 전용 뷰
+-- 세그먼트 테이블과 뷰는 애플리케이션(LlmUsageSegmentJdbcRepository)이 생성하며, 이번 달과 다음 달 세그먼트를 미리 만들고
+-- 보관 기간(usage.segment.retention-months)이 지난 세그먼트는 테이블째 삭제
+-- 컬럼
+--   id              LLM 사용량 아이디 (llm_usage_seq, 모든 세그먼트에서 고유)
+--   user_id         사용자 ID
+--   llm_id          LLM ID
+--   used_token      사용 토큰 수
+--   idempotency_key 멱등 키 (재시도 요청 중복 기록 방지, 고유 여부는 llm_usage_idempotency 테이블로 보장)
+--   created_at      LLM 사용량 추가 시각 (세그먼트 월 범위로 CHECK 제약)
+--   updated_at      LLM 사용량 수정 시각
+--   is_deleted      LLM 사용량 삭제 여부
+
+-- LLM 사용량 멱등 키 테이블
+-- 세그먼트 테이블은 월마다 달라 세그먼트 간 멱등 키 고유 제약을 둘 수 없으므로, 멱등 키가 있는 사용량은 기록하는 트랜잭션에서
+-- 이 테이블에 먼저 기록하여 이미 있는 키는 기록하지 않음
+-- 세그먼트를 삭제할 때 해당 월까지의 키도 함께 삭제하므로 원본 사용량과 같은 기간 동안 보관
+CREATE TABLE llm_usage_idempotency (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    llm_usage_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+COMMENT ON TABLE llm_usage_idempotency IS 'LLM 사용량 멱등 키 테이블';
+COMMENT ON COLUMN llm_usage_idempotency.idempotency_key IS '멱등 키 (고유값)';
+COMMENT ON COLUMN llm_usage_idempotency.llm_usage_id IS '멱등 키로 기록된 LLM 사용량 아이디';
+COMMENT ON COLUMN llm_usage_idempotency.created_at IS 'LLM 사용량 추가 시각';
 
--- LLM 사용량 테이블
-CREATE TABLE llm_usage (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+-- 시간별 LLM 사용량 집계 테이블
+-- LLM 사용량 기록과 같은 트랜잭션에서 MERGE 로 누적되며, 통계 조회는 원본 대신 이 테이블(llm_usage_summary 뷰)을 집계
+CREATE TABLE llm_usage_hourly (
     user_id BIGINT NOT NULL,
     llm_id BIGINT NOT NULL,
-    used_token INT NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    is_deleted BOOLEAN DEFAULT FALSE,
+    bucket_hour TIMESTAMP NOT NULL,
+    used_token BIGINT NOT NULL,
+    call_count BIGINT NOT NULL,
 
+    PRIMARY KEY (user_id, llm_id, bucket_hour),
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (llm_id) REFERENCES llm(id) ON DELETE CASCADE
 );
-COMMENT ON TABLE llm_usage IS 'LLM 사용량 정보를 저장하는 테이블';
-COMMENT ON COLUMN llm_usage.id IS 'LLM 사용량 아이디 (자동 증가)';
-COMMENT ON COLUMN llm_usage.user_id IS '사용자 ID';
-COMMENT ON COLUMN llm_usage.llm_id IS 'LLM ID';
-COMMENT ON COLUMN llm_usage.used_token IS '사용 토큰 수';
-COMMENT ON COLUMN llm_usage.created_at IS 'LLM 사용량 추가 시각';
-COMMENT ON COLUMN llm_usage.updated_at IS 'LLM 사용량 수정 시각';
-COMMENT ON COLUMN llm_usage.is_deleted IS 'LLM 사용량 삭제 여부';
+-- 기간 통계 조회용 커버링 인덱스: 조회 컬럼(used_token)까지 포함하여 기간 범위만 인덱스로 읽고 테이블을 다시 읽지 않음
+CREATE INDEX idx_llm_usage_hourly_llm_id_bucket ON llm_usage_hourly (llm_id, bucket_hour, used_token);
+CREATE INDEX idx_llm_usage_hourly_user_id_bucket ON llm_usage_hourly (user_id, bucket_hour, llm_id, used_token);
+COMMENT ON TABLE llm_usage_hourly IS '사용자, LLM, 시간별 LLM 사용량 집계 테이블';
+COMMENT ON COLUMN llm_usage_hourly.user_id IS '사용자 ID';
+COMMENT ON COLUMN llm_usage_hourly.llm_id IS 'LLM ID';
+COMMENT ON COLUMN llm_usage_hourly.bucket_hour IS '집계 시각 (사용량 추가 시각을 시 단위로 절삭)';
+COMMENT ON COLUMN llm_usage_hourly.used_token IS '사용 토큰 수 합계';
+COMMENT ON COLUMN llm_usage_hourly.call_count IS '호출 수';
+
+-- 일별 LLM 사용량 집계 테이블
+-- 압축(compaction) 작업이 보관 기간(usage.compaction.horizon-days)이 지난 시간별 집계를 일 단위로 합산하여 옮김
+CREATE TABLE llm_usage_daily (
+    user_id BIGINT NOT NULL,
+    llm_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    used_token BIGINT NOT NULL,
+    call_count BIGINT NOT NULL,
+
+    PRIMARY KEY (user_id, llm_id, bucket_day),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (llm_id) REFERENCES llm(id) ON DELETE CASCADE
+);
+-- 기간 통계 조회용 커버링 인덱스 (시간별 집계와 같은 구성)
+CREATE INDEX idx_llm_usage_daily_llm_id_bucket ON llm_usage_daily (llm_id, bucket_day, used_token);
+CREATE INDEX idx_llm_usage_daily_user_id_bucket ON llm_usage_daily (user_id, bucket_day, llm_id, used_token);
+COMMENT ON TABLE llm_usage_daily IS '사용자, LLM, 일별 LLM 사용량 집계 테이블';
+COMMENT ON COLUMN llm_usage_daily.user_id IS '사용자 ID';
+COMMENT ON COLUMN llm_usage_daily.llm_id IS 'LLM ID';
+COMMENT ON COLUMN llm_usage_daily.bucket_day IS '집계 일자';
+COMMENT ON COLUMN llm_usage_daily.used_token IS '사용 토큰 수 합계';
+COMMENT ON COLUMN llm_usage_daily.call_count IS '호출 수';
+
+-- LLM 사용량 집계 뷰
+-- 최근 기간의 시간별 집계와 압축된 일별 집계를 합친 뷰로, 통계 조회는 압축 여부와 관계없이 이 뷰를 집계
+CREATE VIEW llm_usage_summary AS
+SELECT user_id, llm_id, bucket_hour AS bucket_time, 'HOUR' AS granularity, used_token, call_count
+FROM llm_usage_hourly
+UNION ALL
+SELECT user_id, llm_id, CAST(bucket_day AS TIMESTAMP), 'DAY', used_token, call_count
+FROM llm_usage_daily;
+
+-- LLM 사용량 저널 반영 위치 테이블
+-- 저널 레코드를 llm_usage 에 반영하는 트랜잭션에서 함께 갱신되므로, 재시작 시 이 위치부터 다시 반영하면 중복 없이 복구
+CREATE TABLE usage_journal_checkpoint (
+    id INT PRIMARY KEY,
+    segment_no BIGINT NOT NULL,
+    segment_offset BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+COMMENT ON TABLE usage_journal_checkpoint IS 'LLM 사용량 저널 반영 위치 테이블';
+COMMENT ON COLUMN usage_journal_checkpoint.id IS '반영 위치 아이디 (단일 행, 1 고정)';
+COMMENT ON COLUMN usage_journal_checkpoint.segment_no IS '다음에 반영할 세그먼트 번호';
+COMMENT ON COLUMN usage_journal_checkpoint.segment_offset IS '다음에 반영할 세그먼트 내 위치(byte)';
+COMMENT ON COLUMN usage_journal_checkpoint.updated_at IS '반영 위치 수정 시각';
+
+-- LLM별 일별 사용자 수 스케치 테이블
+-- 메모리의 HyperLogLog 스케치(LlmDistinctUserCounter)를 주기적으로 저장하며, 재시작 시 적재한 뒤 마지막 저장 이후의 집계를
+-- 다시 더해 복구 (같은 사용자를 여러 번 더해도 결과가 같으므로 중복 반영되어도 무방)
+CREATE TABLE llm_usage_distinct_daily (
+    llm_id BIGINT NOT NULL,
+    bucket_day DATE NOT NULL,
+    registers VARBINARY(4096) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (llm_id, bucket_day),
+    FOREIGN KEY (llm_id) REFERENCES llm(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE llm_usage_distinct_daily IS 'LLM, 일별 사용자 수 HyperLogLog 스케치 테이블';
+COMMENT ON COLUMN llm_usage_distinct_daily.llm_id IS 'LLM ID';
+COMMENT ON COLUMN llm_usage_distinct_daily.bucket_day IS '집계 일자 (사용량 추가 시각 기준)';
+COMMENT ON COLUMN llm_usage_distinct_daily.registers IS 'HyperLogLog 레지스터 (정밀도 12, 4096 byte)';
+COMMENT ON COLUMN llm_usage_distinct_daily.updated_at IS '스케치 저장 시각';
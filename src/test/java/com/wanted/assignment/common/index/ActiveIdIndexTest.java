@@ -0,0 +1,101 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ActiveIdIndexTest {
+
+  private final ActiveIdIndex activeIdIndex =
+      new ActiveIdIndex(null, null, new SimpleMeterRegistry());
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @DisplayName("트랜잭션 안에서 추가한 아이디는 커밋 전에는 같은 트랜잭션에만 보이고 커밋 후 모두에게 보임")
+  @Test
+  void testAddVisibleAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    activeIdIndex.addUser(1L);
+    activeIdIndex.addLlm(2L);
+
+    assertThat(activeIdIndex.containsUser(1L)).isTrue();
+    assertThat(activeIdIndex.containsLlm(2L)).isTrue();
+    assertThat(CompletableFuture.supplyAsync(() -> activeIdIndex.containsUser(1L)).join())
+        .isFalse();
+    assertThat(CompletableFuture.supplyAsync(() -> activeIdIndex.containsLlm(2L)).join())
+        .isFalse();
+
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    assertThat(activeIdIndex.containsUser(1L)).isTrue();
+    assertThat(CompletableFuture.supplyAsync(() -> activeIdIndex.containsUser(1L)).join())
+        .isTrue();
+    assertThat(CompletableFuture.supplyAsync(() -> activeIdIndex.containsLlm(2L)).join())
+        .isTrue();
+  }
+
+  @DisplayName("롤백된 트랜잭션에서 추가한 아이디는 반영되지 않음")
+  @Test
+  void testAddDiscardedOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    activeIdIndex.addUser(1L);
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(activeIdIndex.containsUser(1L)).isFalse();
+  }
+
+  @DisplayName("삭제는 즉시 반영되고 롤백되면 되돌림")
+  @Test
+  void testRemoveRestoredOnRollback() {
+    activeIdIndex.addUser(1L);
+    TransactionSynchronizationManager.initSynchronization();
+
+    activeIdIndex.removeUser(1L);
+
+    assertThat(CompletableFuture.supplyAsync(() -> activeIdIndex.containsUser(1L)).join())
+        .isFalse();
+
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(activeIdIndex.containsUser(1L)).isTrue();
+  }
+
+  @DisplayName("같은 트랜잭션에서 추가 후 삭제한 아이디는 롤백되어도 반영되지 않음")
+  @Test
+  void testAddThenRemoveInSameTransaction() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    activeIdIndex.addUser(1L);
+    activeIdIndex.removeUser(1L);
+
+    assertThat(activeIdIndex.containsUser(1L)).isFalse();
+
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(activeIdIndex.containsUser(1L)).isFalse();
+  }
+
+  private void complete(int status) {
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+      synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+    synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+  }
+}
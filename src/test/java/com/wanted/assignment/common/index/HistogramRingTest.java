@@ -0,0 +1,123 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HistogramRingTest {
+
+  private static final int RING_SIZE = 24;
+  private static final long HOUR = 490_000L;
+
+  @DisplayName("여러 시간의 슬롯을 합쳐 기간 분포를 만듦")
+  @Test
+  void testCollectAcrossHours() {
+    HistogramRing ring = new HistogramRing(RING_SIZE);
+    for (int value = 1; value <= 50; value++) {
+      ring.record(HOUR, value, 1L);
+      ring.record(HOUR + 1, value + 50, 1L);
+    }
+
+    LogLinearHistogram first = new LogLinearHistogram();
+    ring.collect(HOUR, HOUR + 1, first);
+    LogLinearHistogram both = new LogLinearHistogram();
+    ring.collect(HOUR, HOUR + 2, both);
+
+    assertThat(first.getTotalCount()).isEqualTo(50L);
+    assertThat(first.getMaxValue()).isEqualTo(50L);
+    assertThat(first.getValueAtPercentile(50.0)).isEqualTo(25L);
+    assertThat(both.getTotalCount()).isEqualTo(100L);
+    assertThat(both.getMaxValue()).isEqualTo(100L);
+    assertThat(both.getValueAtPercentile(50.0)).isEqualTo(50L);
+    assertThat(both.getValueAtPercentile(90.0)).isBetween(90L, 93L);
+  }
+
+  @DisplayName("링 크기만큼 지난 시간이 같은 슬롯에 기록되면 이전 시간의 값을 비움")
+  @Test
+  void testRotate() {
+    HistogramRing ring = new HistogramRing(RING_SIZE);
+    ring.record(HOUR, 1_000L, 1L);
+
+    assertThat(ring.record(HOUR + RING_SIZE, 10L, 1L)).isTrue();
+    assertThat(ring.record(HOUR, 1_000L, 1L)).isFalse();
+
+    LogLinearHistogram old = new LogLinearHistogram();
+    ring.collect(HOUR, HOUR + 1, old);
+    LogLinearHistogram recent = new LogLinearHistogram();
+    ring.collect(HOUR, HOUR + RING_SIZE + 1, recent);
+
+    assertThat(old.getTotalCount()).isZero();
+    assertThat(recent.getTotalCount()).isEqualTo(1L);
+    assertThat(recent.getMaxValue()).isEqualTo(10L);
+  }
+
+  @DisplayName("음수 개수로 기록을 되돌릴 수 있음 (최댓값은 유지)")
+  @Test
+  void testRecordNegative() {
+    HistogramRing ring = new HistogramRing(RING_SIZE);
+    ring.record(HOUR, 10L, 1L);
+    ring.record(HOUR, 500L, 1L);
+    ring.record(HOUR, 500L, -1L);
+
+    LogLinearHistogram histogram = new LogLinearHistogram();
+    ring.collect(HOUR, HOUR + 1, histogram);
+
+    assertThat(histogram.getTotalCount()).isEqualTo(1L);
+    assertThat(histogram.getValueAtPercentile(99.0)).isEqualTo(10L);
+    assertThat(histogram.getMaxValue()).isEqualTo(500L);
+  }
+
+  @DisplayName("여러 스레드가 시간이 바뀌는 동안 기록해도 시간별 개수가 맞음")
+  @Test
+  void testConcurrentRecord() throws Exception {
+    HistogramRing ring = new HistogramRing(RING_SIZE);
+    int threadCount = 8;
+    int recordCount = 10_000;
+    int hourCount = 10;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threadCount; t++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < recordCount; i++) {
+            ring.record(HOUR + (long) i * hourCount / recordCount, i % 1_000, 1L);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    long perHour = (long) threadCount * recordCount / hourCount;
+    for (int h = 0; h < hourCount; h++) {
+      LogLinearHistogram histogram = new LogLinearHistogram();
+      ring.collect(HOUR + h, HOUR + h + 1, histogram);
+      assertThat(histogram.getTotalCount()).isEqualTo(perHour);
+      assertThat(histogram.getMaxValue()).isEqualTo(999L);
+    }
+  }
+
+  @DisplayName("메모리는 시간 수 x (구간 수 + 2) x 8 byte로 고정")
+  @Test
+  void testMemoryBytes() {
+    assertThat(new HistogramRing(RING_SIZE).memoryBytes())
+        .isEqualTo(RING_SIZE * (LogLinearHistogram.BUCKET_COUNT + 2L) * Long.BYTES);
+    assertThatThrownBy(() -> new HistogramRing(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
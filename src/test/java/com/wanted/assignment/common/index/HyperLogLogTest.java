@@ -0,0 +1,83 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+  private static final int PRECISION = 12;
+  private static final long KEY_COUNT = 100_000L;
+  // 표준 오차 약 1.6%의 3배
+  private static final double ERROR_RATE = 0.05;
+
+  @DisplayName("키가 적으면 빈 레지스터 수로 계산하여 정확한 개수로 추정")
+  @Test
+  void testEstimateSmall() {
+    HyperLogLog sketch = new HyperLogLog(PRECISION);
+    for (long key = 1; key <= 3; key++) {
+      assertThat(sketch.add(key)).isTrue();
+    }
+
+    assertThat(sketch.add(1L)).isFalse();
+    assertThat(sketch.estimate()).isEqualTo(3L);
+    assertThat(new HyperLogLog(PRECISION).estimate()).isZero();
+  }
+
+  @DisplayName("같은 키를 여러 번 더해도 추정값은 서로 다른 키 개수의 오차 범위 안")
+  @Test
+  void testEstimateLarge() {
+    HyperLogLog sketch = new HyperLogLog(PRECISION);
+    for (int repeat = 0; repeat < 3; repeat++) {
+      for (long key = 1; key <= KEY_COUNT; key++) {
+        sketch.add(key);
+      }
+    }
+
+    assertThat((double) sketch.estimate())
+        .isCloseTo(KEY_COUNT, within(KEY_COUNT * ERROR_RATE));
+    assertThat(sketch.memoryBytes()).isEqualTo(1L << PRECISION);
+  }
+
+  @DisplayName("두 스케치를 합치면 합집합 스케치와 같은 추정값")
+  @Test
+  void testMerge() {
+    HyperLogLog first = new HyperLogLog(PRECISION);
+    HyperLogLog second = new HyperLogLog(PRECISION);
+    HyperLogLog union = new HyperLogLog(PRECISION);
+    for (long key = 1; key <= KEY_COUNT; key++) {
+      (key % 2 == 0 ? first : second).add(key);
+      // 4의 배수는 두 스케치에 모두 있음
+      if (key % 4 == 0) {
+        second.add(key);
+      }
+      union.add(key);
+    }
+
+    first.merge(second);
+
+    assertThat(first.estimate()).isEqualTo(union.estimate());
+    assertThat(first.toByteArray()).isEqualTo(union.toByteArray());
+    assertThatThrownBy(() -> first.merge(new HyperLogLog(PRECISION - 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @DisplayName("저장한 레지스터로 복원하면 같은 추정값")
+  @Test
+  void testFromByteArray() {
+    HyperLogLog sketch = new HyperLogLog(PRECISION);
+    for (long key = 1; key <= KEY_COUNT; key++) {
+      sketch.add(key);
+    }
+
+    HyperLogLog restored = HyperLogLog.fromByteArray(sketch.toByteArray());
+
+    assertThat(restored.precision()).isEqualTo(PRECISION);
+    assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+    assertThatThrownBy(() -> HyperLogLog.fromByteArray(new byte[100]))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
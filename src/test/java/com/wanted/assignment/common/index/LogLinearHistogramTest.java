@@ -0,0 +1,83 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LogLinearHistogramTest {
+
+  private static final double MAX_RELATIVE_ERROR = 1.0 / (1 << LogLinearHistogram.PRECISION_BITS);
+
+  @DisplayName("작은 값은 값마다 구간을 두고, 구간 번호는 값이 커질수록 증가")
+  @Test
+  void testBucketIndex() {
+    for (int value = 0; value < 64; value++) {
+      assertThat(LogLinearHistogram.bucketIndex(value)).isEqualTo(value);
+      assertThat(LogLinearHistogram.highestEquivalentValue(value)).isEqualTo(value);
+    }
+    assertThat(LogLinearHistogram.bucketIndex(-1L)).isZero();
+    assertThat(LogLinearHistogram.bucketIndex(Long.MAX_VALUE))
+        .isEqualTo(LogLinearHistogram.BUCKET_COUNT - 1);
+    assertThat(LogLinearHistogram.BUCKET_COUNT).isEqualTo(864);
+
+    int previous = 0;
+    for (long value = 1; value <= Integer.MAX_VALUE; value += value / 7 + 1) {
+      int index = LogLinearHistogram.bucketIndex(value);
+      assertThat(index).isGreaterThanOrEqualTo(previous);
+      previous = index;
+    }
+  }
+
+  @DisplayName("값은 자신이 속한 구간의 상한 이하이고, 상한과의 상대 오차는 2^-p 이하")
+  @Test
+  void testHighestEquivalentValue() {
+    for (long value = 0; value <= Integer.MAX_VALUE; value += value / 13 + 1) {
+      int index = LogLinearHistogram.bucketIndex(value);
+      long highest = LogLinearHistogram.highestEquivalentValue(index);
+      assertThat(highest).isGreaterThanOrEqualTo(value);
+      assertThat((double) (highest - value) / Math.max(value, 1L))
+          .isLessThanOrEqualTo(MAX_RELATIVE_ERROR);
+      if (index > 0) {
+        assertThat(LogLinearHistogram.highestEquivalentValue(index - 1)).isLessThan(value);
+      }
+    }
+  }
+
+  @DisplayName("백분위수는 정렬한 실제 값 이상이고 상대 오차 2^-p 이내")
+  @Test
+  void testValueAtPercentile() {
+    Random random = new Random(20L);
+    long[] values = new long[100_000];
+    LogLinearHistogram histogram = new LogLinearHistogram();
+    for (int i = 0; i < values.length; i++) {
+      // 사용 토큰 수처럼 오른쪽 꼬리가 긴 분포
+      values[i] = (long) Math.exp(random.nextGaussian() * 1.5 + 7.0);
+      histogram.addCount(LogLinearHistogram.bucketIndex(values[i]), 1L);
+      histogram.updateMax(values[i]);
+    }
+    Arrays.sort(values);
+
+    for (double percentile : new double[] {1.0, 50.0, 90.0, 99.0, 99.9, 100.0}) {
+      long expected = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+      long actual = histogram.getValueAtPercentile(percentile);
+      assertThat(actual).isGreaterThanOrEqualTo(expected);
+      assertThat((double) (actual - expected) / Math.max(expected, 1L))
+          .isLessThanOrEqualTo(MAX_RELATIVE_ERROR);
+    }
+    assertThat(histogram.getTotalCount()).isEqualTo(values.length);
+    assertThat(histogram.getValueAtPercentile(100.0)).isEqualTo(values[values.length - 1]);
+  }
+
+  @DisplayName("기록이 없으면 백분위수와 최댓값은 0")
+  @Test
+  void testEmpty() {
+    LogLinearHistogram histogram = new LogLinearHistogram();
+
+    assertThat(histogram.getTotalCount()).isZero();
+    assertThat(histogram.getValueAtPercentile(50.0)).isZero();
+    assertThat(histogram.getMaxValue()).isZero();
+  }
+}
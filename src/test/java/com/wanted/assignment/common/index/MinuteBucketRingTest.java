@@ -0,0 +1,112 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MinuteBucketRingTest {
+
+  private static final int RING_SIZE = 60;
+  private static final long MINUTE = 29_000_000L;
+
+  @DisplayName("같은 분의 기록은 누적되고, 기록이 없는 분은 0으로 조회")
+  @Test
+  void testAddAndGet() {
+    MinuteBucketRing ring = new MinuteBucketRing(RING_SIZE);
+    ring.add(MINUTE, 100L, 1L);
+    ring.add(MINUTE, 50L, 1L);
+    ring.add(MINUTE + 1, 7L, 1L);
+
+    assertThat(ring.getUsedToken(MINUTE)).isEqualTo(150L);
+    assertThat(ring.getCallCount(MINUTE)).isEqualTo(2L);
+    assertThat(ring.getUsedToken(MINUTE + 1)).isEqualTo(7L);
+    assertThat(ring.getUsedToken(MINUTE + 2)).isZero();
+    assertThat(ring.getCallCount(MINUTE - 1)).isZero();
+  }
+
+  @DisplayName("링 크기만큼 지난 분이 같은 슬롯에 기록되면 이전 분의 값을 비움")
+  @Test
+  void testRotate() {
+    MinuteBucketRing ring = new MinuteBucketRing(RING_SIZE);
+    ring.add(MINUTE, 100L, 1L);
+
+    assertThat(ring.add(MINUTE + RING_SIZE, 30L, 1L)).isTrue();
+
+    assertThat(ring.getUsedToken(MINUTE)).isZero();
+    assertThat(ring.getUsedToken(MINUTE + RING_SIZE)).isEqualTo(30L);
+    assertThat(ring.getCallCount(MINUTE + RING_SIZE)).isEqualTo(1L);
+  }
+
+  @DisplayName("슬롯이 더 최근 분을 담고 있으면 오래된 기록은 누적하지 않음")
+  @Test
+  void testAddTooOld() {
+    MinuteBucketRing ring = new MinuteBucketRing(RING_SIZE);
+    ring.add(MINUTE + RING_SIZE, 30L, 1L);
+
+    assertThat(ring.add(MINUTE, 100L, 1L)).isFalse();
+    assertThat(ring.getUsedToken(MINUTE + RING_SIZE)).isEqualTo(30L);
+    assertThat(ring.getUsedToken(MINUTE)).isZero();
+  }
+
+  @DisplayName("음수를 더해 기록을 되돌릴 수 있음")
+  @Test
+  void testAddNegative() {
+    MinuteBucketRing ring = new MinuteBucketRing(RING_SIZE);
+    ring.add(MINUTE, 100L, 1L);
+    ring.add(MINUTE, -100L, -1L);
+
+    assertThat(ring.getUsedToken(MINUTE)).isZero();
+    assertThat(ring.getCallCount(MINUTE)).isZero();
+  }
+
+  @DisplayName("여러 스레드가 분이 바뀌는 동안 기록해도 분별 합계가 맞음")
+  @Test
+  void testConcurrentAdd() throws Exception {
+    MinuteBucketRing ring = new MinuteBucketRing(RING_SIZE);
+    int threadCount = 8;
+    int addCount = 10_000;
+    int minuteCount = 10;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threadCount; t++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < addCount; i++) {
+            ring.add(MINUTE + (long) i * minuteCount / addCount, 3L, 1L);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    long perMinute = (long) threadCount * addCount / minuteCount;
+    for (int m = 0; m < minuteCount; m++) {
+      assertThat(ring.getCallCount(MINUTE + m)).isEqualTo(perMinute);
+      assertThat(ring.getUsedToken(MINUTE + m)).isEqualTo(perMinute * 3L);
+    }
+  }
+
+  @DisplayName("메모리는 구간 수 x 24 byte로 고정")
+  @Test
+  void testMemoryBytes() {
+    assertThat(new MinuteBucketRing(1_440).memoryBytes()).isEqualTo(1_440L * 24L);
+    assertThatThrownBy(() -> new MinuteBucketRing(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,181 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OffHeapUsageColumnsTest {
+
+  private static final int CHUNK_ROWS = 4;
+  private static final long HOUR = 490_000L;
+
+  @DisplayName("기간 내 행만 LLM별로 더하고 여러 청크에 걸친 행도 포함")
+  @Test
+  void testSumByLlmAcrossChunks() {
+    OffHeapUsageColumns columns = new OffHeapUsageColumns(CHUNK_ROWS, 100L);
+    for (int i = 0; i < 10; i++) {
+      columns.append(1L + i % 2, 1L + i % 3, HOUR + i, 100L + i);
+    }
+
+    OffHeapUsageColumns.LlmTotals all = columns.sumByLlm(null, Long.MIN_VALUE, Long.MAX_VALUE);
+    OffHeapUsageColumns.LlmTotals range = columns.sumByLlm(null, HOUR + 3, HOUR + 6);
+
+    assertThat(columns.size()).isEqualTo(10L);
+    assertThat(columns.memoryBytes()).isEqualTo(3L * CHUNK_ROWS * 20);
+    assertThat(all.getUsedToken(1L)).isEqualTo(100L + 103 + 106 + 109);
+    assertThat(all.getRowCount(1L)).isEqualTo(4L);
+    assertThat(all.getUsedToken(2L)).isEqualTo(101L + 104 + 107);
+    assertThat(all.getUsedToken(3L)).isEqualTo(102L + 105 + 108);
+    assertThat(range.getUsedToken(1L)).isEqualTo(103L);
+    assertThat(range.getUsedToken(2L)).isEqualTo(104L);
+    assertThat(range.getUsedToken(3L)).isEqualTo(105L);
+    assertThat(range.getRowCount(3L)).isEqualTo(1L);
+  }
+
+  @DisplayName("사용자 조건이 있으면 해당 사용자의 행만 더함")
+  @Test
+  void testSumByLlmForUser() {
+    OffHeapUsageColumns columns = new OffHeapUsageColumns(CHUNK_ROWS, 100L);
+    columns.append(1L, 1L, HOUR, 10L);
+    columns.append(2L, 1L, HOUR, 20L);
+    columns.append(1L, 2L, HOUR + 1, 30L);
+    columns.append(1L, 2L, HOUR + 2, 40L);
+
+    OffHeapUsageColumns.LlmTotals user = columns.sumByLlm(1L, HOUR, HOUR + 2);
+    OffHeapUsageColumns.LlmTotals unknownUser = columns.sumByLlm(3L, HOUR, HOUR + 3);
+
+    assertThat(user.getUsedToken(1L)).isEqualTo(10L);
+    assertThat(user.getUsedToken(2L)).isEqualTo(30L);
+    assertThat(user.getRowCount(2L)).isEqualTo(1L);
+    assertThat(unknownUser.getRowCount(1L)).isZero();
+    assertThat(unknownUser.getRowCount(2L)).isZero();
+    assertThat(user.getUsedToken(99L)).isZero();
+  }
+
+  @DisplayName("최대 행 수에 도달하거나 열 범위를 넘는 값은 추가하지 않음")
+  @Test
+  void testAppendRejected() {
+    OffHeapUsageColumns columns = new OffHeapUsageColumns(CHUNK_ROWS, 2L);
+
+    assertThat(columns.append(1L, 1L, HOUR, 1L)).isTrue();
+    assertThat(columns.append(Integer.MAX_VALUE + 1L, 1L, HOUR, 1L)).isFalse();
+    assertThat(columns.append(1L, Integer.MAX_VALUE + 1L, HOUR, 1L)).isFalse();
+    assertThat(columns.append(1L, 1L, HOUR, 1L)).isTrue();
+    assertThat(columns.append(1L, 1L, HOUR, 1L)).isFalse();
+    assertThat(columns.size()).isEqualTo(2L);
+    assertThat(columns.sumByLlm(null, HOUR + 1, HOUR).getRowCount(1L)).isZero();
+    assertThatThrownBy(() -> new OffHeapUsageColumns(0, 1L))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @DisplayName("LLM 아이디가 커도 조회 결과는 저장된 LLM 수만큼의 위치로 집계되고, 최대 LLM 수를 넘으면 거부")
+  @Test
+  void testSparseLlmIds() {
+    OffHeapUsageColumns columns = new OffHeapUsageColumns(1 << 16, 100_000L);
+    columns.append(1L, 1_000_000L, HOUR, 10L);
+    columns.append(1L, Integer.MAX_VALUE, HOUR, 20L);
+    columns.append(2L, 1_000_000L, HOUR, 30L);
+
+    OffHeapUsageColumns.LlmTotals totals = columns.sumByLlm(null, HOUR, HOUR + 1);
+
+    assertThat(totals.getUsedToken(1_000_000L)).isEqualTo(40L);
+    assertThat(totals.getRowCount(1_000_000L)).isEqualTo(2L);
+    assertThat(totals.getUsedToken(Integer.MAX_VALUE)).isEqualTo(20L);
+    assertThat(totals.getRowCount(1L)).isZero();
+
+    for (long llmId = 0; llmId < OffHeapUsageColumns.MAX_LLM_COUNT - 2; llmId++) {
+      assertThat(columns.append(1L, llmId, HOUR, 1L)).isTrue();
+    }
+    assertThat(columns.append(1L, -1L, HOUR, 1L)).isFalse();
+    assertThat(columns.append(1L, 0L, HOUR, 1L)).isTrue();
+  }
+
+  @DisplayName("가장 최근 시간의 같은 (사용자, LLM) 사용량은 행을 추가하지 않고 기존 행에 더함")
+  @Test
+  void testMerge() {
+    OffHeapUsageColumns columns = new OffHeapUsageColumns(CHUNK_ROWS, 3L);
+
+    assertThat(columns.merge(1L, 1L, HOUR, 10L)).isTrue();
+    assertThat(columns.merge(1L, 1L, HOUR, 20L)).isTrue();
+    assertThat(columns.merge(2L, 1L, HOUR, 5L)).isTrue();
+    assertThat(columns.merge(1L, 1L, HOUR + 1, 30L)).isTrue();
+    assertThat(columns.merge(1L, 1L, HOUR + 1, 40L)).isTrue();
+    // 이전 시간은 새 행이 필요하지만 최대 행 수에 도달
+    assertThat(columns.merge(1L, 1L, HOUR, 1L)).isFalse();
+
+    OffHeapUsageColumns.LlmTotals hour = columns.sumByLlm(1L, HOUR, HOUR + 1);
+    OffHeapUsageColumns.LlmTotals all = columns.sumByLlm(null, HOUR, HOUR + 2);
+
+    assertThat(columns.size()).isEqualTo(3L);
+    assertThat(hour.getUsedToken(1L)).isEqualTo(30L);
+    assertThat(hour.getRowCount(1L)).isEqualTo(1L);
+    assertThat(all.getUsedToken(1L)).isEqualTo(30L + 5 + 70);
+    assertThat(all.getRowCount(1L)).isEqualTo(3L);
+  }
+
+  @DisplayName("여러 스레드에서 같은 시간에 동시에 합쳐도 행은 쌍별로 하나이고 사용량은 모두 집계됨")
+  @Test
+  void testConcurrentMerge() throws Exception {
+    OffHeapUsageColumns columns = new OffHeapUsageColumns(CHUNK_ROWS, 100L);
+    int threadCount = 8;
+    int mergeCount = 10_000;
+    try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threadCount; t++) {
+        long userId = 1L + t % 4;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < mergeCount; i++) {
+            assertThat(columns.merge(userId, 1L + i % 2, HOUR, 1L)).isTrue();
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    OffHeapUsageColumns.LlmTotals totals = columns.sumByLlm(null, HOUR, HOUR + 1);
+
+    assertThat(columns.size()).isEqualTo(8L);
+    assertThat(totals.getUsedToken(1L) + totals.getUsedToken(2L))
+        .isEqualTo((long) threadCount * mergeCount);
+  }
+
+  @DisplayName("여러 스레드에서 동시에 추가하면서 조회해도 추가된 행이 모두 집계됨")
+  @Test
+  void testConcurrentAppend() throws Exception {
+    OffHeapUsageColumns columns = new OffHeapUsageColumns(1_024, 1_000_000L);
+    int threadCount = 8;
+    int appendCount = 10_000;
+    try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threadCount; t++) {
+        long llmId = 1L + t % 2;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < appendCount; i++) {
+            columns.append(1L, llmId, HOUR, 1L);
+            if (i % 1_000 == 0) {
+              columns.sumByLlm(null, HOUR, HOUR + 1);
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    OffHeapUsageColumns.LlmTotals totals = columns.sumByLlm(null, HOUR, HOUR + 1);
+
+    assertThat(columns.size()).isEqualTo((long) threadCount * appendCount);
+    assertThat(totals.getUsedToken(1L) + totals.getUsedToken(2L))
+        .isEqualTo((long) threadCount * appendCount);
+  }
+}
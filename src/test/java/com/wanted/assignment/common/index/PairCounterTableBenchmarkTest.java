@@ -0,0 +1,85 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 1,000만 (사용자, LLM) 쌍을 적재했을 때 {@link PairCounterTable}의 메모리 사용량과 조회 시간
+ *
+ * <p>배열 크기로 계산한 메모리와 GC 후 힙 사용량 차이를 함께 기록한다. 사용자 10만 명 x LLM 100개로
+ * 적재하고, 사용자 한 명의 LLM 100개를 모두 조회하는 시간(GET /users/{user_id}/usages 한 번에 해당)을
+ * 측정한다.
+ *
+ * <p>기본 테스트에서는 제외되며 {@code ./gradlew benchmark}로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+class PairCounterTableBenchmarkTest {
+
+  private static final int USER_COUNT = 100_000;
+  private static final int LLM_COUNT = 100;
+  private static final long PAIR_COUNT = (long) USER_COUNT * LLM_COUNT;
+  private static final int WARMUP_COUNT = 100_000;
+  private static final int MEASURE_COUNT = 100_000;
+
+  @DisplayName("1,000만 쌍 적재 시 쌍당 메모리와 사용자별 조회 시간")
+  @Test
+  void benchmarkTenMillionPairs() {
+
+    // Given
+    long heapBefore = usedHeap();
+    PairCounterTable table = new PairCounterTable();
+    long loadStartNanos = System.nanoTime();
+    for (long userId = 1; userId <= USER_COUNT; userId++) {
+      for (long llmId = 1; llmId <= LLM_COUNT; llmId++) {
+        table.add(userId, llmId, userId + llmId);
+      }
+    }
+    long loadNanos = System.nanoTime() - loadStartNanos;
+    long heapAfter = usedHeap();
+
+    // When
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_COUNT; i++) {
+      checksum += sumUser(table, 1L + i % USER_COUNT);
+    }
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < MEASURE_COUNT; i++) {
+      checksum += sumUser(table, 1L + (i * 7919L) % USER_COUNT);
+    }
+    long perUserNanos = (System.nanoTime() - startNanos) / MEASURE_COUNT;
+
+    // Then
+    assertThat(table.size()).isEqualTo(PAIR_COUNT);
+    assertThat(checksum).isPositive();
+    log.info("[benchmark] {}쌍 적재 {} ms, 배열 {} MB (쌍당 {} byte), 힙 증가 {} MB (쌍당 {} byte)",
+        PAIR_COUNT,
+        loadNanos / 1_000_000,
+        table.memoryBytes() / (1024 * 1024),
+        String.format("%.1f", (double) table.memoryBytes() / PAIR_COUNT),
+        (heapAfter - heapBefore) / (1024 * 1024),
+        String.format("%.1f", (double) (heapAfter - heapBefore) / PAIR_COUNT));
+    log.info("[benchmark] 사용자 한 명의 LLM {}개 조회 {} us",
+        LLM_COUNT, String.format("%.2f", perUserNanos / 1_000.0));
+  }
+
+  private long sumUser(PairCounterTable table, long userId) {
+    long sum = 0;
+    for (long llmId = 1; llmId <= LLM_COUNT; llmId++) {
+      sum += table.get(userId, llmId);
+    }
+    return sum;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
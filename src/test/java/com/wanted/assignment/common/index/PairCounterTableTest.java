@@ -0,0 +1,103 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PairCounterTableTest {
+
+  private static final int PAIR_COUNT = 20_000;
+  private static final int LLM_COUNT = 7;
+
+  private static long key(long first, long second) {
+    return first * 1_000L + second;
+  }
+
+  @DisplayName("같은 쌍의 값은 누적되고, 없는 쌍은 0으로 조회")
+  @Test
+  void testAddAndGet() {
+    PairCounterTable table = new PairCounterTable();
+    table.add(1L, 2L, 100L);
+    table.add(1L, 2L, 50L);
+    table.add(2L, 1L, 7L);
+
+    assertThat(table.get(1L, 2L)).isEqualTo(150L);
+    assertThat(table.get(2L, 1L)).isEqualTo(7L);
+    assertThat(table.get(1L, 1L)).isZero();
+    assertThat(table.get(0L, 1L)).isZero();
+    assertThat(table.size()).isEqualTo(2L);
+  }
+
+  @DisplayName("int 범위를 넘는 합계도 long으로 누적")
+  @Test
+  void testAddOverIntRange() {
+    PairCounterTable table = new PairCounterTable();
+    table.add(1L, 1L, Integer.MAX_VALUE);
+    table.add(1L, 1L, Integer.MAX_VALUE);
+
+    assertThat(table.get(1L, 1L)).isEqualTo(2L * Integer.MAX_VALUE);
+  }
+
+  @DisplayName("확장과 삭제를 거쳐도 HashMap과 같은 결과")
+  @Test
+  void testMatchesHashMapAfterResizeAndRemove() {
+    PairCounterTable table = new PairCounterTable();
+    Map<Long, Long> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < PAIR_COUNT * 3; i++) {
+      long userId = 1L + random.nextInt(PAIR_COUNT / LLM_COUNT);
+      long llmId = 1L + random.nextInt(LLM_COUNT);
+      long delta = 1L + random.nextInt(1_000);
+      table.add(userId, llmId, delta);
+      expected.merge(key(userId, llmId), delta, Long::sum);
+    }
+
+    long[] removed = table.removeBySecond(3L);
+    long removedSum = 0;
+    for (int i = 0; i < removed.length; i += 2) {
+      removedSum += removed[i + 1];
+      assertThat(expected.remove(key(removed[i], 3L))).isEqualTo(removed[i + 1]);
+    }
+
+    assertThat(removedSum).isPositive();
+    assertThat(table.size()).isEqualTo(expected.size());
+    for (long userId = 1; userId <= PAIR_COUNT / LLM_COUNT; userId++) {
+      for (long llmId = 1; llmId <= LLM_COUNT; llmId++) {
+        assertThat(table.get(userId, llmId))
+            .isEqualTo(expected.getOrDefault(key(userId, llmId), 0L));
+      }
+    }
+  }
+
+  @DisplayName("2^32 이상이거나 0 이하인 아이디는 기록할 수 없음")
+  @Test
+  void testAddInvalidId() {
+    PairCounterTable table = new PairCounterTable();
+
+    assertThatThrownBy(() -> table.add(1L << 32, 1L, 1L))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> table.add(1L, 0L, 1L))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @DisplayName("모든 항목을 지우면 배열도 초기 크기로 줄어듦")
+  @Test
+  void testClear() {
+    PairCounterTable table = new PairCounterTable();
+    long initialBytes = table.memoryBytes();
+    for (long userId = 1; userId <= PAIR_COUNT; userId++) {
+      table.add(userId, 1L, 1L);
+    }
+
+    table.clear();
+
+    assertThat(table.size()).isZero();
+    assertThat(table.memoryBytes()).isEqualTo(initialBytes);
+    assertThat(table.get(1L, 1L)).isZero();
+  }
+}
@@ -0,0 +1,102 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingSketchTest {
+
+  private static final int CAPACITY = 100;
+  private static final int KEY_COUNT = 10_000;
+  private static final int ADD_COUNT = 200_000;
+
+  @DisplayName("키 개수가 카운터 수 이하이면 오차 없이 정확한 합계")
+  @Test
+  void testExactWithinCapacity() {
+    SpaceSavingSketch sketch = new SpaceSavingSketch(CAPACITY);
+    for (long key = 1; key <= CAPACITY; key++) {
+      sketch.add(key, key * 10L);
+      sketch.add(key, 1L);
+    }
+
+    List<SpaceSavingSketch.Entry> top = sketch.top(3, key -> true);
+
+    assertThat(top).containsExactly(
+        new SpaceSavingSketch.Entry(100L, 1_001L, 0L),
+        new SpaceSavingSketch.Entry(99L, 991L, 0L),
+        new SpaceSavingSketch.Entry(98L, 981L, 0L));
+    assertThat(sketch.minCount()).isZero();
+    assertThat(sketch.size()).isEqualTo(CAPACITY);
+  }
+
+  @DisplayName("키가 카운터 수보다 많아도 실제 합계는 [합계 - 오차, 합계] 범위이고 큰 키는 모두 추적")
+  @Test
+  void testErrorBounds() {
+    SpaceSavingSketch sketch = new SpaceSavingSketch(CAPACITY);
+    Map<Long, Long> exact = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < ADD_COUNT; i++) {
+      // 작은 키일수록 자주 나오는 치우친 분포
+      long key = 1L + (long) (KEY_COUNT * Math.pow(random.nextDouble(), 4));
+      long delta = 1L + random.nextInt(100);
+      sketch.add(key, delta);
+      exact.merge(key, delta, Long::sum);
+    }
+
+    long total = exact.values().stream().mapToLong(Long::longValue).sum();
+    long minCount = sketch.minCount();
+    List<SpaceSavingSketch.Entry> top = sketch.top(CAPACITY, key -> true);
+
+    assertThat(sketch.total()).isEqualTo(total);
+    assertThat(minCount).isLessThanOrEqualTo(total / CAPACITY);
+    top.forEach(entry -> {
+      long actual = exact.get(entry.key());
+      assertThat(actual).isBetween(entry.count() - entry.error(), entry.count());
+    });
+    exact.forEach((key, actual) -> {
+      if (actual > minCount) {
+        assertThat(top).anyMatch(entry -> entry.key() == key);
+      }
+    });
+  }
+
+  @DisplayName("0 이하의 값은 더할 수 없고, 조회 조건으로 키를 제외")
+  @Test
+  void testRejectNonPositiveAndFilter() {
+    SpaceSavingSketch sketch = new SpaceSavingSketch(CAPACITY);
+    sketch.add(1L, 100L);
+    sketch.add(2L, 300L);
+
+    assertThatThrownBy(() -> sketch.add(1L, -100L))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> sketch.add(3L, 0L))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(sketch.top(10, key -> true)).containsExactly(
+        new SpaceSavingSketch.Entry(2L, 300L, 0L),
+        new SpaceSavingSketch.Entry(1L, 100L, 0L));
+    assertThat(sketch.top(10, key -> key != 2L)).containsExactly(
+        new SpaceSavingSketch.Entry(1L, 100L, 0L));
+    assertThat(sketch.total()).isEqualTo(400L);
+  }
+
+  @DisplayName("메모리는 키 개수와 관계없이 카운터 수로 고정")
+  @Test
+  void testMemoryBytes() {
+    SpaceSavingSketch sketch = new SpaceSavingSketch(CAPACITY);
+    long before = sketch.memoryBytes();
+    for (long key = 1; key <= KEY_COUNT; key++) {
+      sketch.add(key, 1L);
+    }
+
+    assertThat(sketch.memoryBytes()).isEqualTo(before);
+    assertThat(sketch.size()).isEqualTo(CAPACITY);
+    assertThatThrownBy(() -> new SpaceSavingSketch(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,156 @@
+package com.wanted.assignment.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UsageSumKernelTest {
+
+  private static final int HOUR = 490_000;
+
+  @DisplayName("벡터 길이로 나누어지지 않는 블록과 기간 경계에서 SIMD 커널과 스칼라 커널의 결과가 같음")
+  @Test
+  void testVectorMatchesScalar() {
+    assumeTrue(UsageSumKernels.isVectorSupported());
+    Random random = new Random(20_250_501L);
+
+    for (int trial = 0; trial < 200; trial++) {
+      int length = random.nextInt(300);
+      int groupCount = 1 + random.nextInt(6);
+      int[] userIds = new int[length];
+      int[] hours = new int[length];
+      int[] llmIds = new int[length];
+      long[] usedTokens = new long[length];
+      for (int i = 0; i < length; i++) {
+        userIds[i] = 1 + random.nextInt(3);
+        hours[i] = HOUR + random.nextInt(48);
+        llmIds[i] = random.nextInt(groupCount);
+        usedTokens[i] = random.nextInt(1_000_000);
+      }
+      int fromHour = HOUR + random.nextInt(24);
+      int toHour = fromHour + random.nextInt(24);
+
+      long[][] scalar = sum(UsageSumKernels.scalar(), length, null, userIds, hours, llmIds,
+          usedTokens, fromHour, toHour, groupCount);
+      long[][] vector = sum(UsageSumKernels.vector(), length, null, userIds, hours, llmIds,
+          usedTokens, fromHour, toHour, groupCount);
+      long[][] scalarUser = sum(UsageSumKernels.scalar(), length, 2, userIds, hours, llmIds,
+          usedTokens, fromHour, toHour, groupCount);
+      long[][] vectorUser = sum(UsageSumKernels.vector(), length, 2, userIds, hours, llmIds,
+          usedTokens, fromHour, toHour, groupCount);
+
+      assertThat(vector).as("trial %d", trial).isDeepEqualTo(scalar);
+      assertThat(vectorUser).as("trial %d", trial).isDeepEqualTo(scalarUser);
+    }
+  }
+
+  @DisplayName("LLM 아이디가 16 이상이어도 LLM 수가 적으면 SIMD 커널이 벡터로 처리하고 스칼라 커널과 같은 결과")
+  @Test
+  void testVectorWithLargeLlmIds() {
+    assumeTrue(UsageSumKernels.isVectorSupported());
+    long[] llmIds = {16L, 100L, 1_000L, 65_536L, 1_000_000L};
+    AtomicInteger maxGroups = new AtomicInteger();
+    OffHeapUsageColumns scalar = new OffHeapUsageColumns(64, 1_000L, UsageSumKernels.scalar());
+    OffHeapUsageColumns vector = new OffHeapUsageColumns(
+        64, 1_000L, recordGroups(UsageSumKernels.vector(), maxGroups));
+    for (int i = 0; i < 1_000; i++) {
+      scalar.append(1L + i % 2, llmIds[i % llmIds.length], HOUR + i % 10, 10L + i);
+      vector.append(1L + i % 2, llmIds[i % llmIds.length], HOUR + i % 10, 10L + i);
+    }
+
+    for (Long userId : new Long[]{null, 2L}) {
+      OffHeapUsageColumns.LlmTotals scalarTotals = scalar.sumByLlm(userId, HOUR + 2, HOUR + 8);
+      OffHeapUsageColumns.LlmTotals vectorTotals = vector.sumByLlm(userId, HOUR + 2, HOUR + 8);
+
+      for (long llmId : llmIds) {
+        assertThat(vectorTotals.getUsedToken(llmId)).isEqualTo(scalarTotals.getUsedToken(llmId));
+        assertThat(vectorTotals.getRowCount(llmId)).isEqualTo(scalarTotals.getRowCount(llmId));
+      }
+    }
+    // 합계 배열 길이가 LLM 수이므로 벡터 처리 상한 안에 있음
+    assertThat(maxGroups).hasValue(llmIds.length);
+    assertThat(maxGroups.get()).isLessThanOrEqualTo(VectorUsageSumKernel.MAX_GROUPS);
+  }
+
+  @DisplayName("LLM 수가 벡터 처리 상한보다 많으면 SIMD 커널도 스칼라 커널과 같은 결과")
+  @Test
+  void testVectorWithManyGroups() {
+    assumeTrue(UsageSumKernels.isVectorSupported());
+    OffHeapUsageColumns scalar = new OffHeapUsageColumns(64, 1_000L, UsageSumKernels.scalar());
+    OffHeapUsageColumns vector = new OffHeapUsageColumns(64, 1_000L, UsageSumKernels.vector());
+    for (int i = 0; i < 1_000; i++) {
+      scalar.append(1L + i % 2, i % 100, HOUR + i % 10, 10L + i);
+      vector.append(1L + i % 2, i % 100, HOUR + i % 10, 10L + i);
+    }
+
+    OffHeapUsageColumns.LlmTotals scalarTotals = scalar.sumByLlm(2L, HOUR + 2, HOUR + 8);
+    OffHeapUsageColumns.LlmTotals vectorTotals = vector.sumByLlm(2L, HOUR + 2, HOUR + 8);
+
+    for (long llmId = 0; llmId < 100; llmId++) {
+      assertThat(vectorTotals.getUsedToken(llmId)).isEqualTo(scalarTotals.getUsedToken(llmId));
+      assertThat(vectorTotals.getRowCount(llmId)).isEqualTo(scalarTotals.getRowCount(llmId));
+    }
+  }
+
+  @DisplayName("스칼라 커널은 기간 안의 행만 LLM별로 더함")
+  @Test
+  void testScalar() {
+    int[] hours = {HOUR, HOUR + 1, HOUR + 2, HOUR + 3};
+    int[] llmIds = {1, 2, 1, 1};
+    long[] usedTokens = {10L, 20L, 30L, 40L};
+    long[] usedTokenSums = new long[3];
+    long[] rowCounts = new long[3];
+
+    UsageSumKernels.scalar().sumByLlm(
+        4, hours, llmIds, usedTokens, HOUR + 1, HOUR + 3, usedTokenSums, rowCounts);
+
+    assertThat(usedTokenSums).containsExactly(0L, 30L, 20L);
+    assertThat(rowCounts).containsExactly(0L, 1L, 1L);
+  }
+
+  private long[][] sum(
+      UsageSumKernel kernel, int length, Integer userId, int[] userIds, int[] hours,
+      int[] llmIds, long[] usedTokens, int fromHour, int toHour, int groupCount) {
+    long[] usedTokenSums = new long[groupCount];
+    long[] rowCounts = new long[groupCount];
+    if (userId == null) {
+      kernel.sumByLlm(length, hours, llmIds, usedTokens, fromHour, toHour,
+          usedTokenSums, rowCounts);
+    } else {
+      kernel.sumByLlmForUser(length, userIds, userId, hours, llmIds, usedTokens,
+          fromHour, toHour, usedTokenSums, rowCounts);
+    }
+    return new long[][]{usedTokenSums, rowCounts};
+  }
+
+  // 커널에 전달된 합계 배열의 최대 길이를 기록하는 커널
+  private UsageSumKernel recordGroups(UsageSumKernel kernel, AtomicInteger maxGroups) {
+    return new UsageSumKernel() {
+      @Override
+      public String name() {
+        return kernel.name();
+      }
+
+      @Override
+      public void sumByLlm(int length, int[] hours, int[] llmIds, long[] usedTokens,
+          int fromHour, int toHour, long[] usedTokenSums, long[] rowCounts) {
+        maxGroups.accumulateAndGet(usedTokenSums.length, Math::max);
+        kernel.sumByLlm(length, hours, llmIds, usedTokens, fromHour, toHour,
+            usedTokenSums, rowCounts);
+      }
+
+      @Override
+      public void sumByLlmForUser(int length, int[] userIds, int userId, int[] hours,
+          int[] llmIds, long[] usedTokens, int fromHour, int toHour, long[] usedTokenSums,
+          long[] rowCounts) {
+        maxGroups.accumulateAndGet(usedTokenSums.length, Math::max);
+        kernel.sumByLlmForUser(length, userIds, userId, hours, llmIds, usedTokens,
+            fromHour, toHour, usedTokenSums, rowCounts);
+      }
+    };
+  }
+}
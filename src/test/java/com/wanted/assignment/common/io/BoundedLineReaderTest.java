@@ -0,0 +1,62 @@
+package com.wanted.assignment.common.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BoundedLineReaderTest {
+
+  @DisplayName("줄 바꿈(\\n, \\r\\n)으로 나누어 읽고 마지막 줄은 줄 바꿈이 없어도 읽음")
+  @Test
+  void testReadLines() throws IOException {
+    List<String> lines = readAll("a\r\n\nbc\n  \ndef", 16);
+
+    assertThat(lines).containsExactly("a", "", "bc", "  ", "def");
+  }
+
+  @DisplayName("최대 길이를 넘는 줄은 내용 없이 초과로 표시하고 다음 줄부터 계속 읽음")
+  @Test
+  void testLineTooLong() throws IOException {
+    String longLine = "x".repeat(20_000);
+
+    List<String> lines = readAll("ok\n" + longLine + "\nnext\n" + longLine, 100);
+
+    assertThat(lines).containsExactly("ok", "<too long>", "next", "<too long>");
+  }
+
+  @DisplayName("공백뿐인 줄과 초과한 줄은 빈 줄로 보지 않음")
+  @Test
+  void testIsBlank() throws IOException {
+    BoundedLineReader reader = reader(" \t\nxxxx\n", 3);
+
+    assertThat(reader.readLine()).isTrue();
+    assertThat(reader.isBlank()).isTrue();
+    assertThat(reader.readLine()).isTrue();
+    assertThat(reader.isTooLong()).isTrue();
+    assertThat(reader.isBlank()).isFalse();
+    assertThat(reader.readLine()).isFalse();
+  }
+
+  private List<String> readAll(String body, int maxLineBytes) throws IOException {
+    List<String> lines = new ArrayList<>();
+    try (BoundedLineReader reader = reader(body, maxLineBytes)) {
+      while (reader.readLine()) {
+        lines.add(reader.isTooLong()
+            ? "<too long>"
+            : new String(reader.line(), 0, reader.lineLength(), StandardCharsets.UTF_8));
+      }
+    }
+    return lines;
+  }
+
+  private BoundedLineReader reader(String body, int maxLineBytes) {
+    return new BoundedLineReader(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), maxLineBytes);
+  }
+}
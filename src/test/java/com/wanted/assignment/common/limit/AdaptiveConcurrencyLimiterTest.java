@@ -0,0 +1,88 @@
+package com.wanted.assignment.common.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wanted.assignment.config.AdmissionControlProperties;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final int INITIAL_LIMIT = 10;
+  private static final int MIN_LIMIT = 2;
+  private static final int MAX_LIMIT = 100;
+  private static final long FAST_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+  private static final long SLOW_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+  private AdaptiveConcurrencyLimiter createLimiter() {
+    return new AdaptiveConcurrencyLimiter(new AdmissionControlProperties.Group(
+        List.of("/usages"), INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT));
+  }
+
+  /**
+   * 한도만큼 슬롯을 채운 상태에서 응답 시간 표본 하나를 반영
+   */
+  private void sampleAtFullLoad(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+    int acquired = 0;
+    while (limiter.tryAcquire()) {
+      acquired++;
+    }
+    for (int i = 0; i < acquired; i++) {
+      limiter.release(rttNanos, false);
+    }
+  }
+
+  @DisplayName("한도만큼 처리 중이면 슬롯 획득 실패")
+  @Test
+  void testTryAcquireOverLimit() {
+    AdaptiveConcurrencyLimiter limiter = createLimiter();
+    for (int i = 0; i < INITIAL_LIMIT; i++) {
+      assertThat(limiter.tryAcquire()).isTrue();
+    }
+    assertThat(limiter.tryAcquire()).isFalse();
+    assertThat(limiter.getInflight()).isEqualTo(INITIAL_LIMIT);
+  }
+
+  @DisplayName("응답 시간이 유지되면 한도 증가")
+  @Test
+  void testLimitGrowsWhenLatencyStable() {
+    AdaptiveConcurrencyLimiter limiter = createLimiter();
+    for (int i = 0; i < 20; i++) {
+      sampleAtFullLoad(limiter, FAST_RTT_NANOS);
+    }
+    assertThat(limiter.getLimit()).isGreaterThan(INITIAL_LIMIT);
+  }
+
+  @DisplayName("응답 시간이 느려지면 한도 감소")
+  @Test
+  void testLimitShrinksWhenLatencyIncreases() {
+    AdaptiveConcurrencyLimiter limiter = createLimiter();
+    for (int i = 0; i < 20; i++) {
+      sampleAtFullLoad(limiter, FAST_RTT_NANOS);
+    }
+    int limitBeforeSlowdown = limiter.getLimit();
+
+    for (int i = 0; i < 20; i++) {
+      sampleAtFullLoad(limiter, SLOW_RTT_NANOS);
+    }
+    assertThat(limiter.getLimit()).isLessThan(limitBeforeSlowdown);
+    assertThat(limiter.getRetryAfterSeconds()).isEqualTo(1);
+  }
+
+  @DisplayName("요청이 실패하면 한도를 즉시 줄이되 하한 아래로는 줄이지 않음")
+  @Test
+  void testLimitBacksOffOnDrop() {
+    AdaptiveConcurrencyLimiter limiter = createLimiter();
+    limiter.tryAcquire();
+    limiter.release(FAST_RTT_NANOS, true);
+    assertThat(limiter.getLimit()).isEqualTo((int) (INITIAL_LIMIT * 0.9));
+
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire();
+      limiter.release(FAST_RTT_NANOS, true);
+    }
+    assertThat(limiter.getLimit()).isEqualTo(MIN_LIMIT);
+  }
+}
@@ -0,0 +1,100 @@
+package com.wanted.assignment.common.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionUndoTest {
+
+  private final AtomicInteger runCount = new AtomicInteger();
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @DisplayName("롤백 작업은 트랜잭션이 롤백되면 실행")
+  @Test
+  void testOnRollbackRunsOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    TransactionUndo.onRollback(runCount::incrementAndGet);
+
+    assertThat(runCount).hasValue(0);
+
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(runCount).hasValue(1);
+  }
+
+  @DisplayName("롤백 작업은 트랜잭션이 커밋되면 실행하지 않음")
+  @Test
+  void testOnRollbackSkippedOnCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    TransactionUndo.onRollback(runCount::incrementAndGet);
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    assertThat(runCount).hasValue(0);
+  }
+
+  @DisplayName("롤백 작업은 트랜잭션 밖이면 등록하지 않고 실행하지도 않음")
+  @Test
+  void testOnRollbackOutsideTransaction() {
+    TransactionUndo.onRollback(runCount::incrementAndGet);
+
+    assertThat(runCount).hasValue(0);
+    assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
+  }
+
+  @DisplayName("커밋 후 작업은 트랜잭션이 커밋된 뒤에 실행")
+  @Test
+  void testAfterCommitRunsOnCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    TransactionUndo.afterCommit(runCount::incrementAndGet);
+
+    assertThat(runCount).hasValue(0);
+
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    assertThat(runCount).hasValue(1);
+  }
+
+  @DisplayName("커밋 후 작업은 트랜잭션이 롤백되면 실행하지 않음")
+  @Test
+  void testAfterCommitSkippedOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    TransactionUndo.afterCommit(runCount::incrementAndGet);
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(runCount).hasValue(0);
+  }
+
+  @DisplayName("커밋 후 작업은 트랜잭션 밖이면 바로 실행")
+  @Test
+  void testAfterCommitOutsideTransaction() {
+    TransactionUndo.afterCommit(runCount::incrementAndGet);
+
+    assertThat(runCount).hasValue(1);
+  }
+
+  private void complete(int status) {
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+      synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+    synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+  }
+}
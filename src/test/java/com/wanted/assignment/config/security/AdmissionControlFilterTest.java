@@ -0,0 +1,75 @@
+package com.wanted.assignment.config.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wanted.assignment.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdmissionControlFilterTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private AdmissionControlFilter createFilter() {
+    AdmissionControlProperties properties = new AdmissionControlProperties();
+    properties.getIngestion().setInitialLimit(1);
+    properties.getIngestion().setMinLimit(1);
+    properties.getIngestion().setMaxLimit(1);
+    return new AdmissionControlFilter(properties, new ObjectMapper(), meterRegistry);
+  }
+
+  @DisplayName("스트리밍 기록은 처리 중인 다른 기록 요청과 같은 ingestion 한도를 공유하여 한도 초과 시 429")
+  @Test
+  void testStreamSharesIngestionLimit() throws Exception {
+    AdmissionControlFilter filter = createFilter();
+    List<MockHttpServletResponse> nestedResponses = new ArrayList<>();
+
+    // /usages/stream 이 슬롯을 점유한 동안 /usages, /usages/stream 요청
+    MockHttpServletResponse streamResponse = new MockHttpServletResponse();
+    filter.doFilter(new MockHttpServletRequest("POST", "/usages/stream"), streamResponse,
+        (request, response) -> {
+          for (String path : List.of("/usages", "/usages/stream")) {
+            MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", path), nestedResponse,
+                (nestedRequest, ignored) -> {
+                });
+            nestedResponses.add(nestedResponse);
+          }
+        });
+
+    assertThat(streamResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+    assertThat(nestedResponses).allSatisfy(response -> {
+      assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+      assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+    });
+    assertThat(meterRegistry.get("admission.rejected").tag("group", "ingestion").counter()
+        .count()).isEqualTo(2.0);
+  }
+
+  @DisplayName("어느 그룹에도 속하지 않는 경로는 한도와 관계없이 처리")
+  @Test
+  void testUnmatchedPathBypassesLimit() throws Exception {
+    AdmissionControlFilter filter = createFilter();
+    List<Integer> nestedStatuses = new ArrayList<>();
+
+    filter.doFilter(new MockHttpServletRequest("POST", "/usages/stream"),
+        new MockHttpServletResponse(), (request, response) -> {
+          MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+          filter.doFilter(new MockHttpServletRequest("GET", "/users"), nestedResponse,
+              (nestedRequest, ignored) -> {
+              });
+          nestedStatuses.add(nestedResponse.getStatus());
+        });
+
+    assertThat(nestedStatuses).containsExactly(HttpStatus.OK.value());
+  }
+}
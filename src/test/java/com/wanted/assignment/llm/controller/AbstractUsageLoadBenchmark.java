@@ -0,0 +1,114 @@
+package com.wanted.assignment.llm.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * 스레드 방식별 사용량 기록 및 통계 조회 API 부하 비교
+ *
+ * <p>같은 부하를 플랫폼 스레드({@link PlatformThreadLoadBenchmarkTest})와 가상 스레드
+ * ({@link VirtualThreadLoadBenchmarkTest}) 설정으로 실행하여 처리량과 지연 시간을 로그로 남긴다.
+ * 두 설정 모두 Tomcat 최대 스레드 수를 동시 요청 수보다 작게 두어, 플랫폼 스레드에서는 스레드 풀이,
+ * 가상 스레드에서는 커넥션 풀이 동시 실행 수를 제한하도록 한다.
+ */
+@Slf4j
+abstract class AbstractUsageLoadBenchmark {
+
+  static final String TOMCAT_MAX_THREADS = "server.tomcat.threads.max=32";
+
+  private static final int CONCURRENCY = 256;
+  private static final int REQUEST_COUNT = 5_000;
+  private static final String INSERT_BODY = "{\"userId\":1,\"llmId\":1,\"usedToken\":512}";
+
+  @LocalServerPort
+  int port;
+
+  @Test
+  void benchmarkInsertLlmUsage() throws Exception {
+    run("POST /usages", () -> HttpRequest.newBuilder(uri("/usages"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(INSERT_BODY))
+        .build());
+  }
+
+  @Test
+  void benchmarkGetLlmUsageStats() throws Exception {
+    run("GET /llm/usages", () -> HttpRequest.newBuilder(uri("/llm/usages"))
+        .GET()
+        .build());
+  }
+
+  /**
+   * 스레드 방식 이름 (로그 출력용)
+   *
+   * @return 스레드 방식 이름
+   */
+  abstract String threadMode();
+
+  private void run(String name, RequestFactory requestFactory) throws Exception {
+    HttpClient httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    Semaphore inFlight = new Semaphore(CONCURRENCY);
+    long[] latencies = new long[REQUEST_COUNT];
+    List<Future<Integer>> futures = new ArrayList<>(REQUEST_COUNT);
+
+    long startNanos = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < REQUEST_COUNT; i++) {
+        int index = i;
+        inFlight.acquire();
+        futures.add(executor.submit(() -> {
+          try {
+            long requestStart = System.nanoTime();
+            HttpResponse<Void> response = httpClient.send(
+                requestFactory.create(), HttpResponse.BodyHandlers.discarding());
+            latencies[index] = System.nanoTime() - requestStart;
+            return response.statusCode();
+          } finally {
+            inFlight.release();
+          }
+        }));
+      }
+    }
+    long elapsedNanos = System.nanoTime() - startNanos;
+
+    long errorCount = 0;
+    for (Future<Integer> future : futures) {
+      int statusCode = future.get();
+      if (statusCode >= 400) {
+        errorCount++;
+      }
+    }
+    Arrays.sort(latencies);
+    log.info("[benchmark] {} {} - 요청: {}, 동시: {}, 오류: {}, 처리량: {} req/s, p50: {} ms, p99: {} ms",
+        threadMode(), name, REQUEST_COUNT, CONCURRENCY, errorCount,
+        String.format("%.0f", REQUEST_COUNT / (elapsedNanos / 1_000_000_000.0)),
+        String.format("%.2f", latencies[REQUEST_COUNT / 2] / 1_000_000.0),
+        String.format("%.2f", latencies[REQUEST_COUNT * 99 / 100] / 1_000_000.0));
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  @FunctionalInterface
+  private interface RequestFactory {
+
+    HttpRequest create();
+  }
+}
@@ -1,15 +1,26 @@
 package com.wanted.assignment.llm.controller;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.common.type.ExportFormat;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
 import com.wanted.assignment.llm.service.LlmUsageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -22,10 +33,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
 @Slf4j
 @AutoConfigureMockMvc
@@ -34,10 +53,15 @@ import org.springframework.transaction.annotation.Transactional;
 class LlmUsageControllerTest {
 
   private static final String LLM_USAGE_BASE_URL = "/usages";
+  private static final String LLM_USAGE_BATCH_URL = "/usages/batch";
+  private static final String LLM_USAGE_STREAM_URL = "/usages/stream";
+  private static final String LLM_USAGE_EXPORT_URL = "/usages/export";
 
   private static final long USER_ID = 1L;
   private static final long LLM_ID = 1L;
   private static final int USED_TOKEN = 512;
+  // 기본 데이터에서 LLM 1 사용량이 있는 사용자
+  private static final long EXPORT_USER_ID = 2L;
 
   private static final String PATH_CODE = "$.code";
   private static final String PATH_MESSAGE = "$.message";
@@ -51,6 +75,9 @@ class LlmUsageControllerTest {
   @Autowired
   ObjectMapper objectMapper;
 
+  @Autowired
+  MeterRegistry meterRegistry;
+
   @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
   @DisplayName("insertLlmUsage - LLM 사용량 기록 API")
   @Nested
@@ -191,5 +218,309 @@ class LlmUsageControllerTest {
               ApiStatus.MISSING_SERVLET_REQUEST_PARAMETER.getMessage()))
           .andDo(print());
     }
+
+    @Order(6)
+    @DisplayName("같은 Idempotency-Key 로 재시도한 경우 처음 기록된 리소스 URI 응답")
+    @Transactional
+    @Test
+    void testInsertLlmUsageIdempotencyKey() throws Exception {
+
+      // Given
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN
+      );
+      String location = mockMvc.perform(
+              post(LLM_USAGE_BASE_URL)
+                  .header("Idempotency-Key", "controller-single-retry")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(insertRequest)))
+          .andExpect(status().isCreated())
+          .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(LLM_USAGE_BASE_URL)
+              .header("Idempotency-Key", "controller-single-retry")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(insertRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isCreated())
+          .andExpect(header().string(HttpHeaders.LOCATION, location))
+          .andDo(print());
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("insertLlmUsages - LLM 사용량 일괄 기록 API")
+  @Nested
+  class TestInsertLlmUsages {
+
+    @Order(1)
+    @DisplayName("LLM 사용량 일괄 기록 성공")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesSuccess() throws Exception {
+
+      // Given
+      LlmUsageDto.BatchInsertRequest batchInsertRequest = LlmUsageDto.BatchInsertRequest.of(
+          List.of(
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN)
+          )
+      );
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(LLM_USAGE_BATCH_URL)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(batchInsertRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.totalCount").value(2))
+          .andExpect(jsonPath("$.successCount").value(2))
+          .andExpect(jsonPath("$.failureCount").value(0))
+          .andExpect(jsonPath("$.results[0].code").value(ApiStatus.OK.getCode()))
+          .andDo(print());
+    }
+
+    @Order(2)
+    @DisplayName("일부 항목이 유효하지 않은 경우 항목별 결과 응답")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesPartialFailure() throws Exception {
+
+      // Given
+      LlmUsageDto.BatchInsertRequest batchInsertRequest = LlmUsageDto.BatchInsertRequest.of(
+          List.of(
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(0L, LLM_ID, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(USER_ID, 0L, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, 0)
+          )
+      );
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(LLM_USAGE_BATCH_URL)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(batchInsertRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.successCount").value(1))
+          .andExpect(jsonPath("$.failureCount").value(3))
+          .andExpect(jsonPath("$.results[0].code").value(ApiStatus.OK.getCode()))
+          .andExpect(jsonPath("$.results[1].code").value(ApiStatus.USER_NOT_FOUND.getCode()))
+          .andExpect(jsonPath("$.results[2].code").value(ApiStatus.LLM_NOT_FOUND.getCode()))
+          .andExpect(jsonPath("$.results[3].code").value(
+              ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode()))
+          .andDo(print());
+    }
+
+    @Order(3)
+    @DisplayName("사용량 목록이 비어있는 경우 LLM 사용량 일괄 기록 실패")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesFailEmptyUsages() throws Exception {
+
+      // Given
+      LlmUsageDto.BatchInsertRequest batchInsertRequest = LlmUsageDto.BatchInsertRequest.of(
+          List.of()
+      );
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(LLM_USAGE_BATCH_URL)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(batchInsertRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isBadRequest())
+          .andExpect(jsonPath(PATH_CODE).value(
+              ApiStatus.MISSING_SERVLET_REQUEST_PARAMETER.getCode()))
+          .andDo(print());
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("insertLlmUsageStream - LLM 사용량 스트리밍 기록 API")
+  @Nested
+  class TestInsertLlmUsageStream {
+
+    @Order(1)
+    @DisplayName("LLM 사용량 스트리밍 기록 성공")
+    @Transactional
+    @Test
+    void testInsertLlmUsageStreamSuccess() throws Exception {
+
+      // Given
+      String body = objectMapper.writeValueAsString(
+          LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN)) + "\n"
+          + objectMapper.writeValueAsString(
+          LlmUsageDto.InsertRequest.of(0L, LLM_ID, USED_TOKEN)) + "\n";
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(LLM_USAGE_STREAM_URL)
+              .contentType(MediaType.APPLICATION_NDJSON)
+              .content(body));
+
+      // Then
+      resultActions
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.totalCount").value(2))
+          .andExpect(jsonPath("$.successCount").value(1))
+          .andExpect(jsonPath("$.failureCount").value(1))
+          .andExpect(jsonPath("$.failures[0].line").value(2))
+          .andExpect(jsonPath("$.failures[0].code").value(ApiStatus.USER_NOT_FOUND.getCode()))
+          .andDo(print());
+    }
+
+    @Order(2)
+    @DisplayName("NDJSON 이 아닌 경우 LLM 사용량 스트리밍 기록 실패")
+    @Transactional
+    @Test
+    void testInsertLlmUsageStreamFailMediaType() throws Exception {
+
+      // Given
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN
+      );
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(LLM_USAGE_STREAM_URL)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(insertRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isUnsupportedMediaType())
+          .andExpect(jsonPath(PATH_CODE).value(
+              ApiStatus.HTTP_MEDIA_TYPE_NOT_SUPPORTED.getCode()))
+          .andDo(print());
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("exportLlmUsages - 원본 사용량 내보내기 API")
+  @Nested
+  class TestExportLlmUsages {
+
+    @Order(1)
+    @DisplayName("사용자와 LLM 조건으로 CSV 내보내기 성공")
+    @Test
+    void testExportLlmUsagesCsv() throws Exception {
+
+      // When
+      MvcResult mvcResult = mockMvc.perform(
+              get(LLM_USAGE_EXPORT_URL)
+                  .param("user_id", String.valueOf(EXPORT_USER_ID))
+                  .param("llm_id", String.valueOf(LLM_ID)))
+          .andExpect(request().asyncStarted())
+          .andReturn();
+      ResultActions resultActions = mockMvc.perform(asyncDispatch(mvcResult));
+
+      // Then
+      String body = resultActions
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+              "attachment; filename=\"usages.csv\""))
+          .andReturn().getResponse().getContentAsString();
+      List<String> lines = body.lines().toList();
+      assertAll(
+          () -> assertEquals("id,user_id,llm_id,used_token,created_at", lines.get(0)),
+          () -> assertTrue(lines.size() > 1),
+          () -> assertTrue(lines.stream().skip(1)
+              .allMatch(line -> line.contains("," + EXPORT_USER_ID + "," + LLM_ID + ",")))
+      );
+    }
+
+    @Order(2)
+    @DisplayName("NDJSON 내보내기는 한 줄에 하나의 사용량 JSON으로 응답")
+    @Test
+    void testExportLlmUsagesNdjson() throws Exception {
+
+      // When
+      MvcResult mvcResult = mockMvc.perform(
+              get(LLM_USAGE_EXPORT_URL)
+                  .param("user_id", String.valueOf(EXPORT_USER_ID))
+                  .param("format", ExportFormat.NDJSON.name()))
+          .andExpect(request().asyncStarted())
+          .andReturn();
+      ResultActions resultActions = mockMvc.perform(asyncDispatch(mvcResult));
+
+      // Then
+      String body = resultActions
+          .andExpect(status().isOk())
+          .andReturn().getResponse().getContentAsString();
+      List<String> lines = body.lines().toList();
+      assertFalse(lines.isEmpty());
+      for (String line : lines) {
+        JsonNode usage = objectMapper.readTree(line);
+        assertEquals(EXPORT_USER_ID, usage.get("userId").asLong());
+        assertTrue(usage.get("usedToken").asInt() > 0);
+      }
+    }
+
+    @Order(3)
+    @DisplayName("조회 시작 시각이 종료 시각보다 늦은 경우 스트리밍을 시작하지 않고 실패")
+    @Test
+    void testExportLlmUsagesFailRange() throws Exception {
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          get(LLM_USAGE_EXPORT_URL)
+              .param("from", "2025-06-01T00:00:00")
+              .param("to", "2025-05-01T00:00:00"));
+
+      // Then
+      resultActions
+          .andExpect(status().isBadRequest())
+          .andExpect(jsonPath(PATH_CODE).value(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode()))
+          .andDo(print());
+    }
+
+    @Order(4)
+    @DisplayName("본문이 실행되지 않은 채 비동기 요청이 끝나도 실행 권한을 반환")
+    @Test
+    void testExportLlmUsagesReleasePermitWithoutBody() throws Exception {
+
+      // Given
+      MockHttpServletRequest request = new MockHttpServletRequest();
+      request.setAsyncSupported(true);
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      double before = activeExports();
+      RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+      try {
+        llmUsageService.exportLlmUsages(
+            LlmUsageDto.ExportRequest.of(null, null, null, null, ExportFormat.CSV));
+      } finally {
+        RequestContextHolder.resetRequestAttributes();
+      }
+      double acquired = activeExports();
+      WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+      asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+
+      // When (본문 대신 다른 작업으로 비동기 처리를 시작하고 끝냄)
+      asyncManager.startCallableProcessing(() -> null);
+      request.getAsyncContext().complete();
+
+      // Then
+      assertAll(
+          () -> assertEquals(before + 1, acquired),
+          () -> assertEquals(before, activeExports())
+      );
+    }
+
+    private double activeExports() {
+      return meterRegistry.get("usage.export.active").gauge().value();
+    }
   }
 }
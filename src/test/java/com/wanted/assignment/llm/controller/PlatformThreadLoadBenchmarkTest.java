@@ -0,0 +1,21 @@
+package com.wanted.assignment.llm.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Tag("benchmark")
+@ActiveProfiles("local")
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.threads.virtual.enabled=false",
+        AbstractUsageLoadBenchmark.TOMCAT_MAX_THREADS
+    })
+class PlatformThreadLoadBenchmarkTest extends AbstractUsageLoadBenchmark {
+
+  @Override
+  String threadMode() {
+    return "platform";
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.domain.entity.LlmEntity;
 import com.wanted.assignment.domain.repository.LlmRepository;
 import com.wanted.assignment.llm.dto.LlmDto;
@@ -56,7 +57,8 @@ class LlmQueryRepositoryTest {
 
       // Given & When
       LlmDto.SelectRequest selectRequest = LlmDto.SelectRequest.builder().build();
-      List<LlmDto.SelectResponse> llmList = llmQueryRepository.selectLlmList(selectRequest);
+      List<LlmDto.SelectResponse> llmList = llmQueryRepository.selectLlmList(
+          selectRequest, null, Constants.PAGE_DEFAULT_LIMIT);
       log.debug("llmList: {}", llmList);
 
       // Then
@@ -74,7 +76,8 @@ class LlmQueryRepositoryTest {
 
       //  When
       LlmDto.SelectRequest selectRequest = LlmDto.SelectRequest.of(name);
-      List<LlmDto.SelectResponse> llmList = llmQueryRepository.selectLlmList(selectRequest);
+      List<LlmDto.SelectResponse> llmList = llmQueryRepository.selectLlmList(
+          selectRequest, null, Constants.PAGE_DEFAULT_LIMIT);
       log.debug("llmList: {}", llmList);
 
       // Then
@@ -0,0 +1,115 @@
+package com.wanted.assignment.llm.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageHourlyJdbcRepositoryTest {
+
+  private static final long USER_ID = 2L;
+  private static final long LLM_ID = 3L;
+  private static final int USED_TOKEN = 100;
+
+  private static final String SELECT_HOURLY_SQL = """
+      SELECT used_token, call_count FROM llm_usage_hourly
+      WHERE user_id = ? AND llm_id = ? AND bucket_hour = ?
+      """;
+
+  @Autowired
+  LlmUsageHourlyJdbcRepository llmUsageHourlyJdbcRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("mergeLlmUsageHourly - 시간별 사용량 집계 누적")
+  @Nested
+  class TestMergeLlmUsageHourly {
+
+    @Order(1)
+    @DisplayName("같은 시간대 사용량은 하나의 집계 행으로 합산")
+    @Transactional
+    @Test
+    void testMergeLlmUsageHourlySameHour() {
+
+      // Given
+      LocalDateTime bucketHour = LocalDateTime.of(2025, 1, 1, 10, 0);
+      List<LlmUsageEntity> llmUsages = List.of(
+          createLlmUsage(bucketHour.plusMinutes(1)),
+          createLlmUsage(bucketHour.plusMinutes(30)),
+          createLlmUsage(bucketHour.plusMinutes(59))
+      );
+
+      // When
+      int mergedCount = llmUsageHourlyJdbcRepository.mergeLlmUsageHourly(llmUsages);
+      llmUsageHourlyJdbcRepository.mergeLlmUsageHourly(llmUsages.subList(0, 1));
+
+      // Then
+      long[] hourly = selectHourly(bucketHour);
+      assertAll(
+          () -> assertEquals(1, mergedCount),
+          () -> assertEquals(USED_TOKEN * 4L, hourly[0]),
+          () -> assertEquals(4L, hourly[1])
+      );
+    }
+
+    @Order(2)
+    @DisplayName("시간대가 다르면 별도의 집계 행으로 누적")
+    @Transactional
+    @Test
+    void testMergeLlmUsageHourlyDifferentHour() {
+
+      // Given
+      LocalDateTime bucketHour = LocalDateTime.of(2025, 1, 1, 10, 0);
+      List<LlmUsageEntity> llmUsages = List.of(
+          createLlmUsage(bucketHour.plusMinutes(59)),
+          createLlmUsage(bucketHour.plusHours(1))
+      );
+
+      // When
+      int mergedCount = llmUsageHourlyJdbcRepository.mergeLlmUsageHourly(llmUsages);
+
+      // Then
+      assertAll(
+          () -> assertEquals(2, mergedCount),
+          () -> assertEquals(1L, selectHourly(bucketHour)[1]),
+          () -> assertEquals(1L, selectHourly(bucketHour.plusHours(1))[1])
+      );
+    }
+  }
+
+  private LlmUsageEntity createLlmUsage(LocalDateTime createdAt) {
+    return LlmUsageEntity.builder()
+        .userId(USER_ID)
+        .llmId(LLM_ID)
+        .usedToken(USED_TOKEN)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .isDeleted(false)
+        .build();
+  }
+
+  private long[] selectHourly(LocalDateTime bucketHour) {
+    return jdbcTemplate.queryForObject(SELECT_HOURLY_SQL,
+        (rs, rowNum) -> new long[]{rs.getLong("used_token"), rs.getLong("call_count")},
+        USER_ID, LLM_ID, bucketHour);
+  }
+}
@@ -0,0 +1,123 @@
+package com.wanted.assignment.llm.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * LLM 사용량 INSERT 방식별 처리량 비교
+ *
+ * <p>기본 테스트에서는 제외되며 {@code ./gradlew benchmark}로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageInsertBenchmarkTest {
+
+  private static final int ROW_COUNT = 20_000;
+
+  private static final String INSERT_RETURNING_KEY_SQL = """
+      INSERT INTO %s (user_id, llm_id, used_token, created_at, updated_at, is_deleted)
+      VALUES (?, ?, ?, ?, ?, FALSE)
+      """;
+
+  @Autowired
+  LlmUsageJdbcRepository llmUsageJdbcRepository;
+
+  @Autowired
+  @Qualifier("mainJdbcTemplate")
+  JdbcTemplate jdbcTemplate;
+
+  @DisplayName("건별 INSERT 후 생성 키 조회 (IDENTITY 방식)")
+  @Transactional
+  @Test
+  void benchmarkInsertReturningKey() {
+
+    // Given
+    LocalDateTime now = LocalDateTime.now();
+    Timestamp timestamp = Timestamp.valueOf(now);
+    String segmentName = LlmUsageSegmentJdbcRepository.toSegmentName(YearMonth.from(now));
+
+    // When
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      KeyHolder keyHolder = new GeneratedKeyHolder();
+      jdbcTemplate.update(con -> {
+        PreparedStatement ps = con.prepareStatement(
+            INSERT_RETURNING_KEY_SQL.formatted(segmentName), Statement.RETURN_GENERATED_KEYS);
+        ps.setLong(1, 1L);
+        ps.setLong(2, 1L);
+        ps.setInt(3, 100);
+        ps.setTimestamp(4, timestamp);
+        ps.setTimestamp(5, timestamp);
+        return ps;
+      }, keyHolder);
+    }
+    long elapsedNanos = System.nanoTime() - startNanos;
+
+    // Then
+    report("IDENTITY 건별 INSERT", elapsedNanos);
+  }
+
+  @DisplayName("JdbcTemplate 배치 + pooled-lo 아이디 할당")
+  @Transactional
+  @Test
+  void benchmarkJdbcBatchInsert() {
+
+    // Given
+    List<LlmUsageEntity> llmUsages = createLlmUsages();
+
+    // When
+    long startNanos = System.nanoTime();
+    int insertedCount = llmUsageJdbcRepository.insertLlmUsages(llmUsages);
+    long elapsedNanos = System.nanoTime() - startNanos;
+
+    // Then
+    assertEquals(ROW_COUNT, insertedCount);
+    report("JDBC 배치 INSERT", elapsedNanos);
+  }
+
+  private List<LlmUsageEntity> createLlmUsages() {
+    LocalDateTime now = LocalDateTime.now();
+    List<LlmUsageEntity> llmUsages = new ArrayList<>(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      llmUsages.add(LlmUsageEntity.builder()
+          .userId(1L)
+          .llmId(1L)
+          .usedToken(100)
+          .createdAt(now)
+          .updatedAt(now)
+          .isDeleted(false)
+          .build());
+    }
+    return llmUsages;
+  }
+
+  private void report(String name, long elapsedNanos) {
+    double elapsedMillis = elapsedNanos / 1_000_000.0;
+    double rowsPerSecond = ROW_COUNT / (elapsedNanos / 1_000_000_000.0);
+    log.info("[benchmark] {} - {}건, {} ms, {} rows/s",
+        name, ROW_COUNT, String.format("%.1f", elapsedMillis),
+        String.format("%.0f", rowsPerSecond));
+  }
+}
@@ -0,0 +1,290 @@
+package com.wanted.assignment.llm.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.domain.repository.LlmUsageRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageJdbcRepositoryTest {
+
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 1L;
+  private static final int USED_TOKEN = 512;
+  // 초기 데이터의 LLM 사용량 3번은 LLM 3번 사용량
+  private static final long DELETE_LLM_ID = 3L;
+  private static final long DELETE_LLM_USAGE_ID = 3L;
+
+  @Autowired
+  LlmUsageJdbcRepository llmUsageJdbcRepository;
+
+  @Autowired
+  LlmUsageRepository llmUsageRepository;
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("mainJdbcTemplate")
+  JdbcTemplate jdbcTemplate;
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("insertLlmUsages - LLM 사용량 일괄 기록")
+  @Nested
+  class TestInsertLlmUsages {
+
+    @Order(1)
+    @DisplayName("JDBC 배치 크기를 초과하는 건수 일괄 기록 성공")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesSuccess() {
+
+      // Given
+      int usageCount = 2_500;
+      long beforeCount = llmUsageRepository.count();
+      LocalDateTime now = LocalDateTime.now();
+      List<LlmUsageEntity> llmUsages = new ArrayList<>(usageCount);
+      for (int i = 0; i < usageCount; i++) {
+        llmUsages.add(LlmUsageEntity.builder()
+            .userId(USER_ID)
+            .llmId(LLM_ID)
+            .usedToken(USED_TOKEN)
+            .createdAt(now)
+            .updatedAt(now)
+            .isDeleted(false)
+            .build());
+      }
+
+      // When
+      int insertedCount = llmUsageJdbcRepository.insertLlmUsages(llmUsages);
+
+      // Then
+      assertAll(
+          () -> assertEquals(usageCount, insertedCount),
+          () -> assertEquals(beforeCount + usageCount, llmUsageRepository.count()),
+          () -> assertNotNull(llmUsages.get(usageCount - 1).getId())
+      );
+    }
+
+    @Order(2)
+    @DisplayName("빈 목록인 경우 기록하지 않음")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesEmpty() {
+
+      // Given & When
+      int insertedCount = llmUsageJdbcRepository.insertLlmUsages(List.of());
+
+      // Then
+      assertEquals(0, insertedCount);
+    }
+
+    @Order(3)
+    @DisplayName("사용량 추가 시각의 월(세그먼트)이 달라도 같은 멱등 키는 한 번만 기록")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesIdempotencyKeyAcrossSegments() {
+
+      // Given
+      String idempotencyKey = "jdbc-repository-test-key";
+      LocalDateTime now = LocalDateTime.now();
+      LocalDateTime nextMonth = now.plusMonths(1).withDayOfMonth(1);
+      long beforeCount = llmUsageRepository.count();
+      LlmUsageEntity first = keyedLlmUsage(idempotencyKey, now);
+      LlmUsageEntity retried = keyedLlmUsage(idempotencyKey, nextMonth);
+      LlmUsageEntity duplicatedInBatch = keyedLlmUsage(idempotencyKey, now);
+
+      // When
+      int firstCount = llmUsageJdbcRepository.insertLlmUsages(List.of(first));
+      int retriedCount = llmUsageJdbcRepository.insertLlmUsages(
+          new ArrayList<>(List.of(retried, duplicatedInBatch)));
+
+      // Then
+      assertAll(
+          () -> assertEquals(1, firstCount),
+          () -> assertEquals(0, retriedCount),
+          () -> assertNotNull(first.getId()),
+          () -> assertNull(retried.getId()),
+          () -> assertNull(duplicatedInBatch.getId()),
+          () -> assertEquals(beforeCount + 1, llmUsageRepository.count())
+      );
+    }
+
+    @Order(4)
+    @DisplayName("다른 트랜잭션이 같은 멱등 키를 동시에 기록해도 일괄 기록 전체가 실패하지 않고 해당 행만 중복 처리")
+    @Test
+    void testInsertLlmUsagesConcurrentIdempotencyKey() throws Exception {
+
+      // Given
+      String idempotencyKey = "jdbc-repository-concurrent-key";
+      LocalDateTime now = LocalDateTime.now();
+      LlmUsageEntity first = keyedLlmUsage(idempotencyKey, now);
+      LlmUsageEntity concurrent = keyedLlmUsage(idempotencyKey, now);
+      LlmUsageEntity unkeyed = keyedLlmUsage(null, now);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+      CountDownLatch firstInserted = new CountDownLatch(1);
+      int[] concurrentCount = new int[1];
+
+      try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+        // 먼저 기록한 트랜잭션은 키를 커밋하지 않은 채 잠시 유지한 뒤 커밋
+        Future<?> firstTransaction = executor.submit(() ->
+            transactionTemplate.executeWithoutResult(status -> {
+              llmUsageJdbcRepository.insertLlmUsages(List.of(first));
+              firstInserted.countDown();
+              sleep(200);
+            }));
+        firstInserted.await();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+          concurrentCount[0] = llmUsageJdbcRepository.insertLlmUsages(
+              new ArrayList<>(List.of(concurrent, unkeyed)));
+          status.setRollbackOnly();
+        });
+        firstTransaction.get();
+      } finally {
+        deleteCommitted(first);
+      }
+
+      // Then
+      assertAll(
+          () -> assertNotNull(first.getId()),
+          () -> assertEquals(1, concurrentCount[0]),
+          () -> assertNull(concurrent.getId()),
+          () -> assertNotNull(unkeyed.getId())
+      );
+    }
+
+    private void sleep(long millis) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void deleteCommitted(LlmUsageEntity llmUsage) {
+      if (llmUsage.getId() == null) {
+        return;
+      }
+      jdbcTemplate.update("DELETE FROM %s WHERE id = ?".formatted(
+              LlmUsageSegmentJdbcRepository.toSegmentName(
+                  YearMonth.from(llmUsage.getCreatedAt()))),
+          llmUsage.getId());
+      jdbcTemplate.update("DELETE FROM llm_usage_idempotency WHERE idempotency_key = ?",
+          llmUsage.getIdempotencyKey());
+    }
+
+    private LlmUsageEntity keyedLlmUsage(String idempotencyKey, LocalDateTime createdAt) {
+      return LlmUsageEntity.builder()
+          .userId(USER_ID)
+          .llmId(LLM_ID)
+          .usedToken(USED_TOKEN)
+          .idempotencyKey(idempotencyKey)
+          .createdAt(createdAt)
+          .updatedAt(createdAt)
+          .isDeleted(false)
+          .build();
+    }
+  }
+
+  @DisplayName("allocateIds - LLM 사용량 아이디 할당")
+  @Nested
+  class TestAllocateIds {
+
+    @DisplayName("할당 크기를 초과하는 건수의 아이디를 중복 없이 할당")
+    @Test
+    void testAllocateIdsUnique() {
+
+      // Given
+      int idCount = 120;
+
+      // When
+      long[] ids = llmUsageJdbcRepository.allocateIds(idCount);
+
+      // Then
+      assertAll(
+          () -> assertEquals(idCount, ids.length),
+          () -> assertEquals(idCount, Arrays.stream(ids).distinct().count())
+      );
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("deleteLlmUsageByLlmId - LLM 사용량 삭제")
+  @Nested
+  class TestDeleteLlmUsageByLlmId {
+
+    @Order(1)
+    @DisplayName("LLM 사용량 삭제 성공")
+    @Transactional
+    @Test
+    void testDeleteLlmUsageSuccess() {
+
+      // Given & When
+      boolean isDeleted = llmUsageJdbcRepository.deleteLlmUsageByLlmId(DELETE_LLM_ID);
+      clearPersistenceContext();
+
+      // Then
+      assertAll(
+          () -> assertTrue(isDeleted),
+          () -> assertTrue(llmUsageRepository.findById(DELETE_LLM_USAGE_ID).get().getIsDeleted())
+      );
+    }
+
+    @Order(2)
+    @DisplayName("존재하지 않는 LLM 아이디인 경우 삭제하지 않음")
+    @Transactional
+    @Test
+    void testDeleteLlmUsageNonExistingLlmId() {
+
+      // Given & When
+      boolean isDeleted = llmUsageJdbcRepository.deleteLlmUsageByLlmId(999L);
+
+      // Then
+      assertFalse(isDeleted);
+    }
+  }
+
+  @Disabled
+  void clearPersistenceContext() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+}
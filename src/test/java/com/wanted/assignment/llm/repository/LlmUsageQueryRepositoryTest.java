@@ -1,15 +1,21 @@
 package com.wanted.assignment.llm.repository;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import com.wanted.assignment.domain.repository.LlmUsageRepository;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
-import jakarta.persistence.EntityManager;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Nested;
@@ -18,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,39 +33,14 @@ import org.springframework.transaction.annotation.Transactional;
 @SpringBootTest
 class LlmUsageQueryRepositoryTest {
 
-  private static final long LLM_ID = 3L;
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 1L;
 
   @Autowired
   LlmUsageQueryRepository llmUsageQueryRepository;
 
   @Autowired
-  LlmUsageRepository llmUsageRepository;
-
-  @Autowired
-  EntityManager entityManager;
-
-  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
-  @DisplayName("deleteLlmUsage - LLM 사용량 삭제")
-  @Nested
-  class TestDeleteLlmUsage {
-
-    @Order(1)
-    @DisplayName("LLM 사용량 삭제 성공")
-    @Transactional
-    @Test
-    void testDeleteLlmUsageSuccess() {
-
-      // Given & When
-      boolean isDeleted = llmUsageQueryRepository.deleteLlmUsageByLlmId(LLM_ID);
-      clearPersistenceContext();
-
-      // Then
-      assertAll(
-          () -> assertTrue(isDeleted),
-          () -> assertTrue(llmUsageRepository.findById(LLM_ID).get().getIsDeleted())
-      );
-    }
-  }
+  JdbcTemplate jdbcTemplate;
 
   @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
   @DisplayName("selectLlmUsageStats - LLM별 사용량 조회  조회")
@@ -73,16 +55,61 @@ class LlmUsageQueryRepositoryTest {
 
       // Given & When
       List<LlmUsageDto.StatsResponse> statsResponses =
-          llmUsageQueryRepository.selectLlmUsageStats();
+          llmUsageQueryRepository.selectLlmUsageStats(null, null);
 
       // Then
       assertFalse(statsResponses.isEmpty());
     }
+
+    @Order(2)
+    @DisplayName("기간을 지정하면 시간별/일별 집계 중 기간 안의 사용량만 합산")
+    @Transactional
+    @Test
+    void testSelectLlmUsageStatsRange() {
+
+      // Given (현재 데이터와 겹치지 않는 과거 기간)
+      insertHourly(LocalDateTime.of(1998, 3, 31, 23, 0), 100L);
+      insertHourly(LocalDateTime.of(1998, 4, 1, 0, 0), 200L);
+      insertDaily(LocalDate.of(1998, 2, 28), 1_000L);
+      insertDaily(LocalDate.of(1998, 3, 1), 2_000L);
+      LocalDateTime from = LocalDateTime.of(1998, 3, 1, 0, 0);
+      LocalDateTime to = LocalDateTime.of(1998, 4, 1, 0, 0);
+
+      // When
+      Map<Long, LlmUsageDto.StatsResponse> rangeStats =
+          toMap(llmUsageQueryRepository.selectLlmUsageStats(from, to));
+      Map<Long, LlmUsageDto.StatsResponse> fromStats =
+          toMap(llmUsageQueryRepository.selectLlmUsageStats(to, null));
+      Map<Long, LlmUsageDto.StatsResponse> toStats =
+          toMap(llmUsageQueryRepository.selectLlmUsageStats(null, from));
+
+      // Then
+      assertAll(
+          () -> assertEquals(2_100L, rangeStats.get(LLM_ID).getTotalUsedToken()),
+          () -> assertNull(rangeStats.get(2L).getTotalUsedToken()),
+          () -> assertEquals(1_000L, toStats.get(LLM_ID).getTotalUsedToken()),
+          () -> assertTrue(fromStats.get(LLM_ID).getTotalUsedToken() >= 200L)
+      );
+    }
+  }
+
+  private void insertHourly(LocalDateTime bucketHour, long usedToken) {
+    jdbcTemplate.update("""
+        INSERT INTO llm_usage_hourly (user_id, llm_id, bucket_hour, used_token, call_count)
+        VALUES (?, ?, ?, ?, 1)
+        """, USER_ID, LLM_ID, Timestamp.valueOf(bucketHour), usedToken);
+  }
+
+  private void insertDaily(LocalDate bucketDay, long usedToken) {
+    jdbcTemplate.update("""
+        INSERT INTO llm_usage_daily (user_id, llm_id, bucket_day, used_token, call_count)
+        VALUES (?, ?, ?, ?, 1)
+        """, USER_ID, LLM_ID, Date.valueOf(bucketDay), usedToken);
   }
 
-  @Disabled
-  void clearPersistenceContext() {
-    entityManager.flush();
-    entityManager.clear();
+  private Map<Long, LlmUsageDto.StatsResponse> toMap(
+      List<LlmUsageDto.StatsResponse> statsResponses) {
+    return statsResponses.stream()
+        .collect(Collectors.toMap(LlmUsageDto.StatsResponse::getId, Function.identity()));
   }
 }
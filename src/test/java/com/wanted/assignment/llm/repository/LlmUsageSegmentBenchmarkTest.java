@@ -0,0 +1,153 @@
+package com.wanted.assignment.llm.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 전체 행 수에 따른 기간 통계 조회 시간 비교 (월별 세그먼트 vs 단일 테이블)
+ *
+ * <p>같은 데이터를 12개월 세그먼트와 단일 테이블에 각각 저장하고, 마지막 한 달의 LLM별 사용 토큰 수를
+ * 조회한다. 세그먼트는 한 달치 세그먼트만 읽으므로 전체 행 수가 늘어도 조회 시간이 거의 일정하고, 단일
+ * 테이블은 전체 행을 읽으므로 행 수에 비례한다.
+ *
+ * <p>기본 테스트에서는 제외되며 {@code ./gradlew benchmark}로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageSegmentBenchmarkTest {
+
+  private static final int[] TOTAL_ROW_COUNTS = {60_000, 240_000, 960_000};
+  private static final int MONTH_COUNT = 12;
+  private static final int INSERT_CHUNK_SIZE = 10_000;
+  private static final int WARMUP_COUNT = 5;
+  private static final int MEASURE_COUNT = 20;
+  private static final YearMonth FIRST_MONTH = YearMonth.of(2001, 1);
+  private static final String FLAT_TABLE_NAME = "llm_usage_benchmark_flat";
+
+  private static final String CREATE_FLAT_TABLE_SQL = """
+      CREATE TABLE %s AS
+      %s
+      """;
+
+  private static final String SELECT_FLAT_USED_TOKEN_BY_LLM_ID_SQL = """
+      SELECT llm_id, SUM(used_token)
+      FROM %s
+      WHERE is_deleted = FALSE AND created_at >= ? AND created_at < ?
+      GROUP BY llm_id
+      """;
+
+  @Autowired
+  LlmUsageJdbcRepository llmUsageJdbcRepository;
+
+  @Autowired
+  LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+
+  @Autowired
+  @Qualifier("mainJdbcTemplate")
+  JdbcTemplate jdbcTemplate;
+
+  @DisplayName("전체 행 수 증가에 따른 한 달 통계 조회 시간")
+  @Test
+  void benchmarkStatsLatencyByTotalRowCount() {
+    List<YearMonth> months = new ArrayList<>(MONTH_COUNT);
+    for (int i = 0; i < MONTH_COUNT; i++) {
+      months.add(FIRST_MONTH.plusMonths(i));
+    }
+    YearMonth lastMonth = months.get(MONTH_COUNT - 1);
+    LocalDateTime from = lastMonth.atDay(1).atStartOfDay();
+    LocalDateTime to = lastMonth.plusMonths(1).atDay(1).atStartOfDay();
+
+    int insertedRowCount = 0;
+    months.forEach(llmUsageSegmentJdbcRepository::ensureSegment);
+    try {
+      for (int totalRowCount : TOTAL_ROW_COUNTS) {
+
+        // Given
+        insertLlmUsages(months, totalRowCount - insertedRowCount);
+        insertedRowCount = totalRowCount;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + FLAT_TABLE_NAME);
+        jdbcTemplate.execute(CREATE_FLAT_TABLE_SQL.formatted(
+            FLAT_TABLE_NAME, LlmUsageSegmentJdbcRepository.unionAll(months)));
+
+        // When
+        long segmentedNanos = measure(
+            () -> llmUsageJdbcRepository.selectUsedTokenByLlmId(from, to));
+        long flatNanos = measure(() -> selectFlatUsedTokenByLlmId(from, to));
+
+        // Then
+        assertEquals(
+            llmUsageJdbcRepository.selectUsedTokenByLlmId(from, to),
+            selectFlatUsedTokenByLlmId(from, to));
+        log.info("[benchmark] 전체 {}건 - 세그먼트 {} ms, 단일 테이블 {} ms",
+            totalRowCount,
+            String.format("%.2f", segmentedNanos / 1_000_000.0),
+            String.format("%.2f", flatNanos / 1_000_000.0));
+      }
+    } finally {
+      jdbcTemplate.execute("DROP TABLE IF EXISTS " + FLAT_TABLE_NAME);
+      months.forEach(llmUsageSegmentJdbcRepository::dropSegment);
+    }
+  }
+
+  private void insertLlmUsages(List<YearMonth> months, int rowCount) {
+    List<LlmUsageEntity> llmUsages = new ArrayList<>(INSERT_CHUNK_SIZE);
+    for (int i = 0; i < rowCount; i++) {
+      YearMonth month = months.get(i % months.size());
+      LocalDateTime createdAt = month.atDay(1 + i % 28).atStartOfDay();
+      llmUsages.add(LlmUsageEntity.builder()
+          .userId(1L + i % 3)
+          .llmId(1L + i % 3)
+          .usedToken(100)
+          .createdAt(createdAt)
+          .updatedAt(createdAt)
+          .isDeleted(false)
+          .build());
+      if (llmUsages.size() == INSERT_CHUNK_SIZE) {
+        llmUsageJdbcRepository.insertLlmUsages(llmUsages);
+        llmUsages = new ArrayList<>(INSERT_CHUNK_SIZE);
+      }
+    }
+    llmUsageJdbcRepository.insertLlmUsages(llmUsages);
+  }
+
+  private Map<Long, Long> selectFlatUsedTokenByLlmId(LocalDateTime from, LocalDateTime to) {
+    Map<Long, Long> usedTokenByLlmId = new HashMap<>();
+    jdbcTemplate.query(
+        SELECT_FLAT_USED_TOKEN_BY_LLM_ID_SQL.formatted(FLAT_TABLE_NAME),
+        rs -> {
+          usedTokenByLlmId.put(rs.getLong(1), rs.getLong(2));
+        },
+        Timestamp.valueOf(from), Timestamp.valueOf(to));
+    return usedTokenByLlmId;
+  }
+
+  private long measure(Runnable query) {
+    for (int i = 0; i < WARMUP_COUNT; i++) {
+      query.run();
+    }
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < MEASURE_COUNT; i++) {
+      query.run();
+    }
+    return (System.nanoTime() - startNanos) / MEASURE_COUNT;
+  }
+}
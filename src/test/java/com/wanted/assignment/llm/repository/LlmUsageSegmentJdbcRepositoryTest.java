@@ -0,0 +1,124 @@
+package com.wanted.assignment.llm.repository;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 세그먼트 생성/삭제는 DDL이라 롤백되지 않으므로, 현재 데이터와 겹치지 않는 과거 월을 사용하고 테스트
+ * 후 세그먼트를 삭제한다.
+ */
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageSegmentJdbcRepositoryTest {
+
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 1L;
+  private static final YearMonth JANUARY = YearMonth.of(2000, 1);
+  private static final YearMonth FEBRUARY = YearMonth.of(2000, 2);
+
+  @Autowired
+  LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+
+  @Autowired
+  LlmUsageJdbcRepository llmUsageJdbcRepository;
+
+  @AfterEach
+  void dropTestSegments() {
+    llmUsageSegmentJdbcRepository.dropSegment(JANUARY);
+    llmUsageSegmentJdbcRepository.dropSegment(FEBRUARY);
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("ensureSegment, dropSegment - 세그먼트 생성 및 삭제")
+  @Nested
+  class TestEnsureAndDropSegment {
+
+    @Order(1)
+    @DisplayName("세그먼트를 생성하고 삭제하면 세그먼트 목록에 반영됨")
+    @Test
+    void testEnsureAndDropSegment() {
+
+      // Given & When
+      boolean created = llmUsageSegmentJdbcRepository.ensureSegment(JANUARY);
+      boolean createdAgain = llmUsageSegmentJdbcRepository.ensureSegment(JANUARY);
+      boolean existsAfterCreate = llmUsageSegmentJdbcRepository.hasSegment(JANUARY);
+      boolean dropped = llmUsageSegmentJdbcRepository.dropSegment(JANUARY);
+
+      // Then
+      assertAll(
+          () -> assertTrue(created),
+          () -> assertFalse(createdAgain),
+          () -> assertTrue(existsAfterCreate),
+          () -> assertTrue(dropped),
+          () -> assertFalse(llmUsageSegmentJdbcRepository.hasSegment(JANUARY)),
+          () -> assertFalse(llmUsageSegmentJdbcRepository.refreshSegments().contains(JANUARY))
+      );
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("selectSegmentsBetween - 기간과 겹치는 세그먼트 조회")
+  @Nested
+  class TestSelectSegmentsBetween {
+
+    @Order(1)
+    @DisplayName("사용량 추가 시각의 월별 세그먼트에 저장되고, 기간 조회는 겹치는 세그먼트만 조회")
+    @Test
+    void testInsertRoutedAndSelectPruned() {
+
+      // Given
+      llmUsageSegmentJdbcRepository.ensureSegment(JANUARY);
+      llmUsageSegmentJdbcRepository.ensureSegment(FEBRUARY);
+      List<LlmUsageEntity> llmUsages = new ArrayList<>();
+      llmUsages.add(createLlmUsage(JANUARY.atDay(10).atStartOfDay(), 100));
+      llmUsages.add(createLlmUsage(FEBRUARY.atDay(10).atStartOfDay(), 200));
+      llmUsages.add(createLlmUsage(FEBRUARY.atEndOfMonth().atTime(23, 59), 300));
+
+      // When
+      int insertedCount = llmUsageJdbcRepository.insertLlmUsages(llmUsages);
+      LocalDateTime from = FEBRUARY.atDay(1).atStartOfDay();
+      LocalDateTime to = FEBRUARY.plusMonths(1).atDay(1).atStartOfDay();
+      List<YearMonth> segments = llmUsageSegmentJdbcRepository.selectSegmentsBetween(from, to);
+      Map<Long, Long> usedTokenByLlmId = llmUsageJdbcRepository.selectUsedTokenByLlmId(from, to);
+
+      // Then
+      assertAll(
+          () -> assertEquals(3, insertedCount),
+          () -> assertEquals(List.of(FEBRUARY), segments),
+          () -> assertEquals(500L, usedTokenByLlmId.get(LLM_ID))
+      );
+    }
+  }
+
+  private LlmUsageEntity createLlmUsage(LocalDateTime createdAt, int usedToken) {
+    return LlmUsageEntity.builder()
+        .userId(USER_ID)
+        .llmId(LLM_ID)
+        .usedToken(usedToken)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .isDeleted(false)
+        .build();
+  }
+}
@@ -0,0 +1,160 @@
+package com.wanted.assignment.llm.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 기간 통계 조회 시간 비교 (전체 집계 행 수 증가 vs 조회 기간 증가)
+ *
+ * <p>시간별 집계에 (사용자 3 x LLM 3)개씩 시간 단위 행을 채우고 LLM별 사용량을 기간으로 조회한다. 커버링
+ * 인덱스로 기간 범위만 읽으므로, 같은 한 달을 조회하면 전체 행 수가 늘어도 조회 시간이 거의 일정하고,
+ * 전체 행 수가 같으면 조회 시간은 기간(읽는 행 수)에 비례한다.
+ *
+ * <p>압축 작업이 채운 행을 옮기지 않도록 압축을 끄고 실행하며, 기본 테스트에서는 제외되므로
+ * {@code ./gradlew benchmark}로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("local")
+@SpringBootTest(properties = "usage.compaction.enabled=false")
+class LlmUsageStatsRangeBenchmarkTest {
+
+  private static final int[] TOTAL_HOUR_COUNTS = {24 * 90, 24 * 360, 24 * 1440};
+  private static final int[] RANGE_DAYS = {1, 7, 30, 90, 360};
+  private static final int FIXED_RANGE_DAYS = 30;
+  private static final long ID_COUNT = 3L;
+  private static final int INSERT_CHUNK_SIZE = 10_000;
+  private static final int WARMUP_COUNT = 5;
+  private static final int MEASURE_COUNT = 20;
+  private static final long USED_TOKEN = 100L;
+  private static final LocalDateTime FIRST_HOUR = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+  private static final String INSERT_HOURLY_SQL = """
+      INSERT INTO llm_usage_hourly (user_id, llm_id, bucket_hour, used_token, call_count)
+      VALUES (?, ?, ?, ?, 1)
+      """;
+
+  private static final String DELETE_HOURLY_SQL = """
+      DELETE FROM llm_usage_hourly WHERE bucket_hour >= ? AND bucket_hour < ?
+      """;
+
+  @Autowired
+  LlmUsageQueryRepository llmUsageQueryRepository;
+
+  @Autowired
+  @Qualifier("mainJdbcTemplate")
+  JdbcTemplate jdbcTemplate;
+
+  private int insertedHourCount;
+
+  @AfterEach
+  void deleteBenchmarkUsages() {
+    jdbcTemplate.update(DELETE_HOURLY_SQL, Timestamp.valueOf(FIRST_HOUR),
+        Timestamp.valueOf(FIRST_HOUR.plusHours(insertedHourCount)));
+    insertedHourCount = 0;
+  }
+
+  @DisplayName("전체 집계 행 수 증가에 따른 한 달 기간 통계 조회 시간")
+  @Test
+  void benchmarkStatsLatencyByTotalRowCount() {
+    LocalDateTime from = FIRST_HOUR;
+    LocalDateTime to = FIRST_HOUR.plusDays(FIXED_RANGE_DAYS);
+
+    for (int totalHourCount : TOTAL_HOUR_COUNTS) {
+
+      // Given
+      insertHourly(totalHourCount);
+
+      // When
+      long rangeNanos = measure(() -> llmUsageQueryRepository.selectLlmUsageStats(from, to));
+
+      // Then
+      assertEquals(FIXED_RANGE_DAYS * 24L * ID_COUNT * USED_TOKEN, selectUsedToken(from, to));
+      log.info("[benchmark] 집계 {}건 - {}일 기간 조회 {} ms",
+          totalHourCount * ID_COUNT * ID_COUNT, FIXED_RANGE_DAYS,
+          String.format("%.2f", rangeNanos / 1_000_000.0));
+    }
+  }
+
+  @DisplayName("조회 기간 증가에 따른 기간 통계 조회 시간")
+  @Test
+  void benchmarkStatsLatencyByRange() {
+
+    // Given
+    int totalHourCount = TOTAL_HOUR_COUNTS[TOTAL_HOUR_COUNTS.length - 1];
+    insertHourly(totalHourCount);
+    long allNanos = measure(() -> llmUsageQueryRepository.selectLlmUsageStats(
+        FIRST_HOUR, FIRST_HOUR.plusHours(totalHourCount)));
+
+    for (int rangeDays : RANGE_DAYS) {
+      LocalDateTime from = FIRST_HOUR;
+      LocalDateTime to = FIRST_HOUR.plusDays(rangeDays);
+
+      // When
+      long rangeNanos = measure(() -> llmUsageQueryRepository.selectLlmUsageStats(from, to));
+
+      // Then
+      assertEquals(rangeDays * 24L * ID_COUNT * USED_TOKEN, selectUsedToken(from, to));
+      log.info("[benchmark] 집계 {}건 - {}일 기간 조회 {} ms (전체 기간 {} ms)",
+          totalHourCount * ID_COUNT * ID_COUNT, rangeDays,
+          String.format("%.2f", rangeNanos / 1_000_000.0),
+          String.format("%.2f", allNanos / 1_000_000.0));
+    }
+  }
+
+  /**
+   * 이미 채운 시간 다음부터 전체 시간 수까지 (사용자, LLM)별 시간별 집계 행을 채움
+   */
+  private void insertHourly(int totalHourCount) {
+    List<Object[]> args = new ArrayList<>(INSERT_CHUNK_SIZE);
+    for (int hour = insertedHourCount; hour < totalHourCount; hour++) {
+      Timestamp bucketHour = Timestamp.valueOf(FIRST_HOUR.plusHours(hour));
+      for (long userId = 1; userId <= ID_COUNT; userId++) {
+        for (long llmId = 1; llmId <= ID_COUNT; llmId++) {
+          args.add(new Object[]{userId, llmId, bucketHour, USED_TOKEN});
+        }
+      }
+      if (args.size() >= INSERT_CHUNK_SIZE) {
+        jdbcTemplate.batchUpdate(INSERT_HOURLY_SQL, args);
+        args = new ArrayList<>(INSERT_CHUNK_SIZE);
+      }
+    }
+    if (!args.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_HOURLY_SQL, args);
+    }
+    insertedHourCount = totalHourCount;
+  }
+
+  private long selectUsedToken(LocalDateTime from, LocalDateTime to) {
+    return llmUsageQueryRepository.selectLlmUsageStats(from, to).stream()
+        .filter(statsResponse -> statsResponse.getId() == 1L)
+        .mapToLong(LlmUsageDto.StatsResponse::getTotalUsedToken)
+        .sum();
+  }
+
+  private long measure(Runnable query) {
+    for (int i = 0; i < WARMUP_COUNT; i++) {
+      query.run();
+    }
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < MEASURE_COUNT; i++) {
+      query.run();
+    }
+    return (System.nanoTime() - startNanos) / MEASURE_COUNT;
+  }
+}
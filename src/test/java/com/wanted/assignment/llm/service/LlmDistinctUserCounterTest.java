@@ -0,0 +1,155 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 스케치는 커밋된 기록만 반영하고 DB 사용량과 별개로 저장되므로, 현재 데이터와 겹치지 않는 과거 일자의 사용량
+ * 엔티티를 스케치에 직접 더하고 테스트 후 저장된 스케치를 삭제하여 다시 적재한다.
+ */
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmDistinctUserCounterTest {
+
+  private static final long LLM_ID = 1L;
+  private static final LocalDate FIRST_DAY = LocalDate.of(1997, 3, 1);
+  private static final LocalDate TEST_END = LocalDate.of(1998, 1, 1);
+
+  @Autowired
+  LlmDistinctUserCounter llmDistinctUserCounter;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  private long nextId = 1L;
+
+  @AfterEach
+  void deleteTestSketches() {
+    jdbcTemplate.update("DELETE FROM llm_usage_distinct_daily WHERE bucket_day < ?",
+        Date.valueOf(TEST_END));
+    llmDistinctUserCounter.reload();
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("estimate - 기간 내 LLM 사용자 수 추정")
+  @Nested
+  class TestEstimate {
+
+    @Order(1)
+    @DisplayName("기간과 겹치는 일별 스케치를 합쳐 같은 사용자는 한 번만 셈")
+    @Test
+    void testEstimateMergesDays() {
+
+      // Given (1일차 사용자 1, 2 / 2일차 사용자 2, 3)
+      llmDistinctUserCounter.add(List.of(
+          usage(1L, FIRST_DAY), usage(2L, FIRST_DAY), usage(2L, FIRST_DAY),
+          usage(2L, FIRST_DAY.plusDays(1)), usage(3L, FIRST_DAY.plusDays(1))));
+
+      // When
+      long firstDay = estimate(FIRST_DAY, FIRST_DAY.plusDays(1));
+      long secondDay = estimate(FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(2));
+      long bothDays = estimate(FIRST_DAY, FIRST_DAY.plusDays(2));
+      long partialDays = llmDistinctUserCounter.estimate(LLM_ID,
+          FIRST_DAY.atTime(12, 0), FIRST_DAY.plusDays(1).atTime(1, 0));
+
+      // Then
+      assertAll(
+          () -> assertEquals(2L, firstDay),
+          () -> assertEquals(2L, secondDay),
+          () -> assertEquals(3L, bothDays),
+          () -> assertEquals(3L, partialDays),
+          () -> assertEquals(0L, estimate(FIRST_DAY.plusDays(2), FIRST_DAY.plusDays(3)))
+      );
+    }
+
+    @Order(2)
+    @DisplayName("롤백된 트랜잭션의 기록은 반영되지 않고 커밋된 기록만 반영")
+    @Test
+    void testEstimateAfterCommit() {
+
+      // Given
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+      // When
+      long insideRollback = transactionTemplate.execute(status -> {
+        llmDistinctUserCounter.add(List.of(usage(1L, FIRST_DAY)));
+        status.setRollbackOnly();
+        return estimate(FIRST_DAY, FIRST_DAY.plusDays(1));
+      });
+      long afterRollback = estimate(FIRST_DAY, FIRST_DAY.plusDays(1));
+      transactionTemplate.executeWithoutResult(
+          status -> llmDistinctUserCounter.add(List.of(usage(1L, FIRST_DAY))));
+      long afterCommit = estimate(FIRST_DAY, FIRST_DAY.plusDays(1));
+
+      // Then
+      assertAll(
+          () -> assertEquals(0L, insideRollback),
+          () -> assertEquals(0L, afterRollback),
+          () -> assertEquals(1L, afterCommit)
+      );
+    }
+
+    @Order(3)
+    @DisplayName("저장한 스케치를 다시 적재해도 같은 추정값")
+    @Test
+    void testEstimateAfterFlushAndReload() {
+
+      // Given
+      llmDistinctUserCounter.add(List.of(
+          usage(1L, FIRST_DAY), usage(2L, FIRST_DAY), usage(3L, FIRST_DAY.plusDays(1))));
+      long before = estimate(FIRST_DAY, FIRST_DAY.plusDays(2));
+
+      // When
+      llmDistinctUserCounter.flush();
+      llmDistinctUserCounter.reload();
+
+      // Then
+      assertAll(
+          () -> assertEquals(3L, before),
+          () -> assertEquals(before, estimate(FIRST_DAY, FIRST_DAY.plusDays(2))),
+          () -> assertEquals(2L, estimate(FIRST_DAY, FIRST_DAY.plusDays(1)))
+      );
+    }
+  }
+
+  private long estimate(LocalDate from, LocalDate to) {
+    return llmDistinctUserCounter.estimate(LLM_ID, from.atStartOfDay(), to.atStartOfDay());
+  }
+
+  private LlmUsageEntity usage(long userId, LocalDate day) {
+    LocalDateTime createdAt = day.atTime(10, 0);
+    return LlmUsageEntity.builder()
+        .id(nextId++)
+        .userId(userId)
+        .llmId(LLM_ID)
+        .usedToken(100)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .isDeleted(false)
+        .build();
+  }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.common.exception.ApiException;
 import com.wanted.assignment.common.type.ApiStatus;
 import com.wanted.assignment.domain.entity.LlmEntity;
@@ -14,6 +15,7 @@ import com.wanted.assignment.domain.repository.LlmUsageRepository;
 import com.wanted.assignment.llm.dto.LlmDto;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
@@ -129,7 +131,8 @@ class LlmServiceTest {
       LlmDto.SelectRequest selectRequest = LlmDto.SelectRequest.builder().build();
 
       // When
-      List<LlmDto.SelectResponse> llmList = llmService.getLlmList(selectRequest);
+      List<LlmDto.SelectResponse> llmList =
+          llmService.getLlmList(selectRequest, null, Constants.PAGE_DEFAULT_LIMIT).getItems();
 
       // Then
       assertFalse(llmList.isEmpty());
@@ -146,11 +149,68 @@ class LlmServiceTest {
       llmRepository.deleteAll();
 
       // When
-      List<LlmDto.SelectResponse> llmList = llmService.getLlmList(selectRequest);
+      List<LlmDto.SelectResponse> llmList =
+          llmService.getLlmList(selectRequest, null, Constants.PAGE_DEFAULT_LIMIT).getItems();
 
       // Then
       assertTrue(llmList.isEmpty());
     }
+
+    @Order(3)
+    @DisplayName("다음 커서로 이어서 조회하면 전체 목록을 아이디 순으로 중복 없이 조회")
+    @Transactional
+    @Test
+    void testGetLlmListPaging() {
+
+      // Given
+      LlmDto.SelectRequest selectRequest = LlmDto.SelectRequest.builder().build();
+      List<Long> expectedIds = llmService
+          .getLlmList(selectRequest, null, Constants.PAGE_MAX_LIMIT).getItems().stream()
+          .map(LlmDto.SelectResponse::getId)
+          .toList();
+
+      // When
+      List<Long> pagedIds = new ArrayList<>();
+      int pageCount = 0;
+      String cursor = null;
+      do {
+        LlmDto.SelectPageResponse page = llmService.getLlmList(selectRequest, cursor, 1);
+        page.getItems().forEach(item -> pagedIds.add(item.getId()));
+        cursor = page.getNextCursor();
+        pageCount++;
+      } while (cursor != null);
+      int totalPageCount = pageCount;
+
+      // Then
+      assertAll(
+          () -> assertEquals(expectedIds, pagedIds),
+          () -> assertEquals(expectedIds.size(), totalPageCount)
+      );
+    }
+
+    @Order(4)
+    @DisplayName("조회 건수가 범위를 벗어나거나 커서가 유효하지 않은 경우 예외 발생")
+    @Test
+    void testGetLlmListInvalid() {
+
+      // Given
+      LlmDto.SelectRequest selectRequest = LlmDto.SelectRequest.builder().build();
+
+      // When
+      ApiException limitException = Assertions.assertThrows(ApiException.class,
+          () -> llmService.getLlmList(selectRequest, null, Constants.PAGE_MAX_LIMIT + 1));
+      ApiException cursorException = Assertions.assertThrows(ApiException.class,
+          () -> llmService.getLlmList(
+              selectRequest, "invalid-cursor", Constants.PAGE_DEFAULT_LIMIT));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              limitException.getStatus().getCode()),
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              cursorException.getStatus().getCode())
+      );
+    }
   }
 
   @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -0,0 +1,140 @@
+package com.wanted.assignment.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 기간을 지정한 LLM별 사용량 조회의 QueryDSL(집계 뷰 GROUP BY) 경로와 열 저장소 경로 비교
+ *
+ * <p>사용자 3명 x LLM 3개의 시간별 집계 약 200만 행을 현재 데이터와 겹치지 않는 과거 기간에 적재하고, 1년과
+ * 전체 기간을 각각 두 경로로 조회하여 평균 시간을 기록한다. 두 경로의 결과가 같은지도 함께 확인한다.
+ *
+ * <p>기본 테스트에서는 제외되며 {@code ./gradlew benchmark}로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("local")
+@SpringBootTest(properties = "usage.columnar.max-rows=10000000")
+class LlmUsageColumnStoreBenchmarkTest {
+
+  private static final int ROW_COUNT = 2_000_000;
+  private static final int PAIR_COUNT = 9;
+  private static final int INSERT_BATCH_SIZE = 10_000;
+  private static final LocalDateTime FIRST_HOUR = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final LocalDateTime LAST_HOUR =
+      FIRST_HOUR.plusHours(ROW_COUNT / PAIR_COUNT - 1);
+  private static final int WARMUP_COUNT = 3;
+  private static final int MEASURE_COUNT = 10;
+
+  @Autowired
+  LlmUsageColumnStore llmUsageColumnStore;
+
+  @Autowired
+  LlmUsageQueryRepository llmUsageQueryRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void deleteBenchmarkSummaries() {
+    jdbcTemplate.update("DELETE FROM llm_usage_hourly WHERE bucket_hour <= ?",
+        Timestamp.valueOf(LAST_HOUR));
+    llmUsageColumnStore.reload();
+  }
+
+  @DisplayName("시간별 집계 200만 행에서 기간 LLM별 사용량 조회 시간")
+  @Test
+  void benchmarkLlmUsageStats() {
+
+    // Given
+    insertHourlySummaries();
+    long loadStartNanos = System.nanoTime();
+    llmUsageColumnStore.reload();
+    long loadNanos = System.nanoTime() - loadStartNanos;
+    LocalDateTime yearFrom = FIRST_HOUR.plusYears(10);
+
+    // When & Then
+    assertThat(llmUsageColumnStore.isAvailable()).isTrue();
+    compare("1년", yearFrom, yearFrom.plusYears(1));
+    compare("전체", FIRST_HOUR, LAST_HOUR.plusHours(1));
+    log.info("[benchmark] 열 저장소 적재 {} ms", loadNanos / 1_000_000);
+  }
+
+  private void compare(String name, LocalDateTime from, LocalDateTime to) {
+    Map<Long, Long> sqlStats = toMap(llmUsageQueryRepository.selectLlmUsageStats(from, to));
+    Map<Long, Long> columnStats = toMap(llmUsageColumnStore.getLlmUsageStats(from, to));
+    assertThat(columnStats).isEqualTo(sqlStats);
+
+    double sqlMillis = measure(() -> llmUsageQueryRepository.selectLlmUsageStats(from, to));
+    double columnMillis = measure(() -> llmUsageColumnStore.getLlmUsageStats(from, to));
+    log.info("[benchmark] {} 기간 LLM별 사용량 조회 - QueryDSL {} ms, 열 저장소 {} ms ({}배)",
+        name,
+        String.format("%.2f", sqlMillis),
+        String.format("%.2f", columnMillis),
+        String.format("%.1f", sqlMillis / columnMillis));
+  }
+
+  private double measure(Supplier<List<LlmUsageDto.StatsResponse>> query) {
+    for (int i = 0; i < WARMUP_COUNT; i++) {
+      query.get();
+    }
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < MEASURE_COUNT; i++) {
+      query.get();
+    }
+    return (System.nanoTime() - startNanos) / 1_000_000.0 / MEASURE_COUNT;
+  }
+
+  private void insertHourlySummaries() {
+    int hourCount = ROW_COUNT / PAIR_COUNT;
+    for (int start = 0; start < hourCount; start += INSERT_BATCH_SIZE) {
+      int batchStart = start;
+      int batchHours = Math.min(INSERT_BATCH_SIZE, hourCount - start);
+      jdbcTemplate.batchUpdate(
+          "INSERT INTO llm_usage_hourly VALUES (?, ?, ?, ?, 1)",
+          new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+              int hour = batchStart + i / PAIR_COUNT;
+              int pair = i % PAIR_COUNT;
+              ps.setLong(1, 1L + pair / 3);
+              ps.setLong(2, 1L + pair % 3);
+              ps.setTimestamp(3, Timestamp.valueOf(FIRST_HOUR.plusHours(hour)));
+              ps.setLong(4, 100L + (hour + pair) % 1_000);
+            }
+
+            @Override
+            public int getBatchSize() {
+              return batchHours * PAIR_COUNT;
+            }
+          });
+    }
+  }
+
+  private Map<Long, Long> toMap(List<LlmUsageDto.StatsResponse> statsResponses) {
+    Map<Long, Long> usedTokenByLlmId = new HashMap<>();
+    statsResponses.forEach(statsResponse -> usedTokenByLlmId.put(
+        statsResponse.getId(), statsResponse.getTotalUsedToken()));
+    return usedTokenByLlmId;
+  }
+}
@@ -0,0 +1,291 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.common.index.OffHeapUsageColumns;
+import com.wanted.assignment.common.index.UsageSumKernel;
+import com.wanted.assignment.common.index.UsageSumKernels;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmDto;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
+import com.wanted.assignment.users.dto.UsersDto;
+import com.wanted.assignment.users.repository.UsersQueryRepository;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 열 저장소는 커밋된 집계를 적재하므로, 현재 데이터와 겹치지 않는 과거 기간의 시간별/일별 집계를 커밋하고
+ * 다시 적재한 뒤 SQL 조회 결과와 비교한다. 테스트 후 추가한 집계를 삭제하고 다시 적재한다.
+ */
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageColumnStoreTest {
+
+  private static final LocalDate COMPACTED_DAY = LocalDate.of(1996, 2, 10);
+  private static final LocalDateTime FIRST_HOUR = LocalDateTime.of(1996, 3, 1, 9, 0);
+  private static final LocalDateTime TEST_END = LocalDateTime.of(1997, 1, 1, 0, 0);
+
+  @Autowired
+  LlmUsageColumnStore llmUsageColumnStore;
+
+  @Autowired
+  LlmUsageQueryRepository llmUsageQueryRepository;
+
+  @Autowired
+  LlmUsageJdbcRepository llmUsageJdbcRepository;
+
+  @Autowired
+  LlmCatalog llmCatalog;
+
+  @Autowired
+  UsersQueryRepository usersQueryRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void insertTestSummaries() {
+    for (int hour = 0; hour < 6; hour++) {
+      for (long userId = 1; userId <= 3; userId++) {
+        for (long llmId = 1; llmId <= 2; llmId++) {
+          jdbcTemplate.update(
+              "INSERT INTO llm_usage_hourly VALUES (?, ?, ?, ?, 1)",
+              userId, llmId, Timestamp.valueOf(FIRST_HOUR.plusHours(hour)),
+              userId * 100 + llmId * 10 + hour);
+        }
+      }
+    }
+    jdbcTemplate.update("INSERT INTO llm_usage_daily VALUES (1, 1, ?, 5000, 10)",
+        Date.valueOf(COMPACTED_DAY));
+    llmUsageColumnStore.reload();
+  }
+
+  @AfterEach
+  void deleteTestSummaries() {
+    jdbcTemplate.update("DELETE FROM llm_usage_hourly WHERE bucket_hour < ?",
+        Timestamp.valueOf(TEST_END));
+    jdbcTemplate.update("DELETE FROM llm_usage_daily WHERE bucket_day < ?",
+        Date.valueOf(TEST_END.toLocalDate()));
+    llmUsageColumnStore.reload();
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("getLlmUsageStats - 기간 내 LLM별 사용량 조회")
+  @Nested
+  class TestGetLlmUsageStats {
+
+    @Order(1)
+    @DisplayName("시간 경계, 시간 중간 경계, 압축된 일별 집계를 포함한 기간 모두 SQL 조회와 같음")
+    @Test
+    void testGetLlmUsageStatsMatchesSql() {
+
+      // Given
+      List<LocalDateTime[]> ranges = List.of(
+          new LocalDateTime[]{FIRST_HOUR, FIRST_HOUR.plusHours(6)},
+          new LocalDateTime[]{FIRST_HOUR.plusMinutes(30), FIRST_HOUR.plusHours(3)},
+          new LocalDateTime[]{FIRST_HOUR.plusHours(1), FIRST_HOUR.plusHours(4).plusSeconds(1)},
+          new LocalDateTime[]{COMPACTED_DAY.atStartOfDay(), FIRST_HOUR.plusHours(2)},
+          new LocalDateTime[]{COMPACTED_DAY.atTime(1, 0), FIRST_HOUR});
+
+      // When & Then
+      assertTrue(llmUsageColumnStore.isAvailable());
+      for (LocalDateTime[] range : ranges) {
+        Map<Long, Long> columnStats = toMap(
+            llmUsageColumnStore.getLlmUsageStats(range[0], range[1]));
+        Map<Long, Long> sqlStats = toMap(
+            llmUsageQueryRepository.selectLlmUsageStats(range[0], range[1]));
+        assertEquals(sqlStats, columnStats, range[0] + " ~ " + range[1]);
+      }
+    }
+
+    @Order(2)
+    @DisplayName("기간에 사용량이 없는 LLM은 합계와 금액이 null")
+    @Test
+    void testGetLlmUsageStatsEmptyRange() {
+
+      // When
+      List<LlmUsageDto.StatsResponse> statsResponses = llmUsageColumnStore.getLlmUsageStats(
+          FIRST_HOUR.minusDays(1), FIRST_HOUR);
+
+      // Then
+      assertAll(
+          () -> assertTrue(statsResponses.size() >= 3),
+          () -> assertNull(statsResponses.get(1).getTotalUsedToken()),
+          () -> assertNull(statsResponses.get(1).getTotalPrice())
+      );
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("getUserLlmUsages - 기간 내 특정 사용자 LLM별 사용량 조회")
+  @Nested
+  class TestGetUserLlmUsages {
+
+    @Order(1)
+    @DisplayName("사용자별 기간 조회 결과가 SQL 조회와 같음")
+    @Test
+    void testGetUserLlmUsagesMatchesSql() {
+
+      // Given
+      LocalDateTime from = COMPACTED_DAY.atStartOfDay();
+      LocalDateTime to = FIRST_HOUR.plusHours(4).plusMinutes(10);
+
+      // When & Then
+      for (long userId = 1; userId <= 3; userId++) {
+        List<UsersDto.LlmUsage> columnUsages =
+            llmUsageColumnStore.getUserLlmUsages(userId, from, to);
+        List<UsersDto.LlmUsage> sqlUsages =
+            usersQueryRepository.selectUserLlmUsage(userId, from, to);
+        assertEquals(toUsageMap(sqlUsages), toUsageMap(columnUsages), "user " + userId);
+      }
+    }
+
+    @Order(2)
+    @DisplayName("롤백된 트랜잭션의 기록은 추가되지 않고 커밋된 기록만 추가")
+    @Test
+    void testAddAfterCommit() {
+
+      // Given
+      LocalDateTime createdAt = LocalDateTime.of(1996, 4, 1, 10, 15);
+      LocalDateTime from = createdAt.withMinute(0);
+      LocalDateTime to = from.plusHours(1);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+      // When
+      transactionTemplate.executeWithoutResult(status -> {
+        llmUsageColumnStore.add(List.of(usage(createdAt)));
+        status.setRollbackOnly();
+      });
+      List<UsersDto.LlmUsage> afterRollback = llmUsageColumnStore.getUserLlmUsages(1L, from, to);
+      transactionTemplate.executeWithoutResult(
+          status -> llmUsageColumnStore.add(List.of(usage(createdAt))));
+      List<UsersDto.LlmUsage> afterCommit = llmUsageColumnStore.getUserLlmUsages(1L, from, to);
+
+      // Then
+      assertAll(
+          () -> assertTrue(afterRollback.isEmpty()),
+          () -> assertEquals(1, afterCommit.size()),
+          () -> assertEquals(700L, afterCommit.get(0).getTotalUsedToken())
+      );
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("UsageSumKernel - 열 합계 커널")
+  @Nested
+  class TestUsageSumKernel {
+
+    @Order(1)
+    @DisplayName("스칼라 커널과 SIMD 커널 모두 LLM별 사용 토큰 수와 금액이 SQL 조회와 같음")
+    @Test
+    void testKernelsMatchSql() {
+
+      // Given
+      List<UsageSumKernel> kernels = new ArrayList<>(List.of(UsageSumKernels.scalar()));
+      if (UsageSumKernels.isVectorSupported()) {
+        kernels.add(UsageSumKernels.vector());
+      }
+      List<LocalDateTime[]> ranges = List.of(
+          new LocalDateTime[]{null, null},
+          new LocalDateTime[]{FIRST_HOUR, FIRST_HOUR.plusHours(6)},
+          new LocalDateTime[]{FIRST_HOUR.plusHours(1), FIRST_HOUR.plusHours(4)},
+          new LocalDateTime[]{COMPACTED_DAY.atStartOfDay(), FIRST_HOUR.plusHours(2)});
+
+      // When & Then
+      for (UsageSumKernel kernel : kernels) {
+        OffHeapUsageColumns columns = load(kernel);
+        for (LocalDateTime[] range : ranges) {
+          Map<Long, List<Long>> sqlStats = new HashMap<>();
+          llmUsageQueryRepository.selectLlmUsageStats(range[0], range[1])
+              .forEach(statsResponse -> sqlStats.put(statsResponse.getId(), Arrays.asList(
+                  statsResponse.getTotalUsedToken(), statsResponse.getTotalPrice())));
+          OffHeapUsageColumns.LlmTotals totals = columns.sumByLlm(null,
+              range[0] == null ? Long.MIN_VALUE : toEpochHour(range[0]),
+              range[1] == null ? Long.MAX_VALUE : toEpochHour(range[1]));
+          assertEquals(sqlStats, toStats(totals),
+              kernel.name() + " " + range[0] + " ~ " + range[1]);
+        }
+      }
+    }
+
+    private OffHeapUsageColumns load(UsageSumKernel kernel) {
+      OffHeapUsageColumns columns = new OffHeapUsageColumns(1_024, 1_000_000L, kernel);
+      llmUsageJdbcRepository.selectSummaryRows((userId, llmId, bucketTime, usedToken) ->
+          columns.append(userId, llmId, toEpochHour(bucketTime), usedToken));
+      return columns;
+    }
+
+    private Map<Long, List<Long>> toStats(OffHeapUsageColumns.LlmTotals totals) {
+      Map<Long, List<Long>> stats = new HashMap<>();
+      for (LlmDto.SelectResponse llm : llmCatalog.getAll()) {
+        Long totalUsedToken = totals.getRowCount(llm.getId()) == 0L
+            ? null
+            : totals.getUsedToken(llm.getId());
+        stats.put(llm.getId(), Arrays.asList(totalUsedToken,
+            totalUsedToken == null ? null : totalUsedToken * llm.getPricePerToken()));
+      }
+      return stats;
+    }
+
+    private long toEpochHour(LocalDateTime dateTime) {
+      return LlmUsageDistributionCounter.toEpochHour(dateTime);
+    }
+  }
+
+  private Map<Long, Long> toMap(List<LlmUsageDto.StatsResponse> statsResponses) {
+    Map<Long, Long> usedTokenByLlmId = new HashMap<>();
+    statsResponses.forEach(statsResponse -> usedTokenByLlmId.put(
+        statsResponse.getId(), statsResponse.getTotalUsedToken()));
+    return usedTokenByLlmId;
+  }
+
+  private Map<Long, Long> toUsageMap(List<UsersDto.LlmUsage> llmUsages) {
+    Map<Long, Long> usedTokenByLlmId = new HashMap<>();
+    llmUsages.forEach(llmUsage -> usedTokenByLlmId.put(
+        llmUsage.getId(), llmUsage.getTotalUsedToken()));
+    return usedTokenByLlmId;
+  }
+
+  private LlmUsageEntity usage(LocalDateTime createdAt) {
+    return LlmUsageEntity.builder()
+        .id(1L)
+        .userId(1L)
+        .llmId(1L)
+        .usedToken(700)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .isDeleted(false)
+        .build();
+  }
+}
@@ -0,0 +1,219 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
+import com.wanted.assignment.llm.repository.LlmUsageSegmentJdbcRepository;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 압축은 세그먼트 삭제(DDL)와 여러 트랜잭션으로 나뉘어 실행되어 롤백되지 않으므로, 현재 데이터와 겹치지
+ * 않는 과거 월을 사용하고 테스트 후 세그먼트와 집계를 삭제한다.
+ */
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageCompactorTest {
+
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 1L;
+  private static final YearMonth NOVEMBER = YearMonth.of(1999, 11);
+  private static final YearMonth DECEMBER = YearMonth.of(1999, 12);
+  private static final LocalDateTime TEST_END = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+  private static final String SELECT_DAILY_SQL = """
+      SELECT used_token, call_count FROM llm_usage_daily
+      WHERE user_id = ? AND llm_id = ? AND bucket_day = ?
+      """;
+
+  private static final String COUNT_HOURLY_BEFORE_SQL = """
+      SELECT COUNT(*) FROM llm_usage_hourly WHERE bucket_hour < ?
+      """;
+
+  @Autowired
+  LlmUsageCompactor llmUsageCompactor;
+
+  @Autowired
+  LlmUsageWriter llmUsageWriter;
+
+  @Autowired
+  LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+
+  @Autowired
+  LlmUsageQueryRepository llmUsageQueryRepository;
+
+  @Autowired
+  LlmUsageStatsCounter llmUsageStatsCounter;
+
+  @Autowired
+  UserLlmUsageCounter userLlmUsageCounter;
+
+  @Autowired
+  LlmTopUserCounter llmTopUserCounter;
+
+  @Autowired
+  LlmDistinctUserCounter llmDistinctUserCounter;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void deleteTestUsages() {
+    llmUsageSegmentJdbcRepository.dropSegment(NOVEMBER);
+    llmUsageSegmentJdbcRepository.dropSegment(DECEMBER);
+    jdbcTemplate.update("DELETE FROM llm_usage_hourly WHERE bucket_hour < ?",
+        Timestamp.valueOf(TEST_END));
+    jdbcTemplate.update("DELETE FROM llm_usage_daily WHERE bucket_day < ?",
+        Date.valueOf(TEST_END.toLocalDate()));
+    jdbcTemplate.update("DELETE FROM llm_usage_distinct_daily WHERE bucket_day < ?",
+        Date.valueOf(TEST_END.toLocalDate()));
+    llmUsageStatsCounter.reload();
+    userLlmUsageCounter.reload();
+    llmTopUserCounter.reload();
+    llmDistinctUserCounter.reload();
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("compact - 오래된 사용량 압축")
+  @Nested
+  class TestCompact {
+
+    @Order(1)
+    @DisplayName("기준 시각 이전의 시간별 집계는 일별 집계로 옮기고 원본은 삭제하며, 통계 합계는 유지")
+    @Test
+    void testCompactSuccess() {
+
+      // Given
+      llmUsageSegmentJdbcRepository.ensureSegment(NOVEMBER);
+      llmUsageSegmentJdbcRepository.ensureSegment(DECEMBER);
+      llmUsageWriter.insertLlmUsages(List.of(
+          createLlmUsage(NOVEMBER.atDay(10).atTime(10, 0), 100),
+          createLlmUsage(NOVEMBER.atDay(10).atTime(15, 0), 200),
+          createLlmUsage(DECEMBER.atDay(20).atTime(10, 0), 300),
+          createLlmUsage(DECEMBER.atDay(31).atTime(23, 0), 400)
+      ));
+      LocalDateTime before = DECEMBER.atDay(31).atStartOfDay();
+      List<LlmUsageDto.StatsResponse> statsBefore =
+          llmUsageQueryRepository.selectLlmUsageStats(null, null);
+
+      // When
+      long compactedCount = llmUsageCompactor.compact(before);
+
+      // Then
+      long[] novemberDaily = selectDaily(NOVEMBER.atDay(10));
+      long[] decemberDaily = selectDaily(DECEMBER.atDay(20));
+      List<LlmUsageDto.StatsResponse> statsAfter =
+          llmUsageQueryRepository.selectLlmUsageStats(null, null);
+      assertAll(
+          // 시간별 집계 3건 + 걸쳐 있는 12월 세그먼트의 원본 1건 (11월 세그먼트는 테이블째 삭제)
+          () -> assertEquals(4L, compactedCount),
+          () -> assertEquals(300L, novemberDaily[0]),
+          () -> assertEquals(2L, novemberDaily[1]),
+          () -> assertEquals(300L, decemberDaily[0]),
+          () -> assertEquals(1L, decemberDaily[1]),
+          () -> assertEquals(0L, countHourlyBefore(before)),
+          () -> assertEquals(1L, countHourlyBefore(TEST_END)),
+          () -> assertFalse(llmUsageSegmentJdbcRepository.hasSegment(NOVEMBER)),
+          () -> assertTrue(llmUsageSegmentJdbcRepository.hasSegment(DECEMBER)),
+          () -> assertEquals(totalUsedToken(statsBefore), totalUsedToken(statsAfter))
+      );
+    }
+
+    @Order(2)
+    @DisplayName("압축할 사용량이 없으면 아무것도 변경하지 않음")
+    @Test
+    void testCompactNothing() {
+
+      // Given
+      LocalDateTime before = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+      // When
+      long compactedCount = llmUsageCompactor.compact(before);
+
+      // Then
+      assertEquals(0L, compactedCount);
+    }
+  }
+
+  @DisplayName("alignFrom, alignTo - 조회 기간 경계를 집계 단위에 맞춤")
+  @Nested
+  class TestAlign {
+
+    @DisplayName("압축 기준 이후는 시간 단위로, 이전은 일 단위로 시작은 내림하고 종료는 올림")
+    @Test
+    void testAlignToBuckets() {
+
+      // Given (압축 기준은 보관 일수 전이므로 1년 전은 압축된 기간)
+      LocalDateTime recentHour = LocalDateTime.now().minusHours(1).withMinute(0).withSecond(0)
+          .withNano(0);
+      LocalDateTime recent = recentHour.plusMinutes(30);
+      LocalDate compactedDay = LocalDate.now().minusYears(1);
+      LocalDateTime compacted = compactedDay.atTime(13, 30);
+
+      // When & Then
+      assertAll(
+          () -> assertEquals(recentHour, llmUsageCompactor.alignFrom(recent)),
+          () -> assertEquals(recentHour.plusHours(1), llmUsageCompactor.alignTo(recent)),
+          () -> assertEquals(recentHour, llmUsageCompactor.alignFrom(recentHour)),
+          () -> assertEquals(recentHour, llmUsageCompactor.alignTo(recentHour)),
+          () -> assertEquals(compactedDay.atStartOfDay(), llmUsageCompactor.alignFrom(compacted)),
+          () -> assertEquals(compactedDay.plusDays(1).atStartOfDay(),
+              llmUsageCompactor.alignTo(compacted)),
+          () -> assertNull(llmUsageCompactor.alignFrom(null)),
+          () -> assertNull(llmUsageCompactor.alignTo(null))
+      );
+    }
+  }
+
+  private long[] selectDaily(LocalDate bucketDay) {
+    return jdbcTemplate.queryForObject(
+        SELECT_DAILY_SQL,
+        (rs, rowNum) -> new long[]{rs.getLong("used_token"), rs.getLong("call_count")},
+        USER_ID, LLM_ID, Date.valueOf(bucketDay));
+  }
+
+  private long countHourlyBefore(LocalDateTime before) {
+    return jdbcTemplate.queryForObject(COUNT_HOURLY_BEFORE_SQL, Long.class,
+        Timestamp.valueOf(before));
+  }
+
+  private long totalUsedToken(List<LlmUsageDto.StatsResponse> stats) {
+    return stats.stream()
+        .mapToLong(stat -> stat.getTotalUsedToken() == null ? 0L : stat.getTotalUsedToken())
+        .sum();
+  }
+
+  private LlmUsageEntity createLlmUsage(LocalDateTime createdAt, int usedToken) {
+    return LlmUsageEntity.builder()
+        .userId(USER_ID)
+        .llmId(LLM_ID)
+        .usedToken(usedToken)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .isDeleted(false)
+        .build();
+  }
+}
@@ -0,0 +1,118 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.domain.repository.LlmUsageRepository;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest(properties = {
+    "usage.ingestion.mode=journal",
+    "usage.journal.directory=${java.io.tmpdir}/usage-journal-${random.uuid}",
+    "usage.journal.segment-size-bytes=12800",
+    "usage.journal.apply-batch-size=40",
+    "usage.journal.apply-interval-ms=10"
+})
+class LlmUsageJournalTest {
+
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 1L;
+  private static final int USED_TOKEN = 512;
+  private static final long AWAIT_TIMEOUT_MS = 5_000L;
+
+  @Autowired
+  LlmUsageService llmUsageService;
+
+  @Autowired
+  LlmUsageJournal llmUsageJournal;
+
+  @Autowired
+  LlmUsageRepository llmUsageRepository;
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("append - 저널 추가 및 DB 반영")
+  @Nested
+  class TestAppend {
+
+    @Order(1)
+    @DisplayName("저널에 추가된 사용량이 세그먼트를 넘어가며 DB에 반영됨")
+    @Test
+    void testAppendApplied() throws InterruptedException {
+
+      // Given
+      int usageCount = 250;
+      long beforeCount = llmUsageRepository.count();
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN
+      );
+
+      // When
+      Long llmUsageId = null;
+      for (int i = 0; i < usageCount; i++) {
+        llmUsageId = llmUsageService.insertLlmUsage(insertRequest);
+      }
+      long afterCount = awaitCount(beforeCount + usageCount);
+
+      // Then
+      Long lastLlmUsageId = llmUsageId;
+      assertAll(
+          () -> assertTrue(llmUsageJournal.isEnabled()),
+          () -> assertNull(lastLlmUsageId),
+          () -> assertEquals(beforeCount + usageCount, afterCount)
+      );
+    }
+
+    @Order(2)
+    @DisplayName("재시작 시 이미 반영된 레코드는 다시 반영되지 않음")
+    @Test
+    void testRestartNotReapplied() throws InterruptedException {
+
+      // Given
+      int usageCount = 30;
+      long beforeCount = llmUsageRepository.count();
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN
+      );
+      for (int i = 0; i < usageCount; i++) {
+        llmUsageService.insertLlmUsage(insertRequest);
+      }
+      awaitCount(beforeCount + usageCount);
+
+      // When
+      llmUsageJournal.stop();
+      llmUsageJournal.start();
+      Thread.sleep(200);
+
+      // Then
+      assertAll(
+          () -> assertTrue(llmUsageJournal.isRunning()),
+          () -> assertEquals(beforeCount + usageCount, llmUsageRepository.count()),
+          () -> assertEquals(0L, llmUsageJournal.getLag())
+      );
+    }
+  }
+
+  private long awaitCount(long expectedCount) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MS;
+    long count = llmUsageRepository.count();
+    while (count < expectedCount && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      count = llmUsageRepository.count();
+    }
+    return count;
+  }
+}
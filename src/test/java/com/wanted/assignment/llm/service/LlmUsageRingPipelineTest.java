@@ -0,0 +1,111 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.domain.repository.LlmUsageRepository;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest(properties = {
+    "usage.ingestion.mode=ring",
+    "usage.ring.buffer-size=1024"
+})
+class LlmUsageRingPipelineTest {
+
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 1L;
+  private static final long NOT_FOUND_USER_ID = 999_999L;
+  private static final int USED_TOKEN = 512;
+  private static final long AWAIT_TIMEOUT_MS = 5_000L;
+
+  @Autowired
+  LlmUsageService llmUsageService;
+
+  @Autowired
+  LlmUsageRingPipeline llmUsageRingPipeline;
+
+  @Autowired
+  LlmUsageRepository llmUsageRepository;
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("publish - 링 버퍼 게시")
+  @Nested
+  class TestPublish {
+
+    @Order(1)
+    @DisplayName("게시된 사용량이 단계를 거쳐 기록됨")
+    @Test
+    void testPublishPersisted() throws InterruptedException {
+
+      // Given
+      int usageCount = 250;
+      long beforeCount = llmUsageRepository.count();
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN
+      );
+
+      // When
+      Long llmUsageId = null;
+      for (int i = 0; i < usageCount; i++) {
+        llmUsageId = llmUsageService.insertLlmUsage(insertRequest);
+      }
+      long afterCount = awaitCount(beforeCount + usageCount);
+
+      // Then
+      Long lastLlmUsageId = llmUsageId;
+      assertAll(
+          () -> assertTrue(llmUsageRingPipeline.isEnabled()),
+          () -> assertNull(lastLlmUsageId),
+          () -> assertEquals(beforeCount + usageCount, afterCount)
+      );
+    }
+
+    @Order(2)
+    @DisplayName("존재하지 않는 사용자의 사용량은 검증 단계에서 걸러짐")
+    @Test
+    void testPublishUserNotFound() throws InterruptedException {
+
+      // Given
+      long beforeCount = llmUsageRepository.count();
+      LlmUsageDto.InsertRequest notFoundRequest = LlmUsageDto.InsertRequest.of(
+          NOT_FOUND_USER_ID, LLM_ID, USED_TOKEN
+      );
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN
+      );
+
+      // When
+      llmUsageService.insertLlmUsage(notFoundRequest);
+      llmUsageService.insertLlmUsage(insertRequest);
+      long afterCount = awaitCount(beforeCount + 1);
+
+      // Then
+      assertEquals(beforeCount + 1, afterCount);
+    }
+  }
+
+  private long awaitCount(long expectedCount) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MS;
+    long count = llmUsageRepository.count();
+    while ((count < expectedCount || llmUsageRingPipeline.getOccupancy() > 0)
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      count = llmUsageRepository.count();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,114 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageSegmentJdbcRepository;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageSegmentManagerTest {
+
+  // 실제 세그먼트와 겹치지 않는 과거 월
+  private static final YearMonth DECEMBER = YearMonth.of(2002, 12);
+  private static final YearMonth JANUARY = YearMonth.of(2003, 1);
+  private static final YearMonth FEBRUARY = YearMonth.of(2003, 2);
+
+  @Autowired
+  LlmUsageSegmentManager llmUsageSegmentManager;
+
+  @Autowired
+  LlmUsageSegmentJdbcRepository llmUsageSegmentJdbcRepository;
+
+  @Autowired
+  LlmUsageJdbcRepository llmUsageJdbcRepository;
+
+  // 테스트 세그먼트에 기록한 행은 세그먼트와 함께 삭제
+  @AfterEach
+  void dropTestSegments() {
+    llmUsageSegmentJdbcRepository.dropSegment(DECEMBER);
+    llmUsageSegmentJdbcRepository.dropSegment(JANUARY);
+    llmUsageSegmentJdbcRepository.dropSegment(FEBRUARY);
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("prepareSegments - 월이 바뀌기 전 세그먼트 준비")
+  @Nested
+  class TestPrepareSegments {
+
+    @Order(1)
+    @DisplayName("기준 월과 다음 달 세그먼트를 미리 만들어, 월이 바뀐 직후의 기록은 세그먼트 생성 없이 저장")
+    @Test
+    void testRolloverUsesPreparedSegment() {
+
+      // Given
+      llmUsageSegmentManager.prepareSegments(DECEMBER);
+      LlmUsageEntity lastOfMonth = createLlmUsage(DECEMBER.atEndOfMonth().atTime(23, 59, 59));
+      LlmUsageEntity firstOfNextMonth = createLlmUsage(JANUARY.atDay(1).atStartOfDay());
+
+      // When
+      int insertedCount = llmUsageJdbcRepository.insertLlmUsages(
+          List.of(lastOfMonth, firstOfNextMonth));
+
+      // Then
+      assertAll(
+          () -> assertEquals(2, insertedCount),
+          () -> assertTrue(llmUsageSegmentJdbcRepository.hasSegment(DECEMBER)),
+          () -> assertTrue(llmUsageSegmentJdbcRepository.hasSegment(JANUARY)),
+          () -> assertFalse(llmUsageSegmentJdbcRepository.hasSegment(FEBRUARY))
+      );
+    }
+
+    @Order(2)
+    @DisplayName("준비되지 않은 월의 기록은 기록 트랜잭션에서 세그먼트를 만들지 않고 바로 실패")
+    @Test
+    void testMissingSegmentFailsFast() {
+
+      // Given
+      llmUsageSegmentManager.prepareSegments(DECEMBER);
+      LlmUsageEntity unprepared = createLlmUsage(FEBRUARY.atDay(1).atStartOfDay());
+
+      // When
+      RuntimeException exception = assertThrows(RuntimeException.class,
+          () -> llmUsageJdbcRepository.insertLlmUsages(List.of(unprepared)));
+
+      // Then
+      assertAll(
+          () -> assertTrue(exception.getMessage().contains(
+              LlmUsageSegmentJdbcRepository.toSegmentName(FEBRUARY))),
+          () -> assertFalse(llmUsageSegmentJdbcRepository.hasSegment(FEBRUARY))
+      );
+    }
+  }
+
+  private LlmUsageEntity createLlmUsage(LocalDateTime createdAt) {
+    return LlmUsageEntity.builder()
+        .userId(1L)
+        .llmId(1L)
+        .usedToken(100)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .isDeleted(false)
+        .build();
+  }
+}
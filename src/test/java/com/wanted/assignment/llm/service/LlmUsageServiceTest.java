@@ -1,12 +1,28 @@
 package com.wanted.assignment.llm.service;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.wanted.assignment.common.exception.ApiException;
+import com.wanted.assignment.common.type.ApiStatus;
+import com.wanted.assignment.common.type.SeriesInterval;
+import com.wanted.assignment.common.type.TopUsersMode;
+import com.wanted.assignment.domain.entity.LlmUsageEntity;
+import com.wanted.assignment.domain.repository.LlmUsageRepository;
 import com.wanted.assignment.llm.dto.LlmUsageDto;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Nested;
@@ -15,8 +31,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @ActiveProfiles("local")
@@ -26,10 +45,23 @@ class LlmUsageServiceTest {
   private static final long USER_ID = 1L;
   private static final long LLM_ID = 1L;
   private static final int USED_TOKEN = 512;
+  private static final int TOP_USERS_LIMIT = 10;
 
   @Autowired
   LlmUsageService llmUsageService;
 
+  @Autowired
+  LlmUsageRepository llmUsageRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  LlmTopUserCounter llmTopUserCounter;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
   @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
   @DisplayName("insertLlm - LLM 기록")
   @Nested
@@ -54,6 +86,267 @@ class LlmUsageServiceTest {
           () -> assertNotNull(llmUsageId)
       );
     }
+
+    @Order(2)
+    @DisplayName("같은 멱등 키로 재시도한 경우 한 번만 기록하고 처음 기록된 아이디 반환")
+    @Transactional
+    @Test
+    void testInsertLlmUsageIdempotent() {
+
+      // Given
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN, "service-single-retry"
+      );
+      long beforeCount = llmUsageRepository.count();
+
+      // When
+      Long firstLlmUsageId = llmUsageService.insertLlmUsage(insertRequest);
+      Long retriedLlmUsageId = llmUsageService.insertLlmUsage(insertRequest);
+
+      // Then
+      assertAll(
+          () -> assertNotNull(firstLlmUsageId),
+          () -> assertEquals(firstLlmUsageId, retriedLlmUsageId),
+          () -> assertEquals(beforeCount + 1, llmUsageRepository.count())
+      );
+    }
+
+    @Order(3)
+    @DisplayName("존재하지 않는 사용자인 경우 USER_NOT_FOUND 예외 발생")
+    @Transactional
+    @Test
+    void testInsertLlmUsageUserNotFound() {
+
+      // Given
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          999L, LLM_ID, USED_TOKEN
+      );
+      long beforeCount = llmUsageRepository.count();
+
+      // When
+      ApiException apiException = Assertions.assertThrows(
+          ApiException.class, () -> llmUsageService.insertLlmUsage(insertRequest));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.USER_NOT_FOUND.getCode(),
+              apiException.getStatus().getCode()),
+          () -> assertEquals(beforeCount, llmUsageRepository.count())
+      );
+    }
+
+    @Order(4)
+    @DisplayName("존재하지 않는 LLM인 경우 LLM_NOT_FOUND 예외 발생")
+    @Transactional
+    @Test
+    void testInsertLlmUsageLlmNotFound() {
+
+      // Given
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, 999L, USED_TOKEN
+      );
+      long beforeCount = llmUsageRepository.count();
+
+      // When
+      ApiException apiException = Assertions.assertThrows(
+          ApiException.class, () -> llmUsageService.insertLlmUsage(insertRequest));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.LLM_NOT_FOUND.getCode(),
+              apiException.getStatus().getCode()),
+          () -> assertEquals(beforeCount, llmUsageRepository.count())
+      );
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("insertLlmUsages - LLM 사용량 일괄 기록")
+  @Nested
+  class TestInsertLlmUsages {
+
+    @Order(1)
+    @DisplayName("LLM 사용량 일괄 기록 성공")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesSuccess() {
+
+      // Given
+      LlmUsageDto.BatchInsertRequest batchInsertRequest = LlmUsageDto.BatchInsertRequest.of(
+          List.of(
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN)
+          )
+      );
+
+      // When
+      LlmUsageDto.BatchInsertResponse batchInsertResponse =
+          llmUsageService.insertLlmUsages(batchInsertRequest);
+
+      // Then
+      assertAll(
+          () -> assertEquals(3, batchInsertResponse.getTotalCount()),
+          () -> assertEquals(3, batchInsertResponse.getSuccessCount()),
+          () -> assertEquals(0, batchInsertResponse.getFailureCount())
+      );
+    }
+
+    @Order(2)
+    @DisplayName("존재하지 않는 사용자, LLM이 포함된 경우 해당 항목만 실패")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesPartialFailure() {
+
+      // Given
+      LlmUsageDto.BatchInsertRequest batchInsertRequest = LlmUsageDto.BatchInsertRequest.of(
+          List.of(
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(0L, LLM_ID, USED_TOKEN),
+              LlmUsageDto.InsertRequest.of(USER_ID, 0L, USED_TOKEN)
+          )
+      );
+
+      // When
+      LlmUsageDto.BatchInsertResponse batchInsertResponse =
+          llmUsageService.insertLlmUsages(batchInsertRequest);
+
+      // Then
+      List<LlmUsageDto.BatchInsertResult> results = batchInsertResponse.getResults();
+      assertAll(
+          () -> assertEquals(1, batchInsertResponse.getSuccessCount()),
+          () -> assertEquals(2, batchInsertResponse.getFailureCount()),
+          () -> assertEquals(ApiStatus.OK.getCode(), results.get(0).getCode()),
+          () -> assertEquals(ApiStatus.USER_NOT_FOUND.getCode(), results.get(1).getCode()),
+          () -> assertEquals(ApiStatus.LLM_NOT_FOUND.getCode(), results.get(2).getCode())
+      );
+    }
+
+    @Order(3)
+    @DisplayName("요청 내 또는 이전 요청과 멱등 키가 중복된 항목은 USAGE_DUPLICATED 응답")
+    @Transactional
+    @Test
+    void testInsertLlmUsagesDuplicated() {
+
+      // Given
+      llmUsageService.insertLlmUsage(
+          LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN, "service-batch-1"));
+      LlmUsageDto.BatchInsertRequest batchInsertRequest = LlmUsageDto.BatchInsertRequest.of(
+          List.of(
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN, "service-batch-1"),
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN, "service-batch-2"),
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN, "service-batch-2")
+          )
+      );
+
+      // When
+      LlmUsageDto.BatchInsertResponse batchInsertResponse =
+          llmUsageService.insertLlmUsages(batchInsertRequest);
+
+      // Then
+      List<LlmUsageDto.BatchInsertResult> results = batchInsertResponse.getResults();
+      assertAll(
+          () -> assertEquals(1, batchInsertResponse.getSuccessCount()),
+          () -> assertEquals(2, batchInsertResponse.getDuplicateCount()),
+          () -> assertEquals(0, batchInsertResponse.getFailureCount()),
+          () -> assertEquals(ApiStatus.USAGE_DUPLICATED.getCode(), results.get(0).getCode()),
+          () -> assertNotNull(results.get(0).getId()),
+          () -> assertEquals(ApiStatus.OK.getCode(), results.get(1).getCode()),
+          () -> assertEquals(ApiStatus.USAGE_DUPLICATED.getCode(), results.get(2).getCode()),
+          () -> assertEquals(results.get(1).getId(), results.get(2).getId())
+      );
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("insertLlmUsageStream - LLM 사용량 스트리밍 기록")
+  @Nested
+  class TestInsertLlmUsageStream {
+
+    @Order(1)
+    @DisplayName("청크 크기를 초과하는 줄 수 스트리밍 기록 성공")
+    @Transactional
+    @Test
+    void testInsertLlmUsageStreamSuccess() throws IOException {
+
+      // Given
+      int lineCount = 2_500;
+      String line = String.format(
+          "{\"userId\":%d,\"llmId\":%d,\"usedToken\":%d}%n", USER_ID, LLM_ID, USED_TOKEN);
+      InputStream inputStream = new ByteArrayInputStream(
+          line.repeat(lineCount).getBytes(StandardCharsets.UTF_8));
+
+      // When
+      LlmUsageDto.StreamInsertResponse streamInsertResponse =
+          llmUsageService.insertLlmUsageStream(inputStream);
+
+      // Then
+      assertAll(
+          () -> assertEquals(lineCount, streamInsertResponse.getTotalCount()),
+          () -> assertEquals(lineCount, streamInsertResponse.getSuccessCount()),
+          () -> assertEquals(0, streamInsertResponse.getFailureCount())
+      );
+    }
+
+    @Order(2)
+    @DisplayName("형식이 잘못되었거나 유효하지 않은 줄은 줄 번호와 결과 코드로 응답")
+    @Transactional
+    @Test
+    void testInsertLlmUsageStreamPartialFailure() throws IOException {
+
+      // Given
+      String body = """
+          {"userId":1,"llmId":1,"usedToken":512}
+
+          {"userId":1,"llmId":1,
+          {"userId":0,"llmId":1,"usedToken":512}
+          """;
+      InputStream inputStream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+
+      // When
+      LlmUsageDto.StreamInsertResponse streamInsertResponse =
+          llmUsageService.insertLlmUsageStream(inputStream);
+
+      // Then
+      List<LlmUsageDto.StreamInsertFailure> failures = streamInsertResponse.getFailures();
+      assertAll(
+          () -> assertEquals(3, streamInsertResponse.getTotalCount()),
+          () -> assertEquals(1, streamInsertResponse.getSuccessCount()),
+          () -> assertEquals(2, streamInsertResponse.getFailureCount()),
+          () -> assertEquals(3, failures.get(0).getLine()),
+          () -> assertEquals(ApiStatus.HTTP_MESSAGE_NOT_READABLE_EXCEPTION.getCode(),
+              failures.get(0).getCode()),
+          () -> assertEquals(4, failures.get(1).getLine()),
+          () -> assertEquals(ApiStatus.USER_NOT_FOUND.getCode(), failures.get(1).getCode())
+      );
+    }
+
+    @Order(3)
+    @DisplayName("최대 길이를 넘는 줄은 읽지 않고 실패로 응답하고 다음 줄부터 계속 기록")
+    @Transactional
+    @Test
+    void testInsertLlmUsageStreamLineTooLong() throws IOException {
+
+      // Given
+      String line = String.format(
+          "{\"userId\":%d,\"llmId\":%d,\"usedToken\":%d}%n", USER_ID, LLM_ID, USED_TOKEN);
+      String body = line + "x".repeat(1_000_000) + "\r\n" + line;
+      InputStream inputStream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+
+      // When
+      LlmUsageDto.StreamInsertResponse streamInsertResponse =
+          llmUsageService.insertLlmUsageStream(inputStream);
+
+      // Then
+      List<LlmUsageDto.StreamInsertFailure> failures = streamInsertResponse.getFailures();
+      assertAll(
+          () -> assertEquals(3, streamInsertResponse.getTotalCount()),
+          () -> assertEquals(2, streamInsertResponse.getSuccessCount()),
+          () -> assertEquals(1, streamInsertResponse.getFailureCount()),
+          () -> assertEquals(2, failures.get(0).getLine()),
+          () -> assertEquals(ApiStatus.USAGE_LINE_TOO_LONG.getCode(), failures.get(0).getCode())
+      );
+    }
   }
 
   @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -68,10 +361,382 @@ class LlmUsageServiceTest {
     void testGetLlmListSuccess() {
 
       // Given & When
-      List<LlmUsageDto.StatsResponse> statsResponses = llmUsageService.getLlmUsageStats();
+      List<LlmUsageDto.StatsResponse> statsResponses =
+          llmUsageService.getLlmUsageStats(null, null);
 
       // Then
       assertFalse(statsResponses.isEmpty());
+      statsResponses.stream()
+          .filter(statsResponse -> statsResponse.getTotalUsedToken() != null)
+          .forEach(statsResponse -> assertTrue(statsResponse.getDistinctUserCount() > 0));
+    }
+
+    @Order(2)
+    @DisplayName("단건 및 일괄 기록한 사용량이 커밋된 뒤에 LLM별 사용량 조회에 반영됨")
+    @Test
+    void testGetLlmUsageStatsReflectsInserts() {
+
+      // Given
+      long beforeUsedToken = selectTotalUsedToken(LLM_ID);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+      // When
+      long insideUsedToken = transactionTemplate.execute(status -> {
+        llmUsageService.insertLlmUsage(
+            LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN));
+        llmUsageService.insertLlmUsages(LlmUsageDto.BatchInsertRequest.of(
+            List.of(
+                LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN),
+                LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN)
+            )
+        ));
+        return selectTotalUsedToken(LLM_ID);
+      });
+      long afterUsedToken = selectTotalUsedToken(LLM_ID);
+
+      // Then
+      assertAll(
+          () -> assertEquals(beforeUsedToken, insideUsedToken),
+          () -> assertEquals(beforeUsedToken + USED_TOKEN * 3L, afterUsedToken)
+      );
+    }
+
+    @Order(3)
+    @DisplayName("조회 시작 시각이 종료 시각보다 늦거나 같은 경우 METHOD_ARGUMENT_NOT_VALID 예외 발생")
+    @Transactional
+    @Test
+    void testGetLlmUsageStatsInvalidRange() {
+
+      // Given
+      LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+      LocalDateTime to = LocalDateTime.of(2025, 5, 1, 0, 0);
+
+      // When
+      ApiException reversedException = Assertions.assertThrows(
+          ApiException.class, () -> llmUsageService.getLlmUsageStats(from, to));
+      ApiException emptyException = Assertions.assertThrows(
+          ApiException.class, () -> llmUsageService.getLlmUsageStats(from, from));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              reversedException.getStatus().getCode()),
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              emptyException.getStatus().getCode())
+      );
+    }
+
+    @Order(4)
+    @DisplayName("조회 시작 시각이 시간 중간이면 해당 시간의 사용량을 빠뜨리지 않도록 시간 단위로 내려 조회")
+    @Test
+    void testGetLlmUsageStatsNonAlignedFrom() {
+
+      // Given
+      LocalDateTime hour = LocalDateTime.now().withMinute(0).withSecond(0).withNano(0);
+      LocalDateTime to = hour.plusHours(2);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+      transactionTemplate.executeWithoutResult(status -> llmUsageService.insertLlmUsage(
+          LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN)));
+
+      // When
+      long nonAlignedUsedToken =
+          selectUsedToken(LLM_ID, hour.plusMinutes(30).plusNanos(1), to);
+      long alignedUsedToken = selectUsedToken(LLM_ID, hour, to);
+
+      // Then
+      assertAll(
+          () -> assertTrue(alignedUsedToken >= USED_TOKEN),
+          () -> assertEquals(alignedUsedToken, nonAlignedUsedToken)
+      );
+    }
+
+    private long selectTotalUsedToken(long llmId) {
+      return selectUsedToken(llmId, null, null);
+    }
+
+    private long selectUsedToken(long llmId, LocalDateTime from, LocalDateTime to) {
+      return llmUsageService.getLlmUsageStats(from, to).stream()
+          .filter(statsResponse -> statsResponse.getId() == llmId)
+          .mapToLong(statsResponse -> statsResponse.getTotalUsedToken() == null
+              ? 0L : statsResponse.getTotalUsedToken())
+          .sum();
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("getLlmUsageSeries - LLM 사용량 시계열 조회")
+  @Nested
+  class TestGetLlmUsageSeries {
+
+    @Order(1)
+    @DisplayName("롤백된 사용량은 반영되지 않고 커밋된 사용량만 최근 분 단위 시계열에 반영됨")
+    @Test
+    void testGetLlmUsageSeriesReflectsInserts() {
+
+      // Given
+      LlmUsageDto.SeriesResponse before =
+          llmUsageService.getLlmUsageSeries(LLM_ID, SeriesInterval.MINUTE, null, null);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+      // When
+      transactionTemplate.executeWithoutResult(status -> {
+        llmUsageService.insertLlmUsage(LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN));
+        status.setRollbackOnly();
+      });
+      LlmUsageDto.SeriesResponse afterRollback =
+          llmUsageService.getLlmUsageSeries(LLM_ID, SeriesInterval.MINUTE, null, null);
+      transactionTemplate.executeWithoutResult(status ->
+          llmUsageService.insertLlmUsage(
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN)));
+      LlmUsageDto.SeriesResponse after =
+          llmUsageService.getLlmUsageSeries(LLM_ID, SeriesInterval.MINUTE, null, null);
+
+      // Then
+      assertAll(
+          () -> assertEquals(sumCallCount(before), sumCallCount(afterRollback)),
+          () -> assertEquals(SeriesInterval.MINUTE.getDefaultPoints(), after.getPoints().size()),
+          () -> assertEquals(sumUsedToken(before) + USED_TOKEN, sumUsedToken(after)),
+          () -> assertEquals(sumCallCount(before) + 1, sumCallCount(after))
+      );
+    }
+
+    @Order(2)
+    @DisplayName("링 이전 기간은 집계 뷰에서 시간 단위로 조회하고 사용량이 없는 구간도 포함")
+    @Transactional
+    @Test
+    void testGetLlmUsageSeriesFromDatabase() {
+
+      // Given (현재 데이터와 겹치지 않는 과거 기간)
+      LocalDateTime from = LocalDateTime.of(1998, 3, 1, 10, 0);
+      jdbcTemplate.update("""
+          INSERT INTO llm_usage_hourly (user_id, llm_id, bucket_hour, used_token, call_count)
+          VALUES (?, ?, ?, ?, ?)
+          """, USER_ID, LLM_ID, Timestamp.valueOf(from.plusHours(1)), 300L, 2L);
+
+      // When
+      LlmUsageDto.SeriesResponse seriesResponse = llmUsageService.getLlmUsageSeries(
+          LLM_ID, SeriesInterval.HOUR, from.plusMinutes(30), from.plusHours(3));
+
+      // Then
+      List<LlmUsageDto.SeriesPoint> points = seriesResponse.getPoints();
+      assertAll(
+          () -> assertEquals(3, points.size()),
+          () -> assertEquals(from, points.get(0).getBucketTime()),
+          () -> assertEquals(0L, points.get(0).getUsedToken()),
+          () -> assertEquals(300L, points.get(1).getUsedToken()),
+          () -> assertEquals(2L, points.get(1).getCallCount()),
+          () -> assertEquals(0L, points.get(2).getUsedToken())
+      );
+    }
+
+    @Order(3)
+    @DisplayName("최대 구간 수를 넘거나 존재하지 않는 LLM인 경우 예외 발생")
+    @Test
+    void testGetLlmUsageSeriesInvalid() {
+
+      // Given
+      LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+      // When
+      ApiException rangeException = Assertions.assertThrows(ApiException.class,
+          () -> llmUsageService.getLlmUsageSeries(
+              LLM_ID, SeriesInterval.MINUTE, from, from.plusDays(30)));
+      ApiException llmException = Assertions.assertThrows(ApiException.class,
+          () -> llmUsageService.getLlmUsageSeries(999L, SeriesInterval.MINUTE, null, null));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              rangeException.getStatus().getCode()),
+          () -> assertEquals(ApiStatus.LLM_NOT_FOUND.getCode(),
+              llmException.getStatus().getCode())
+      );
+    }
+
+    private long sumUsedToken(LlmUsageDto.SeriesResponse seriesResponse) {
+      return seriesResponse.getPoints().stream()
+          .mapToLong(LlmUsageDto.SeriesPoint::getUsedToken)
+          .sum();
+    }
+
+    private long sumCallCount(LlmUsageDto.SeriesResponse seriesResponse) {
+      return seriesResponse.getPoints().stream()
+          .mapToLong(LlmUsageDto.SeriesPoint::getCallCount)
+          .sum();
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("getTopUsers - LLM 상위 사용자 조회")
+  @Nested
+  class TestGetTopUsers {
+
+    @AfterEach
+    void reloadTopUserCounter() {
+      llmTopUserCounter.reload();
+    }
+
+    @Order(1)
+    @DisplayName("롤백된 트랜잭션의 사용량은 스케치에 반영되지 않고 커밋된 사용량만 반영")
+    @Test
+    void testGetTopUsersSketchAfterCommit() {
+
+      // Given
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+      LlmUsageDto.TopUsersResponse before =
+          llmUsageService.getTopUsers(LLM_ID, TopUsersMode.SKETCH, TOP_USERS_LIMIT);
+      LocalDateTime now = LocalDateTime.now();
+      LlmUsageEntity committedUsage = LlmUsageEntity.builder()
+          .id(Long.MAX_VALUE)
+          .userId(USER_ID)
+          .llmId(LLM_ID)
+          .usedToken(USED_TOKEN)
+          .createdAt(now)
+          .updatedAt(now)
+          .isDeleted(false)
+          .build();
+
+      // When
+      transactionTemplate.executeWithoutResult(status -> {
+        llmUsageService.insertLlmUsage(LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN));
+        status.setRollbackOnly();
+      });
+      LlmUsageDto.TopUsersResponse afterRollback =
+          llmUsageService.getTopUsers(LLM_ID, TopUsersMode.SKETCH, TOP_USERS_LIMIT);
+      transactionTemplate.executeWithoutResult(
+          status -> llmTopUserCounter.add(List.of(committedUsage)));
+      LlmUsageDto.TopUsersResponse afterCommit =
+          llmUsageService.getTopUsers(LLM_ID, TopUsersMode.SKETCH, TOP_USERS_LIMIT);
+
+      // Then
+      assertAll(
+          () -> assertEquals(before.getTotalUsedToken(), afterRollback.getTotalUsedToken()),
+          () -> assertEquals(usedToken(before, USER_ID), usedToken(afterRollback, USER_ID)),
+          () -> assertEquals(
+              before.getTotalUsedToken() + USED_TOKEN, afterCommit.getTotalUsedToken()),
+          () -> assertEquals(
+              usedToken(before, USER_ID) + USED_TOKEN, usedToken(afterCommit, USER_ID))
+      );
+    }
+
+    @Order(2)
+    @DisplayName("사용자 수가 카운터 수 이하이면 스케치 조회가 정확한 조회와 일치")
+    @Test
+    void testGetTopUsersSketchMatchesExact() {
+
+      // When
+      LlmUsageDto.TopUsersResponse sketch =
+          llmUsageService.getTopUsers(LLM_ID, TopUsersMode.SKETCH, TOP_USERS_LIMIT);
+      LlmUsageDto.TopUsersResponse exact =
+          llmUsageService.getTopUsers(LLM_ID, TopUsersMode.EXACT, TOP_USERS_LIMIT);
+
+      // Then
+      assertAll(
+          () -> assertEquals(0L, sketch.getMaxError()),
+          () -> assertEquals(exact.getTotalUsedToken(), sketch.getTotalUsedToken()),
+          () -> assertEquals(exact.getUsers().size(), sketch.getUsers().size()),
+          () -> assertEquals(
+              exact.getUsers().stream().map(LlmUsageDto.TopUser::getUserId).toList(),
+              sketch.getUsers().stream().map(LlmUsageDto.TopUser::getUserId).toList()),
+          () -> assertEquals(
+              exact.getUsers().stream().map(LlmUsageDto.TopUser::getUsedToken).toList(),
+              sketch.getUsers().stream().map(LlmUsageDto.TopUser::getUsedToken).toList())
+      );
+    }
+
+    @Order(3)
+    @DisplayName("조회 개수가 범위를 벗어나거나 존재하지 않는 LLM인 경우 예외 발생")
+    @Test
+    void testGetTopUsersInvalid() {
+
+      // When
+      ApiException limitException = Assertions.assertThrows(ApiException.class,
+          () -> llmUsageService.getTopUsers(LLM_ID, TopUsersMode.SKETCH, 0));
+      ApiException llmException = Assertions.assertThrows(ApiException.class,
+          () -> llmUsageService.getTopUsers(999L, TopUsersMode.EXACT, TOP_USERS_LIMIT));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              limitException.getStatus().getCode()),
+          () -> assertEquals(ApiStatus.LLM_NOT_FOUND.getCode(),
+              llmException.getStatus().getCode())
+      );
+    }
+
+    private long usedToken(LlmUsageDto.TopUsersResponse topUsersResponse, long userId) {
+      return topUsersResponse.getUsers().stream()
+          .filter(topUser -> topUser.getUserId() == userId)
+          .mapToLong(LlmUsageDto.TopUser::getUsedToken)
+          .sum();
+    }
+  }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("getLlmUsageDistributions - LLM별 사용 토큰 수 분포 조회")
+  @Nested
+  class TestGetLlmUsageDistributions {
+
+    @Order(1)
+    @DisplayName("롤백된 사용량은 반영되지 않고 커밋된 사용량만 현재 시간의 분포에 반영")
+    @Test
+    void testGetLlmUsageDistributionsSuccess() {
+
+      // Given
+      LlmUsageDto.DistributionResponse before = distribution(LLM_ID);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+      // When
+      transactionTemplate.executeWithoutResult(status -> {
+        llmUsageService.insertLlmUsage(LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN));
+        status.setRollbackOnly();
+      });
+      LlmUsageDto.DistributionResponse afterRollback = distribution(LLM_ID);
+      transactionTemplate.executeWithoutResult(status ->
+          llmUsageService.insertLlmUsage(
+              LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN)));
+      LlmUsageDto.DistributionResponse after = distribution(LLM_ID);
+
+      // Then
+      assertAll(
+          () -> assertEquals(before.getCount(), afterRollback.getCount()),
+          () -> assertEquals(before.getCount() + 1, after.getCount()),
+          () -> assertTrue(after.getMax() >= USED_TOKEN),
+          () -> assertTrue(after.getP50() <= after.getP90()),
+          () -> assertTrue(after.getP90() <= after.getP99()),
+          () -> assertTrue(after.getP99() <= after.getMax()),
+          () -> assertTrue(after.getFrom().isBefore(after.getTo()))
+      );
+    }
+
+    @Order(2)
+    @DisplayName("조회 기간이 비었거나 메모리에 보관하는 기간 이전부터 조회하는 경우 예외 발생")
+    @Test
+    void testGetLlmUsageDistributionsInvalid() {
+
+      // Given
+      LocalDateTime now = LocalDateTime.now();
+
+      // When
+      ApiException emptyException = Assertions.assertThrows(ApiException.class,
+          () -> llmUsageService.getLlmUsageDistributions(now, now.minusHours(1)));
+      ApiException tooOldException = Assertions.assertThrows(ApiException.class,
+          () -> llmUsageService.getLlmUsageDistributions(now.minusDays(30), null));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              emptyException.getStatus().getCode()),
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              tooOldException.getStatus().getCode())
+      );
+    }
+
+    private LlmUsageDto.DistributionResponse distribution(long llmId) {
+      return llmUsageService.getLlmUsageDistributions(null, null).stream()
+          .filter(distributionResponse -> distributionResponse.getId() == llmId)
+          .findFirst()
+          .orElseThrow();
     }
   }
 }
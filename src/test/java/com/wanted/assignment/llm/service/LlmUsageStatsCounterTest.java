@@ -0,0 +1,151 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest
+class LlmUsageStatsCounterTest {
+
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 2L;
+  private static final int USED_TOKEN = 256;
+
+  @Autowired
+  LlmUsageStatsCounter llmUsageStatsCounter;
+
+  @Autowired
+  LlmUsageService llmUsageService;
+
+  @Autowired
+  LlmService llmService;
+
+  @Autowired
+  LlmUsageQueryRepository llmUsageQueryRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("getLlmUsageStats - 메모리 카운터 기준 LLM별 사용량 조회")
+  @Nested
+  class TestGetLlmUsageStats {
+
+    @Order(1)
+    @DisplayName("커밋된 사용량이 카운터에 반영되어 SQL 조회 결과와 같음")
+    @Test
+    void testGetLlmUsageStatsMatchesSql() {
+
+      // Given
+      long beforeUsedToken = selectMemoryUsedToken(LLM_ID);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+      transactionTemplate.executeWithoutResult(status -> {
+        llmUsageService.insertLlmUsage(
+            LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN));
+        llmUsageService.insertLlmUsages(LlmUsageDto.BatchInsertRequest.of(
+            List.of(
+                LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN),
+                LlmUsageDto.InsertRequest.of(USER_ID, 1L, USED_TOKEN)
+            )
+        ));
+      });
+
+      // When
+      Map<Long, LlmUsageDto.StatsResponse> memoryStats =
+          toMap(llmUsageStatsCounter.getLlmUsageStats());
+      List<LlmUsageDto.StatsResponse> sqlStatsResponses =
+          llmUsageQueryRepository.selectLlmUsageStats(null, null);
+
+      // Then
+      assertAll(
+          () -> assertEquals(beforeUsedToken + USED_TOKEN * 2L, selectMemoryUsedToken(LLM_ID)),
+          () -> assertEquals(0, llmUsageStatsCounter.verify(sqlStatsResponses)),
+          () -> sqlStatsResponses.forEach(sqlStatsResponse -> {
+            LlmUsageDto.StatsResponse memoryStatsResponse = memoryStats.get(
+                sqlStatsResponse.getId());
+            assertEquals(sqlStatsResponse.getTotalUsedToken(),
+                memoryStatsResponse.getTotalUsedToken());
+            assertEquals(sqlStatsResponse.getTotalPrice(), memoryStatsResponse.getTotalPrice());
+          })
+      );
+    }
+
+    @Order(2)
+    @DisplayName("커밋되지 않은 사용량은 트랜잭션 안에서도 카운터에 반영되지 않고 롤백 후에도 그대로")
+    @Test
+    void testGetLlmUsageStatsRollbackInsert() {
+
+      // Given
+      long beforeUsedToken = selectMemoryUsedToken(LLM_ID);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+      // When
+      long insideUsedToken = transactionTemplate.execute(status -> {
+        llmUsageService.insertLlmUsage(
+            LlmUsageDto.InsertRequest.of(USER_ID, LLM_ID, USED_TOKEN));
+        status.setRollbackOnly();
+        return selectMemoryUsedToken(LLM_ID);
+      });
+
+      // Then
+      assertAll(
+          () -> assertEquals(beforeUsedToken, insideUsedToken),
+          () -> assertEquals(beforeUsedToken, selectMemoryUsedToken(LLM_ID)),
+          () -> assertEquals(0,
+              llmUsageStatsCounter.verify(llmUsageQueryRepository.selectLlmUsageStats(null, null)))
+      );
+    }
+
+    @Order(3)
+    @DisplayName("LLM 삭제 트랜잭션이 롤백되면 카운터가 복원됨")
+    @Test
+    void testGetLlmUsageStatsRollbackDelete() {
+
+      // Given
+      long beforeUsedToken = selectMemoryUsedToken(LLM_ID);
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+      // When
+      transactionTemplate.executeWithoutResult(status -> {
+        llmService.deleteLlmById(LLM_ID);
+        status.setRollbackOnly();
+      });
+
+      // Then
+      assertEquals(beforeUsedToken, selectMemoryUsedToken(LLM_ID));
+    }
+  }
+
+  private long selectMemoryUsedToken(long llmId) {
+    LlmUsageDto.StatsResponse statsResponse =
+        toMap(llmUsageStatsCounter.getLlmUsageStats()).get(llmId);
+    return statsResponse == null || statsResponse.getTotalUsedToken() == null
+        ? 0L : statsResponse.getTotalUsedToken();
+  }
+
+  private Map<Long, LlmUsageDto.StatsResponse> toMap(
+      List<LlmUsageDto.StatsResponse> statsResponses) {
+    return statsResponses.stream()
+        .collect(Collectors.toMap(LlmUsageDto.StatsResponse::getId, Function.identity()));
+  }
+}
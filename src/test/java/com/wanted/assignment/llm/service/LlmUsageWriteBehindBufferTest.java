@@ -0,0 +1,87 @@
+package com.wanted.assignment.llm.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.wanted.assignment.domain.repository.LlmUsageRepository;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Slf4j
+@ActiveProfiles("local")
+@SpringBootTest(properties = {
+    "usage.ingestion.mode=write-behind",
+    "usage.write-behind.flush-size=100",
+    "usage.write-behind.flush-interval-ms=10"
+})
+class LlmUsageWriteBehindBufferTest {
+
+  private static final long USER_ID = 1L;
+  private static final long LLM_ID = 1L;
+  private static final int USED_TOKEN = 512;
+  private static final long AWAIT_TIMEOUT_MS = 5_000L;
+
+  @Autowired
+  LlmUsageService llmUsageService;
+
+  @Autowired
+  LlmUsageWriteBehindBuffer llmUsageWriteBehindBuffer;
+
+  @Autowired
+  LlmUsageRepository llmUsageRepository;
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("enqueue - 비동기 기록 대기열 적재")
+  @Nested
+  class TestEnqueue {
+
+    @Order(1)
+    @DisplayName("대기열에 적재된 사용량이 그룹 커밋으로 기록됨")
+    @Test
+    void testEnqueueFlushed() throws InterruptedException {
+
+      // Given
+      int usageCount = 250;
+      long beforeCount = llmUsageRepository.count();
+      LlmUsageDto.InsertRequest insertRequest = LlmUsageDto.InsertRequest.of(
+          USER_ID, LLM_ID, USED_TOKEN
+      );
+
+      // When
+      Long llmUsageId = null;
+      for (int i = 0; i < usageCount; i++) {
+        llmUsageId = llmUsageService.insertLlmUsage(insertRequest);
+      }
+      long afterCount = awaitCount(beforeCount + usageCount);
+
+      // Then
+      Long lastLlmUsageId = llmUsageId;
+      assertAll(
+          () -> assertTrue(llmUsageWriteBehindBuffer.isEnabled()),
+          () -> assertNull(lastLlmUsageId),
+          () -> assertEquals(beforeCount + usageCount, afterCount)
+      );
+    }
+  }
+
+  private long awaitCount(long expectedCount) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MS;
+    long count = llmUsageRepository.count();
+    while (count < expectedCount && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      count = llmUsageRepository.count();
+    }
+    return count;
+  }
+}
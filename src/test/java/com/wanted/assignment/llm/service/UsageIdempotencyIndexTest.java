@@ -0,0 +1,75 @@
+package com.wanted.assignment.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wanted.assignment.config.UsageProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UsageIdempotencyIndexTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private UsageIdempotencyIndex createIndex(int maxEntries, long ttlMs) {
+    UsageProperties properties = new UsageProperties();
+    properties.getIdempotency().setMaxEntries(maxEntries);
+    properties.getIdempotency().setTtlMs(ttlMs);
+    return new UsageIdempotencyIndex(properties, meterRegistry);
+  }
+
+  @DisplayName("만료되지 않은 같은 키는 중복으로 판단")
+  @Test
+  void testReserveDuplicate() {
+    UsageIdempotencyIndex index = createIndex(10, 60_000);
+
+    assertThat(index.reserve("key-1")).isTrue();
+    assertThat(index.reserve("key-1")).isFalse();
+    assertThat(meterRegistry.get("usage.idempotency.lookups").tag("result", "hit").counter()
+        .count()).isEqualTo(1.0);
+  }
+
+  @DisplayName("보관 시간(ttl-ms)이 지난 키는 제거되어 다시 예약")
+  @Test
+  void testReserveAfterTtlExpired() throws InterruptedException {
+    UsageIdempotencyIndex index = createIndex(10, 50);
+    index.reserve("key-1");
+    index.complete("key-1", 1L);
+
+    Thread.sleep(100);
+
+    assertThat(index.reserve("key-1")).isTrue();
+    assertThat(index.getLlmUsageId("key-1")).isNull();
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @DisplayName("최대 개수(max-entries)를 넘으면 오래된 키부터 제거하여 개수를 유지")
+  @Test
+  void testReserveEvictsEldestOverMaxEntries() {
+    int maxEntries = 3;
+    UsageIdempotencyIndex index = createIndex(maxEntries, 60_000);
+
+    for (int i = 0; i < 10; i++) {
+      index.reserve("key-" + i);
+    }
+
+    assertThat(index.size()).isEqualTo(maxEntries);
+    // 최근 키는 남아 중복으로 판단하고, 가장 오래된 키는 밀려나 다시 예약
+    assertThat(index.reserve("key-9")).isFalse();
+    assertThat(index.reserve("key-0")).isTrue();
+    assertThat(index.size()).isLessThanOrEqualTo(maxEntries);
+  }
+
+  @DisplayName("예약을 해제한 키는 다시 예약")
+  @Test
+  void testReserveAfterRelease() {
+    UsageIdempotencyIndex index = createIndex(10, 60_000);
+    index.reserve("key-1");
+
+    index.release("key-1");
+
+    assertThat(index.size()).isZero();
+    assertThat(index.reserve("key-1")).isTrue();
+  }
+}
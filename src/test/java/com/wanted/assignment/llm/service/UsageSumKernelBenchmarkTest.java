@@ -0,0 +1,205 @@
+package com.wanted.assignment.llm.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wanted.assignment.common.index.OffHeapUsageColumns;
+import com.wanted.assignment.common.index.UsageSumKernel;
+import com.wanted.assignment.common.index.UsageSumKernels;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.repository.LlmUsageJdbcRepository;
+import com.wanted.assignment.llm.repository.LlmUsageQueryRepository;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 열 저장소 합계 커널(스칼라, SIMD)과 QueryDSL(집계 뷰 GROUP BY) 경로 비교
+ *
+ * <p>시간별 집계 약 200만 행을 현재 데이터와 겹치지 않는 과거 기간에 적재하고 전체 기간과 1년 기간의 LLM별
+ * 사용 토큰 수를 세 경로로 조회하여 평균 시간을 기록한다. 메모리 경로의 처리량은 DB 없이 열 저장소에 직접
+ * 추가한 2,000만 행(커널별 약 400MB 힙 밖 메모리)으로 다시 측정한다. 각 경로의 결과가 같은지도 함께 확인한다.
+ *
+ * <p>기본 테스트에서는 제외되며 {@code ./gradlew benchmark}로 실행한다. SIMD 커널은
+ * {@code --add-modules jdk.incubator.vector}로 실행한 경우에만 측정한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("local")
+@SpringBootTest
+class UsageSumKernelBenchmarkTest {
+
+  private static final int SQL_ROW_COUNT = 2_000_000;
+  private static final int MEMORY_ROW_COUNT = 20_000_000;
+  private static final int PAIR_COUNT = 9;
+  private static final int INSERT_BATCH_SIZE = 10_000;
+  private static final int CHUNK_ROWS = 1_048_576;
+  private static final LocalDateTime FIRST_HOUR = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final LocalDateTime LAST_HOUR =
+      FIRST_HOUR.plusHours(SQL_ROW_COUNT / PAIR_COUNT - 1);
+  private static final int WARMUP_COUNT = 3;
+  private static final int MEASURE_COUNT = 10;
+
+  @Autowired
+  LlmUsageQueryRepository llmUsageQueryRepository;
+
+  @Autowired
+  LlmUsageJdbcRepository llmUsageJdbcRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void deleteBenchmarkSummaries() {
+    jdbcTemplate.update("DELETE FROM llm_usage_hourly WHERE bucket_hour <= ?",
+        Timestamp.valueOf(LAST_HOUR));
+  }
+
+  @DisplayName("시간별 집계 200만 행에서 QueryDSL, 스칼라 커널, SIMD 커널의 기간 LLM별 사용량 조회 시간")
+  @Test
+  void benchmarkSqlAndKernels() {
+
+    // Given
+    insertHourlySummaries();
+    List<OffHeapUsageColumns> columnsByKernel = new ArrayList<>();
+    for (UsageSumKernel kernel : kernels()) {
+      OffHeapUsageColumns columns =
+          new OffHeapUsageColumns(CHUNK_ROWS, SQL_ROW_COUNT * 2L, kernel);
+      llmUsageJdbcRepository.selectSummaryRows((userId, llmId, bucketTime, usedToken) ->
+          columns.append(userId, llmId, LlmUsageDistributionCounter.toEpochHour(bucketTime),
+              usedToken));
+      columnsByKernel.add(columns);
+    }
+    LocalDateTime yearFrom = FIRST_HOUR.plusYears(10);
+
+    // When & Then
+    compare("전체", FIRST_HOUR, LAST_HOUR.plusHours(1), columnsByKernel);
+    compare("1년", yearFrom, yearFrom.plusYears(1), columnsByKernel);
+  }
+
+  @DisplayName("열 저장소 2,000만 행에서 스칼라 커널과 SIMD 커널의 LLM별 합계 처리량")
+  @Test
+  void benchmarkKernelThroughput() {
+
+    // Given
+    List<OffHeapUsageColumns> columnsByKernel = new ArrayList<>();
+    for (UsageSumKernel kernel : kernels()) {
+      OffHeapUsageColumns columns = new OffHeapUsageColumns(CHUNK_ROWS, MEMORY_ROW_COUNT, kernel);
+      Random random = new Random(1L);
+      for (int row = 0; row < MEMORY_ROW_COUNT; row++) {
+        columns.append(1L + random.nextInt(3), 1L + random.nextInt(3), row / PAIR_COUNT,
+            100L + random.nextInt(1_000));
+      }
+      columnsByKernel.add(columns);
+    }
+    long yearHours = 24L * 365;
+
+    // When & Then
+    for (OffHeapUsageColumns columns : columnsByKernel) {
+      assertThat(columns.sumByLlm(null, Long.MIN_VALUE, Long.MAX_VALUE).getUsedToken(2L))
+          .isEqualTo(columnsByKernel.get(0)
+              .sumByLlm(null, Long.MIN_VALUE, Long.MAX_VALUE).getUsedToken(2L));
+      double allMillis = measure(
+          () -> columns.sumByLlm(null, Long.MIN_VALUE, Long.MAX_VALUE).getUsedToken(1L));
+      double yearMillis = measure(
+          () -> columns.sumByLlm(null, yearHours, yearHours * 2).getUsedToken(1L));
+      double userMillis = measure(
+          () -> columns.sumByLlm(2L, Long.MIN_VALUE, Long.MAX_VALUE).getUsedToken(1L));
+      log.info("[benchmark] {} 2,000만 행 - 전체 {} ms ({} 백만 행/s), 1년 {} ms, 사용자 {} ms",
+          columns.kernel().name(),
+          String.format("%.2f", allMillis),
+          String.format("%.0f", MEMORY_ROW_COUNT / allMillis / 1_000),
+          String.format("%.2f", yearMillis),
+          String.format("%.2f", userMillis));
+    }
+  }
+
+  private List<UsageSumKernel> kernels() {
+    List<UsageSumKernel> kernels = new ArrayList<>(List.of(UsageSumKernels.scalar()));
+    if (UsageSumKernels.isVectorSupported()) {
+      kernels.add(UsageSumKernels.vector());
+    } else {
+      log.warn("[benchmark] Vector API를 사용할 수 없어 SIMD 커널은 측정하지 않음");
+    }
+    return kernels;
+  }
+
+  private void compare(
+      String name, LocalDateTime from, LocalDateTime to,
+      List<OffHeapUsageColumns> columnsByKernel) {
+    long fromHour = LlmUsageDistributionCounter.toEpochHour(from);
+    long toHour = LlmUsageDistributionCounter.toEpochHour(to);
+    List<LlmUsageDto.StatsResponse> sqlStats = llmUsageQueryRepository.selectLlmUsageStats(
+        from, to);
+    double sqlMillis = measure(() -> llmUsageQueryRepository.selectLlmUsageStats(from, to)
+        .size());
+    log.info("[benchmark] {} 기간 LLM별 사용량 조회 - QueryDSL {} ms",
+        name, String.format("%.2f", sqlMillis));
+
+    for (OffHeapUsageColumns columns : columnsByKernel) {
+      OffHeapUsageColumns.LlmTotals totals = columns.sumByLlm(null, fromHour, toHour);
+      for (LlmUsageDto.StatsResponse statsResponse : sqlStats) {
+        assertThat(totals.getUsedToken(statsResponse.getId()))
+            .isEqualTo(statsResponse.getTotalUsedToken());
+      }
+      double kernelMillis = measure(
+          () -> columns.sumByLlm(null, fromHour, toHour).getUsedToken(1L));
+      log.info("[benchmark] {} 기간 LLM별 사용량 조회 - {} {} ms ({}배)",
+          name,
+          columns.kernel().name(),
+          String.format("%.2f", kernelMillis),
+          String.format("%.1f", sqlMillis / kernelMillis));
+    }
+  }
+
+  private double measure(LongSupplier query) {
+    for (int i = 0; i < WARMUP_COUNT; i++) {
+      query.getAsLong();
+    }
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < MEASURE_COUNT; i++) {
+      query.getAsLong();
+    }
+    return (System.nanoTime() - startNanos) / 1_000_000.0 / MEASURE_COUNT;
+  }
+
+  private void insertHourlySummaries() {
+    int hourCount = SQL_ROW_COUNT / PAIR_COUNT;
+    for (int start = 0; start < hourCount; start += INSERT_BATCH_SIZE) {
+      int batchStart = start;
+      int batchHours = Math.min(INSERT_BATCH_SIZE, hourCount - start);
+      jdbcTemplate.batchUpdate(
+          "INSERT INTO llm_usage_hourly VALUES (?, ?, ?, ?, 1)",
+          new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+              int hour = batchStart + i / PAIR_COUNT;
+              int pair = i % PAIR_COUNT;
+              ps.setLong(1, 1L + pair / 3);
+              ps.setLong(2, 1L + pair % 3);
+              ps.setTimestamp(3, Timestamp.valueOf(FIRST_HOUR.plusHours(hour)));
+              ps.setLong(4, 100L + (hour + pair) % 1_000);
+            }
+
+            @Override
+            public int getBatchSize() {
+              return batchHours * PAIR_COUNT;
+            }
+          });
+    }
+  }
+}
@@ -13,6 +13,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wanted.assignment.common.type.ApiStatus;
 import com.wanted.assignment.users.dto.UsersDto;
 import com.wanted.assignment.users.service.UsersService;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -468,4 +470,92 @@ class UsersControllerTest {
           .andDo(print());
     }
   }
+
+  @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+  @DisplayName("getUsersLlmResponses - 여러 사용자 LLM 사용량 일괄 조회 API")
+  @Nested
+  class TestGetUsersLlmResponses {
+
+    private static final String USERS_USAGES_BATCH_GET_PATH = "/usages:batchGet";
+
+    @Order(1)
+    @DisplayName("요청 순서대로 사용자별 결과를 반환하고 존재하지 않는 사용자는 항목별 실패")
+    @Test
+    void testGetUsersLlmResponses() throws Exception {
+
+      // Given
+      UsersDto.BatchGetUsageRequest batchGetUsageRequest = UsersDto.BatchGetUsageRequest.of(
+          List.of(USER_ID, 9999L, 2L), null, null
+      );
+      UsersDto.LlmResponse llmResponse = usersService.getUserLlmResponse(USER_ID, null, null);
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(USERS_BASE_URL + USERS_USAGES_BATCH_GET_PATH)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(batchGetUsageRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.totalCount").value(3))
+          .andExpect(jsonPath("$.notFoundCount").value(1))
+          .andExpect(jsonPath("$.results[0].userId").value(USER_ID))
+          .andExpect(jsonPath("$.results[0].code").value(ApiStatus.OK.getCode()))
+          .andExpect(jsonPath("$.results[0].usage.userUsages.totalUsedToken")
+              .value(llmResponse.getUserUsages().getTotalUsedToken()))
+          .andExpect(jsonPath("$.results[1].userId").value(9999L))
+          .andExpect(jsonPath("$.results[1].code").value(ApiStatus.USER_NOT_FOUND.getCode()))
+          .andExpect(jsonPath("$.results[1].usage").doesNotExist())
+          .andExpect(jsonPath("$.results[2].userId").value(2L))
+          .andExpect(jsonPath("$.results[2].usage.llmUsages").isNotEmpty())
+          .andDo(print());
+    }
+
+    @Order(2)
+    @DisplayName("사용자 아이디 목록이 비어 있는 경우 실패")
+    @Test
+    void testGetUsersLlmResponsesEmptyUserIds() throws Exception {
+
+      // Given
+      UsersDto.BatchGetUsageRequest batchGetUsageRequest = UsersDto.BatchGetUsageRequest.of(
+          List.of(), null, null
+      );
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(USERS_BASE_URL + USERS_USAGES_BATCH_GET_PATH)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(batchGetUsageRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isBadRequest())
+          .andDo(print());
+    }
+
+    @Order(3)
+    @DisplayName("조회 시작 시각이 종료 시각 이후인 경우 실패")
+    @Test
+    void testGetUsersLlmResponsesInvalidRange() throws Exception {
+
+      // Given
+      LocalDateTime to = LocalDateTime.of(2025, 1, 1, 0, 0);
+      UsersDto.BatchGetUsageRequest batchGetUsageRequest = UsersDto.BatchGetUsageRequest.of(
+          List.of(USER_ID), to.plusDays(1), to
+      );
+
+      // When
+      ResultActions resultActions = mockMvc.perform(
+          post(USERS_BASE_URL + USERS_USAGES_BATCH_GET_PATH)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(batchGetUsageRequest)));
+
+      // Then
+      resultActions
+          .andExpect(status().isBadRequest())
+          .andExpect(jsonPath(PATH_CODE).value(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode()))
+          .andDo(print());
+    }
+  }
 }
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.domain.entity.UsersEntity;
 import com.wanted.assignment.domain.repository.UsersRepository;
 import com.wanted.assignment.users.dto.UsersDto;
@@ -54,7 +55,8 @@ class UsersQueryRepositoryTest {
 
       // Given & When
       UsersDto.SelectRequest selectRequest = UsersDto.SelectRequest.builder().build();
-      List<UsersDto.SelectResponse> userList = usersQueryRepository.selectUserList(selectRequest);
+      List<UsersDto.SelectResponse> userList = usersQueryRepository.selectUserList(
+          selectRequest, null, Constants.PAGE_DEFAULT_LIMIT);
       log.debug("userList: {}", userList);
 
       // Then
@@ -72,7 +74,8 @@ class UsersQueryRepositoryTest {
 
       //  When
       UsersDto.SelectRequest selectRequest = UsersDto.SelectRequest.of(name, null);
-      List<UsersDto.SelectResponse> userList = usersQueryRepository.selectUserList(selectRequest);
+      List<UsersDto.SelectResponse> userList = usersQueryRepository.selectUserList(
+          selectRequest, null, Constants.PAGE_DEFAULT_LIMIT);
       log.debug("userList: {}", userList);
 
       // Then
@@ -90,7 +93,8 @@ class UsersQueryRepositoryTest {
 
       //  When
       UsersDto.SelectRequest selectRequest = UsersDto.SelectRequest.of(null, email);
-      List<UsersDto.SelectResponse> userList = usersQueryRepository.selectUserList(selectRequest);
+      List<UsersDto.SelectResponse> userList = usersQueryRepository.selectUserList(
+          selectRequest, null, Constants.PAGE_DEFAULT_LIMIT);
       log.debug("userList: {}", userList);
 
       // Then
@@ -143,7 +147,7 @@ class UsersQueryRepositoryTest {
 
       // Given & When
       List<UsersDto.LlmUsage> selectUserLlmUsage =
-          usersQueryRepository.selectUserLlmUsage(USER_ID);
+          usersQueryRepository.selectUserLlmUsage(USER_ID, null, null);
 
       // Then
       assertFalse(selectUserLlmUsage.isEmpty());
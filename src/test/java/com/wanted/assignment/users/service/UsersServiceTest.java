@@ -6,12 +6,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.wanted.assignment.common.constants.Constants;
 import com.wanted.assignment.common.exception.ApiException;
 import com.wanted.assignment.common.type.ApiStatus;
 import com.wanted.assignment.domain.repository.UsersRepository;
+import com.wanted.assignment.llm.dto.LlmUsageDto;
+import com.wanted.assignment.llm.service.LlmUsageService;
+import com.wanted.assignment.llm.service.UserLlmUsageCounter;
 import com.wanted.assignment.users.dto.UsersDto;
 import com.wanted.assignment.users.dto.UsersDto.LlmResponse;
+import com.wanted.assignment.users.repository.UsersQueryRepository;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
@@ -25,7 +31,9 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @ActiveProfiles("local")
@@ -36,6 +44,7 @@ class UsersServiceTest {
   private static final String USER_NAME = "테스터";
   private static final String USER_EMAIL = "tester@wantedlab.com";
   private static final String USER_PASSWORD = "Password1!";
+  private static final int USED_TOKEN = 512;
 
   @Autowired
   UsersService usersService;
@@ -46,6 +55,18 @@ class UsersServiceTest {
   @Autowired
   EntityManager entityManager;
 
+  @Autowired
+  UsersQueryRepository usersQueryRepository;
+
+  @Autowired
+  LlmUsageService llmUsageService;
+
+  @Autowired
+  UserLlmUsageCounter userLlmUsageCounter;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
   @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
   @DisplayName("insertUser - 사용자 추가")
   @Nested
@@ -117,7 +138,8 @@ class UsersServiceTest {
       UsersDto.SelectRequest selectRequest = UsersDto.SelectRequest.builder().build();
 
       // When
-      List<UsersDto.SelectResponse> userList = usersService.getUserList(selectRequest);
+      List<UsersDto.SelectResponse> userList =
+          usersService.getUserList(selectRequest, null, Constants.PAGE_DEFAULT_LIMIT).getItems();
 
       // Then
       assertFalse(userList.isEmpty());
@@ -134,11 +156,68 @@ class UsersServiceTest {
       usersRepository.deleteAll();
 
       // When
-      List<UsersDto.SelectResponse> userList = usersService.getUserList(selectRequest);
+      List<UsersDto.SelectResponse> userList =
+          usersService.getUserList(selectRequest, null, Constants.PAGE_DEFAULT_LIMIT).getItems();
 
       // Then
       assertTrue(userList.isEmpty());
     }
+
+    @Order(3)
+    @DisplayName("다음 커서로 이어서 조회하면 전체 목록을 아이디 순으로 중복 없이 조회")
+    @Transactional
+    @Test
+    void testGetUserListPaging() {
+
+      // Given
+      UsersDto.SelectRequest selectRequest = UsersDto.SelectRequest.builder().build();
+      List<Long> expectedIds = usersService
+          .getUserList(selectRequest, null, Constants.PAGE_MAX_LIMIT).getItems().stream()
+          .map(UsersDto.SelectResponse::getId)
+          .toList();
+
+      // When
+      List<Long> pagedIds = new ArrayList<>();
+      int pageCount = 0;
+      String cursor = null;
+      do {
+        UsersDto.SelectPageResponse page = usersService.getUserList(selectRequest, cursor, 1);
+        page.getItems().forEach(item -> pagedIds.add(item.getId()));
+        cursor = page.getNextCursor();
+        pageCount++;
+      } while (cursor != null);
+      int totalPageCount = pageCount;
+
+      // Then
+      assertAll(
+          () -> assertEquals(expectedIds, pagedIds),
+          () -> assertEquals(expectedIds.size(), totalPageCount)
+      );
+    }
+
+    @Order(4)
+    @DisplayName("조회 건수가 범위를 벗어나거나 커서가 유효하지 않은 경우 예외 발생")
+    @Test
+    void testGetUserListInvalid() {
+
+      // Given
+      UsersDto.SelectRequest selectRequest = UsersDto.SelectRequest.builder().build();
+
+      // When
+      ApiException limitException = Assertions.assertThrows(ApiException.class,
+          () -> usersService.getUserList(selectRequest, null, Constants.PAGE_MAX_LIMIT + 1));
+      ApiException cursorException = Assertions.assertThrows(ApiException.class,
+          () -> usersService.getUserList(
+              selectRequest, "invalid-cursor", Constants.PAGE_DEFAULT_LIMIT));
+
+      // Then
+      assertAll(
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              limitException.getStatus().getCode()),
+          () -> assertEquals(ApiStatus.METHOD_ARGUMENT_NOT_VALID.getCode(),
+              cursorException.getStatus().getCode())
+      );
+    }
   }
 
   @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -206,7 +285,7 @@ class UsersServiceTest {
     void testGetUserLlmResponseSuccess() {
 
       //  Given & When
-      LlmResponse llmResponse = usersService.getUserLlmResponse(USER_ID);
+      LlmResponse llmResponse = usersService.getUserLlmResponse(USER_ID, null, null);
 
       // Then
       assertAll(
@@ -229,7 +308,7 @@ class UsersServiceTest {
       Long userId = usersService.insertUser(insertRequest);
 
       // When
-      LlmResponse llmResponse = usersService.getUserLlmResponse(userId);
+      LlmResponse llmResponse = usersService.getUserLlmResponse(userId, null, null);
 
       // Then
       assertAll(
@@ -252,7 +331,7 @@ class UsersServiceTest {
       // When
       ApiException apiException = Assertions.assertThrows(
           ApiException.class,
-          () -> usersService.getUserLlmResponse(nonExistingUserId)
+          () -> usersService.getUserLlmResponse(nonExistingUserId, null, null)
       );
 
       // Then
@@ -263,6 +342,40 @@ class UsersServiceTest {
               apiException.getStatus().getMessage())
       );
     }
+
+    @Order(4)
+    @DisplayName("커밋된 사용량이 메모리 카운터에 반영되어 SQL 조회 결과와 같음")
+    @Test
+    void testGetUserLlmResponseMatchesSql() {
+
+      // Given
+      long beforeUsedToken = usersService.getUserLlmResponse(USER_ID, null, null).getUserUsages()
+          .getTotalUsedToken();
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+      transactionTemplate.executeWithoutResult(status ->
+          llmUsageService.insertLlmUsages(LlmUsageDto.BatchInsertRequest.of(
+              List.of(
+                  LlmUsageDto.InsertRequest.of(USER_ID, 1L, USED_TOKEN),
+                  LlmUsageDto.InsertRequest.of(USER_ID, 2L, USED_TOKEN),
+                  LlmUsageDto.InsertRequest.of(USER_ID, 2L, USED_TOKEN)
+              )
+          )));
+
+      // When
+      LlmResponse llmResponse = usersService.getUserLlmResponse(USER_ID, null, null);
+      List<UsersDto.LlmUsage> sqlLlmUsages =
+          usersQueryRepository.selectUserLlmUsage(USER_ID, null, null);
+
+      // Then
+      assertAll(
+          () -> assertEquals(beforeUsedToken + USED_TOKEN * 3L,
+              llmResponse.getUserUsages().getTotalUsedToken()),
+          () -> assertEquals(0, userLlmUsageCounter.verify(USER_ID, sqlLlmUsages)),
+          () -> assertEquals(
+              sqlLlmUsages.stream().mapToLong(UsersDto.LlmUsage::getTotalPrice).sum(),
+              llmResponse.getUserUsages().getTotalPrice())
+      );
+    }
   }
 
   @Disabled